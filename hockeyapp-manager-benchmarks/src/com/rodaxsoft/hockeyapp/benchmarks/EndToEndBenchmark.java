@@ -0,0 +1,140 @@
+/*
+	EndToEndBenchmark.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.exception.ContextedException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rodaxsoft.hockeyapp.App;
+import com.rodaxsoft.hockeyapp.ClientSettings;
+import com.rodaxsoft.hockeyapp.HockeyAppManager;
+import com.rodaxsoft.hockeyapp.Invitation;
+import com.rodaxsoft.hockeyapp.stub.StubRosters;
+import com.rodaxsoft.hockeyapp.stub.StubServer;
+import com.rodaxsoft.hockeyapp.stub.StubSettings;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * EndToEndBenchmark drives {@link HockeyAppManager} against an in-process
+ * stub server. Sample-time mode reports latency percentiles.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-D" + StubServer.NODELAY_PROPERTY + "=true")
+public class EndToEndBenchmark {
+
+	/**
+	 * Number of users in the roster
+	 */
+	@Param({ "100", "10000" })
+	public int size;
+
+	/**
+	 * Stub server
+	 */
+	private StubServer server;
+	/**
+	 * Manager under test
+	 */
+	private HockeyAppManager manager;
+	/**
+	 * Invitation fixture
+	 */
+	private Invitation invitation;
+
+	/**
+	 * Starts the stub server and the manager
+	 * @throws IOException if the server cannot be started
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		server = new StubServer(new StubSettings().setRosterSize(size));
+
+		App app = new App.Builder().setAppId("0873e2b98ad046a92c170a243a8515f6")
+		                           .setApiToken("4567abcd8901ef234567abcd8901ef23")
+		                           .setSecret("b3c397c516d00046a8970b7512ca62e9")
+		                           .build();
+
+		ClientSettings settings = new ClientSettings().setBaseUri(server.getBaseUri());
+		manager = new HockeyAppManager(app, settings);
+		invitation = new Invitation().setEmail("invitee@example.com");
+	}
+
+	/**
+	 * Stops the manager and the stub server
+	 */
+	@TearDown
+	public void tearDown() {
+		manager.close();
+		server.close();
+	}
+
+	/**
+	 * Fetches and parses the roster
+	 * @return The roster
+	 */
+	@Benchmark
+	public UserRoster getAppUserRoster() {
+		return manager.getAppUserRoster();
+	}
+
+	/**
+	 * Checks membership remotely
+	 * @return The membership
+	 * @throws ContextedException if a processing error occurs
+	 */
+	@Benchmark
+	public boolean isAppMember() throws ContextedException {
+		return manager.isAppMember(StubRosters.email(1), "secret");
+	}
+
+	/**
+	 * Sends an invitation
+	 * @return The invitation result
+	 * @throws ContextedException if a processing error occurs
+	 */
+	@Benchmark
+	public boolean inviteUser() throws ContextedException {
+		return manager.inviteUser(invitation);
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+	InvitationBenchmark.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Address;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rodaxsoft.hockeyapp.Invitation;
+import com.rodaxsoft.hockeyapp.user.Role;
+
+/**
+ * InvitationBenchmark measures {@link Invitation} construction and email
+ * validation
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvitationBenchmark {
+
+	/**
+	 * Address fixture
+	 */
+	private Address address;
+
+	/**
+	 * Builds the address fixture
+	 * @throws AddressException if the address is invalid
+	 */
+	@Setup
+	public void setUp() throws AddressException {
+		address = new InternetAddress("Thomas Dohmke <thomas@example.com>");
+	}
+
+	/**
+	 * Fluent construction with email validation
+	 * @return The invitation
+	 */
+	@Benchmark
+	public Invitation fluent() {
+		return new Invitation().setEmail("thomas@example.com")
+		                       .setFirstName("Thomas")
+		                       .setLastName("Dohmke")
+		                       .setRole(Role.TESTER);
+	}
+
+	/**
+	 * Construction from a <code>javax.mail.Address</code>
+	 * @return The invitation
+	 */
+	@Benchmark
+	public Invitation fromAddress() {
+		return new Invitation(address);
+	}
+
+}
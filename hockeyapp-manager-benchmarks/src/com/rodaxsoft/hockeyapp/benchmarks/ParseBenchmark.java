@@ -0,0 +1,174 @@
+/*
+	ParseBenchmark.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.json.JSONObject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rodaxsoft.hockeyapp.HockeyAppManager;
+import com.rodaxsoft.hockeyapp.converters.UserConverter;
+import com.rodaxsoft.hockeyapp.converters.UserStreamReader;
+import com.rodaxsoft.hockeyapp.stub.StubRosters;
+import com.rodaxsoft.hockeyapp.user.User;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * ParseBenchmark measures the roster parse, index and filter hot paths
+ * on synthetic rosters, without network I/O
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+	/**
+	 * Number of users in the roster
+	 */
+	@Param({ "100", "10000", "100000" })
+	public int size;
+
+	/**
+	 * Response body
+	 */
+	private byte[] body;
+	/**
+	 * A single user JSON object
+	 */
+	private JSONObject jsonUser;
+	/**
+	 * Parsed users
+	 */
+	private List<User> users;
+	/**
+	 * Parsed roster
+	 */
+	private UserRoster roster;
+	/**
+	 * Converter under test
+	 */
+	private UserConverter converter;
+
+	/**
+	 * Builds the roster fixtures
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		body = StubRosters.bytes(size);
+
+		StringBuilder sb = new StringBuilder();
+		StubRosters.appendUser(sb, 3);
+		jsonUser = JSONObject.fromObject(sb.toString());
+		converter = new UserConverter();
+
+		users = readUsers();
+		roster = new UserRoster(users);
+	}
+
+	/**
+	 * Reads all users from the response body
+	 * @return The users
+	 * @throws IOException if an I/O error occurs
+	 */
+	private List<User> readUsers() throws IOException {
+		List<User> list = new ArrayList<>(size);
+		try (UserStreamReader reader = new UserStreamReader(
+				new ByteArrayInputStream(body))) {
+			while (reader.hasNext()) {
+				list.add(reader.next());
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Converts a single JSONObject through {@link UserConverter}
+	 * @return The user
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public User convertJSONObject() {
+		return converter.convert(User.class, jsonUser);
+	}
+
+	/**
+	 * Full parse path of {@link HockeyAppManager#getAppUserRoster()} after
+	 * the response is received: stream decode and roster indexing
+	 * @return The roster
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Benchmark
+	public UserRoster parseRoster() throws IOException {
+		return new UserRoster(readUsers());
+	}
+
+	/**
+	 * Copy-and-filter of {@link HockeyAppManager#getNonPendingAppUsers(List)}
+	 * @return The non-pending users
+	 */
+	@Benchmark
+	public List<User> getNonPendingAppUsers() {
+		return HockeyAppManager.getNonPendingAppUsers(users);
+	}
+
+	/**
+	 * Precomputed partition of {@link UserRoster#getNonPendingUsers()}
+	 * @return The non-pending users
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public List<User> rosterNonPendingUsers() {
+		return roster.getNonPendingUsers();
+	}
+
+	/**
+	 * Email lookup through the roster index
+	 * @return The user
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public User rosterEmailLookup() {
+		return roster.getUserByEmail("USER" + (size / 2) + "@example.com");
+	}
+
+}
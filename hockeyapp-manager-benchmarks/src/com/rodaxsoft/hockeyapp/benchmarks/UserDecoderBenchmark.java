@@ -0,0 +1,118 @@
+/*
+	UserDecoderBenchmark.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.apache.commons.beanutils.ConvertUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.rodaxsoft.hockeyapp.converters.UserConverter;
+import com.rodaxsoft.hockeyapp.converters.UserStreamReader;
+import com.rodaxsoft.hockeyapp.stub.StubRosters;
+import com.rodaxsoft.hockeyapp.user.User;
+
+/**
+ * UserDecoderBenchmark compares the direct token decoder with the
+ * <code>JSONObject</code> + <code>ConvertUtils</code> path it replaced.
+ * Run with <code>-prof gc</code> to compare allocation rates.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDecoderBenchmark {
+
+	/**
+	 * Number of users in the roster
+	 */
+	@Param({ "100", "10000" })
+	public int size;
+
+	/**
+	 * Response body
+	 */
+	private byte[] body;
+
+	/**
+	 * Builds the roster and registers the legacy converter
+	 */
+	@Setup
+	public void setUp() {
+		body = StubRosters.bytes(size);
+		ConvertUtils.register(new UserConverter(), User.class);
+	}
+
+	/**
+	 * Legacy path: body String, json-lib DOM, BeanUtils conversion
+	 * @param bh The blackhole
+	 */
+	@Benchmark
+	public void jsonObjectConvertUtils(Blackhole bh) {
+		String entity = new String(body, StandardCharsets.UTF_8);
+		JSONObject jsonObj = JSONObject.fromObject(entity);
+		JSONArray jsonArray = jsonObj.getJSONArray("app_users");
+
+		@SuppressWarnings("unchecked")
+		Iterator<JSONObject> iter = jsonArray.iterator();
+		while (iter.hasNext()) {
+			bh.consume(ConvertUtils.convert(iter.next(), User.class));
+		}
+	}
+
+	/**
+	 * Streaming path: tokens decoded straight into users
+	 * @param bh The blackhole
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Benchmark
+	public void streamingDecoder(Blackhole bh) throws IOException {
+		try (UserStreamReader reader = new UserStreamReader(
+				new ByteArrayInputStream(body))) {
+			while (reader.hasNext()) {
+				bh.consume(reader.next());
+			}
+		}
+	}
+
+}
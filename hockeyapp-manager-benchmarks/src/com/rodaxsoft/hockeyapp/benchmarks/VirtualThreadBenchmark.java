@@ -0,0 +1,193 @@
+/*
+	VirtualThreadBenchmark.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.rodaxsoft.hockeyapp.App;
+import com.rodaxsoft.hockeyapp.ClientSettings;
+import com.rodaxsoft.hockeyapp.HockeyAppManager;
+import com.rodaxsoft.hockeyapp.stub.StubRosters;
+import com.rodaxsoft.hockeyapp.stub.StubServer;
+import com.rodaxsoft.hockeyapp.stub.StubSettings;
+
+/**
+ * VirtualThreadBenchmark measures the time to complete a burst of 
+ * concurrent blocking membership checks against a stub server with fixed
+ * latency, in three execution modes:
+ * <ul>
+ * <li><code>PLATFORM</code>: one caller platform thread per call, each 
+ * making the blocking call</li>
+ * <li><code>ASYNC</code>: the asynchronous variant on the manager's default
+ * fixed pool, sized to the connection pool</li>
+ * <li><code>VIRTUAL</code>: the asynchronous variant in virtual thread mode,
+ * one virtual thread per call (Java 21 or later)</li>
+ * </ul>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-D" + StubServer.NODELAY_PROPERTY + "=true")
+public class VirtualThreadBenchmark {
+
+	/**
+	 * Execution mode
+	 */
+	public enum ExecutionMode {
+		PLATFORM, ASYNC, VIRTUAL
+	}
+
+	/**
+	 * Execution mode
+	 */
+	@Param({ "PLATFORM", "ASYNC", "VIRTUAL" })
+	public ExecutionMode mode;
+
+	/**
+	 * Number of concurrent calls per burst
+	 */
+	@Param({ "2000" })
+	public int calls;
+
+	/**
+	 * Size of the connection pool and of the stub's worker pool
+	 */
+	@Param({ "200" })
+	public int connections;
+
+	/**
+	 * Stub server latency in milliseconds
+	 */
+	@Param({ "10" })
+	public long latency;
+
+	/**
+	 * Stub server
+	 */
+	private StubServer server;
+	/**
+	 * Manager under test
+	 */
+	private HockeyAppManager manager;
+	/**
+	 * Caller threads of the platform mode or <code>null</code>
+	 */
+	private ExecutorService callers;
+
+	/**
+	 * Starts the stub server and the manager
+	 * @throws IOException if the server cannot be started
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		server = new StubServer(new StubSettings().setRosterSize(calls)
+				                                  .setLatency(latency)
+				                                  .setWorkerThreads(connections));
+
+		App app = new App.Builder().setAppId("0873e2b98ad046a92c170a243a8515f6")
+		                           .setApiToken("4567abcd8901ef234567abcd8901ef23")
+		                           .setSecret("b3c397c516d00046a8970b7512ca62e9")
+		                           .build();
+
+		ClientSettings settings = new ClientSettings().setBaseUri(server.getBaseUri())
+				                                      .setMaxTotalConnections(connections)
+				                                      .setMaxConnectionsPerRoute(connections)
+				                                      .setVirtualThreads(mode == ExecutionMode.VIRTUAL);
+		manager = new HockeyAppManager.Builder(app).setSettings(settings).build();
+
+		if (mode == ExecutionMode.PLATFORM) {
+			callers = Executors.newFixedThreadPool(calls);
+		}
+	}
+
+	/**
+	 * Stops the callers, the manager and the stub server
+	 */
+	@TearDown
+	public void tearDown() {
+		if (callers != null) {
+			callers.shutdown();
+		}
+		manager.close();
+		server.close();
+	}
+
+	/**
+	 * Checks the membership of distinct emails concurrently and waits for 
+	 * every answer
+	 * @return The number of members
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws ExecutionException if a check failed
+	 */
+	@Benchmark
+	public int burst() throws InterruptedException, ExecutionException {
+
+		List<Future<Boolean>> futures = new ArrayList<>(calls);
+		for (int i = 0; i < calls; i++) {
+			final String email = StubRosters.email(i);
+			if (mode == ExecutionMode.PLATFORM) {
+				futures.add(callers.submit(new Callable<Boolean>() {
+
+					@Override
+					public Boolean call() throws Exception {
+						return manager.isAppMember(email, "secret");
+					}
+				}));
+			} else {
+				futures.add(manager.isAppMemberAsync(email, "secret"));
+			}
+		}
+
+		int members = 0;
+		for (Future<Boolean> future : futures) {
+			if (future.get()) {
+				members++;
+			}
+		}
+		return members;
+	}
+
+}
@@ -19,32 +19,40 @@
 package com.rodaxsoft.hockeyapp;
 
 import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
 
 /**
- * App bean class
+ * App class is the immutable identity and credentials of a HockeyApp app.
+ * Instances are thread-safe and can be shared freely; use a {@link Builder}
+ * to create one.
  * @author John Boyer
- * @version 2015-08-14
+ * @version 2026-10-18
  * @since 0.1
  * 
  */
-public class App {
+public final class App {
 	/**
 	 * The app ID
 	 */
-	private String appId;
+	private final String appId;
 	/**
 	 * API token
 	 */
-	private String apiToken;
+	private final String apiToken;
 	/**
 	 * Secret
 	 */
-	private String secret;
-	
+	private final String secret;
+
 	/**
-	 * Default constructor
+	 * Constructor
+	 * @param builder The builder
 	 */
-	public App() {
+	private App(Builder builder) {
+		this.appId = builder.appId;
+		this.apiToken = builder.apiToken;
+		this.secret = builder.secret;
 	}
 
 	/**
@@ -70,32 +78,91 @@ public class App {
 	public String getSecret() {
 		return secret;
 	}
+
 	/**
-	 * @param appId the appId to set
+	 * @return the apiToken
 	 */
-	public void setAppId(String appId) {
-		this.appId = appId;
+	public String getApiToken() {
+		return apiToken;
 	}
+
 	/**
-	 * @param secret the secret to set
+	 * Returns a builder initialized with this app's values
+	 * @return A new builder
 	 */
-	public void setSecret(String secret) {
-		this.secret = secret;
+	public Builder toBuilder() {
+		return new Builder().setAppId(appId)
+				            .setApiToken(apiToken)
+				            .setSecret(secret);
 	}
 
-	/**
-	 * @return the apiToken
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
 	 */
-	public String getApiToken() {
-		return apiToken;
+	@Override
+	public String toString() {
+		//Credentials are left out
+		return "App [appId=" + appId + "]";
 	}
 
 	/**
-	 * @param apiToken the apiToken to set
+	 * Builder class creates {@link App} instances. A builder is not 
+	 * thread-safe.
 	 */
-	public void setApiToken(String apiToken) {
-		this.apiToken = apiToken;
+	public static final class Builder {
+		/**
+		 * The app ID
+		 */
+		private String appId;
+		/**
+		 * API token
+		 */
+		private String apiToken;
+		/**
+		 * Secret
+		 */
+		private String secret;
+
+		/**
+		 * @param appId the appId to set
+		 * @return This instance
+		 */
+		public Builder setAppId(String appId) {
+			this.appId = appId;
+			return this;
+		}
+
+		/**
+		 * @param apiToken the apiToken to set
+		 * @return This instance
+		 */
+		public Builder setApiToken(String apiToken) {
+			this.apiToken = apiToken;
+			return this;
+		}
+
+		/**
+		 * @param secret the secret to set, needed for membership checks
+		 * @return This instance
+		 */
+		public Builder setSecret(String secret) {
+			this.secret = secret;
+			return this;
+		}
+
+		/**
+		 * Builds the app
+		 * @return A new app
+		 * @throws ContextedRuntimeException if the app ID or API token is 
+		 *         blank
+		 */
+		public App build() {
+			if (StringUtils.isBlank(appId) || StringUtils.isBlank(apiToken)) {
+				throw new ContextedRuntimeException("App ID and API token are required")
+				                       .addContextValue("appId", appId);
+			}
+			return new App(this);
+		}
 	}
-	
 
 }
@@ -0,0 +1,94 @@
+/*
+	AppResult.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+/**
+ * AppResult class holds the outcome of an operation run against one app
+ * by a {@link MultiAppManager}
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ * @param <T> The result type
+ */
+public final class AppResult<T> {
+
+	/**
+	 * The app
+	 */
+	private final App app;
+	/**
+	 * The value or <code>null</code>
+	 */
+	private final T value;
+	/**
+	 * The error or <code>null</code>
+	 */
+	private final Throwable error;
+
+	/**
+	 * Constructor
+	 * @param app The app
+	 * @param value The value or <code>null</code>
+	 * @param error The error or <code>null</code>
+	 */
+	AppResult(App app, T value, Throwable error) {
+		this.app = app;
+		this.value = value;
+		this.error = error;
+	}
+
+	/**
+	 * @return the app
+	 */
+	public App getApp() {
+		return app;
+	}
+
+	/**
+	 * @return the value or <code>null</code> if the operation failed
+	 */
+	public T getValue() {
+		return value;
+	}
+
+	/**
+	 * @return the error or <code>null</code> if the operation succeeded
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	/**
+	 * @return <code>true</code> if the operation completed without error
+	 */
+	public boolean isSuccessful() {
+		return null == error;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "AppResult [appId=" + app.getAppId() + ", value=" + value
+				+ ", error=" + error + "]";
+	}
+
+}
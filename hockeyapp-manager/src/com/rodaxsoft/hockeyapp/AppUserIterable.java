@@ -0,0 +1,405 @@
+/*
+	AppUserIterable.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+import com.rodaxsoft.hockeyapp.converters.UserStreamReader;
+import com.rodaxsoft.hockeyapp.user.User;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * AppUserIterable is a lazy view of an app's users. Each iteration fetches
+ * the roster page by page when the API pages it, holding at most one page
+ * and the prefetched next page in memory. When the API answers with the 
+ * whole roster instead, the rest of that response is streamed, so memory 
+ * use stays flat either way. A fresh cached roster is iterated without a 
+ * request.
+ * <p>
+ * Iterators are not thread-safe. An iterator stopped early should be 
+ * closed, since it may hold a pooled connection or a prefetch in flight; 
+ * it is closed automatically once the last user has been read.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class AppUserIterable implements Iterable<User> {
+
+	/**
+	 * The manager
+	 */
+	private final HockeyAppManager manager;
+	/**
+	 * Executor running the prefetches
+	 */
+	private final ExecutorService executor;
+	/**
+	 * Users per page
+	 */
+	private final int pageSize;
+	/**
+	 * <code>true</code> to prefetch the next page
+	 */
+	private final boolean prefetch;
+
+	/**
+	 * Constructor
+	 * @param manager The manager
+	 * @param executor The executor running the prefetches
+	 * @param pageSize The number of users per page
+	 * @param prefetch <code>true</code> to fetch the next page in the 
+	 *        background while the current one is iterated
+	 */
+	AppUserIterable(HockeyAppManager manager, ExecutorService executor,
+			        int pageSize, boolean prefetch) {
+		this.manager = manager;
+		this.executor = executor;
+		this.pageSize = pageSize;
+		this.prefetch = prefetch;
+	}
+
+	/**
+	 * Returns a new iterator starting at the first page
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public UserIterator iterator() {
+		return new UserIterator();
+	}
+
+	/**
+	 * @return the number of users per page
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @return <code>true</code> if the next page is prefetched
+	 */
+	public boolean isPrefetch() {
+		return prefetch;
+	}
+
+	/**
+	 * Fetches and reads a page. If the response holds more users than a 
+	 * page, the API is not paging: the users read so far are returned with 
+	 * the reader still open on the rest.
+	 * @param number The page number, starting at 1
+	 * @return The page
+	 * @throws ContextedRuntimeException if the request was unsuccessful
+	 */
+	private Page readPage(int number) {
+
+		UserStreamReader reader = manager.streamAppUsers(number, pageSize);
+		if (null == reader) {
+			throw new ContextedRuntimeException("App users request was unsuccessful")
+			                       .addContextValue("appId", manager.getApp().getAppId())
+			                       .addContextValue("page", number);
+		}
+
+		List<User> users = new ArrayList<>(pageSize);
+		boolean handedOver = false;
+		try {
+			while (reader.hasNext()) {
+				users.add(reader.next());
+				if (users.size() > pageSize) {
+					handedOver = true;
+					return new Page(users, reader, 0);
+				}
+			}
+			return new Page(users, null, reader.getTotalPages());
+		} finally {
+			if (!handedOver) {
+				close(reader);
+			}
+		}
+	}
+
+	/**
+	 * Closes a reader
+	 * @param reader The reader
+	 * @throws ContextedRuntimeException if an I/O error occurs
+	 */
+	private static void close(Closeable reader) {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new ContextedRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Releases the connection of a page that still streams the rest of its
+	 * response
+	 * @param page The page
+	 */
+	private static void release(Page page) {
+		if (page.rest != null) {
+			close(page.rest);
+		}
+	}
+
+	/**
+	 * Page holds the users of one page
+	 */
+	private static final class Page {
+
+		/**
+		 * The users read
+		 */
+		final List<User> users;
+		/**
+		 * Reader of the rest of an unpaged response or <code>null</code>
+		 */
+		final UserStreamReader rest;
+		/**
+		 * Total pages or <code>0</code> if the response is not paged
+		 */
+		final int totalPages;
+
+		/**
+		 * Constructor
+		 * @param users The users read
+		 * @param rest The reader of the rest or <code>null</code>
+		 * @param totalPages The total pages
+		 */
+		Page(List<User> users, UserStreamReader rest, int totalPages) {
+			this.users = users;
+			this.rest = rest;
+			this.totalPages = totalPages;
+		}
+	}
+
+	/**
+	 * UserIterator iterates the users page by page
+	 */
+	public final class UserIterator implements Iterator<User>, Closeable {
+
+		/**
+		 * Users of the current page
+		 */
+		private Iterator<User> buffered;
+		/**
+		 * Reader of the rest of an unpaged response or <code>null</code>
+		 */
+		private UserStreamReader rest;
+		/**
+		 * Current page number, <code>0</code> before the first page
+		 */
+		private int pageNumber;
+		/**
+		 * Total pages, <code>0</code> if the response is not paged
+		 */
+		private int totalPages;
+		/**
+		 * The prefetched next page or <code>null</code>
+		 */
+		private Future<Page> next;
+		/**
+		 * Page read by the prefetch but not yet taken, guarded by 
+		 * <code>lock</code>
+		 */
+		private Page prefetched;
+		/**
+		 * Lock handing a prefetched page over to the iterator
+		 */
+		private final Object lock = new Object();
+		/**
+		 * Closed flag, written under <code>lock</code>
+		 */
+		private volatile boolean closed;
+
+		/**
+		 * Constructor, starting from the cached roster if fresh
+		 */
+		UserIterator() {
+			UserRoster cached = manager.getCachedRoster();
+			if (cached != null) {
+				buffered = cached.getUsers().iterator();
+				pageNumber = 1;
+			}
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#hasNext()
+		 */
+		@Override
+		public boolean hasNext() {
+			while (!closed) {
+				if (buffered != null && buffered.hasNext()) {
+					return true;
+				}
+				if (rest != null) {
+					if (rest.hasNext()) {
+						return true;
+					}
+					rest = null;
+				}
+				if (pageNumber > 0 && pageNumber >= totalPages) {
+					close();
+					break;
+				}
+				load(nextPage());
+			}
+			return false;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#next()
+		 */
+		@Override
+		public User next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return buffered.hasNext() ? buffered.next() : rest.next();
+		}
+
+		/* (non-Javadoc)
+		 * @see java.util.Iterator#remove()
+		 */
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * Makes the page current and starts prefetching the one after it
+		 * @param page The page
+		 */
+		private void load(Page page) {
+			pageNumber++;
+			buffered = page.users.iterator();
+			rest = page.rest;
+			totalPages = page.totalPages;
+
+			if (prefetch && pageNumber < totalPages) {
+				final int number = pageNumber + 1;
+				next = executor.submit(new Callable<Page>() {
+
+					@Override
+					public Page call() {
+						final Page page = readPage(number);
+						if (!handOver(page)) {
+							//Closed while fetching; release the connection
+							release(page);
+						}
+						return page;
+					}
+				});
+			}
+		}
+
+		/**
+		 * Hands a prefetched page over to the iterator
+		 * @param page The page
+		 * @return <code>true</code> if the iterator took the page or 
+		 *         <code>false</code> if it was closed
+		 */
+		private boolean handOver(Page page) {
+			synchronized (lock) {
+				if (closed) {
+					return false;
+				}
+				prefetched = page;
+				return true;
+			}
+		}
+
+		/**
+		 * Returns the next page, waiting for its prefetch if any
+		 * @return The page
+		 * @throws ContextedRuntimeException if the page could not be read
+		 */
+		private Page nextPage() {
+			if (null == next) {
+				return readPage(pageNumber + 1);
+			}
+			try {
+				return next.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new ContextedRuntimeException(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ContextedRuntimeException(e);
+			} finally {
+				next = null;
+				synchronized (lock) {
+					prefetched = null;
+				}
+			}
+		}
+
+		/**
+		 * @return the current page number, <code>0</code> before the first
+		 *         page
+		 */
+		public int getPageNumber() {
+			return pageNumber;
+		}
+
+		/**
+		 * Releases the connection of a streamed response, interrupts a 
+		 * prefetch in flight and releases the connection of a prefetched 
+		 * page that was not taken
+		 * @see java.io.Closeable#close()
+		 */
+		@Override
+		public void close() {
+			if (!closed) {
+				final Page page;
+				synchronized (lock) {
+					closed = true;
+					page = prefetched;
+					prefetched = null;
+				}
+				buffered = null;
+				if (next != null) {
+					next.cancel(true);
+					next = null;
+				}
+				if (page != null) {
+					release(page);
+				}
+				if (rest != null) {
+					AppUserIterable.close(rest);
+					rest = null;
+				}
+			}
+		}
+	}
+
+}
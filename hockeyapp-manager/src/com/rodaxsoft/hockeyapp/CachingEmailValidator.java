@@ -0,0 +1,101 @@
+/*
+	CachingEmailValidator.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.validator.routines.EmailValidator;
+
+/**
+ * CachingEmailValidator validates email addresses like
+ * {@link EmailValidator} but remembers the verdict for each domain, so the
+ * domain and top-level domain checks run once per domain rather than once
+ * per address. The user part is still checked for every address.
+ * <p>
+ * The validator is thread-safe. At most {@link #MAX_DOMAINS} verdicts are
+ * kept; further domains are validated without being cached.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+final class CachingEmailValidator extends EmailValidator {
+
+	/**
+	 * Serial version UID
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Maximum number of cached domain verdicts
+	 */
+	static final int MAX_DOMAINS = 10000;
+
+	/**
+	 * Shared instance
+	 */
+	private static final CachingEmailValidator INSTANCE = new CachingEmailValidator();
+
+	/**
+	 * Verdicts by lower-cased domain
+	 */
+	private final ConcurrentMap<String, Boolean> domains = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor disallowing local addresses
+	 */
+	private CachingEmailValidator() {
+		super(false);
+	}
+
+	/**
+	 * @return the shared instance
+	 */
+	public static CachingEmailValidator getInstance() {
+		return INSTANCE;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.apache.commons.validator.routines.EmailValidator#isValidDomain(java.lang.String)
+	 */
+	@Override
+	protected boolean isValidDomain(String domain) {
+
+		final String key = domain.toLowerCase(Locale.ENGLISH);
+		Boolean valid = domains.get(key);
+		if (null == valid) {
+			valid = super.isValidDomain(domain);
+			if (domains.size() < MAX_DOMAINS) {
+				domains.putIfAbsent(key, valid);
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * @return the number of cached domain verdicts
+	 */
+	int getCacheSize() {
+		return domains.size();
+	}
+
+}
@@ -0,0 +1,489 @@
+/*
+	ClientSettings.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+import com.rodaxsoft.hockeyapp.cache.RosterCache;
+import com.rodaxsoft.hockeyapp.cache.RosterSnapshotStore;
+import com.rodaxsoft.hockeyapp.metrics.ClientMetrics;
+import com.rodaxsoft.hockeyapp.policy.CircuitBreaker;
+import com.rodaxsoft.hockeyapp.policy.ExponentialBackoffRetryPolicy;
+import com.rodaxsoft.hockeyapp.policy.RateLimiterRegistry;
+import com.rodaxsoft.hockeyapp.policy.RetryPolicy;
+
+/**
+ * ClientSettings class holds the HTTP client and connection pool settings
+ * used by a {@link HockeyAppManager}
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class ClientSettings {
+
+	/**
+	 * HockeyApp Base URI
+	 */
+	public static final String DEFAULT_BASE_URI = "https://rink.hockeyapp.net/api/2/apps";
+
+	/**
+	 * Base URI of the apps API [default: {@link #DEFAULT_BASE_URI}]
+	 */
+	private String baseUri = DEFAULT_BASE_URI;
+
+	/**
+	 * Maximum number of pooled connections [default: 20]
+	 */
+	private int maxTotalConnections = 20;
+	/**
+	 * Maximum number of pooled connections per route [default: 20]
+	 */
+	private int maxConnectionsPerRoute = 20;
+	/**
+	 * Idle time in milliseconds after which a pooled connection
+	 * is evicted [default: 30 seconds]
+	 */
+	private long idleTimeout = 30000L;
+	/**
+	 * Connect timeout in milliseconds [default: 10 seconds]
+	 */
+	private int connectTimeout = 10000;
+	/**
+	 * Read timeout in milliseconds [default: 30 seconds]
+	 */
+	private int readTimeout = 30000;
+	/**
+	 * Executor for asynchronous operations [default: <code>null</code>, 
+	 * a fixed pool sized to the connection pool is created by the manager]
+	 */
+	private ExecutorService executorService;
+	/**
+	 * Run operations on virtual threads [default: <code>false</code>]
+	 */
+	private boolean virtualThreads;
+	/**
+	 * Roster cache [default: <code>null</code>, no caching]
+	 */
+	private RosterCache rosterCache;
+	/**
+	 * Retry policy [default: {@link ExponentialBackoffRetryPolicy} with 
+	 * 3 attempts; invitations are only retried if never received]
+	 */
+	private RetryPolicy retryPolicy = new ExponentialBackoffRetryPolicy();
+	/**
+	 * Rate limiters by API token [default: <code>null</code>, no limit]
+	 */
+	private RateLimiterRegistry rateLimiters;
+	/**
+	 * Circuit breaker [default: <code>null</code>, no circuit breaker]
+	 */
+	private CircuitBreaker circuitBreaker;
+	/**
+	 * Metrics [default: {@link ClientMetrics#NOOP}]
+	 */
+	private ClientMetrics metrics = ClientMetrics.NOOP;
+	/**
+	 * Roster snapshot store [default: <code>null</code>, no snapshots]
+	 */
+	private RosterSnapshotStore snapshotStore;
+	/**
+	 * Membership filter false-positive rate [default: <code>0</code>, 
+	 * no filter]
+	 */
+	private double membershipFilterRate;
+	/**
+	 * Membership filter refresh interval in milliseconds 
+	 * [default: 300,000 ms]
+	 */
+	private long membershipFilterRefresh = 300000;
+
+	/**
+	 * Default constructor
+	 */
+	public ClientSettings() {
+	}
+
+	/**
+	 * Checks that the given value is positive
+	 * @param name The setting name
+	 * @param value The value to check
+	 * @throws ContextedRuntimeException if the value is not positive
+	 */
+	static void checkPositive(String name, long value) {
+		if (value <= 0) {
+			throw new ContextedRuntimeException("Value must be positive")
+			                       .addContextValue("name", name)
+			                       .addContextValue("value", value);
+		}
+	}
+
+	/**
+	 * @return the base URI of the apps API
+	 */
+	public String getBaseUri() {
+		return baseUri;
+	}
+
+	/**
+	 * Set the base URI of the apps API, e.g. to point at a stub server
+	 * @param baseUri The base URI to set
+	 * @return This instance
+	 * @throws ContextedRuntimeException if the URI is blank
+	 */
+	public ClientSettings setBaseUri(String baseUri) {
+		if (StringUtils.isBlank(baseUri)) {
+			throw new ContextedRuntimeException("Base URI cannot be blank");
+		}
+		this.baseUri = baseUri;
+		return this;
+	}
+
+	/**
+	 * @return the maxTotalConnections
+	 */
+	public int getMaxTotalConnections() {
+		return maxTotalConnections;
+	}
+
+	/**
+	 * Set the maximum number of pooled connections
+	 * @param maxTotalConnections The maximum to set
+	 * @return This instance
+	 */
+	public ClientSettings setMaxTotalConnections(int maxTotalConnections) {
+		checkPositive("maxTotalConnections", maxTotalConnections);
+		this.maxTotalConnections = maxTotalConnections;
+		return this;
+	}
+
+	/**
+	 * @return the maxConnectionsPerRoute
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	/**
+	 * Set the maximum number of pooled connections per route
+	 * @param maxConnectionsPerRoute The maximum to set
+	 * @return This instance
+	 */
+	public ClientSettings setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		checkPositive("maxConnectionsPerRoute", maxConnectionsPerRoute);
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		return this;
+	}
+
+	/**
+	 * @return the idle timeout in milliseconds
+	 */
+	public long getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	/**
+	 * Set the idle time after which a pooled connection is evicted
+	 * @param idleTimeout The idle timeout in milliseconds
+	 * @return This instance
+	 */
+	public ClientSettings setIdleTimeout(long idleTimeout) {
+		checkPositive("idleTimeout", idleTimeout);
+		this.idleTimeout = idleTimeout;
+		return this;
+	}
+
+	/**
+	 * @return the connect timeout in milliseconds
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * Set the connect timeout
+	 * @param connectTimeout The connect timeout in milliseconds
+	 * @return This instance
+	 */
+	public ClientSettings setConnectTimeout(int connectTimeout) {
+		checkPositive("connectTimeout", connectTimeout);
+		this.connectTimeout = connectTimeout;
+		return this;
+	}
+
+	/**
+	 * @return the read timeout in milliseconds
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * Set the read timeout
+	 * @param readTimeout The read timeout in milliseconds
+	 * @return This instance
+	 */
+	public ClientSettings setReadTimeout(int readTimeout) {
+		checkPositive("readTimeout", readTimeout);
+		this.readTimeout = readTimeout;
+		return this;
+	}
+
+	/**
+	 * @return the executor service for asynchronous operations or 
+	 *         <code>null</code>
+	 */
+	public ExecutorService getExecutorService() {
+		return executorService;
+	}
+
+	/**
+	 * Set the executor service that runs asynchronous operations. 
+	 * A caller-supplied executor is not shut down by the manager.
+	 * @param executorService The executor service to set
+	 * @return This instance
+	 */
+	public ClientSettings setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+		return this;
+	}
+
+	/**
+	 * @return <code>true</code> if the manager's default executor runs 
+	 *         each operation on a new virtual thread
+	 */
+	public boolean isVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Set whether the manager's default executor runs each asynchronous 
+	 * and bulk operation on a new virtual thread instead of a fixed pool of
+	 * platform threads. Each operation still blocks its thread for the 
+	 * whole request, and the connection pool bounds the requests on the 
+	 * wire, so raise {@link #setMaxTotalConnections(int)} and 
+	 * {@link #setMaxConnectionsPerRoute(int)} to match the concurrency.
+	 * <p>
+	 * The pooled Apache connector waits for connections on 
+	 * <code>java.util.concurrent</code> locks rather than monitors, so a 
+	 * waiting virtual thread unmounts from its carrier instead of pinning it.
+	 * An executor set with {@link #setExecutorService(ExecutorService)} 
+	 * takes precedence.
+	 * </p>
+	 * @param virtualThreads <code>true</code> to use virtual threads
+	 * @return This instance
+	 * @throws ContextedRuntimeException if virtual threads are requested 
+	 *         and the runtime does not support them (before Java 21)
+	 */
+	public ClientSettings setVirtualThreads(boolean virtualThreads) {
+		if (virtualThreads && !VirtualThreads.isSupported()) {
+			throw new ContextedRuntimeException("Virtual threads require Java 21 or later")
+			                       .addContextValue("java.version", 
+			                    		            System.getProperty("java.version"));
+		}
+		this.virtualThreads = virtualThreads;
+		return this;
+	}
+
+	/**
+	 * @return the roster cache or <code>null</code>
+	 */
+	public RosterCache getRosterCache() {
+		return rosterCache;
+	}
+
+	/**
+	 * Set the roster cache. The cache may be shared by several managers.
+	 * @param rosterCache The roster cache to set
+	 * @return This instance
+	 */
+	public ClientSettings setRosterCache(RosterCache rosterCache) {
+		this.rosterCache = rosterCache;
+		return this;
+	}
+
+	/**
+	 * @return the retry policy
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Set the retry policy. Use {@link RetryPolicy#NEVER} to disable retries.
+	 * The policy applies to every failure of idempotent operations, but an
+	 * invitation is only retried after a <code>429</code> answer or a 
+	 * failure to connect, so a request the server may have processed is 
+	 * never repeated.
+	 * @param retryPolicy The retry policy to set
+	 * @return This instance
+	 * @throws ContextedRuntimeException if the policy is <code>null</code>
+	 */
+	public ClientSettings setRetryPolicy(RetryPolicy retryPolicy) {
+		if (null == retryPolicy) {
+			throw new ContextedRuntimeException("Retry policy cannot be null");
+		}
+		this.retryPolicy = retryPolicy;
+		return this;
+	}
+
+	/**
+	 * @return the rate limiters or <code>null</code>
+	 */
+	public RateLimiterRegistry getRateLimiters() {
+		return rateLimiters;
+	}
+
+	/**
+	 * Set the per API token rate limiters. Managers sharing the registry 
+	 * share each token's request budget.
+	 * @param rateLimiters The rate limiters to set
+	 * @return This instance
+	 */
+	public ClientSettings setRateLimiters(RateLimiterRegistry rateLimiters) {
+		this.rateLimiters = rateLimiters;
+		return this;
+	}
+
+	/**
+	 * @return the circuit breaker or <code>null</code>
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * Set the circuit breaker
+	 * @param circuitBreaker The circuit breaker to set
+	 * @return This instance
+	 */
+	public ClientSettings setCircuitBreaker(CircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+		return this;
+	}
+
+	/**
+	 * @return the metrics
+	 */
+	public ClientMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Set the metrics receiving the measurements of every API call
+	 * @param metrics The metrics to set, e.g. 
+	 *        {@link com.rodaxsoft.hockeyapp.metrics.DropwizardMetrics}
+	 * @return This instance
+	 * @throws ContextedRuntimeException if the metrics are <code>null</code>
+	 */
+	public ClientSettings setMetrics(ClientMetrics metrics) {
+		if (null == metrics) {
+			throw new ContextedRuntimeException("Metrics cannot be null");
+		}
+		this.metrics = metrics;
+		return this;
+	}
+
+	/**
+	 * @return the roster snapshot store or <code>null</code>
+	 */
+	public RosterSnapshotStore getSnapshotStore() {
+		return snapshotStore;
+	}
+
+	/**
+	 * Set the roster snapshot store. A manager then starts from the app's 
+	 * last saved roster, refreshes it in the background once first used, 
+	 * and saves every roster it fetches, together with its entity tag, off 
+	 * the caller's thread.
+	 * @param snapshotStore The snapshot store to set or <code>null</code>
+	 * @return This instance
+	 */
+	public ClientSettings setSnapshotStore(RosterSnapshotStore snapshotStore) {
+		this.snapshotStore = snapshotStore;
+		return this;
+	}
+
+	/**
+	 * @return the membership filter false-positive rate or <code>0</code> 
+	 *         if there is no filter
+	 */
+	public double getMembershipFilterRate() {
+		return membershipFilterRate;
+	}
+
+	/**
+	 * Set the false-positive rate of the membership filter. A manager then
+	 * keeps a Bloom filter of its app's roster and answers 
+	 * {@link HockeyAppManager#isAppMember(String, String)} with 
+	 * <code>false</code> without a request when the filter rules the email 
+	 * out. Only possible members are checked remotely.
+	 * @param membershipFilterRate The rate to set, between 0 and 1 
+	 *        exclusive, or <code>0</code> to disable the filter
+	 * @return This instance
+	 * @throws ContextedRuntimeException if the rate is out of range
+	 * @see #setMembershipFilterRefresh(long)
+	 */
+	public ClientSettings setMembershipFilterRate(double membershipFilterRate) {
+		if (!(membershipFilterRate >= 0 && membershipFilterRate < 1)) {
+			throw new ContextedRuntimeException("Rate must be between 0 and 1")
+			                       .addContextValue("membershipFilterRate", 
+			                    		            membershipFilterRate);
+		}
+		this.membershipFilterRate = membershipFilterRate;
+		return this;
+	}
+
+	/**
+	 * @return the membership filter refresh interval in milliseconds
+	 */
+	public long getMembershipFilterRefresh() {
+		return membershipFilterRefresh;
+	}
+
+	/**
+	 * Set the interval at which the membership filter is rebuilt from a 
+	 * freshly fetched roster, starting when the manager is first used. 
+	 * Members added outside this client are reported as non-members until 
+	 * the next refresh.
+	 * @param membershipFilterRefresh The refresh interval in milliseconds
+	 * @return This instance
+	 */
+	public ClientSettings setMembershipFilterRefresh(long membershipFilterRefresh) {
+		checkPositive("membershipFilterRefresh", membershipFilterRefresh);
+		this.membershipFilterRefresh = membershipFilterRefresh;
+		return this;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ClientSettings [baseUri=" + baseUri 
+				+ ", maxTotalConnections=" + maxTotalConnections
+				+ ", maxConnectionsPerRoute=" + maxConnectionsPerRoute
+				+ ", idleTimeout=" + idleTimeout + ", connectTimeout="
+				+ connectTimeout + ", readTimeout=" + readTimeout + "]";
+	}
+
+}
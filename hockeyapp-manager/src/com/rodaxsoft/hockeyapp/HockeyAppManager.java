@@ -19,47 +19,133 @@
 
 package com.rodaxsoft.hockeyapp;
 
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Form;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status.Family;
 import javax.ws.rs.core.Response.StatusType;
 
-import net.sf.json.JSONArray;
-import net.sf.json.JSONObject;
-
 import org.apache.commons.beanutils.ConvertUtils;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.Predicate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.lang3.exception.ContextedException;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.lang3.exception.ExceptionContext;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
 
+import com.rodaxsoft.hockeyapp.bulk.BulkInviter;
+import com.rodaxsoft.hockeyapp.bulk.BulkReport;
+import com.rodaxsoft.hockeyapp.bulk.BulkUserUpdater;
+import com.rodaxsoft.hockeyapp.cache.MembershipFilter;
+import com.rodaxsoft.hockeyapp.cache.RosterCache;
+import com.rodaxsoft.hockeyapp.cache.RosterSnapshot;
+import com.rodaxsoft.hockeyapp.cache.RosterSnapshotStore;
+import com.rodaxsoft.hockeyapp.converters.ExportFormat;
 import com.rodaxsoft.hockeyapp.converters.UserConverter;
+import com.rodaxsoft.hockeyapp.converters.UserStreamReader;
+import com.rodaxsoft.hockeyapp.converters.UserStreamWriter;
+import com.rodaxsoft.hockeyapp.metrics.ClientMetrics;
+import com.rodaxsoft.hockeyapp.metrics.FilterStatistics;
+import com.rodaxsoft.hockeyapp.metrics.Operation;
+import com.rodaxsoft.hockeyapp.policy.CircuitBreaker;
+import com.rodaxsoft.hockeyapp.policy.RateLimiterRegistry;
+import com.rodaxsoft.hockeyapp.policy.RetryPolicy;
 import com.rodaxsoft.hockeyapp.user.User;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+import com.rodaxsoft.hockeyapp.user.UserUpdate;
 
 /**
  * HockeyAppManager class
+ * <p>
+ * Each manager owns a long-lived client backed by a keep-alive connection 
+ * pool, so repeated calls reuse warm connections. Every operation also has 
+ * an asynchronous variant which runs the blocking call on a bounded 
+ * executor, see {@link ClientSettings#setExecutorService(ExecutorService)}.
+ * Each call in flight holds an executor thread until its response is read,
+ * so the executor size bounds the asynchronous concurrency. 
+ * Call {@link #close()} when the manager is no longer needed.
+ * </p>
+ * <p>
+ * A manager is immutable once built and thread-safe: one manager can be 
+ * shared by any number of threads. Its configuration is copied from the 
+ * {@link ClientSettings} at construction, so later changes to the settings
+ * do not affect it. Create managers with a {@link Builder} or one of the 
+ * constructors.
+ * </p>
  * @author John Boyer
- * @version 2015-08-14
+ * @version 2026-10-18
  * @since 0.1
  * 
  */
-public final class HockeyAppManager {
+public final class HockeyAppManager implements AutoCloseable {
 
 	/**
-	 * HockeyApp Base URI
+	 * Too Many Requests status code
+	 */
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	/**
+	 * Not Modified status code
+	 */
+	private static final int NOT_MODIFIED = 304;
+	
+	/**
+	 * Context label marking the error thrown while the circuit breaker is 
+	 * open
 	 */
-	private static final String BASE_URI = "https://rink.hockeyapp.net/api/2/apps";
+	private static final String CIRCUIT_OPEN_KEY = "circuitOpen";
+	
+	/**
+	 * Size of the buffer reading the end of a hashed roster body
+	 */
+	private static final int DRAIN_BUFFER_SIZE = 4096;
+
+	/**
+	 * Default number of users per page of {@link #iterateAppUsers()}
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 100;
 
 	/**
 	 * Hockey App Token Header Key
@@ -72,14 +158,14 @@ public final class HockeyAppManager {
 	private static final Log LOG = LogFactory.getLog(HockeyAppManager.class);
 	
 	/**
-	 * Debugs the response object
-	 * <i>Note: The response stream will be closed after calling this method.</i>
+	 * Debugs the response object. The entity is buffered first, so it can 
+	 * still be read after calling this method.
 	 * @param response The response object to debug
 	 */
 	private static void debugEntity(Response response) {
 
-		if (response.hasEntity() && 
-				(LOG.isDebugEnabled() || LOG.isTraceEnabled())) {
+		if (LOG.isDebugEnabled() && response.hasEntity()) {
+			response.bufferEntity();
 			String entity = response.readEntity(String.class);
 			LOG.debug("Response: \n" + entity);
 		}
@@ -90,7 +176,8 @@ public final class HockeyAppManager {
 	 * @param response The response object 
 	 * @return A boolean value of <code>true</code> if successful; 
 	 *         otherwise <code>false</code>.
-	 * @throws ContextedException if the response status is unknown
+	 * @throws ContextedException if the response status is unknown or 
+	 *         the request was throttled
 	 */
 	private static boolean handleBooleanResponse(Response response) 
 			                                 throws ContextedException {
@@ -125,182 +212,1888 @@ public final class HockeyAppManager {
 		//Failure/Not found
 		case CLIENT_ERROR:
 		default:
+			//Throttled beyond the retry policy
+			if (statusCode == TOO_MANY_REQUESTS) {
+				throw new ContextedException("Too many requests")
+				                         .addContextValue("statusCode", statusCode)
+				                         .addContextValue("reason", reasonPhrase)
+				                         .addContextValue("name", familyName);
+			}
 			success = false;
 			break;
 		}
 		return success;
 	}
 	
+	static {
+		//Register converters once for the JSONObject and Address paths
+		ConvertUtils.register(new UserConverter(), User.class);
+	}
+	
 	/**
 	 * App object
 	 */
-	private App app;
-
+	private final App app;
+	
 	/**
-	 * Constructor
+	 * The JAX-RS client
 	 */
-	private HockeyAppManager() {
-		//Register converters
-		ConvertUtils.register(new UserConverter(), User.class);
-	}
+	private final Client client;
+	
+	/**
+	 * The pooled client owned by this manager or <code>null</code> if the 
+	 * client was supplied by the caller
+	 */
+	private final PooledClient pooledClient;
+	
+	/**
+	 * Executor running the asynchronous operations
+	 */
+	private final ExecutorService executor;
+	
+	/**
+	 * <code>true</code> if the executor is owned by this manager
+	 */
+	private final boolean ownsExecutor;
+	
+	/**
+	 * Default number of requests in flight for bulk operations
+	 */
+	private final int bulkConcurrency;
+	
+	/**
+	 * Roster cache or <code>null</code>
+	 */
+	private final RosterCache rosterCache;
+	
+	/**
+	 * Retry policy
+	 */
+	private final RetryPolicy retryPolicy;
+	
+	/**
+	 * Rate limiters by API token or <code>null</code>
+	 */
+	private final RateLimiterRegistry rateLimiters;
+	
+	/**
+	 * Circuit breaker or <code>null</code>
+	 */
+	private final CircuitBreaker circuitBreaker;
+	
+	/**
+	 * HockeyApp Base URI
+	 */
+	private final String baseUri;
+	
+	/**
+	 * Metrics
+	 */
+	private final ClientMetrics metrics;
+	
+	/**
+	 * Roster snapshot store or <code>null</code>
+	 */
+	private final RosterSnapshotStore snapshotStore;
+	
+	/**
+	 * Latest roster snapshot waiting to be saved or <code>null</code>
+	 */
+	private final AtomicReference<RosterSnapshot> pendingSnapshot = new AtomicReference<>();
+	
+	/**
+	 * Lock serializing snapshot writes
+	 */
+	private final Object snapshotLock = new Object();
+	
+	/**
+	 * Roster loaded from the snapshot store, served until the first 
+	 * refresh completes, or <code>null</code>
+	 */
+	private volatile UserRoster warmRoster;
+	
+	/**
+	 * Snapshot to refresh once the manager is first used or 
+	 * <code>null</code>
+	 */
+	private volatile RosterSnapshot warmSnapshot;
+	
+	/**
+	 * Set once the background refreshes have been started
+	 */
+	private final AtomicBoolean started = new AtomicBoolean();
+	
+	/**
+	 * Membership filter false-positive rate or <code>0</code> if there is 
+	 * no filter
+	 */
+	private final double filterRate;
+	
+	/**
+	 * Scheduler refreshing the membership filter or <code>null</code>
+	 */
+	private final ScheduledExecutorService filterScheduler;
+	/**
+	 * Membership filter statistics bound to the metrics or <code>null</code>
+	 */
+	private final FilterStatistics filterStatistics;
+	
+	/**
+	 * Membership filter refresh interval in milliseconds
+	 */
+	private final long filterRefresh;
+	
+	/**
+	 * Membership filter or <code>null</code> until a roster has been read
+	 */
+	private volatile MembershipFilter membershipFilter;
+	
+	/**
+	 * Guards the membership filter installs and additions
+	 */
+	private final Object filterLock = new Object();
+	
+	/**
+	 * Members added to the filter by generation, kept until a filter built
+	 * from a roster requested after the addition is installed
+	 */
+	private final NavigableMap<Long, String> filterAdditions = new TreeMap<>();
+	
+	/**
+	 * Filter generation, advanced by every member added to the filter
+	 */
+	private long filterGeneration;
+	
+	/**
+	 * Filter generation taken before the roster of the current filter was 
+	 * requested
+	 */
+	private long filterBuiltAt = -1;
+	
+	/**
+	 * Entity tag of the last filter refresh, used by the scheduler only
+	 */
+	private String filterETag;
+	
+	/**
+	 * Content hash of the last filter refresh, used by the scheduler only
+	 */
+	private byte[] filterHash;
+	
+	/**
+	 * Coalesces concurrent identical requests
+	 */
+	private final SingleFlight singleFlight = new SingleFlight();
 
 	/**
 	 * Constructor
-	 * @param apiToken HockeyApp API token
-	 * @param appId HockeyApp App ID
+	 * @param app The app
+	 * @param client The client
+	 * @param pooledClient The owned pooled client or <code>null</code>
+	 * @param settings The client settings
+	 * @param executor The executor or <code>null</code> to use the 
+	 *        settings' executor or a new owned one
 	 */
-	public HockeyAppManager(App app) {
-		this();
+	private HockeyAppManager(App app, Client client, PooledClient pooledClient,
+			                 ClientSettings settings, ExecutorService executor) {
+		if (null == app) {
+			throw new ContextedRuntimeException("App cannot be null");
+		}
 		this.app = app;
+		this.client = client;
+		this.pooledClient = pooledClient;
+		
+		if (executor != null) {
+			this.executor = executor;
+			this.ownsExecutor = false;
+		} else if (settings.getExecutorService() != null) {
+			this.executor = settings.getExecutorService();
+			this.ownsExecutor = false;
+		} else {
+			this.executor = newDefaultExecutor(settings, "hockeyapp-async-%d");
+			this.ownsExecutor = true;
+		}
+		
+		this.bulkConcurrency = settings.getMaxTotalConnections();
+		this.rosterCache = settings.getRosterCache();
+		this.retryPolicy = settings.getRetryPolicy();
+		this.rateLimiters = settings.getRateLimiters();
+		this.circuitBreaker = settings.getCircuitBreaker();
+		this.baseUri = settings.getBaseUri();
+		this.metrics = settings.getMetrics();
+		
+		if (pooledClient != null) {
+			metrics.bindConnectionPool(pooledClient);
+		}
+		
+		this.filterRate = settings.getMembershipFilterRate();
+		this.filterRefresh = settings.getMembershipFilterRefresh();
+		this.snapshotStore = settings.getSnapshotStore();
+		if (snapshotStore != null) {
+			warmStart();
+		}
+		
+		if (filterRate > 0) {
+			filterStatistics = bindMembershipFilter();
+			filterScheduler = newFilterScheduler();
+		} else {
+			filterStatistics = null;
+			filterScheduler = null;
+		}
 	}
-
+	
 	/**
-	 * Returns a list of all app users
-	 * @return A list of all app users
-	 * @see #getAppId()
+	 * Creates the scheduler that refreshes the membership filter. Nothing 
+	 * is scheduled until {@link #start()}.
+	 * @return A new scheduled executor service
 	 */
-	public List<User> getAllAppUsers() {
-		String resource = "app_users";
-		String path = app.getAppId() + "/" + resource;
-		LOG.debug("Path: " + path);
+	private static ScheduledExecutorService newFilterScheduler() {
+		ThreadFactory factory = new BasicThreadFactory.Builder()
+		                                 .namingPattern("hockeyapp-filter-%d")
+		                                 .daemon(true)
+		                                 .build();
+		return Executors.newSingleThreadScheduledExecutor(factory);
+	}
+	
+	/**
+	 * Starts the snapshot and membership filter refreshes on the first use
+	 * of the manager. They are not started by the constructor, so no 
+	 * background task can see a partially constructed manager.
+	 */
+	private void start() {
 		
-		Response response = ClientBuilder.newClient()
-				                         .target(BASE_URI)
-                                         .path(path)
-                                         .request(MediaType.APPLICATION_JSON_TYPE)
-                                         .header(HOCKEY_APP_TOKEN_KEY, app.getApiToken())
-                                         .get();
+		if (started.get() || !started.compareAndSet(false, true)) {
+			return;
+		}
 		
-		List<User> users = null;
+		final RosterSnapshot snapshot = warmSnapshot;
+		warmSnapshot = null;
 		
-		final Family family = response.getStatusInfo().getFamily();
-		if(family == Family.SUCCESSFUL) {
+		try {
+			if (snapshot != null) {
+				refreshSnapshot(snapshot);
+			}
 			
-			String entity = response.readEntity(String.class);
+			if (filterScheduler != null) {
+				filterScheduler.scheduleWithFixedDelay(new Runnable() {
+					
+					@Override
+					public void run() {
+						refreshMembershipFilter();
+					}
+				}, 0, filterRefresh, TimeUnit.MILLISECONDS);
+			}
+		} catch (RejectedExecutionException e) {
+			//Closed before its first use
+			warmRoster = null;
+		}
+	}
+	
+	/**
+	 * Reports the current membership filter to the metrics
+	 * @return The bound statistics
+	 */
+	private FilterStatistics bindMembershipFilter() {
+		final FilterStatistics statistics = new FilterStatistics() {
 			
-			JSONObject jsonObj = JSONObject.fromObject(entity);
-			JSONArray jsonArray = jsonObj.getJSONArray("app_users");
+			@Override
+			public double getFalsePositiveRate() {
+				return filterRate;
+			}
 			
-			@SuppressWarnings("unchecked")
-			Iterator<JSONObject> iter = jsonArray.iterator();
+			@Override
+			public double getExpectedFalsePositiveRate() {
+				final MembershipFilter filter = membershipFilter;
+				return filter != null ? filter.getExpectedFalsePositiveRate() : 0;
+			}
 			
-			while(iter.hasNext()) {
-				
-				JSONObject jsonUser = iter.next();
-				
-				if(null == users) {
-					users = new ArrayList<>();
-				}
-				
-				User user = (User) ConvertUtils.convert(jsonUser, User.class);
-				users.add(user);
-				
+			@Override
+			public int getSize() {
+				final MembershipFilter filter = membershipFilter;
+				return filter != null ? filter.getSize() : 0;
 			}
-
+		};
+		metrics.bindMembershipFilter(app.getAppId(), statistics);
+		return statistics;
+	}
+	
+	/**
+	 * Fetches the roster if it changed since the last refresh; reading a 
+	 * changed roster rebuilds the membership filter. A failure is logged 
+	 * and the current filter is kept.
+	 */
+	private void refreshMembershipFilter() {
+		try {
+			RosterFetch fetch = fetchAppUserRoster(filterETag, filterHash);
+			if (fetch != null) {
+				filterETag = fetch.getETag();
+				filterHash = fetch.getContentHash();
+			}
+		} catch (RuntimeException e) {
+			LOG.warn("Membership filter refresh failed", e);
 		}
-		
-		return users;
 	}
 	
 	/**
-	 * Invites a new user to the app 
-	 * @param invitation The user invitation
-	 * @return A boolean value of <code>true</code> if the user was 
-	 *         successfully added; otherwise, <code>false</code>.
-	 * @throws ContextedException if a processing error occurs
-	 * @see #getAppId()
+	 * Returns the filter generation, to be taken before a roster request 
+	 * so that members added while the request is in flight are kept
+	 * @return The generation
 	 */
-	public boolean inviteUser(Invitation invitation) throws ContextedException {
-
-		String resource = "app_users";
-		String path = app.getAppId() + "/" + resource;
-		LOG.debug("Path: " + path);
-		
-		//Create the path
-		final Client client = ClientBuilder.newClient();
-		WebTarget webTarget = client.target(BASE_URI).path(path);
-		
-		//Transform parameters to Form object
-		Form form;
-		form = new Form(new MultivaluedHashMap<>(invitation.getParameters()));
-		
-		//Invoke a POST
-		Response response;
-		response = webTarget.request(MediaType.APPLICATION_JSON_TYPE)
-				            .header(HOCKEY_APP_TOKEN_KEY, app.getApiToken())
-				            .post(Entity.form(form));
-
-
-		LOG.debug("Status: " + response.getStatus());
-
-		debugEntity(response);
-
-		return handleBooleanResponse(response);
+	private long getFilterGeneration() {
+		synchronized (filterLock) {
+			return filterGeneration;
+		}
 	}
 	
 	/**
-	 * Returns <code>true</code> if the email address matches a member of the app.
-	 * @param email The email address to check for membership
-	 * @param secret The app's secret string
-	 * @return A boolean value of <code>true</code> if the email address 
-	 *         matches a member of the app; otherwise, <code>false</code>.
-	 * @throws ContextedException if a processing error occurs
-	 * @see #getAppId()
+	 * Rebuilds the membership filter from the roster, if enabled. Members 
+	 * added after the generation was taken are added to the new filter 
+	 * again, and a roster requested before the one of the current filter 
+	 * is dropped.
+	 * @param roster The roster
+	 * @param generation The filter generation taken before the roster was
+	 *        requested
+	 * @see #getFilterGeneration()
 	 */
-	public boolean isAppMember(String email, String secret) 
-			                   throws ContextedException {
-		
-		String resource = "app_users/check";
-		String path = app.getAppId() + "/" + resource;
-		LOG.debug("Path: " + path);
-
-		WebTarget webTarget = ClientBuilder.newClient().target(BASE_URI)
-				                           .path(path)
-	                                       .queryParam("email", email)
-	                                       .queryParam("secret", secret);
-		
-		Response response = webTarget.request(MediaType.APPLICATION_JSON_TYPE)
-				                     .get();
+	private void updateMembershipFilter(UserRoster roster, long generation) {
+		if (filterRate <= 0) {
+			return;
+		}
 		
-		LOG.debug("Status: " + response.getStatus());
-
-		debugEntity(response);
+		final MembershipFilter filter = MembershipFilter.build(roster, filterRate);
+		synchronized (filterLock) {
+			if (generation < filterBuiltAt) {
+				return;
+			}
+			
+			for (String email : filterAdditions.tailMap(generation, false).values()) {
+				filter.add(email);
+			}
+			filterAdditions.headMap(generation, true).clear();
+			filterBuiltAt = generation;
+			membershipFilter = filter;
+		}
+	}
+	
+	/**
+	 * Adds a new member to the membership filter, if enabled
+	 * @param email The member's email
+	 */
+	private void addToMembershipFilter(String email) {
+		if (filterRate <= 0) {
+			return;
+		}
 		
-		return handleBooleanResponse(response);
+		synchronized (filterLock) {
+			filterAdditions.put(++filterGeneration, email);
+			final MembershipFilter filter = membershipFilter;
+			if (filter != null) {
+				filter.add(email);
+			}
+		}
 	}
-
+	
 	/**
-	 * Returns all the non-pending app users 
-	 * @param appUsers All of the app's uers
-	 * @return A new list of all the non-pending app users 
+	 * Loads the app's roster snapshot, if any. The snapshot roster is 
+	 * served until the refresh started on first use completes.
+	 * @see #start()
 	 */
-	public static List<User> getNonPendingAppUsers(List<User> appUsers) {
+	private void warmStart() {
 		
-		List<User> copyUsers = new ArrayList<>(appUsers);
+		final RosterSnapshot snapshot = snapshotStore.load(app.getAppId());
+		if (null == snapshot) {
+			return;
+		}
 		
-		CollectionUtils.filter(copyUsers, new Predicate<User>() {
-
+		LOG.debug("Warm start from " + snapshot);
+		warmRoster = snapshot.getRoster();
+		updateMembershipFilter(snapshot.getRoster(), getFilterGeneration());
+		filterETag = snapshot.getETag();
+		filterHash = snapshot.getContentHash();
+		warmSnapshot = snapshot;
+	}
+	
+	/**
+	 * Revalidates the snapshot roster in the background and stops serving
+	 * it once done
+	 * @param snapshot The snapshot loaded at startup
+	 */
+	private void refreshSnapshot(final RosterSnapshot snapshot) {
+		executor.execute(new Runnable() {
+			
 			@Override
-			public boolean evaluate(User object) {
-				return !object.isPending();
+			public void run() {
+				try {
+					final long generation = getRosterGeneration();
+					RosterFetch fetch = fetchAppUserRoster(snapshot.getETag(), 
+							                               snapshot.getContentHash());
+					if (fetch != null && !fetch.isModified() && rosterCache != null) {
+						rosterCache.put(app.getAppId(), snapshot.getRoster(), generation);
+					}
+				} catch (RuntimeException e) {
+					LOG.warn("Roster snapshot refresh failed", e);
+				} finally {
+					warmRoster = null;
+				}
 			}
 		});
+	}
+	
+	/**
+	 * Saves a roster snapshot on the executor. Snapshots saved while a 
+	 * write is queued replace the queued one, so only the latest roster is
+	 * written.
+	 * @param roster The roster
+	 * @param etag The entity tag or <code>null</code>
+	 * @param contentHash The content hash or <code>null</code>
+	 */
+	private void saveSnapshot(UserRoster roster, String etag, byte[] contentHash) {
+		
+		if (null == snapshotStore) {
+			return;
+		}
+		
+		final RosterSnapshot snapshot = new RosterSnapshot(roster, etag, contentHash, 
+				                                           System.currentTimeMillis());
+		if (pendingSnapshot.getAndSet(snapshot) != null) {
+			//The queued write picks up this snapshot
+			return;
+		}
 		
-		return copyUsers;		
+		try {
+			executor.execute(new Runnable() {
+				
+				@Override
+				public void run() {
+					writeSnapshot();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			pendingSnapshot.compareAndSet(snapshot, null);
+			LOG.debug("Roster snapshot dropped, executor shut down", e);
+		}
 	}
-
+	
 	/**
-	 * @return the app
+	 * Writes the pending roster snapshot, if any. A failure is logged, since 
+	 * the roster itself was fetched successfully.
 	 */
-	public App getApp() {
-		return app;
+	private void writeSnapshot() {
+		synchronized (snapshotLock) {
+			final RosterSnapshot snapshot = pendingSnapshot.getAndSet(null);
+			if (snapshot != null) {
+				try {
+					snapshotStore.save(app.getAppId(), snapshot);
+				} catch (RuntimeException e) {
+					LOG.warn("Could not save roster snapshot", e);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Constructor sharing a client and executor, used by 
+	 * {@link MultiAppManager}. Neither is closed by {@link #close()}.
+	 * @param app The app
+	 * @param client The shared client
+	 * @param settings The client settings
+	 * @param executor The shared executor
+	 */
+	HockeyAppManager(App app, Client client, ClientSettings settings,
+			         ExecutorService executor) {
+		this(app, client, null, settings, executor);
 	}
 
 	/**
-	 * @param app the app to set
+	 * Constructor using the default {@link ClientSettings}
+	 * @param app The HockeyApp app
 	 */
-	public void setApp(App app) {
-		this.app = app;
+	public HockeyAppManager(App app) {
+		this(app, new ClientSettings());
+	}
+	
+	/**
+	 * Constructor
+	 * @param app The HockeyApp app
+	 * @param settings The client and connection pool settings
+	 */
+	public HockeyAppManager(App app, ClientSettings settings) {
+		this(app, new PooledClient(settings), settings);
+	}
+	
+	/**
+	 * Constructor
+	 * @param app The app
+	 * @param pooledClient The owned pooled client
+	 * @param settings The client settings
+	 */
+	private HockeyAppManager(App app, PooledClient pooledClient, 
+			                 ClientSettings settings) {
+		this(app, pooledClient.getClient(), pooledClient, settings, null);
+	}
+	
+	/**
+	 * Constructor with a caller-supplied client. The client is shared and 
+	 * is <i>not</i> closed by {@link #close()}.
+	 * @param app The HockeyApp app
+	 * @param client The JAX-RS client to use for all requests
+	 */
+	public HockeyAppManager(App app, Client client) {
+		this(app, client, null, new ClientSettings(), null);
+	}
+	
+	/**
+	 * Creates the default executor for asynchronous operations. Its size 
+	 * matches the connection pool since extra threads would only wait 
+	 * for a pooled connection. In virtual thread mode, each operation 
+	 * runs on a new virtual thread instead.
+	 * @param settings The client settings
+	 * @param namingPattern The naming pattern of the platform threads
+	 * @return A new executor service
+	 * @see ClientSettings#setVirtualThreads(boolean)
+	 */
+	static ExecutorService newDefaultExecutor(ClientSettings settings, 
+			                                  String namingPattern) {
+		if (settings.isVirtualThreads()) {
+			return VirtualThreads.newExecutor();
+		}
+		
+		ThreadFactory factory = new BasicThreadFactory.Builder()
+		                                 .namingPattern(namingPattern)
+		                                 .daemon(true)
+		                                 .build();
+		return Executors.newFixedThreadPool(settings.getMaxTotalConnections(), 
+				                            factory);
+	}
+	
+	/**
+	 * Submits a task to the executor and notifies the optional callback 
+	 * on completion
+	 * @param task The task to run
+	 * @param callback The callback to notify or <code>null</code>
+	 * @return A future representing the pending result
+	 */
+	private <T> Future<T> submit(final Callable<T> task, 
+			                     final InvocationCallback<T> callback) {
+		return executor.submit(new Callable<T>() {
+
+			@Override
+			public T call() throws Exception {
+				T result;
+				try {
+					result = task.call();
+				} catch (Exception | Error e) {
+					if (callback != null) {
+						callback.failed(e);
+					}
+					throw e;
+				}
+				
+				if (callback != null) {
+					callback.completed(result);
+				}
+				return result;
+			}
+		});
+	}
+
+	/**
+	 * Sends a request, applying the rate limiter, circuit breaker and retry 
+	 * policy. A request has failed when the server answers <code>429</code> 
+	 * or <code>5xx</code>, or when no response was received. Failed requests
+	 * of idempotent operations are retried; other requests are only retried 
+	 * after a <code>429</code> or a failure to connect, since the server may
+	 * have processed them. Each attempt and retry is recorded in the metrics.
+	 * @param operation The operation
+	 * @param sender Sends a single attempt of the request
+	 * @param attempts Receives the number of requests sent or 
+	 *        <code>null</code>
+	 * @return The response of the last attempt
+	 * @throws ContextedRuntimeException if the circuit breaker is open or 
+	 *         the thread is interrupted while waiting
+	 * @throws ProcessingException if no response was received on the 
+	 *         last attempt
+	 */
+	private Response execute(Operation operation, RequestSender sender, 
+			                 AtomicInteger attempts) {
+		
+		start();
+		
+		for (int attempt = 1; ; attempt++) {
+			
+			if (circuitBreaker != null && !circuitBreaker.allowRequest()) {
+				throw new ContextedRuntimeException("Circuit breaker is open")
+				                       .addContextValue("appId", app.getAppId())
+				                       .addContextValue(CIRCUIT_OPEN_KEY, Boolean.TRUE);
+			}
+			
+			if (rateLimiters != null) {
+				try {
+					rateLimiters.get(app.getApiToken()).acquire();
+				} catch (InterruptedException e) {
+					//Nothing was sent; a granted trial lapses after the open period
+					Thread.currentThread().interrupt();
+					throw new ContextedRuntimeException(e);
+				}
+			}
+
+			Response response = null;
+			ProcessingException error = null;
+			int statusCode = 0;
+			boolean failed = true;
+
+			if (attempts != null) {
+				attempts.set(attempt);
+			}
+			
+			final long start = System.nanoTime();
+			try {
+				response = sender.send();
+				statusCode = response.getStatus();
+				failed = statusCode == TOO_MANY_REQUESTS
+						|| response.getStatusInfo().getFamily() == Family.SERVER_ERROR;
+			} catch (ProcessingException e) {
+				error = e;
+			} finally {
+				metrics.recordRequest(operation, statusCode, System.nanoTime() - start);
+
+				//Any exception of the sender counts as a failure, so a trial
+				//request always settles the circuit
+				if (circuitBreaker != null) {
+					if (failed) {
+						circuitBreaker.recordFailure();
+					} else {
+						circuitBreaker.recordSuccess();
+					}
+				}
+			}
+
+			if (!failed) {
+				return response;
+			}
+			
+			//A write is only repeated if the server cannot have processed it
+			final boolean retryable = operation.isIdempotent() 
+					|| statusCode == TOO_MANY_REQUESTS || isConnectFailure(error);
+			
+			final long retryAfter = getRetryAfter(response);
+			final long delay = retryable ? retryPolicy.getRetryDelay(attempt, statusCode, retryAfter)
+					                     : -1L;
+			
+			if (delay < 0) {
+				if (error != null) {
+					throw error;
+				}
+				return response;
+			}
+			
+			LOG.debug("Retrying in " + delay + " ms, status: " + statusCode);
+			metrics.recordRetry(operation, statusCode);
+			
+			if (response != null) {
+				response.close();
+			}
+			
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ContextedRuntimeException(e);
+			}
+		}
+	}
+	
+	/**
+	 * Returns <code>true</code> if the request failed before a connection 
+	 * was established, so the server never received it. Read timeouts and 
+	 * dropped connections do not qualify.
+	 * @param error The processing error or <code>null</code>
+	 * @return <code>true</code> if the request was never sent
+	 */
+	private static boolean isConnectFailure(ProcessingException error) {
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConnectException 
+					|| cause instanceof ConnectTimeoutException
+					|| cause instanceof ConnectionPoolTimeoutException
+					|| cause instanceof UnknownHostException) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns <code>true</code> if a write operation failed with an error 
+	 * which means the server cannot have processed it: the circuit breaker 
+	 * was open, the server answered <code>429</code> beyond the retry 
+	 * policy, the connection failed or the thread was interrupted before 
+	 * the request was sent again. Such a request can be sent again without
+	 * risking a duplicate; after a <code>5xx</code> answer or a read 
+	 * timeout it cannot.
+	 * @param error The error thrown by the operation
+	 * @return <code>true</code> if the request was not processed
+	 */
+	static boolean isUnprocessed(Exception error) {
+		
+		if (error instanceof ProcessingException) {
+			return isConnectFailure((ProcessingException) error);
+		}
+		
+		if (error instanceof ExceptionContext) {
+			final ExceptionContext context = (ExceptionContext) error;
+			final Object statusCode = context.getFirstContextValue("statusCode");
+			return Boolean.TRUE.equals(context.getFirstContextValue(CIRCUIT_OPEN_KEY))
+					|| Integer.valueOf(TOO_MANY_REQUESTS).equals(statusCode)
+					|| error.getCause() instanceof InterruptedException;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns the <code>Retry-After</code> delay of the response
+	 * @param response The response or <code>null</code>
+	 * @return The delay in milliseconds or <code>-1</code> if absent
+	 */
+	private static long getRetryAfter(Response response) {
+		
+		long retryAfter = -1L;
+		
+		String value = null;
+		if (response != null) {
+			value = response.getHeaderString(HttpHeaders.RETRY_AFTER);
+		}
+		
+		if (value != null) {
+			value = value.trim();
+			if (NumberUtils.isDigits(value)) {
+				retryAfter = TimeUnit.SECONDS.toMillis(Long.parseLong(value));
+			} else {
+				Date date = DateUtils.parseDate(value);
+				if (date != null) {
+					retryAfter = Math.max(0L, date.getTime() - System.currentTimeMillis());
+				}
+			}
+		}
+		
+		return retryAfter;
+	}
+	
+	/**
+	 * Records the declared length of the response body
+	 * @param operation The operation
+	 * @param response The response
+	 */
+	private void recordBytesReceived(Operation operation, Response response) {
+		final int length = response.getLength();
+		if (length >= 0) {
+			metrics.recordBytesReceived(operation, length);
+		}
+	}
+	
+	/**
+	 * Returns a list of all app users. The list is served from the roster 
+	 * cache when a fresh roster is cached. The list and its users are 
+	 * copies, so the caller may modify them.
+	 * @return A list of all app users, empty if the app has none, or 
+	 *         <code>null</code> if the request was unsuccessful
+	 * @see #getAppId()
+	 * @see #getAppUserRoster()
+	 * @see #iterateAppUsers()
+	 * @see ClientSettings#setRosterCache(RosterCache)
+	 */
+	public List<User> getAllAppUsers() {
+		
+		UserRoster roster = getAppUserRoster();
+		
+		List<User> users = null;
+		if (roster != null) {
+			users = new ArrayList<>(roster.size());
+			for (User user : roster.getUsers()) {
+				users.add(new User(user));
+			}
+		}
+		
+		return users;
+	}
+	
+	/**
+	 * Returns the app user roster indexed by email, ID and user ID. 
+	 * The roster is served from the roster cache when a fresh roster 
+	 * is cached, or from the roster snapshot while it is being refreshed 
+	 * after startup. Concurrent callers share one request and one parsed 
+	 * roster, so its users must not be modified.
+	 * @return The app user roster or <code>null</code> if the request 
+	 *         was unsuccessful
+	 * @see ClientSettings#setRosterCache(RosterCache)
+	 * @see ClientSettings#setSnapshotStore(RosterSnapshotStore)
+	 */
+	public UserRoster getAppUserRoster() {
+		
+		final UserRoster cached = getCachedRoster();
+		if (cached != null) {
+			return cached;
+		}
+		
+		try {
+			return singleFlight.execute(SingleFlight.key(app.getAppId(), Operation.GET_APP_USERS), 
+					                    new Callable<UserRoster>() {
+				
+				@Override
+				public UserRoster call() {
+					return loadAppUserRoster();
+				}
+			});
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ContextedRuntimeException(e);
+		}
+	}
+	
+	/**
+	 * Returns the fresh cached roster or, while it is being refreshed after 
+	 * startup, the snapshot roster
+	 * @return The roster or <code>null</code>
+	 */
+	UserRoster getCachedRoster() {
+		
+		start();
+		
+		if (rosterCache != null) {
+			UserRoster cached = rosterCache.getRoster(app.getAppId());
+			if (cached != null) {
+				return cached;
+			}
+		}
+		
+		return warmRoster;
+	}
+	
+	/**
+	 * Streams the app user roster and caches it. With a snapshot store, the
+	 * roster is fetched with its entity tag and content hash instead, so 
+	 * the saved snapshot can be revalidated at the next start.
+	 * @return The app user roster or <code>null</code> if the request 
+	 *         was unsuccessful
+	 */
+	private UserRoster loadAppUserRoster() {
+		
+		if (snapshotStore != null) {
+			final RosterFetch fetch = fetchAppUserRoster(null, null);
+			return fetch != null ? fetch.getRoster() : null;
+		}
+		
+		UserRoster roster = null;
+		final long generation = getRosterGeneration();
+		final long filterGeneration = getFilterGeneration();
+		
+		try (UserStreamReader reader = streamAppUsers()) {
+			
+			if (reader != null) {
+				roster = readRoster(reader, generation, filterGeneration);
+			}
+			
+		} catch (IOException e) {
+			throw new ContextedRuntimeException(e);
+		}
+		
+		return roster;
+	}
+	
+	/**
+	 * Returns the roster cache generation of the app, taken before a roster
+	 * request so that a roster which lost a race with a change is not cached
+	 * @return The generation or 0 without a roster cache
+	 * @see RosterCache#put(String, UserRoster, long)
+	 */
+	private long getRosterGeneration() {
+		return rosterCache != null ? rosterCache.getGeneration(app.getAppId()) : 0;
+	}
+	
+	/**
+	 * Reads every user of the reader into a roster and caches it unless the 
+	 * roster changed since the request was sent
+	 * @param reader The user reader
+	 * @param generation The roster cache generation taken before the request
+	 * @param filterGeneration The filter generation taken before the request
+	 * @return The roster
+	 */
+	private UserRoster readRoster(UserStreamReader reader, long generation, 
+			                      long filterGeneration) {
+		return cacheRoster(readUsers(reader), generation, filterGeneration);
+	}
+	
+	/**
+	 * Reads every user of the reader
+	 * @param reader The user reader
+	 * @return The users
+	 */
+	private static List<User> readUsers(UserStreamReader reader) {
+		List<User> users = new ArrayList<>();
+		while(reader.hasNext()) {
+			users.add(reader.next());
+		}
+		return users;
+	}
+	
+	/**
+	 * Creates a roster of the users, caches it unless the roster changed 
+	 * since the request was sent and rebuilds the membership filter
+	 * @param users The users
+	 * @param generation The roster cache generation taken before the request
+	 * @param filterGeneration The filter generation taken before the request
+	 * @return The roster
+	 */
+	private UserRoster cacheRoster(List<User> users, long generation, 
+			                       long filterGeneration) {
+		
+		UserRoster roster = new UserRoster(users);
+		if (rosterCache != null) {
+			rosterCache.put(app.getAppId(), roster, generation);
+		}
+		updateMembershipFilter(roster, filterGeneration);
+		
+		return roster;
+	}
+	
+	/**
+	 * Fetches the app user roster only if it changed since a previous fetch.
+	 * The request carries <code>If-None-Match</code> when an entity tag is 
+	 * given, and a <code>304</code> answer skips the body entirely. Without
+	 * an entity tag, the body is hashed while it is streamed, and the users 
+	 * read are dropped when the hash matches. The roster cache is bypassed. 
+	 * A changed roster is cached and, with a snapshot store, saved in the 
+	 * background.
+	 * @param etag The entity tag of the previous fetch or <code>null</code>
+	 * @param contentHash The content hash of the previous fetch or 
+	 *        <code>null</code>
+	 * @return The fetch result or <code>null</code> if the request was 
+	 *         unsuccessful
+	 * @see RosterFetch
+	 */
+	public RosterFetch fetchAppUserRoster(String etag, byte[] contentHash) {
+		String resource = "app_users";
+		String path = app.getAppId() + "/" + resource;
+		LOG.debug("Path: " + path);
+		
+		final long generation = getRosterGeneration();
+		final long filterGeneration = getFilterGeneration();
+		Invocation.Builder builder = client.target(baseUri)
+                                           .path(path)
+                                           .request(MediaType.APPLICATION_JSON_TYPE)
+                                           .header(HOCKEY_APP_TOKEN_KEY, app.getApiToken());
+		if (etag != null) {
+			builder = builder.header(HttpHeaders.IF_NONE_MATCH, etag);
+		}
+		
+		final Invocation.Builder request = builder;
+		Response response = execute(Operation.GET_APP_USERS, new RequestSender() {
+			
+			@Override
+			public Response send() {
+				return request.get();
+			}
+		}, null);
+		
+		try {
+			LOG.debug("Status: " + response.getStatus());
+			
+			if (response.getStatus() == NOT_MODIFIED) {
+				return new RosterFetch(null, etag, contentHash);
+			}
+			
+			if (response.getStatusInfo().getFamily() != Family.SUCCESSFUL) {
+				return null;
+			}
+			
+			final long start = System.nanoTime();
+			final String newETag = response.getHeaderString(HttpHeaders.ETAG);
+			final MessageDigest digest = RosterFetch.newDigest();
+			final InputStream in = new DigestInputStream(response.readEntity(InputStream.class), 
+					                                     digest);
+			
+			List<User> users;
+			long length;
+			try {
+				//The reader must not close the stream before the rest is hashed
+				try (UserStreamReader reader = new UserStreamReader(new FilterInputStream(in) {
+					
+					@Override
+					public void close() {
+						//Closed with the response
+					}
+				})) {
+					users = readUsers(reader);
+					length = reader.getByteCount();
+				}
+				
+				//Hash whatever the parser left unread
+				final byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+				for (int n; (n = in.read(buffer)) != -1; ) {
+					length += n;
+				}
+			} catch (IOException e) {
+				throw new ContextedRuntimeException(e);
+			}
+			metrics.recordBytesReceived(Operation.GET_APP_USERS, length);
+			
+			final byte[] hash = digest.digest();
+			if (Arrays.equals(hash, contentHash)) {
+				LOG.debug("Roster content unchanged");
+				return new RosterFetch(null, newETag, hash);
+			}
+			
+			final UserRoster roster = cacheRoster(users, generation, filterGeneration);
+			metrics.recordParse(Operation.GET_APP_USERS, System.nanoTime() - start);
+			saveSnapshot(roster, newETag, hash);
+			
+			return new RosterFetch(roster, newETag, hash);
+			
+		} finally {
+			//Return the connection to the pool
+			response.close();
+		}
+	}
+	
+	/**
+	 * Returns a reader that streams the app users straight off the response.
+	 * Users are parsed one at a time, so memory use stays flat regardless 
+	 * of the roster size.
+	 * <p>
+	 * <i>Note: The reader holds a pooled connection until it is closed 
+	 * or fully consumed.</i>
+	 * </p>
+	 * @return A reader of all app users or <code>null</code> if the request 
+	 *         was unsuccessful
+	 * @see #getAllAppUsers()
+	 * @see #iterateAppUsers()
+	 */
+	public UserStreamReader streamAppUsers() {
+		return streamAppUsers(0, 0);
+	}
+	
+	/**
+	 * Returns a reader that streams one page of the app users straight off 
+	 * the response
+	 * @param page The page number, starting at 1, or <code>0</code> to 
+	 *        request the whole roster
+	 * @param perPage The number of users per page
+	 * @return A reader of the app users or <code>null</code> if the request 
+	 *         was unsuccessful
+	 */
+	UserStreamReader streamAppUsers(int page, int perPage) {
+		String resource = "app_users";
+		String path = app.getAppId() + "/" + resource;
+		LOG.debug("Path: " + path);
+		
+		WebTarget webTarget = client.target(baseUri).path(path);
+		if (page > 0) {
+			webTarget = webTarget.queryParam("page", page)
+					             .queryParam("per_page", perPage);
+		}
+		
+		final Invocation.Builder request = webTarget.request(MediaType.APPLICATION_JSON_TYPE)
+                                                    .header(HOCKEY_APP_TOKEN_KEY, app.getApiToken());
+		
+		Response response = execute(Operation.GET_APP_USERS, new RequestSender() {
+			
+			@Override
+			public Response send() {
+				return request.get();
+			}
+		}, null);
+		
+		UserStreamReader reader = null;
+		
+		try {
+			LOG.debug("Status: " + response.getStatus());
+			
+			final Family family = response.getStatusInfo().getFamily();
+			if(family == Family.SUCCESSFUL) {
+				ReaderCloser closer = new ReaderCloser(response);
+				reader = new UserStreamReader(response.readEntity(InputStream.class),
+						                      closer);
+				closer.reader = reader;
+			}
+		} finally {
+			//Return the connection to the pool unless the reader owns it
+			if (null == reader) {
+				response.close();
+			}
+		}
+		
+		return reader;
+	}
+	
+	/**
+	 * Returns a lazy view of the app users using the 
+	 * {@link #DEFAULT_PAGE_SIZE} and prefetching
+	 * @return The app users
+	 * @see #iterateAppUsers(int, boolean)
+	 */
+	public AppUserIterable iterateAppUsers() {
+		return iterateAppUsers(DEFAULT_PAGE_SIZE, true);
+	}
+	
+	/**
+	 * Returns a lazy view of the app users. Each iteration requests the 
+	 * roster in pages of <code>page</code> and <code>per_page</code>; if 
+	 * the API answers with the whole roster instead, that response is 
+	 * streamed. Callers can stop early by closing the iterator.
+	 * @param pageSize The number of users per page
+	 * @param prefetch <code>true</code> to fetch the next page on the 
+	 *        executor while the current page is iterated
+	 * @return The app users
+	 * @throws ContextedRuntimeException if the page size is not positive
+	 * @see AppUserIterable
+	 */
+	public AppUserIterable iterateAppUsers(int pageSize, boolean prefetch) {
+		if (pageSize <= 0) {
+			throw new ContextedRuntimeException("Page size must be positive")
+			                       .addContextValue("pageSize", pageSize);
+		}
+		return new AppUserIterable(this, executor, pageSize, prefetch);
+	}
+	
+	/**
+	 * Exports the app users straight from the response to the stream. 
+	 * Users are decoded and encoded one at a time through bounded buffers, 
+	 * so the export does not hold the roster in memory. The roster cache is
+	 * bypassed and the stream is left open.
+	 * @param out The target stream
+	 * @param format The export format
+	 * @param compress <code>true</code> to gzip the output
+	 * @return The number of users exported or <code>-1</code> if the request
+	 *         was unsuccessful
+	 * @throws ContextedRuntimeException if an I/O error occurs
+	 * @see UserStreamWriter
+	 */
+	public long exportAppUsers(OutputStream out, ExportFormat format, boolean compress) {
+		
+		try (UserStreamReader reader = streamAppUsers()) {
+			
+			if (null == reader) {
+				return -1;
+			}
+			
+			UserStreamWriter writer = new UserStreamWriter(out, format, compress);
+			try {
+				while (reader.hasNext()) {
+					writer.write(reader.next());
+				}
+				writer.finish();
+			} finally {
+				//The caller's stream stays open, so the writer is not closed
+				writer.release();
+			}
+			
+			LOG.debug("Exported " + writer.getUserCount() + " users in " 
+			          + writer.getByteCount() + " bytes");
+			return writer.getUserCount();
+			
+		} catch (IOException e) {
+			throw new ContextedRuntimeException(e)
+			                       .addContextValue("format", format);
+		}
+	}
+	
+	/**
+	 * Exports the app users straight from the response to the channel. The
+	 * channel is left open.
+	 * @param channel The target channel
+	 * @param format The export format
+	 * @param compress <code>true</code> to gzip the output
+	 * @return The number of users exported or <code>-1</code> if the request
+	 *         was unsuccessful
+	 * @throws ContextedRuntimeException if an I/O error occurs
+	 * @see #exportAppUsers(OutputStream, ExportFormat, boolean)
+	 */
+	public long exportAppUsers(WritableByteChannel channel, ExportFormat format, 
+			                   boolean compress) {
+		//Writes go straight to the channel; closing the adapter is not needed
+		return exportAppUsers(Channels.newOutputStream(channel), format, compress);
+	}
+	
+	/**
+	 * Invites a new user to the app 
+	 * @param invitation The user invitation
+	 * @return A boolean value of <code>true</code> if the user was 
+	 *         successfully added; otherwise, <code>false</code>.
+	 * @throws ContextedException if a processing error occurs
+	 * @see #getAppId()
+	 */
+	public boolean inviteUser(Invitation invitation) throws ContextedException {
+		return inviteUser(invitation, null);
+	}
+	
+	/**
+	 * Invites a new user to the app and reports the number of requests 
+	 * sent, including retries of the retry policy
+	 * @param invitation The user invitation
+	 * @param attempts Receives the number of requests sent, even if the 
+	 *        invitation fails, or <code>null</code>
+	 * @return A boolean value of <code>true</code> if the user was 
+	 *         successfully added; otherwise, <code>false</code>.
+	 * @throws ContextedException if a processing error occurs
+	 * @see ClientSettings#setRetryPolicy(RetryPolicy)
+	 */
+	public boolean inviteUser(Invitation invitation, AtomicInteger attempts) 
+			                  throws ContextedException {
+
+		String resource = "app_users";
+		String path = app.getAppId() + "/" + resource;
+		LOG.debug("Path: " + path);
+		
+		//Create the path
+		WebTarget webTarget = client.target(baseUri).path(path);
+		
+		//Transform parameters to Form object
+		Form form;
+		form = new Form(new MultivaluedHashMap<>(invitation.getParameters()));
+		
+		//Invoke a POST
+		final Invocation.Builder request;
+		request = webTarget.request(MediaType.APPLICATION_JSON_TYPE)
+				           .header(HOCKEY_APP_TOKEN_KEY, app.getApiToken());
+		
+		final Entity<Form> entity = Entity.form(form);
+		Response response = execute(Operation.INVITE_USER, new RequestSender() {
+			
+			@Override
+			public Response send() {
+				return request.post(entity);
+			}
+		}, attempts);
+
+
+		try {
+			LOG.debug("Status: " + response.getStatus());
+	
+			recordBytesReceived(Operation.INVITE_USER, response);
+			debugEntity(response);
+	
+			boolean success = handleBooleanResponse(response);
+			
+			if (success) {
+				rosterChanged();
+				
+				//The new member must not be ruled out before the next refresh
+				if (invitation.getEmail() != null) {
+					addToMembershipFilter(invitation.getEmail());
+				}
+			}
+			
+			return success;
+		} finally {
+			//Return the connection to the pool
+			response.close();
+		}
+	}
+	
+	/**
+	 * Updates the role and tags of an app user. Values of the update that 
+	 * are <code>null</code> are left unchanged.
+	 * @param update The app user ID, the new role and tags
+	 * @return A boolean value of <code>true</code> if the user was 
+	 *         successfully updated; otherwise, <code>false</code>.
+	 * @throws ContextedException if a processing error occurs
+	 * @see #updateUsers(Collection)
+	 */
+	public boolean updateUser(UserUpdate update) throws ContextedException {
+		return updateUser(update, null);
+	}
+	
+	/**
+	 * Updates the role and tags of an app user and reports the number of 
+	 * requests sent, including retries of the retry policy
+	 * @param update The app user ID, the new role and tags
+	 * @param attempts Receives the number of requests sent, even if the 
+	 *        update fails, or <code>null</code>
+	 * @return A boolean value of <code>true</code> if the user was 
+	 *         successfully updated; otherwise, <code>false</code>.
+	 * @throws ContextedException if a processing error occurs
+	 */
+	public boolean updateUser(UserUpdate update, AtomicInteger attempts) 
+			                  throws ContextedException {
+		
+		String resource = "app_users/" + update.getId();
+		String path = app.getAppId() + "/" + resource;
+		LOG.debug("Path: " + path);
+		
+		Form form = new Form();
+		if (update.getRole() != null) {
+			form.param("role", update.getRole().getIndex().toString());
+		}
+		if (update.getTags() != null) {
+			form.param("tags", update.getTags());
+		}
+		
+		final Invocation.Builder request = client.target(baseUri)
+				                                 .path(path)
+				                                 .request(MediaType.APPLICATION_JSON_TYPE)
+				                                 .header(HOCKEY_APP_TOKEN_KEY, app.getApiToken());
+		
+		final Entity<Form> entity = Entity.form(form);
+		Response response = execute(Operation.UPDATE_USER, new RequestSender() {
+			
+			@Override
+			public Response send() {
+				return request.put(entity);
+			}
+		}, attempts);
+		
+		try {
+			LOG.debug("Status: " + response.getStatus());
+			
+			recordBytesReceived(Operation.UPDATE_USER, response);
+			debugEntity(response);
+			
+			final boolean success = handleBooleanResponse(response);
+			if (success) {
+				rosterChanged();
+			}
+			return success;
+		} finally {
+			//Return the connection to the pool
+			response.close();
+		}
+	}
+	
+	/**
+	 * Removes a user from the app
+	 * @param id The app user ID
+	 * @return A boolean value of <code>true</code> if the user was 
+	 *         successfully removed; otherwise, <code>false</code>.
+	 * @throws ContextedException if a processing error occurs
+	 * @see User#getId()
+	 * @see #removeUsers(Collection)
+	 */
+	public boolean removeUser(int id) throws ContextedException {
+		return removeUser(id, null);
+	}
+	
+	/**
+	 * Removes a user from the app and reports the number of requests sent,
+	 * including retries of the retry policy
+	 * @param id The app user ID
+	 * @param attempts Receives the number of requests sent, even if the 
+	 *        removal fails, or <code>null</code>
+	 * @return A boolean value of <code>true</code> if the user was 
+	 *         successfully removed; otherwise, <code>false</code>.
+	 * @throws ContextedException if a processing error occurs
+	 */
+	public boolean removeUser(int id, AtomicInteger attempts) throws ContextedException {
+		
+		String resource = "app_users/" + id;
+		String path = app.getAppId() + "/" + resource;
+		LOG.debug("Path: " + path);
+		
+		final Invocation.Builder request = client.target(baseUri)
+				                                 .path(path)
+				                                 .request(MediaType.APPLICATION_JSON_TYPE)
+				                                 .header(HOCKEY_APP_TOKEN_KEY, app.getApiToken());
+		
+		Response response = execute(Operation.REMOVE_USER, new RequestSender() {
+			
+			@Override
+			public Response send() {
+				return request.delete();
+			}
+		}, attempts);
+		
+		try {
+			LOG.debug("Status: " + response.getStatus());
+			
+			recordBytesReceived(Operation.REMOVE_USER, response);
+			debugEntity(response);
+			
+			//A removed user may still pass the membership filter, which 
+			//only costs a request until the next refresh
+			final boolean success = handleBooleanResponse(response);
+			if (success) {
+				rosterChanged();
+			}
+			return success;
+		} finally {
+			//Return the connection to the pool
+			response.close();
+		}
+	}
+	
+	/**
+	 * Drops the cached and warm rosters after a change, since they no 
+	 * longer match the server
+	 */
+	private void rosterChanged() {
+		warmRoster = null;
+		if (rosterCache != null) {
+			rosterCache.invalidate(app.getAppId());
+		}
+	}
+	
+	/**
+	 * Returns <code>true</code> if the email address matches a member of the app.
+	 * The answer comes from the roster cache when a fresh roster is cached, 
+	 * or from the roster snapshot while it is being refreshed after startup.
+	 * Otherwise, with a membership filter enabled, an email the filter rules 
+	 * out is answered <code>false</code> without a request. Concurrent 
+	 * identical checks share one request.
+	 * <p>
+	 * The secret is only sent with the remote check. Answers from the roster 
+	 * cache, the snapshot roster or the membership filter rest on the roster 
+	 * fetched with the manager's API token and do not verify the secret.
+	 * </p>
+	 * @param email The email address to check for membership
+	 * @param secret The app's secret string
+	 * @return A boolean value of <code>true</code> if the email address 
+	 *         matches a member of the app; otherwise, <code>false</code>.
+	 * @throws ContextedException if a processing error occurs
+	 * @see #getAppId()
+	 * @see ClientSettings#setRosterCache(RosterCache)
+	 * @see ClientSettings#setMembershipFilterRate(double)
+	 */
+	public boolean isAppMember(final String email, final String secret) 
+			                   throws ContextedException {
+		
+		start();
+		
+		if (rosterCache != null) {
+			Boolean member = rosterCache.isMember(app.getAppId(), email);
+			if (member != null) {
+				return member;
+			}
+		}
+		
+		final UserRoster warm = warmRoster;
+		if (warm != null) {
+			return warm.containsEmail(email);
+		}
+		
+		final MembershipFilter filter = membershipFilter;
+		if (filter != null) {
+			final boolean rejected = !filter.mightContain(email);
+			metrics.recordFilterCheck(rejected);
+			if (rejected) {
+				return false;
+			}
+		}
+		
+		try {
+			return singleFlight.execute(SingleFlight.key(app.getAppId(), 
+					                    Operation.IS_APP_MEMBER, email, secret), 
+					                    new Callable<Boolean>() {
+				
+				@Override
+				public Boolean call() throws ContextedException {
+					return checkAppMember(email, secret, filter != null);
+				}
+			});
+		} catch (ContextedException | RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ContextedRuntimeException(e);
+		}
+	}
+	
+	/**
+	 * Checks the email's membership remotely
+	 * @param email The email address to check for membership
+	 * @param secret The app's secret string
+	 * @param filtered <code>true</code> if the email passed a membership 
+	 *        filter
+	 * @return <code>true</code> if the email address matches a member
+	 * @throws ContextedException if a processing error occurs
+	 */
+	private boolean checkAppMember(String email, String secret, boolean filtered) 
+			                       throws ContextedException {
+		
+		String resource = "app_users/check";
+		String path = app.getAppId() + "/" + resource;
+		LOG.debug("Path: " + path);
+
+		WebTarget webTarget = client.target(baseUri)
+				                    .path(path)
+	                                       .queryParam("email", email)
+	                                       .queryParam("secret", secret);
+		
+		final Invocation.Builder request;
+		request = webTarget.request(MediaType.APPLICATION_JSON_TYPE);
+		
+		Response response = execute(Operation.IS_APP_MEMBER, new RequestSender() {
+			
+			@Override
+			public Response send() {
+				return request.get();
+			}
+		}, null);
+		
+		try {
+			LOG.debug("Status: " + response.getStatus());
+	
+			recordBytesReceived(Operation.IS_APP_MEMBER, response);
+			debugEntity(response);
+			
+			final boolean member = handleBooleanResponse(response);
+			if (filtered && !member) {
+				metrics.recordFilterFalsePositive();
+			}
+			return member;
+		} finally {
+			//Return the connection to the pool
+			response.close();
+		}
+	}
+
+	/**
+	 * Invites many users to the app, pipelining the requests with up to 
+	 * {@link ClientSettings#getMaxTotalConnections()} in flight
+	 * @param invitations The user invitations
+	 * @return A report holding a result for each invitation
+	 * @see #inviteUsers(Collection, int)
+	 */
+	public BulkReport<Invitation> inviteUsers(Collection<Invitation> invitations) {
+		return inviteUsers(invitations, bulkConcurrency);
+	}
+	
+	/**
+	 * Invites many users to the app, pipelining the requests. Emails that 
+	 * are already app members or repeated in the collection are skipped. 
+	 * Invitations are retried by the retry policy only when the server 
+	 * cannot have processed them.
+	 * @param invitations The user invitations
+	 * @param concurrency The maximum number of requests in flight
+	 * @return A report holding a result for each invitation
+	 */
+	public BulkReport<Invitation> inviteUsers(Collection<Invitation> invitations, 
+			                                  int concurrency) {
+		return new BulkInviter(this, executor, concurrency).invite(invitations);
+	}
+	
+	/**
+	 * Updates the role and tags of many app users, pipelining the requests 
+	 * with up to {@link ClientSettings#getMaxTotalConnections()} in flight
+	 * @param updates The app user IDs, new roles and tags
+	 * @return A report holding a result for each update
+	 * @see #updateUsers(Collection, int)
+	 */
+	public BulkReport<UserUpdate> updateUsers(Collection<UserUpdate> updates) {
+		return updateUsers(updates, bulkConcurrency);
+	}
+	
+	/**
+	 * Updates the role and tags of many app users, pipelining the requests.
+	 * Updates that are <code>null</code> or repeat an app user ID of the 
+	 * collection are skipped. Failed requests are retried by the retry 
+	 * policy.
+	 * @param updates The app user IDs, new roles and tags
+	 * @param concurrency The maximum number of requests in flight
+	 * @return A report holding a result for each update
+	 * @see #updateUser(UserUpdate)
+	 */
+	public BulkReport<UserUpdate> updateUsers(Collection<UserUpdate> updates, 
+			                                  int concurrency) {
+		return new BulkUserUpdater(this, executor, concurrency).update(updates);
+	}
+	
+	/**
+	 * Removes many users from the app, pipelining the requests with up to 
+	 * {@link ClientSettings#getMaxTotalConnections()} in flight
+	 * @param ids The app user IDs
+	 * @return A report holding a result for each ID
+	 * @see #removeUsers(Collection, int)
+	 */
+	public BulkReport<Integer> removeUsers(Collection<Integer> ids) {
+		return removeUsers(ids, bulkConcurrency);
+	}
+	
+	/**
+	 * Removes many users from the app, pipelining the requests. IDs that 
+	 * are <code>null</code> or repeated in the collection are skipped. 
+	 * Failed requests are retried by the retry policy.
+	 * @param ids The app user IDs
+	 * @param concurrency The maximum number of requests in flight
+	 * @return A report holding a result for each ID
+	 * @see #removeUser(int)
+	 */
+	public BulkReport<Integer> removeUsers(Collection<Integer> ids, int concurrency) {
+		return new BulkUserUpdater(this, executor, concurrency).remove(ids);
+	}
+	
+	/**
+	 * Asynchronously returns a list of all app users
+	 * @return A future list of all app users
+	 * @see #getAllAppUsers()
+	 */
+	public Future<List<User>> getAllAppUsersAsync() {
+		return getAllAppUsersAsync(null);
+	}
+	
+	/**
+	 * Asynchronously returns a list of all app users
+	 * @param callback The callback to notify on completion or <code>null</code>
+	 * @return A future list of all app users
+	 * @see #getAllAppUsers()
+	 */
+	public Future<List<User>> getAllAppUsersAsync(InvocationCallback<List<User>> callback) {
+		return submit(new Callable<List<User>>() {
+
+			@Override
+			public List<User> call() {
+				return getAllAppUsers();
+			}
+		}, callback);
+	}
+	
+	/**
+	 * Asynchronously invites a new user to the app
+	 * @param invitation The user invitation
+	 * @return A future boolean value of <code>true</code> if the user was 
+	 *         successfully added. The future fails with a 
+	 *         <code>ContextedException</code> if a processing error occurs.
+	 * @see #inviteUser(Invitation)
+	 */
+	public Future<Boolean> inviteUserAsync(Invitation invitation) {
+		return inviteUserAsync(invitation, null);
+	}
+	
+	/**
+	 * Asynchronously invites a new user to the app
+	 * @param invitation The user invitation
+	 * @param callback The callback to notify on completion or <code>null</code>
+	 * @return A future boolean value of <code>true</code> if the user was 
+	 *         successfully added. The future fails with a 
+	 *         <code>ContextedException</code> if a processing error occurs.
+	 * @see #inviteUser(Invitation)
+	 */
+	public Future<Boolean> inviteUserAsync(final Invitation invitation,
+			                               InvocationCallback<Boolean> callback) {
+		return submit(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws ContextedException {
+				return inviteUser(invitation);
+			}
+		}, callback);
+	}
+	
+	/**
+	 * Asynchronously checks if the email address matches a member of the app
+	 * @param email The email address to check for membership
+	 * @param secret The app's secret string
+	 * @return A future boolean value of <code>true</code> if the email 
+	 *         address matches a member of the app. The future fails with a 
+	 *         <code>ContextedException</code> if a processing error occurs.
+	 * @see #isAppMember(String, String)
+	 */
+	public Future<Boolean> isAppMemberAsync(String email, String secret) {
+		return isAppMemberAsync(email, secret, null);
+	}
+	
+	/**
+	 * Asynchronously checks if the email address matches a member of the app
+	 * @param email The email address to check for membership
+	 * @param secret The app's secret string
+	 * @param callback The callback to notify on completion or <code>null</code>
+	 * @return A future boolean value of <code>true</code> if the email 
+	 *         address matches a member of the app. The future fails with a 
+	 *         <code>ContextedException</code> if a processing error occurs.
+	 * @see #isAppMember(String, String)
+	 */
+	public Future<Boolean> isAppMemberAsync(final String email, final String secret,
+			                                InvocationCallback<Boolean> callback) {
+		return submit(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws ContextedException {
+				return isAppMember(email, secret);
+			}
+		}, callback);
+	}
+
+	/**
+	 * Returns all the non-pending app users 
+	 * @param appUsers All of the app's uers
+	 * @return A new list of all the non-pending app users 
+	 * @see UserRoster#getNonPendingUsers()
+	 */
+	public static List<User> getNonPendingAppUsers(List<User> appUsers) {
+		
+		List<User> nonPendingUsers = new ArrayList<>(appUsers.size());
+		
+		for (User user : appUsers) {
+			if (!user.isPending()) {
+				nonPendingUsers.add(user);
+			}
+		}
+		
+		return nonPendingUsers;		
+	}
+
+	/**
+	 * @return the app
+	 */
+	public App getApp() {
+		return app;
+	}
+
+	/**
+	 * @return the metrics receiving the measurements of this manager
+	 */
+	ClientMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Writes a pending roster snapshot, stops reporting the membership 
+	 * filter and closes the manager's client, connection pool and executor.
+	 * A client 
+	 * supplied through {@link #HockeyAppManager(App, Client)} or an executor 
+	 * supplied through {@link ClientSettings#setExecutorService(ExecutorService)} 
+	 * is left open.
+	 */
+	@Override
+	public void close() {
+		if (snapshotStore != null) {
+			writeSnapshot();
+		}
+		
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+		
+		if (filterScheduler != null) {
+			filterScheduler.shutdownNow();
+			metrics.unbindMembershipFilter(app.getAppId(), filterStatistics);
+		}
+		
+		if (pooledClient != null) {
+			pooledClient.close();
+		}
+	}
+
+	/**
+	 * ReaderCloser closes the response of a user stream reader and records 
+	 * the reader's parse time and bytes received
+	 */
+	private final class ReaderCloser implements Closeable {
+		
+		/**
+		 * The response
+		 */
+		private final Response response;
+		/**
+		 * Time the response headers were received
+		 */
+		private final long start = System.nanoTime();
+		/**
+		 * The reader or <code>null</code> if not yet created
+		 */
+		private UserStreamReader reader;
+		
+		/**
+		 * Constructor
+		 * @param response The response owning the reader's stream
+		 */
+		ReaderCloser(Response response) {
+			this.response = response;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.io.Closeable#close()
+		 */
+		@Override
+		public void close() {
+			try {
+				metrics.recordParse(Operation.GET_APP_USERS, System.nanoTime() - start);
+				if (reader != null) {
+					metrics.recordBytesReceived(Operation.GET_APP_USERS, 
+							                    reader.getByteCount());
+				}
+			} finally {
+				response.close();
+			}
+		}
+	}
+
+	/**
+	 * Builder class creates {@link HockeyAppManager} instances. A builder 
+	 * is not thread-safe.
+	 */
+	public static final class Builder {
+		
+		/**
+		 * The app
+		 */
+		private final App app;
+		/**
+		 * The client settings
+		 */
+		private ClientSettings settings = new ClientSettings();
+		/**
+		 * A shared client or <code>null</code>
+		 */
+		private Client client;
+		
+		/**
+		 * Constructor
+		 * @param app The HockeyApp app
+		 * @throws ContextedRuntimeException if the app is <code>null</code>
+		 */
+		public Builder(App app) {
+			if (null == app) {
+				throw new ContextedRuntimeException("App cannot be null");
+			}
+			this.app = app;
+		}
+		
+		/**
+		 * Set the client and connection pool settings
+		 * @param settings The settings to set
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the settings are 
+		 *         <code>null</code>
+		 */
+		public Builder setSettings(ClientSettings settings) {
+			if (null == settings) {
+				throw new ContextedRuntimeException("Settings cannot be null");
+			}
+			this.settings = settings;
+			return this;
+		}
+		
+		/**
+		 * Set a caller-supplied client to use for all requests instead of 
+		 * an owned pooled client. The client is <i>not</i> closed by 
+		 * {@link HockeyAppManager#close()}, and the settings' connection 
+		 * pool values do not apply to it.
+		 * @param client The client to set or <code>null</code>
+		 * @return This instance
+		 */
+		public Builder setClient(Client client) {
+			this.client = client;
+			return this;
+		}
+		
+		/**
+		 * Builds the manager
+		 * @return A new manager
+		 */
+		public HockeyAppManager build() {
+			return client != null ? new HockeyAppManager(app, client, null, settings, null)
+					              : new HockeyAppManager(app, settings);
+		}
+	}
+
+	/**
+	 * RequestSender sends a single attempt of a request
+	 */
+	private interface RequestSender {
+		
+		/**
+		 * @return The response
+		 */
+		Response send();
 	}
 
 }
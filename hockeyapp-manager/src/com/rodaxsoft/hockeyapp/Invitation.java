@@ -27,7 +27,6 @@ import javax.mail.internet.InternetAddress;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ContextedRuntimeException;
-import org.apache.commons.validator.routines.EmailValidator;
 
 import com.rodaxsoft.hockeyapp.user.Role;
 
@@ -62,13 +61,18 @@ public final class Invitation {
 		this();
 		
 		InternetAddress internetAddr;
-		try {
-			internetAddr = new InternetAddress(address.toString());
-		} catch (AddressException e) {
-			throw new ContextedRuntimeException(e)
-			           .addContextValue("pos", e.getPos())
-			           .addContextValue("ref", e.getRef());
-
+		if (address instanceof InternetAddress) {
+			//Already parsed
+			internetAddr = (InternetAddress) address;
+		} else {
+			try {
+				internetAddr = new InternetAddress(address.toString());
+			} catch (AddressException e) {
+				throw new ContextedRuntimeException(e)
+				           .addContextValue("pos", e.getPos())
+				           .addContextValue("ref", e.getRef());
+
+			}
 		}
 		
 		this.setEmail(internetAddr.getAddress());
@@ -86,15 +90,21 @@ public final class Invitation {
 	}
 
 	/**
-	 * Set the email address (required)
+	 * @return The email address or <code>null</code>
+	 */
+	public String getEmail() {
+		return parameters.get("email");
+	}
+
+	/**
+	 * Set the email address (required). Domain verdicts are cached, so 
+	 * validating many addresses of the same domain is cheap.
 	 * @param email The email address to set
 	 * @return This instance
 	 * @throws ContextedRuntimeException if the email is invalid
 	 */
 	public Invitation setEmail(String email) {
-		EmailValidator validator;
-		validator = EmailValidator.getInstance();
-		if (validator.isValid(email)) {
+		if (CachingEmailValidator.getInstance().isValid(email)) {
 			parameters.put("email", email);
 		} else {
 			throw new ContextedRuntimeException("Invalid email address")
@@ -0,0 +1,497 @@
+/*
+	InvitationJournal.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.rodaxsoft.hockeyapp.converters.BinaryCodec;
+
+/**
+ * InvitationJournal is the append-only file behind an
+ * {@link InvitationQueue}. Every enqueued invitation is appended as a
+ * record, and sent invitations are acknowledged in batches by a single
+ * record, so nothing is rewritten in place. Appends reach the operating
+ * system immediately; {@link #sync()} forces them to disk.
+ * <p>
+ * The file starts with the magic number <code>"HAIJ"</code> and a version
+ * byte. Each record is its length and the CRC-32 of its body followed by
+ * the body: a type byte, the sequence number (0 for acknowledgements) and
+ * either the invitation parameters or the acknowledged sequence numbers, with integers as 
+ * variable-length quantities and strings as UTF-8. On open, records are 
+ * replayed up to the first torn or corrupt record, and the journal is
+ * compacted to the invitations still pending. A file with an invalid 
+ * header is moved aside with a <code>.corrupt</code> suffix. Compaction 
+ * writes a new file and replaces the old one atomically.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+final class InvitationJournal implements Closeable {
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(InvitationJournal.class);
+
+	/**
+	 * Magic number, "HAIJ"
+	 */
+	private static final int MAGIC = 0x4841494A;
+	/**
+	 * Format version
+	 */
+	private static final byte VERSION = 1;
+	/**
+	 * Header size in bytes
+	 */
+	private static final int HEADER_SIZE = 5;
+	/**
+	 * Record header size in bytes: length and CRC-32
+	 */
+	private static final int RECORD_HEADER_SIZE = 8;
+	/**
+	 * Enqueue record type
+	 */
+	private static final byte ENQUEUE = 1;
+	/**
+	 * Acknowledgement record type
+	 */
+	private static final byte ACK = 2;
+
+	/**
+	 * The journal file
+	 */
+	private final Path path;
+	/**
+	 * Pending invitations by sequence number
+	 */
+	private final NavigableMap<Long, Pending> pending = new TreeMap<>();
+	/**
+	 * Serializes forcing and compaction; acquired before this journal's 
+	 * monitor
+	 */
+	private final Object syncLock = new Object();
+	/**
+	 * The open journal channel
+	 */
+	private FileChannel channel;
+	/**
+	 * Next sequence number
+	 */
+	private long nextSequence = 1;
+	/**
+	 * Journal size in bytes
+	 */
+	private long size;
+	/**
+	 * Size of the enqueue records of the pending invitations
+	 */
+	private long liveBytes;
+	/**
+	 * <code>true</code> if records were appended since the last sync
+	 */
+	private boolean dirty;
+
+	/**
+	 * Constructor opens the journal, replaying and compacting an existing 
+	 * file
+	 * @param path The journal file
+	 * @throws IOException if an I/O error occurs
+	 */
+	InvitationJournal(Path path) throws IOException {
+		this.path = path;
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		if (Files.exists(path) && !replay(ByteBuffer.wrap(Files.readAllBytes(path)))) {
+			Files.move(path, path.resolveSibling(path.getFileName() + ".corrupt"),
+					   StandardCopyOption.REPLACE_EXISTING);
+		}
+		synchronized (syncLock) {
+			synchronized (this) {
+				rewrite();
+			}
+		}
+	}
+
+	/**
+	 * Replays the records of a journal
+	 * @param in The journal contents, backed by an array
+	 * @return <code>false</code> if the journal header is invalid
+	 */
+	private boolean replay(ByteBuffer in) {
+
+		if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC || in.get() != VERSION) {
+			LOG.warn("Ignoring invalid invitation journal " + path);
+			return false;
+		}
+
+		final CRC32 crc = new CRC32();
+		int records = 0;
+		while (in.remaining() >= RECORD_HEADER_SIZE) {
+
+			final int start = in.position();
+			final int length = in.getInt();
+			final int checksum = in.getInt();
+			if (length <= 0 || length > in.remaining()) {
+				in.position(start);
+				break;
+			}
+
+			crc.reset();
+			crc.update(in.array(), in.arrayOffset() + in.position(), length);
+			if ((int) crc.getValue() != checksum) {
+				in.position(start);
+				break;
+			}
+			ByteBuffer body = in.slice();
+			body.limit(length);
+			in.position(in.position() + length);
+
+			try {
+				apply(body, RECORD_HEADER_SIZE + length);
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				in.position(start);
+				break;
+			}
+			records++;
+		}
+
+		if (in.hasRemaining()) {
+			LOG.warn("Dropped " + in.remaining() + " bytes of a torn invitation journal " 
+			         + path);
+		}
+		LOG.debug("Replayed " + records + " journal records, " + pending.size() 
+		          + " invitations pending");
+		return true;
+	}
+
+	/**
+	 * Applies one record body
+	 * @param body The record body
+	 * @param recordSize The record size including its header
+	 */
+	private void apply(ByteBuffer body, int recordSize) {
+
+		final byte type = body.get();
+		final long sequence = BinaryCodec.readVarint(body);
+		nextSequence = Math.max(nextSequence, sequence + 1);
+
+		if (ENQUEUE == type) {
+			Invitation invitation = new Invitation();
+			final long count = BinaryCodec.readVarint(body);
+			for (long i = 0; i < count; i++) {
+				invitation.getParameters().put(BinaryCodec.readString(body), 
+						                         BinaryCodec.readString(body));
+			}
+			pending.put(sequence, new Pending(invitation, recordSize));
+		} else if (ACK == type) {
+			final long count = BinaryCodec.readVarint(body);
+			for (long i = 0; i < count; i++) {
+				pending.remove(BinaryCodec.readVarint(body));
+			}
+		} else {
+			throw new IllegalArgumentException("Unknown record type " + type);
+		}
+	}
+
+	/**
+	 * Appends an invitation. The record holds its parameters at this point;
+	 * later changes to the invitation are not journaled.
+	 * @param invitation The invitation
+	 * @return The sequence number
+	 * @throws IOException if an I/O error occurs
+	 */
+	synchronized long append(Invitation invitation) throws IOException {
+		final long sequence = nextSequence++;
+		final ByteBuffer record = encodeEnqueue(sequence, invitation);
+		write(record);
+		pending.put(sequence, new Pending(invitation, record.capacity()));
+		liveBytes += record.capacity();
+		return sequence;
+	}
+
+	/**
+	 * Acknowledges invitations that no longer need to be sent
+	 * @param sequences The sequence numbers
+	 * @throws IOException if an I/O error occurs
+	 */
+	synchronized void ack(Collection<Long> sequences) throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + sequences.size() * 4);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(ACK);
+		BinaryCodec.writeVarint(out, 0L);
+		BinaryCodec.writeVarint(out, sequences.size());
+		for (Long sequence : sequences) {
+			BinaryCodec.writeVarint(out, sequence);
+		}
+		write(frame(bytes.toByteArray()));
+
+		for (Long sequence : sequences) {
+			final Pending removed = pending.remove(sequence);
+			if (removed != null) {
+				liveBytes -= removed.recordSize;
+			}
+		}
+	}
+
+	/**
+	 * @return the pending invitations by sequence number, oldest first
+	 */
+	synchronized List<Map.Entry<Long, Invitation>> getPending() {
+		List<Map.Entry<Long, Invitation>> entries = new ArrayList<>(pending.size());
+		for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+			entries.add(new AbstractMap.SimpleImmutableEntry<>(
+					    entry.getKey(), entry.getValue().invitation));
+		}
+		return entries;
+	}
+
+	/**
+	 * @return the number of pending invitations
+	 */
+	synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * @return the journal size in bytes
+	 */
+	synchronized long getSize() {
+		return size;
+	}
+
+	/**
+	 * Forces the appended records to disk. Appends are not blocked while 
+	 * the disk is being written.
+	 * @throws IOException if an I/O error occurs
+	 */
+	void sync() throws IOException {
+		synchronized (syncLock) {
+			FileChannel target;
+			synchronized (this) {
+				if (!dirty || null == channel) {
+					return;
+				}
+				dirty = false;
+				target = channel;
+			}
+			target.force(false);
+		}
+	}
+
+	/**
+	 * Compacts the journal to the pending invitations once it exceeds the
+	 * threshold and is mostly acknowledged records
+	 * @param threshold The size in bytes above which to compact
+	 * @return <code>true</code> if the journal was compacted
+	 * @throws IOException if an I/O error occurs
+	 */
+	boolean compact(long threshold) throws IOException {
+		synchronized (syncLock) {
+			synchronized (this) {
+				if (null == channel || size <= threshold 
+						|| size <= 2 * (liveBytes + HEADER_SIZE)) {
+					return false;
+				}
+				rewrite();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Writes the pending invitations to a new file, forces it, replaces the
+	 * journal atomically and reopens it for appending
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void rewrite() throws IOException {
+
+		final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		long written = HEADER_SIZE;
+		long live = 0;
+
+		try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).put(VERSION).flip();
+			writeFully(out, header);
+
+			for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+				ByteBuffer record = encodeEnqueue(entry.getKey(), entry.getValue().invitation);
+				writeFully(out, record);
+				entry.getValue().recordSize = record.capacity();
+				written += record.capacity();
+				live += record.capacity();
+			}
+			out.force(true);
+		}
+
+		try {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, 
+					   StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		if (channel != null) {
+			channel.close();
+		}
+		channel = FileChannel.open(path, StandardOpenOption.WRITE, 
+				                   StandardOpenOption.APPEND);
+		size = written;
+		liveBytes = live;
+		dirty = false;
+		LOG.debug("Compacted invitation journal " + path + " to " + written + " bytes");
+	}
+
+	/**
+	 * Appends a record to the journal
+	 * @param record The framed record
+	 * @throws IOException if an I/O error occurs or the journal is closed
+	 */
+	private void write(ByteBuffer record) throws IOException {
+		if (null == channel) {
+			throw new IOException("Journal is closed");
+		}
+		size += record.remaining();
+		writeFully(channel, record);
+		dirty = true;
+	}
+
+	/**
+	 * Writes every remaining byte of the buffer
+	 * @param out The channel
+	 * @param buffer The buffer
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+
+	/**
+	 * Encodes an enqueue record
+	 * @param sequence The sequence number
+	 * @param invitation The invitation
+	 * @return The framed record
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static ByteBuffer encodeEnqueue(long sequence, Invitation invitation)
+			throws IOException {
+
+		final Map<String, String> parameters = invitation.getParameters();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(ENQUEUE);
+		BinaryCodec.writeVarint(out, sequence);
+		BinaryCodec.writeVarint(out, parameters.size());
+		for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+			BinaryCodec.writeString(out, parameter.getKey());
+			BinaryCodec.writeString(out, parameter.getValue());
+		}
+		return frame(bytes.toByteArray());
+	}
+
+	/**
+	 * Prefixes a record body with its length and CRC-32
+	 * @param body The record body
+	 * @return The framed record, ready to be written
+	 */
+	private static ByteBuffer frame(byte[] body) {
+		CRC32 crc = new CRC32();
+		crc.update(body);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + body.length);
+		record.putInt(body.length).putInt((int) crc.getValue()).put(body).flip();
+		return record;
+	}
+
+	/**
+	 * Forces and closes the journal. Pending invitations stay in the file.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (syncLock) {
+			synchronized (this) {
+				if (channel != null) {
+					try {
+						channel.force(false);
+					} finally {
+						channel.close();
+						channel = null;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Pending holds a pending invitation and the size of its record
+	 */
+	private static final class Pending {
+
+		/**
+		 * The invitation
+		 */
+		final Invitation invitation;
+		/**
+		 * Size of the enqueue record in bytes
+		 */
+		int recordSize;
+
+		/**
+		 * Constructor
+		 * @param invitation The invitation
+		 * @param recordSize Size of the enqueue record in bytes
+		 */
+		Pending(Invitation invitation, int recordSize) {
+			this.invitation = invitation;
+			this.recordSize = recordSize;
+		}
+	}
+
+}
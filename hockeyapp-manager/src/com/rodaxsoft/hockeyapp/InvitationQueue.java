@@ -0,0 +1,849 @@
+/*
+	InvitationQueue.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.exception.ContextedException;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.rodaxsoft.hockeyapp.metrics.QueueStatistics;
+
+/**
+ * InvitationQueue sends invitations write-behind. {@link #enqueue(Invitation)}
+ * appends the invitation to a local journal and returns without waiting 
+ * for HockeyApp; background workers take invitations in batches, send them
+ * through the manager and acknowledge them in the journal. Invitations that
+ * the server cannot have processed, because the connection failed, the 
+ * circuit breaker was open or the server still answered <code>429</code> 
+ * after the manager's retry policy, are retried with an exponentially
+ * growing delay. Invitations still pending when the process stops are 
+ * sent again by the next queue opened on the same directory.
+ * <p>
+ * Any other failure, such as a <code>5xx</code> answer or a read timeout,
+ * may leave the invitation created on the server, so the invitation is 
+ * given up at once rather than risk a duplicate. An invitation is also 
+ * given up after failing {@link Builder#setMaxAttempts(int)} times. A 
+ * given up invitation is removed from the journal and handed to the 
+ * {@link FailureListener}, if any. Attempts are counted per process, so a
+ * recovered invitation starts over.
+ * </p>
+ * <p>
+ * The journal is forced to disk every {@link Builder#setSyncInterval(long)}
+ * milliseconds, so a crash of the machine, though not of the process, can 
+ * lose the invitations of the last interval; call {@link #sync()} when an 
+ * invitation must be durable before returning. An invitation may be sent 
+ * twice if the process stops between sending it and acknowledging it.
+ * Invitations rejected by the server (4xx) are logged and dropped.
+ * </p>
+ * <p>
+ * The queue is thread-safe. Its depth and drain rate are reported to the
+ * manager's {@link com.rodaxsoft.hockeyapp.metrics.ClientMetrics}.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class InvitationQueue implements AutoCloseable, QueueStatistics {
+
+	/**
+	 * FailureListener receives the invitations the queue gave up on. It is
+	 * called from a worker thread.
+	 */
+	public interface FailureListener {
+
+		/**
+		 * Called once an invitation has failed its last attempt
+		 * @param invitation The invitation
+		 * @param error The failure of the last attempt
+		 */
+		void failed(Invitation invitation, Exception error);
+	}
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(InvitationQueue.class);
+
+	/**
+	 * Default maximum number of pending invitations
+	 */
+	public static final int DEFAULT_CAPACITY = 100000;
+	/**
+	 * Default number of worker threads
+	 */
+	public static final int DEFAULT_WORKERS = 2;
+	/**
+	 * Default maximum number of invitations taken by a worker at once
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 50;
+	/**
+	 * Default interval in milliseconds between journal syncs
+	 */
+	public static final long DEFAULT_SYNC_INTERVAL = 50L;
+	/**
+	 * Default delay in milliseconds before a failed invitation is first 
+	 * retried
+	 */
+	public static final long DEFAULT_RETRY_DELAY = 5000L;
+	/**
+	 * Default maximum delay in milliseconds between retries
+	 */
+	public static final long DEFAULT_MAX_RETRY_DELAY = 5L * 60 * 1000;
+	/**
+	 * Default maximum number of attempts per invitation, including the first
+	 */
+	public static final int DEFAULT_MAX_ATTEMPTS = 10;
+	/**
+	 * Default journal size in bytes above which it is compacted
+	 */
+	public static final long DEFAULT_COMPACT_THRESHOLD = 8L * 1024 * 1024;
+
+	/**
+	 * Interval in milliseconds between drain rate samples
+	 */
+	private static final long RATE_INTERVAL = 1000L;
+	/**
+	 * Weight of the latest drain rate sample, giving an average over about
+	 * the last five seconds
+	 */
+	private static final double RATE_WEIGHT = 0.2;
+	/**
+	 * Time in milliseconds a worker waits for an invitation before checking
+	 * whether the queue was closed
+	 */
+	private static final long POLL_TIMEOUT = 100L;
+	/**
+	 * Time in milliseconds {@link #close()} waits for the workers
+	 */
+	private static final long CLOSE_TIMEOUT = 5000L;
+
+	/**
+	 * The manager sending the invitations
+	 */
+	private final HockeyAppManager manager;
+	/**
+	 * The journal
+	 */
+	private final InvitationJournal journal;
+	/**
+	 * Invitations ready to be sent
+	 */
+	private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+	/**
+	 * Number of pending invitations, including those in flight or waiting
+	 * for a retry
+	 */
+	private final AtomicInteger depth = new AtomicInteger();
+	/**
+	 * Number of invitations sent and acknowledged
+	 */
+	private final AtomicLong sentCount = new AtomicLong();
+	/**
+	 * Number of invitations rejected by the server
+	 */
+	private final AtomicLong rejectedCount = new AtomicLong();
+	/**
+	 * Number of retries scheduled
+	 */
+	private final AtomicLong retryCount = new AtomicLong();
+	/**
+	 * Number of invitations given up after their last attempt
+	 */
+	private final AtomicLong failedCount = new AtomicLong();
+	/**
+	 * Signalled when the queue becomes empty
+	 */
+	private final Object idle = new Object();
+	/**
+	 * Maximum number of pending invitations
+	 */
+	private final int capacity;
+	/**
+	 * Maximum number of invitations taken by a worker at once
+	 */
+	private final int batchSize;
+	/**
+	 * Delay in milliseconds before a failed invitation is first retried
+	 */
+	private final long retryDelay;
+	/**
+	 * Maximum delay in milliseconds between retries
+	 */
+	private final long maxRetryDelay;
+	/**
+	 * Maximum number of attempts per invitation
+	 */
+	private final int maxAttempts;
+	/**
+	 * Listener notified of invitations given up or <code>null</code>
+	 */
+	private final FailureListener failureListener;
+	/**
+	 * Journal size in bytes above which it is compacted
+	 */
+	private final long compactThreshold;
+	/**
+	 * Number of invitations recovered from the journal
+	 */
+	private final int recoveredCount;
+	/**
+	 * The worker threads
+	 */
+	private final ExecutorService workers;
+	/**
+	 * Runs the journal syncs, retries and drain rate samples
+	 */
+	private final ScheduledExecutorService scheduler;
+	/**
+	 * Recent number of invitations sent per second
+	 */
+	private volatile double drainRate;
+	/**
+	 * Sent count at the last drain rate sample
+	 */
+	private long lastSentCount;
+	/**
+	 * Closed flag
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Constructor opens the journal and starts the workers
+	 * @param builder The builder
+	 * @throws IOException if the journal cannot be opened
+	 */
+	private InvitationQueue(Builder builder) throws IOException {
+
+		this.manager = builder.manager;
+		this.capacity = builder.capacity;
+		this.batchSize = builder.batchSize;
+		this.retryDelay = builder.retryDelay;
+		this.maxRetryDelay = Math.max(builder.maxRetryDelay, builder.retryDelay);
+		this.maxAttempts = builder.maxAttempts;
+		this.failureListener = builder.failureListener;
+		this.compactThreshold = builder.compactThreshold;
+
+		final String appId = manager.getApp().getAppId();
+		journal = new InvitationJournal(builder.directory.resolve(appId + ".journal"));
+
+		final List<Map.Entry<Long, Invitation>> recovered = journal.getPending();
+		for (Map.Entry<Long, Invitation> entry : recovered) {
+			queue.add(new Entry(entry.getKey(), entry.getValue()));
+		}
+		recoveredCount = recovered.size();
+		depth.set(recoveredCount);
+		if (recoveredCount > 0) {
+			LOG.info("Recovered " + recoveredCount + " pending invitations for app " 
+			         + appId);
+		}
+
+		ThreadFactory workerFactory = new BasicThreadFactory.Builder()
+		                                 .namingPattern("hockeyapp-queue-%d")
+		                                 .daemon(true)
+		                                 .build();
+		workers = Executors.newFixedThreadPool(builder.workers, workerFactory);
+		for (int i = 0; i < builder.workers; i++) {
+			workers.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					drain();
+				}
+			});
+		}
+
+		ThreadFactory schedulerFactory = new BasicThreadFactory.Builder()
+		                                    .namingPattern("hockeyapp-queue-sync-%d")
+		                                    .daemon(true)
+		                                    .build();
+		scheduler = Executors.newSingleThreadScheduledExecutor(schedulerFactory);
+		scheduler.scheduleWithFixedDelay(new Runnable() {
+
+			@Override
+			public void run() {
+				syncJournal();
+			}
+		}, builder.syncInterval, builder.syncInterval, TimeUnit.MILLISECONDS);
+		scheduler.scheduleAtFixedRate(new Runnable() {
+
+			@Override
+			public void run() {
+				sampleDrainRate();
+			}
+		}, RATE_INTERVAL, RATE_INTERVAL, TimeUnit.MILLISECONDS);
+
+		manager.getMetrics().bindInvitationQueue(appId, this);
+	}
+
+	/**
+	 * Appends the invitation to the journal and queues it for sending. The
+	 * invitation must not be changed afterwards.
+	 * @param invitation The invitation
+	 * @return <code>true</code> if the invitation was queued or 
+	 *         <code>false</code> if the queue is full
+	 * @throws ContextedRuntimeException if the queue is closed, the 
+	 *         invitation has no email or the journal cannot be written
+	 */
+	public boolean enqueue(Invitation invitation) {
+
+		if (closed) {
+			throw new ContextedRuntimeException("Queue is closed");
+		}
+		if (null == invitation.getEmail()) {
+			throw new ContextedRuntimeException("Email is required");
+		}
+
+		if (depth.incrementAndGet() > capacity) {
+			depth.decrementAndGet();
+			return false;
+		}
+
+		final long sequence;
+		try {
+			sequence = journal.append(invitation);
+		} catch (IOException e) {
+			depth.decrementAndGet();
+			throw new ContextedRuntimeException(e)
+			                       .addContextValue("email", invitation.getEmail());
+		}
+
+		queue.add(new Entry(sequence, invitation));
+		return true;
+	}
+
+	/**
+	 * Forces the journal to disk now, making every invitation enqueued so 
+	 * far durable
+	 * @throws ContextedRuntimeException if the journal cannot be written
+	 */
+	public void sync() {
+		try {
+			journal.sync();
+		} catch (IOException e) {
+			throw new ContextedRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Takes invitations in batches and sends them until the queue is closed
+	 */
+	private void drain() {
+
+		List<Entry> batch = new ArrayList<>(batchSize);
+		List<Long> done = new ArrayList<>(batchSize);
+
+		while (!closed) {
+
+			try {
+				final Entry first = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				if (null == first) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+			} catch (InterruptedException e) {
+				break;
+			}
+
+			for (Entry entry : batch) {
+				if (closed) {
+					//Left in the journal for the next queue
+					break;
+				}
+				try {
+					if (!manager.inviteUser(entry.invitation)) {
+						rejectedCount.incrementAndGet();
+						LOG.warn("Invitation rejected: " + entry.invitation.getEmail());
+					}
+					done.add(entry.sequence);
+				} catch (ContextedException | RuntimeException e) {
+					//The server may have created the invitation unless the
+					//request cannot have been processed
+					if (++entry.attempts < maxAttempts 
+							&& HockeyAppManager.isUnprocessed(e)) {
+						retry(entry, e);
+					} else {
+						giveUp(entry, e);
+					}
+				}
+			}
+
+			if (!done.isEmpty()) {
+				sentCount.addAndGet(done.size());
+				acknowledge(done);
+			}
+			batch.clear();
+			done.clear();
+		}
+	}
+
+	/**
+	 * Acknowledges sent or abandoned invitations in the journal
+	 * @param sequences The sequence numbers
+	 */
+	private void acknowledge(List<Long> sequences) {
+		try {
+			journal.ack(sequences);
+		} catch (IOException e) {
+			//The invitations are sent again after a restart
+			LOG.error("Failed to acknowledge " + sequences.size() + " invitations", e);
+		}
+
+		if (depth.addAndGet(-sequences.size()) == 0) {
+			synchronized (idle) {
+				idle.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Schedules a failed invitation to be sent again, doubling the delay 
+	 * after each attempt
+	 * @param entry The entry
+	 * @param error The failure
+	 */
+	private void retry(final Entry entry, Exception error) {
+
+		final int shift = Math.min(entry.attempts - 1, 30);
+		final long delay = Math.min(maxRetryDelay, retryDelay << shift);
+		LOG.debug("Invitation failed, retrying in " + delay + " ms: " + error);
+		retryCount.incrementAndGet();
+		try {
+			scheduler.schedule(new Runnable() {
+
+				@Override
+				public void run() {
+					queue.add(entry);
+				}
+			}, delay, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			//Closed; left in the journal for the next queue
+		}
+	}
+
+	/**
+	 * Notifies the failure listener of an invitation that failed its last 
+	 * attempt or cannot be retried safely and removes it from the journal
+	 * @param entry The entry
+	 * @param error The failure of the last attempt
+	 */
+	private void giveUp(Entry entry, Exception error) {
+		LOG.warn("Invitation failed after " + entry.attempts + " attempts: " 
+		         + entry.invitation.getEmail(), error);
+		failedCount.incrementAndGet();
+
+		if (failureListener != null) {
+			try {
+				failureListener.failed(entry.invitation, error);
+			} catch (RuntimeException e) {
+				LOG.error("Invitation failure listener failed", e);
+			}
+		}
+
+		acknowledge(Collections.singletonList(entry.sequence));
+	}
+
+	/**
+	 * Syncs the journal and compacts it when it has grown
+	 */
+	private void syncJournal() {
+		try {
+			journal.sync();
+			journal.compact(compactThreshold);
+		} catch (IOException e) {
+			LOG.error("Invitation journal sync failed", e);
+		}
+	}
+
+	/**
+	 * Updates the drain rate from the invitations sent since the last sample
+	 */
+	private void sampleDrainRate() {
+		final long sent = sentCount.get();
+		final double rate = (sent - lastSentCount) * 1000.0 / RATE_INTERVAL;
+		lastSentCount = sent;
+		drainRate += RATE_WEIGHT * (rate - drainRate);
+	}
+
+	/**
+	 * Waits until every pending invitation has been sent
+	 * @param timeout The maximum time to wait
+	 * @param unit The time unit of the timeout
+	 * @return <code>true</code> if the queue is empty or <code>false</code>
+	 *         if the timeout elapsed first
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean awaitEmpty(long timeout, TimeUnit unit) throws InterruptedException {
+		final long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (idle) {
+			while (depth.get() > 0) {
+				final long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					return false;
+				}
+				TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+			}
+		}
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.QueueStatistics#getDepth()
+	 */
+	@Override
+	public int getDepth() {
+		return depth.get();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.QueueStatistics#getDrainRate()
+	 */
+	@Override
+	public double getDrainRate() {
+		return drainRate;
+	}
+
+	/**
+	 * @return the number of invitations sent, including those rejected by 
+	 *         the server
+	 */
+	public long getSentCount() {
+		return sentCount.get();
+	}
+
+	/**
+	 * @return the number of invitations rejected by the server
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	/**
+	 * @return the number of retries scheduled
+	 */
+	public long getRetryCount() {
+		return retryCount.get();
+	}
+
+	/**
+	 * @return the number of invitations given up after their last attempt
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	/**
+	 * @return the number of invitations recovered from the journal when the
+	 *         queue was opened
+	 */
+	public int getRecoveredCount() {
+		return recoveredCount;
+	}
+
+	/**
+	 * @return the journal size in bytes
+	 */
+	public long getJournalSize() {
+		return journal.getSize();
+	}
+
+	/**
+	 * Stops the workers and the queue metrics and closes the journal. 
+	 * Invitations not yet sent stay in the journal; call 
+	 * {@link #awaitEmpty(long, TimeUnit)} first to drain the queue. The 
+	 * manager is not closed.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		workers.shutdown();
+		try {
+			if (!workers.awaitTermination(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				workers.shutdownNow();
+			}
+		} catch (InterruptedException e) {
+			workers.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+		scheduler.shutdownNow();
+		manager.getMetrics().unbindInvitationQueue(manager.getApp().getAppId(), this);
+		try {
+			journal.close();
+		} catch (IOException e) {
+			LOG.error("Failed to close the invitation journal", e);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "InvitationQueue [depth=" + depth + ", sentCount=" + sentCount
+				+ ", rejectedCount=" + rejectedCount + ", retryCount=" 
+				+ retryCount + ", failedCount=" + failedCount 
+				+ ", drainRate=" + drainRate + "]";
+	}
+
+	/**
+	 * Entry holds a journaled invitation
+	 */
+	private static final class Entry {
+
+		/**
+		 * The journal sequence number
+		 */
+		final long sequence;
+		/**
+		 * The invitation
+		 */
+		final Invitation invitation;
+		/**
+		 * Number of failed attempts
+		 */
+		int attempts;
+
+		/**
+		 * Constructor
+		 * @param sequence The journal sequence number
+		 * @param invitation The invitation
+		 */
+		Entry(long sequence, Invitation invitation) {
+			this.sequence = sequence;
+			this.invitation = invitation;
+		}
+	}
+
+	/**
+	 * Builder class for {@link InvitationQueue}
+	 */
+	public static final class Builder {
+
+		/**
+		 * The manager sending the invitations
+		 */
+		private final HockeyAppManager manager;
+		/**
+		 * The journal directory
+		 */
+		private final Path directory;
+		/**
+		 * Maximum number of pending invitations
+		 */
+		private int capacity = DEFAULT_CAPACITY;
+		/**
+		 * Number of worker threads
+		 */
+		private int workers = DEFAULT_WORKERS;
+		/**
+		 * Maximum number of invitations taken by a worker at once
+		 */
+		private int batchSize = DEFAULT_BATCH_SIZE;
+		/**
+		 * Interval in milliseconds between journal syncs
+		 */
+		private long syncInterval = DEFAULT_SYNC_INTERVAL;
+		/**
+		 * Delay in milliseconds before a failed invitation is first retried
+		 */
+		private long retryDelay = DEFAULT_RETRY_DELAY;
+		/**
+		 * Maximum delay in milliseconds between retries
+		 */
+		private long maxRetryDelay = DEFAULT_MAX_RETRY_DELAY;
+		/**
+		 * Maximum number of attempts per invitation
+		 */
+		private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		/**
+		 * Listener notified of invitations given up
+		 */
+		private FailureListener failureListener;
+		/**
+		 * Journal size in bytes above which it is compacted
+		 */
+		private long compactThreshold = DEFAULT_COMPACT_THRESHOLD;
+
+		/**
+		 * Constructor
+		 * @param manager The manager sending the invitations
+		 * @param directory The journal directory, holding one journal per 
+		 *        app
+		 * @throws ContextedRuntimeException if an argument is 
+		 *         <code>null</code>
+		 */
+		public Builder(HockeyAppManager manager, Path directory) {
+			if (null == manager || null == directory) {
+				throw new ContextedRuntimeException("Manager and directory are required")
+				                       .addContextValue("directory", directory);
+			}
+			this.manager = manager;
+			this.directory = directory;
+		}
+
+		/**
+		 * Set the maximum number of pending invitations
+		 * @param capacity The capacity to set
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the value is not positive
+		 */
+		public Builder setCapacity(int capacity) {
+			ClientSettings.checkPositive("capacity", capacity);
+			this.capacity = capacity;
+			return this;
+		}
+
+		/**
+		 * Set the number of worker threads
+		 * @param workers The number to set
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the value is not positive
+		 */
+		public Builder setWorkers(int workers) {
+			ClientSettings.checkPositive("workers", workers);
+			this.workers = workers;
+			return this;
+		}
+
+		/**
+		 * Set the maximum number of invitations taken by a worker at once
+		 * @param batchSize The size to set
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the value is not positive
+		 */
+		public Builder setBatchSize(int batchSize) {
+			ClientSettings.checkPositive("batchSize", batchSize);
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Set the interval between journal syncs
+		 * @param millis The interval in milliseconds
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the value is not positive
+		 */
+		public Builder setSyncInterval(long millis) {
+			ClientSettings.checkPositive("syncInterval", millis);
+			this.syncInterval = millis;
+			return this;
+		}
+
+		/**
+		 * Set the delay before a failed invitation is first retried. The 
+		 * delay doubles after each further attempt, up to the maximum 
+		 * retry delay.
+		 * @param millis The delay in milliseconds
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the value is not positive
+		 */
+		public Builder setRetryDelay(long millis) {
+			ClientSettings.checkPositive("retryDelay", millis);
+			this.retryDelay = millis;
+			return this;
+		}
+
+		/**
+		 * Set the maximum delay between retries
+		 * @param millis The delay in milliseconds
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the value is not positive
+		 */
+		public Builder setMaxRetryDelay(long millis) {
+			ClientSettings.checkPositive("maxRetryDelay", millis);
+			this.maxRetryDelay = millis;
+			return this;
+		}
+
+		/**
+		 * Set the maximum number of attempts per invitation, including the
+		 * first, before it is given up
+		 * @param maxAttempts The number to set
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the value is not positive
+		 */
+		public Builder setMaxAttempts(int maxAttempts) {
+			ClientSettings.checkPositive("maxAttempts", maxAttempts);
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		/**
+		 * Set the listener notified of invitations given up after their 
+		 * last attempt
+		 * @param listener The listener or <code>null</code>
+		 * @return This instance
+		 */
+		public Builder setFailureListener(FailureListener listener) {
+			this.failureListener = listener;
+			return this;
+		}
+
+		/**
+		 * Set the journal size above which it is compacted
+		 * @param bytes The size in bytes
+		 * @return This instance
+		 * @throws ContextedRuntimeException if the value is not positive
+		 */
+		public Builder setCompactThreshold(long bytes) {
+			ClientSettings.checkPositive("compactThreshold", bytes);
+			this.compactThreshold = bytes;
+			return this;
+		}
+
+		/**
+		 * Opens the journal, recovering pending invitations, and starts the 
+		 * queue
+		 * @return A new queue
+		 * @throws ContextedRuntimeException if the journal cannot be opened
+		 */
+		public InvitationQueue build() {
+			try {
+				return new InvitationQueue(this);
+			} catch (IOException e) {
+				throw new ContextedRuntimeException(e)
+				                       .addContextValue("directory", directory);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,287 @@
+/*
+	MultiAppManager.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+import com.rodaxsoft.hockeyapp.sync.RosterDelta;
+import com.rodaxsoft.hockeyapp.sync.RosterSync;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * MultiAppManager class runs operations across many apps in parallel.
+ * All apps share one connection pool and one executor, so at most
+ * {@link ClientSettings#getMaxTotalConnections()} requests are on the wire
+ * at a time. The executor is the one set with 
+ * {@link ClientSettings#setExecutorService(ExecutorService)} or else a 
+ * pool of that many threads, or a virtual thread per operation with 
+ * {@link ClientSettings#setVirtualThreads(boolean)}. Results are 
+ * aggregated per app, in the order the apps were given.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class MultiAppManager implements AutoCloseable {
+
+	/**
+	 * AppTask runs an operation against one app
+	 * @param <T> The result type
+	 */
+	public interface AppTask<T> {
+
+		/**
+		 * Runs the operation
+		 * @param manager The manager of the app
+		 * @return The result
+		 * @throws Exception if the operation fails
+		 */
+		T call(HockeyAppManager manager) throws Exception;
+	}
+
+	/**
+	 * Managers by app ID
+	 */
+	private final Map<String, HockeyAppManager> managers;
+	/**
+	 * The shared pooled client
+	 */
+	private final PooledClient pooledClient;
+	/**
+	 * Executor running the operations
+	 */
+	private final ExecutorService executor;
+	/**
+	 * <code>true</code> if the executor was created by this manager
+	 */
+	private final boolean ownsExecutor;
+
+	/**
+	 * Constructor using the default {@link ClientSettings}
+	 * @param apps The HockeyApp apps
+	 */
+	public MultiAppManager(Collection<App> apps) {
+		this(apps, new ClientSettings());
+	}
+
+	/**
+	 * Constructor
+	 * @param apps The HockeyApp apps
+	 * @param settings The client and connection pool settings shared by
+	 *        all apps
+	 * @throws ContextedRuntimeException if two apps share an app ID
+	 */
+	public MultiAppManager(Collection<App> apps, ClientSettings settings) {
+
+		Set<String> appIds = new HashSet<>();
+		for (App app : apps) {
+			if (!appIds.add(app.getAppId())) {
+				throw new ContextedRuntimeException("Duplicate app ID")
+				                       .addContextValue("appId", app.getAppId());
+			}
+		}
+
+		pooledClient = new PooledClient(settings);
+		settings.getMetrics().bindConnectionPool(pooledClient);
+		if (settings.getExecutorService() != null) {
+			executor = settings.getExecutorService();
+			ownsExecutor = false;
+		} else {
+			executor = HockeyAppManager.newDefaultExecutor(settings, "hockeyapp-multi-%d");
+			ownsExecutor = true;
+		}
+
+		Map<String, HockeyAppManager> map = new LinkedHashMap<>();
+		try {
+			for (App app : apps) {
+				map.put(app.getAppId(), new HockeyAppManager(app,
+						pooledClient.getClient(), settings, executor));
+			}
+		} catch (RuntimeException e) {
+			for (HockeyAppManager manager : map.values()) {
+				manager.close();
+			}
+			if (ownsExecutor) {
+				executor.shutdown();
+			}
+			pooledClient.close();
+			throw e;
+		}
+		managers = Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * @return the managers by app ID
+	 */
+	public Map<String, HockeyAppManager> getManagers() {
+		return managers;
+	}
+
+	/**
+	 * Runs the task against every app in parallel. The managers share this 
+	 * executor, so a task must not wait on a manager's asynchronous or bulk 
+	 * operations.
+	 * @param task The task to run
+	 * @return The results by app ID
+	 * @throws ContextedRuntimeException if interrupted while waiting
+	 */
+	public <T> Map<String, AppResult<T>> execute(final AppTask<T> task) {
+
+		Map<String, Future<T>> futures = new LinkedHashMap<>();
+		for (Map.Entry<String, HockeyAppManager> entry : managers.entrySet()) {
+
+			final HockeyAppManager manager = entry.getValue();
+			futures.put(entry.getKey(), executor.submit(new Callable<T>() {
+
+				@Override
+				public T call() throws Exception {
+					return task.call(manager);
+				}
+			}));
+		}
+
+		Map<String, AppResult<T>> results = new LinkedHashMap<>();
+		for (Map.Entry<String, Future<T>> entry : futures.entrySet()) {
+
+			final App app = managers.get(entry.getKey()).getApp();
+			AppResult<T> result;
+			try {
+				result = new AppResult<>(app, entry.getValue().get(), null);
+			} catch (ExecutionException e) {
+				result = new AppResult<>(app, null, e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ContextedRuntimeException(e);
+			}
+			results.put(entry.getKey(), result);
+		}
+
+		return results;
+	}
+
+	/**
+	 * Fetches the roster of every app
+	 * @return The rosters by app ID
+	 * @see HockeyAppManager#getAppUserRoster()
+	 */
+	public Map<String, AppResult<UserRoster>> getAllRosters() {
+		return execute(new AppTask<UserRoster>() {
+
+			@Override
+			public UserRoster call(HockeyAppManager manager) {
+				return manager.getAppUserRoster();
+			}
+		});
+	}
+
+	/**
+	 * Syncs the roster of every app
+	 * @param sync The sync holding the last known rosters
+	 * @return The roster changes by app ID
+	 * @see RosterSync#sync(HockeyAppManager)
+	 */
+	public Map<String, AppResult<RosterDelta>> syncRosters(final RosterSync sync) {
+		return execute(new AppTask<RosterDelta>() {
+
+			@Override
+			public RosterDelta call(HockeyAppManager manager) {
+				return sync.sync(manager);
+			}
+		});
+	}
+
+	/**
+	 * Invites the user to every app
+	 * @param invitation The user invitation
+	 * @return The invitation results by app ID
+	 * @see HockeyAppManager#inviteUser(Invitation)
+	 */
+	public Map<String, AppResult<Boolean>> inviteUser(final Invitation invitation) {
+		return execute(new AppTask<Boolean>() {
+
+			@Override
+			public Boolean call(HockeyAppManager manager) throws Exception {
+				return manager.inviteUser(invitation);
+			}
+		});
+	}
+
+	/**
+	 * Checks the email's membership in every app using each app's secret
+	 * @param email The email address to check for membership
+	 * @return The membership results by app ID
+	 * @see HockeyAppManager#isAppMember(String, String)
+	 */
+	public Map<String, AppResult<Boolean>> isAppMember(final String email) {
+		return execute(new AppTask<Boolean>() {
+
+			@Override
+			public Boolean call(HockeyAppManager manager) throws Exception {
+				return manager.isAppMember(email, manager.getApp().getSecret());
+			}
+		});
+	}
+
+	/**
+	 * Returns every app the email is a member of. Apps whose check failed
+	 * are left out.
+	 * @param email The email address to check for membership
+	 * @return The apps the email is a member of
+	 */
+	public List<App> findAppsWithMember(String email) {
+		List<App> apps = new ArrayList<>();
+		for (AppResult<Boolean> result : isAppMember(email).values()) {
+			if (Boolean.TRUE.equals(result.getValue())) {
+				apps.add(result.getApp());
+			}
+		}
+		return apps;
+	}
+
+	/**
+	 * Closes every manager, then the shared executor, client and connection 
+	 * pool. An executor supplied through 
+	 * {@link ClientSettings#setExecutorService(ExecutorService)} is left open.
+	 */
+	@Override
+	public void close() {
+		//Stops the managers' filter refreshes before the client goes away
+		for (HockeyAppManager manager : managers.values()) {
+			manager.close();
+		}
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+		pooledClient.close();
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+	PooledClient.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+
+import com.rodaxsoft.hockeyapp.metrics.PoolStatistics;
+
+/**
+ * PooledClient class owns a long-lived JAX-RS client backed by a keep-alive
+ * connection pool, evicts idle pooled connections in the background and 
+ * reports the pool's utilization
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+final class PooledClient implements AutoCloseable, PoolStatistics {
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(PooledClient.class);
+
+	/**
+	 * The JAX-RS client
+	 */
+	private final Client client;
+	/**
+	 * The connection pool
+	 */
+	private final PoolingHttpClientConnectionManager connectionManager;
+	/**
+	 * Idle connection eviction thread
+	 */
+	private final Thread evictor;
+
+	/**
+	 * Constructor
+	 * @param settings The client settings
+	 */
+	PooledClient(ClientSettings settings) {
+
+		connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(settings.getMaxTotalConnections());
+		connectionManager.setDefaultMaxPerRoute(settings.getMaxConnectionsPerRoute());
+
+		ClientConfig config = new ClientConfig();
+		config.connectorProvider(new ApacheConnectorProvider());
+		config.property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager);
+		config.property(ClientProperties.CONNECT_TIMEOUT, settings.getConnectTimeout());
+		config.property(ClientProperties.READ_TIMEOUT, settings.getReadTimeout());
+
+		client = ClientBuilder.newClient(config);
+
+		evictor = new Thread(new IdleConnectionEvictor(settings.getIdleTimeout()),
+				             "hockeyapp-idle-connection-evictor");
+		evictor.setDaemon(true);
+		evictor.start();
+	}
+
+	/**
+	 * @return the client
+	 */
+	Client getClient() {
+		return client;
+	}
+
+	/**
+	 * @return the connection pool
+	 */
+	PoolingHttpClientConnectionManager getConnectionManager() {
+		return connectionManager;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.PoolStatistics#getLeased()
+	 */
+	@Override
+	public int getLeased() {
+		return connectionManager.getTotalStats().getLeased();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.PoolStatistics#getPending()
+	 */
+	@Override
+	public int getPending() {
+		return connectionManager.getTotalStats().getPending();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.PoolStatistics#getAvailable()
+	 */
+	@Override
+	public int getAvailable() {
+		return connectionManager.getTotalStats().getAvailable();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.PoolStatistics#getMax()
+	 */
+	@Override
+	public int getMax() {
+		return connectionManager.getTotalStats().getMax();
+	}
+
+	/**
+	 * Closes the client and its connection pool
+	 */
+	@Override
+	public void close() {
+		evictor.interrupt();
+		client.close();
+		connectionManager.shutdown();
+	}
+
+	/**
+	 * IdleConnectionEvictor closes expired and idle pooled connections
+	 */
+	private final class IdleConnectionEvictor implements Runnable {
+
+		/**
+		 * Idle timeout in milliseconds
+		 */
+		private final long idleTimeout;
+
+		/**
+		 * Constructor
+		 * @param idleTimeout Idle timeout in milliseconds
+		 */
+		IdleConnectionEvictor(long idleTimeout) {
+			this.idleTimeout = idleTimeout;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			final long interval = Math.max(1000L, idleTimeout / 2);
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+					Thread.sleep(interval);
+					connectionManager.closeExpiredConnections();
+					connectionManager.closeIdleConnections(idleTimeout,
+							                               TimeUnit.MILLISECONDS);
+				}
+			} catch (InterruptedException e) {
+				LOG.debug("Idle connection evictor stopped");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+	RosterFetch.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * RosterFetch class holds the outcome of a conditional roster fetch, see 
+ * {@link HockeyAppManager#fetchAppUserRoster(String, byte[])}. Pass the 
+ * entity tag and content hash to the next fetch.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class RosterFetch {
+
+	/**
+	 * Content hash algorithm
+	 */
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	/**
+	 * The roster or <code>null</code> if unchanged
+	 */
+	private final UserRoster roster;
+	/**
+	 * The entity tag or <code>null</code>
+	 */
+	private final String etag;
+	/**
+	 * The content hash or <code>null</code>
+	 */
+	private final byte[] contentHash;
+
+	/**
+	 * Constructor
+	 * @param roster The roster or <code>null</code> if unchanged
+	 * @param etag The entity tag or <code>null</code>
+	 * @param contentHash The content hash or <code>null</code>
+	 */
+	RosterFetch(UserRoster roster, String etag, byte[] contentHash) {
+		this.roster = roster;
+		this.etag = etag;
+		this.contentHash = contentHash;
+	}
+
+	/**
+	 * Creates a digest computing the content hash of a response body
+	 * @return A new message digest
+	 */
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(HASH_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new ContextedRuntimeException(e);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the roster changed since the previous fetch
+	 */
+	public boolean isModified() {
+		return roster != null;
+	}
+
+	/**
+	 * @return the new roster or <code>null</code> if unchanged
+	 */
+	public UserRoster getRoster() {
+		return roster;
+	}
+
+	/**
+	 * @return the entity tag or <code>null</code> if the server sent none
+	 */
+	public String getETag() {
+		return etag;
+	}
+
+	/**
+	 * @return the content hash or <code>null</code> if unknown
+	 */
+	public byte[] getContentHash() {
+		return null == contentHash ? null : contentHash.clone();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "RosterFetch [modified=" + isModified() + ", etag=" + etag 
+				+ ", roster=" + roster + "]";
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+	SingleFlight.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * SingleFlight class coalesces concurrent identical calls. The first caller 
+ * of a key runs the call on its own thread; callers arriving while it is in 
+ * flight wait for it and share its result or exception. Nothing is cached 
+ * once the call completes.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+final class SingleFlight {
+
+	/**
+	 * In-flight calls by key
+	 */
+	private final ConcurrentMap<List<Object>, FutureTask<?>> calls = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a call key
+	 * @param parts The key parts, e.g. the app ID, operation and arguments
+	 * @return The key
+	 */
+	static List<Object> key(Object... parts) {
+		return Arrays.asList(parts);
+	}
+
+	/**
+	 * Runs the call, or joins the identical call in flight
+	 * @param key The call key
+	 * @param call The call
+	 * @return The shared result
+	 * @throws Exception the exception of the shared call
+	 * @throws ContextedRuntimeException if interrupted while waiting
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T execute(List<Object> key, Callable<T> call) throws Exception {
+
+		FutureTask<T> task = new FutureTask<>(call);
+		FutureTask<T> inFlight = (FutureTask<T>) calls.putIfAbsent(key, task);
+
+		if (null == inFlight) {
+			try {
+				task.run();
+			} finally {
+				calls.remove(key, task);
+			}
+			inFlight = task;
+		}
+
+		try {
+			return inFlight.get();
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw (Exception) cause;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ContextedRuntimeException(e);
+		}
+	}
+
+	/**
+	 * @return the number of calls in flight
+	 */
+	int size() {
+		return calls.size();
+	}
+
+}
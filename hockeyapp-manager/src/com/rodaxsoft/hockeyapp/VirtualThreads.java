@@ -0,0 +1,88 @@
+/*
+	VirtualThreads.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * VirtualThreads class creates virtual thread executors on a Java runtime 
+ * that has them (Java 21 or later). The library is compiled for older 
+ * runtimes, so the executor factory is looked up reflectively once.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+final class VirtualThreads {
+
+	/**
+	 * <code>Executors.newVirtualThreadPerTaskExecutor()</code> or 
+	 * <code>null</code> if the runtime has no virtual threads
+	 */
+	private static final Method NEW_EXECUTOR = findNewExecutor();
+
+	/**
+	 * Not instantiable
+	 */
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Looks up the virtual thread executor factory
+	 * @return The factory method or <code>null</code>
+	 */
+	private static Method findNewExecutor() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the runtime supports virtual threads
+	 */
+	static boolean isSupported() {
+		return NEW_EXECUTOR != null;
+	}
+
+	/**
+	 * Creates an executor that starts a new virtual thread for each task
+	 * @return A new executor service
+	 * @throws ContextedRuntimeException if the runtime has no virtual threads
+	 */
+	static ExecutorService newExecutor() {
+		if (!isSupported()) {
+			throw new ContextedRuntimeException("Virtual threads are not supported")
+			                       .addContextValue("java.version", 
+			                    		            System.getProperty("java.version"));
+		}
+		try {
+			return (ExecutorService) NEW_EXECUTOR.invoke(null);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new ContextedRuntimeException(e);
+		}
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+	AddressFormat.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+/**
+ * AddressFormat enumerates the address list formats read by
+ * {@link AddressReader}
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public enum AddressFormat {
+
+	/**
+	 * One address per line. The first field containing an <code>@</code> is
+	 * the email and the other non-empty fields form the name, so
+	 * <code>email,name</code> and <code>first,last,email</code> layouts both
+	 * work. A first row without an email is taken as a header and skipped.
+	 */
+	CSV,
+	/**
+	 * An RFC 822 address list such as a <code>To</code> header value: 
+	 * addresses separated by commas, spanning any number of lines.
+	 * A leading header or group name ending in a colon is ignored.
+	 */
+	RFC822,
+	/**
+	 * An mbox mailbox. The address headers of every message are read and
+	 * message bodies are skipped.
+	 */
+	MBOX
+
+}
@@ -0,0 +1,346 @@
+/*
+	AddressImporter.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.rodaxsoft.hockeyapp.Invitation;
+import com.rodaxsoft.hockeyapp.cache.MembershipFilter;
+
+/**
+ * AddressImporter streams an address list into invitations. Addresses are
+ * read, converted and sent on the fly: the reader blocks while the
+ * inviter's concurrency limit of requests is in flight. Besides the app's 
+ * member emails, an import of any size holds only the in-flight 
+ * invitations, the last {@link #RECENT_EMAILS} distinct emails and a Bloom
+ * filter of the emails seen, sized for the expected number of addresses.
+ * <p>
+ * Existing app members are skipped like {@link BulkInviter#invite(java.util.Collection)}
+ * does. An address repeating one of the recent emails is reported as a
+ * {@link RejectReason#DUPLICATE} reject. An address the filter has seen 
+ * further back is reported as a {@link RejectReason#POSSIBLE_DUPLICATE}
+ * reject rather than risk a second invitation; at the filter's 
+ * false-positive rate, {@link #DUPLICATE_FALSE_POSITIVE_RATE} up to the 
+ * expected number of addresses, such a reject is a new address the caller
+ * may import again.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class AddressImporter {
+
+	/**
+	 * ImportListener receives the outcome of each address as the import
+	 * runs. Results are delivered from the inviter's executor threads and
+	 * rejects from the importing thread.
+	 */
+	public interface ImportListener {
+
+		/**
+		 * Called once an invitation has been sent or skipped
+		 * @param result The invitation result
+		 */
+		void invited(BulkResult<Invitation> result);
+
+		/**
+		 * Called when an address is rejected
+		 * @param reject The reject
+		 */
+		void rejected(InvitationReject reject);
+	}
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(AddressImporter.class);
+
+	/**
+	 * Default expected number of addresses of an import
+	 */
+	public static final int DEFAULT_EXPECTED_ADDRESSES = 1000000;
+	/**
+	 * False-positive rate of the filter of emails seen
+	 */
+	public static final double DUPLICATE_FALSE_POSITIVE_RATE = 0.001;
+	/**
+	 * Number of recent distinct emails checked exactly for duplicates
+	 */
+	public static final int RECENT_EMAILS = 4096;
+
+	/**
+	 * The inviter sending the invitations
+	 */
+	private final BulkInviter inviter;
+	/**
+	 * The builder converting addresses into invitations
+	 */
+	private final InvitationBuilder builder;
+	/**
+	 * Expected number of addresses of an import
+	 */
+	private final int expectedAddresses;
+
+	/**
+	 * Constructor expecting up to {@link #DEFAULT_EXPECTED_ADDRESSES} 
+	 * addresses per import
+	 * @param inviter The inviter sending the invitations
+	 * @param builder The builder converting addresses into invitations and
+	 *        holding their role, tags and message
+	 */
+	public AddressImporter(BulkInviter inviter, InvitationBuilder builder) {
+		this(inviter, builder, DEFAULT_EXPECTED_ADDRESSES);
+	}
+
+	/**
+	 * Constructor
+	 * @param inviter The inviter sending the invitations
+	 * @param builder The builder converting addresses into invitations and
+	 *        holding their role, tags and message
+	 * @param expectedAddresses The expected number of addresses per import,
+	 *        which sizes the filter of emails seen; larger imports get more
+	 *        possible duplicates
+	 * @throws ContextedRuntimeException if the number is negative
+	 */
+	public AddressImporter(BulkInviter inviter, InvitationBuilder builder,
+			               int expectedAddresses) {
+		if (expectedAddresses < 0) {
+			throw new ContextedRuntimeException("Expected addresses cannot be negative")
+			                       .addContextValue("expectedAddresses", expectedAddresses);
+		}
+		this.inviter = inviter;
+		this.builder = builder;
+		this.expectedAddresses = expectedAddresses;
+	}
+
+	/**
+	 * Imports every address of the reader and closes it
+	 * @param reader The address reader
+	 * @return The import report
+	 * @throws ContextedRuntimeException if the list cannot be read or 
+	 *         interrupted while waiting
+	 */
+	public ImportReport importAddresses(AddressReader reader) {
+		return importAddresses(reader, null);
+	}
+
+	/**
+	 * Imports every address of the reader and closes it
+	 * @param reader The address reader
+	 * @param listener Receives the outcome of each address or 
+	 *        <code>null</code>
+	 * @return The import report
+	 * @throws ContextedRuntimeException if the list cannot be read, the 
+	 *         listener fails or interrupted while waiting
+	 */
+	public ImportReport importAddresses(AddressReader reader,
+			                            final ImportListener listener) {
+
+		final long start = System.currentTimeMillis();
+		final Set<String> members = inviter.getMemberEmails();
+		final SeenEmails seen = new SeenEmails(expectedAddresses);
+		final int concurrency = inviter.getConcurrency();
+		final Semaphore permits = new Semaphore(concurrency);
+
+		final AtomicIntegerArray counts = new AtomicIntegerArray(BulkStatus.values().length);
+		final AtomicInteger requests = new AtomicInteger();
+		final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		final int[] rejectCounts = new int[RejectReason.values().length];
+		int index = 0;
+		boolean drained = false;
+
+		try (AddressReader addresses = reader) {
+
+			while (addresses.hasNext() && null == failure.get()) {
+
+				final int slot = index++;
+				final String address = addresses.next();
+				final Object item = builder.convert(slot, address);
+
+				InvitationReject reject = null;
+				if (item instanceof InvitationReject) {
+					reject = (InvitationReject) item;
+				} else {
+					final RejectReason reason = seen.check(((Invitation) item).getEmail());
+					if (reason != null) {
+						reject = new InvitationReject(slot, address, reason, null);
+					}
+				}
+
+				if (reject != null) {
+					rejectCounts[reject.getReason().ordinal()]++;
+					if (listener != null) {
+						listener.rejected(reject);
+					}
+					continue;
+				}
+
+				final Invitation invitation = (Invitation) item;
+				if (members.contains(invitation.getEmail())) {
+					complete(new BulkResult<>(invitation, BulkStatus.SKIPPED, 0, null), 
+							 counts, requests, listener);
+					continue;
+				}
+
+				//Backpressure: wait for a request slot before reading further
+				permits.acquire();
+				try {
+					inviter.getExecutor().submit(new Runnable() {
+
+						@Override
+						public void run() {
+							try {
+								complete(inviter.send(invitation), counts,
+										 requests, listener);
+							} catch (RuntimeException e) {
+								failure.compareAndSet(null, e);
+							} finally {
+								permits.release();
+							}
+						}
+					});
+				} catch (RuntimeException e) {
+					permits.release();
+					throw e;
+				}
+			}
+
+			//Wait for the requests in flight
+			permits.acquire(concurrency);
+			drained = true;
+
+			final int skipped = addresses.getSkippedCount();
+			if (failure.get() != null) {
+				throw new ContextedRuntimeException(failure.get())
+				                       .addContextValue("index", index);
+			}
+
+			int[] statusCounts = new int[counts.length()];
+			for (int i = 0; i < statusCounts.length; i++) {
+				statusCounts[i] = counts.get(i);
+			}
+
+			ImportReport report = new ImportReport(index, statusCounts,
+					rejectCounts, skipped, requests.get(),
+					System.currentTimeMillis() - start);
+			LOG.debug(report);
+			return report;
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ContextedRuntimeException(e)
+			                       .addContextValue("index", index);
+		} catch (IOException e) {
+			throw new ContextedRuntimeException(e);
+		} finally {
+			if (!drained) {
+				//Never abandon the requests in flight, which end within the
+				//request timeouts
+				permits.acquireUninterruptibly(concurrency);
+			}
+		}
+	}
+
+	/**
+	 * SeenEmails records the emails of an import: the recent distinct ones
+	 * exactly and all of them in a Bloom filter.
+	 */
+	private static final class SeenEmails {
+
+		/**
+		 * The filter of every distinct email seen
+		 */
+		private final MembershipFilter filter;
+		/**
+		 * The recent distinct emails, dropping the oldest beyond {@link #RECENT_EMAILS}
+		 */
+		private final Set<String> recent;
+		/**
+		 * Number of emails added to the filter
+		 */
+		private int count;
+
+		/**
+		 * Constructor
+		 * @param expectedAddresses The expected number of addresses
+		 */
+		SeenEmails(int expectedAddresses) {
+			this.filter = new MembershipFilter(expectedAddresses, DUPLICATE_FALSE_POSITIVE_RATE);
+			this.recent = Collections.newSetFromMap(new LinkedHashMap<String, Boolean>() {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+					return size() > RECENT_EMAILS;
+				}
+			});
+		}
+
+		/**
+		 * Records an email as seen and returns why it is a duplicate, if it is
+		 * @param email The normalized email
+		 * @return The reject reason or <code>null</code> for a new email
+		 */
+		RejectReason check(String email) {
+			if (!recent.add(email)) {
+				return RejectReason.DUPLICATE;
+			}
+			//Until an email has been dropped from the recent ones, the filter
+			//only adds false positives
+			if (count > RECENT_EMAILS && filter.mightContain(email)) {
+				return RejectReason.POSSIBLE_DUPLICATE;
+			}
+			filter.add(email);
+			count++;
+			return null;
+		}
+	}
+
+	/**
+	 * Records an invitation result and notifies the listener
+	 * @param result The invitation result
+	 * @param counts Invitation counts indexed by status ordinal
+	 * @param requests Holds the number of requests sent
+	 * @param listener The listener or <code>null</code>
+	 */
+	private static void complete(BulkResult<Invitation> result, AtomicIntegerArray counts,
+			                     AtomicInteger requests,
+			                     ImportListener listener) {
+		counts.incrementAndGet(result.getStatus().ordinal());
+		requests.addAndGet(result.getAttempts());
+		if (listener != null) {
+			listener.invited(result);
+		}
+	}
+
+}
@@ -0,0 +1,571 @@
+/*
+	AddressReader.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.mail.internet.InternetAddress;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * AddressReader streams the entries of a large address list one at a time,
+ * so memory use does not grow with the size of the list. Each entry is
+ * returned as an address string, such as <code>Jane Doe
+ * &lt;jane@example.com&gt;</code>, ready to be parsed exactly once by
+ * {@link InvitationBuilder}.
+ * <p>
+ * Entries longer than {@link #MAX_ENTRY_LENGTH} characters in an RFC 822 list
+ * or mbox header are skipped and counted rather than buffered. The reader
+ * is not thread-safe and must be closed when it is no longer needed; it is
+ * closed automatically once the last entry has been read.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class AddressReader implements Iterator<String>, Closeable {
+
+	/**
+	 * Maximum length of a list entry
+	 */
+	public static final int MAX_ENTRY_LENGTH = 4096;
+
+	/**
+	 * Default mbox headers holding addresses
+	 */
+	private static final String[] DEFAULT_HEADERS = { "From", "To", "Cc" };
+
+	/**
+	 * Size of the character buffer used for RFC 822 lists
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * The character source
+	 */
+	private final BufferedReader reader;
+	/**
+	 * The list format
+	 */
+	private final AddressFormat format;
+	/**
+	 * Lower-cased mbox headers holding addresses
+	 */
+	private final Set<String> headers = new HashSet<>();
+	/**
+	 * Entries read but not yet returned
+	 */
+	private final Deque<String> pending = new ArrayDeque<>();
+	/**
+	 * The list entry being read
+	 */
+	private final StringBuilder entry = new StringBuilder();
+	/**
+	 * Inside a quoted string
+	 */
+	private boolean quoted;
+	/**
+	 * The next character is escaped
+	 */
+	private boolean escaped;
+	/**
+	 * Comment nesting depth
+	 */
+	private int comment;
+	/**
+	 * Inside an angle-bracketed address
+	 */
+	private boolean angle;
+	/**
+	 * Inside a domain literal
+	 */
+	private boolean literal;
+	/**
+	 * The current entry exceeded the maximum length
+	 */
+	private boolean overflow;
+	/**
+	 * Reading an mbox message header section
+	 */
+	private boolean inHeaders = true;
+	/**
+	 * The current mbox header holds addresses
+	 */
+	private boolean addressHeader;
+	/**
+	 * The next CSV row is the first
+	 */
+	private boolean firstRow = true;
+	/**
+	 * Number of lines read
+	 */
+	private long lineNumber;
+	/**
+	 * Number of entries skipped for being too long
+	 */
+	private int skippedCount;
+	/**
+	 * <code>true</code> once the end of the input has been read
+	 */
+	private boolean eof;
+	/**
+	 * Closed flag
+	 */
+	private boolean closed;
+
+	/**
+	 * Constructor
+	 * @param reader The character source
+	 * @param format The list format
+	 */
+	public AddressReader(Reader reader, AddressFormat format) {
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader
+				                                       : new BufferedReader(reader);
+		this.format = format;
+		setHeaders(DEFAULT_HEADERS);
+	}
+
+	/**
+	 * Constructor decoding the stream as UTF-8. Malformed bytes are replaced
+	 * rather than failing the import.
+	 * @param in The input stream
+	 * @param format The list format
+	 */
+	public AddressReader(InputStream in, AddressFormat format) {
+		this(new InputStreamReader(in, StandardCharsets.UTF_8), format);
+	}
+
+	/**
+	 * Opens a UTF-8 address list file
+	 * @param path The file path
+	 * @param format The list format
+	 * @return A new reader
+	 * @throws IOException if the file cannot be opened
+	 */
+	public static AddressReader open(Path path, AddressFormat format)
+			throws IOException {
+		return new AddressReader(Files.newInputStream(path), format);
+	}
+
+	/**
+	 * Set the mbox headers holding addresses. The default is
+	 * <code>From</code>, <code>To</code> and <code>Cc</code>.
+	 * @param names The header names
+	 * @return This instance
+	 */
+	public AddressReader setHeaders(String... names) {
+		headers.clear();
+		for (String name : names) {
+			headers.add(name.toLowerCase(Locale.ENGLISH));
+		}
+		return this;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		try {
+			while (pending.isEmpty() && !eof) {
+				switch (format) {
+				case CSV:
+					readCsv();
+					break;
+				case MBOX:
+					readMbox();
+					break;
+				default:
+					readList();
+					break;
+				}
+			}
+			if (pending.isEmpty()) {
+				close();
+			}
+		} catch (IOException e) {
+			closeQuietly();
+			throw new ContextedRuntimeException(e)
+			                       .addContextValue("line", lineNumber);
+		}
+		return !pending.isEmpty();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public String next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return pending.poll();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Reads the next line, counting it
+	 * @return The line or <code>null</code> at the end of the input
+	 * @throws IOException if an I/O error occurs
+	 */
+	private String readLine() throws IOException {
+		final String line = closed ? null : reader.readLine();
+		if (line != null) {
+			lineNumber++;
+		} else {
+			eof = true;
+		}
+		return line;
+	}
+
+	/**
+	 * Reads a chunk of an RFC 822 address list
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void readList() throws IOException {
+		final char[] buffer = new char[BUFFER_SIZE];
+		final int n = closed ? -1 : reader.read(buffer);
+		if (n < 0) {
+			endEntry();
+			eof = true;
+			return;
+		}
+		for (int i = 0; i < n; i++) {
+			if (buffer[i] == '\n') {
+				lineNumber++;
+			}
+			feed(buffer[i]);
+		}
+	}
+
+	/**
+	 * Reads one CSV row
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void readCsv() throws IOException {
+
+		final String line = readLine();
+		if (null == line || StringUtils.isBlank(line)) {
+			return;
+		}
+
+		final List<String> fields = splitCsv(line);
+		final boolean header = firstRow;
+		firstRow = false;
+
+		String email = null;
+		StringBuilder name = new StringBuilder();
+		for (String field : fields) {
+			final String value = field.trim();
+			if (null == email && value.indexOf('@') >= 0) {
+				email = value;
+			} else if (!value.isEmpty()) {
+				if (name.length() > 0) {
+					name.append(' ');
+				}
+				name.append(value);
+			}
+		}
+
+		if (null == email) {
+			//A header row or a row the importer will reject
+			if (!header) {
+				pending.add(line.trim());
+			}
+		} else if (name.length() == 0) {
+			pending.add(email);
+		} else {
+			try {
+				pending.add(new InternetAddress(email, name.toString(),
+						    StandardCharsets.UTF_8.name()).toString());
+			} catch (UnsupportedEncodingException e) {
+				throw new ContextedRuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * Splits a CSV row into fields, honoring double-quoted fields
+	 * @param line The row
+	 * @return The fields
+	 */
+	private static List<String> splitCsv(String line) {
+
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean inQuotes = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			final char c = line.charAt(i);
+			if (inQuotes) {
+				if (c == '"') {
+					if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+						field.append('"');
+						i++;
+					} else {
+						inQuotes = false;
+					}
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				inQuotes = true;
+			} else if (c == ',' || c == ';' || c == '\t') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+
+		return fields;
+	}
+
+	/**
+	 * Reads one mbox line
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void readMbox() throws IOException {
+
+		final String line = readLine();
+		if (null == line) {
+			endEntry();
+			return;
+		}
+
+		if (line.startsWith("From ")) {
+			//Message separator
+			endEntry();
+			inHeaders = true;
+			addressHeader = false;
+		} else if (!inHeaders) {
+			//Message body
+			return;
+		} else if (line.isEmpty()) {
+			endEntry();
+			inHeaders = false;
+			addressHeader = false;
+		} else if (line.charAt(0) == ' ' || line.charAt(0) == '\t') {
+			//Folded header line
+			if (addressHeader) {
+				feed(' ');
+				feed(line);
+			}
+		} else {
+			endEntry();
+			final int colon = line.indexOf(':');
+			addressHeader = colon > 0 && headers.contains(
+					line.substring(0, colon).trim().toLowerCase(Locale.ENGLISH));
+			if (addressHeader) {
+				feed(line.substring(colon + 1));
+			}
+		}
+	}
+
+	/**
+	 * Feeds the characters of a header value to the list tokenizer
+	 * @param text The text
+	 */
+	private void feed(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			feed(text.charAt(i));
+		}
+	}
+
+	/**
+	 * Feeds one character to the list tokenizer. Commas and semicolons end
+	 * an entry unless quoted, commented or inside angle brackets.
+	 * @param c The character
+	 */
+	private void feed(char c) {
+
+		if (escaped) {
+			escaped = false;
+			append(c);
+		} else if (quoted) {
+			if (c == '\\') {
+				escaped = true;
+			} else if (c == '"') {
+				quoted = false;
+			}
+			append(c);
+		} else if (comment > 0) {
+			if (c == '\\') {
+				escaped = true;
+			} else if (c == '(') {
+				comment++;
+			} else if (c == ')') {
+				comment--;
+			}
+			append(c);
+		} else {
+			switch (c) {
+			case '"':
+				quoted = true;
+				append(c);
+				break;
+			case '(':
+				comment++;
+				append(c);
+				break;
+			case '<':
+				angle = true;
+				append(c);
+				break;
+			case '>':
+				angle = false;
+				append(c);
+				break;
+			case '[':
+				literal = true;
+				append(c);
+				break;
+			case ']':
+				literal = false;
+				append(c);
+				break;
+			case ',':
+			case ';':
+				if (angle || literal) {
+					append(c);
+				} else {
+					endEntry();
+				}
+				break;
+			case ':':
+				if (angle || literal) {
+					append(c);
+				} else {
+					//Drop a header or group name
+					entry.setLength(0);
+					overflow = false;
+				}
+				break;
+			case '\r':
+			case '\n':
+				append(' ');
+				break;
+			default:
+				append(c);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Appends a character to the current entry unless it is too long
+	 * @param c The character
+	 */
+	private void append(char c) {
+		if (entry.length() < MAX_ENTRY_LENGTH) {
+			entry.append(c);
+		} else {
+			overflow = true;
+		}
+	}
+
+	/**
+	 * Ends the current list entry and resets the tokenizer
+	 */
+	private void endEntry() {
+		if (overflow) {
+			skippedCount++;
+		} else {
+			final String value = entry.toString().trim();
+			if (!value.isEmpty()) {
+				pending.add(value);
+			}
+		}
+		entry.setLength(0);
+		overflow = false;
+		quoted = false;
+		escaped = false;
+		comment = 0;
+		angle = false;
+		literal = false;
+	}
+
+	/**
+	 * @return the number of lines read
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * @return the number of entries skipped for exceeding
+	 *         {@link #MAX_ENTRY_LENGTH}
+	 */
+	public int getSkippedCount() {
+		return skippedCount;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			eof = true;
+			reader.close();
+		}
+	}
+
+	/**
+	 * Closes the reader ignoring any I/O error
+	 */
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (IOException e) {
+			//Ignore
+		}
+	}
+
+}
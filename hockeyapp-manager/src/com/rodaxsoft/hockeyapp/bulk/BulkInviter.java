@@ -0,0 +1,177 @@
+/*
+	BulkInviter.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.rodaxsoft.hockeyapp.HockeyAppManager;
+import com.rodaxsoft.hockeyapp.Invitation;
+import com.rodaxsoft.hockeyapp.user.User;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * BulkInviter pipelines invitation requests through a manager with a bounded
+ * number of requests in flight
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class BulkInviter {
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(BulkInviter.class);
+
+	/**
+	 * The manager
+	 */
+	private final HockeyAppManager manager;
+	/**
+	 * Runs the requests
+	 */
+	private final BulkRunner runner;
+
+	/**
+	 * Constructor
+	 * @param manager The manager that sends the invitations
+	 * @param executor Executor running the requests
+	 * @param concurrency Maximum number of requests in flight
+	 * @throws ContextedRuntimeException if the concurrency is not positive
+	 */
+	public BulkInviter(HockeyAppManager manager, ExecutorService executor,
+			           int concurrency) {
+		this.manager = manager;
+		this.runner = new BulkRunner(executor, concurrency);
+	}
+
+	/**
+	 * @return the executor running the requests
+	 */
+	ExecutorService getExecutor() {
+		return runner.getExecutor();
+	}
+
+	/**
+	 * @return the maximum number of requests in flight
+	 */
+	int getConcurrency() {
+		return runner.getConcurrency();
+	}
+
+	/**
+	 * Returns the lower-cased emails of the current app members
+	 * @return A set of member emails
+	 */
+	Set<String> getMemberEmails() {
+		Set<String> emails = new HashSet<>();
+		UserRoster roster = manager.getAppUserRoster();
+		if (roster != null) {
+			for (User user : roster.getUsers()) {
+				if (user.getEmail() != null) {
+					emails.add(user.getEmail().toLowerCase(Locale.ENGLISH));
+				}
+			}
+		}
+		return emails;
+	}
+
+	/**
+	 * Sends the invitations. Emails already present in the app or earlier in
+	 * the collection are skipped.
+	 * @param invitations The invitations to send
+	 * @return A report holding a result for each invitation
+	 * @throws ContextedRuntimeException if interrupted while waiting
+	 */
+	public BulkReport<Invitation> invite(Collection<Invitation> invitations) {
+
+		final long start = System.currentTimeMillis();
+		final Set<String> seen = getMemberEmails();
+
+		final BulkResult<Invitation>[] results = BulkRunner.newResults(invitations.size());
+		final List<BulkRunner.Request<BulkResult<Invitation>>> requests;
+		requests = new ArrayList<>(invitations.size());
+
+		int index = 0;
+		for (final Invitation invitation : invitations) {
+
+			final String email = invitation.getEmail();
+			if (email != null && !seen.add(email.toLowerCase(Locale.ENGLISH))) {
+				results[index] = new BulkResult<>(invitation, BulkStatus.SKIPPED, 0, null);
+				requests.add(null);
+			} else {
+				requests.add(new BulkRunner.Request<BulkResult<Invitation>>() {
+
+					@Override
+					public BulkResult<Invitation> send() {
+						return BulkInviter.this.send(invitation);
+					}
+				});
+			}
+			index++;
+		}
+
+		runner.run(requests, results);
+
+		final long elapsed = System.currentTimeMillis() - start;
+		BulkReport<Invitation> report;
+		report = new BulkReport<>(Arrays.asList(results), elapsed);
+		LOG.debug(report);
+		return report;
+	}
+
+	/**
+	 * Sends a single invitation. Retries are left to the manager's retry 
+	 * policy, which never repeats an invitation the server may have 
+	 * processed.
+	 * @param invitation The invitation to send
+	 * @return The invitation result
+	 */
+	BulkResult<Invitation> send(Invitation invitation) {
+
+		final AtomicInteger attempts = new AtomicInteger();
+		try {
+			BulkStatus status;
+			if (manager.inviteUser(invitation, attempts)) {
+				status = attempts.get() > 1 ? BulkStatus.RETRIED : BulkStatus.SUCCESS;
+			} else {
+				status = BulkStatus.CLIENT_ERROR;
+			}
+			return new BulkResult<>(invitation, status, attempts.get(), null);
+
+		} catch (Exception e) {
+			LOG.debug("Invitation failed after " + attempts + " attempts: " + e);
+			return new BulkResult<>(invitation, BulkStatus.FAILED, attempts.get(), e);
+		}
+	}
+
+}
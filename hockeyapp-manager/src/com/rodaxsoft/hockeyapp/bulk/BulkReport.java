@@ -0,0 +1,133 @@
+/*
+	BulkReport.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BulkReport class holds the per-item results and throughput statistics 
+ * of a bulk invitation, update or removal
+ * @param <T> The item type
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class BulkReport<T> {
+
+	/**
+	 * Results in item order
+	 */
+	private final List<BulkResult<T>> results;
+	/**
+	 * Result counts by status
+	 */
+	private final Map<BulkStatus, Integer> counts;
+	/**
+	 * Number of requests sent
+	 */
+	private final int requests;
+	/**
+	 * Elapsed time in milliseconds
+	 */
+	private final long elapsedMillis;
+
+	/**
+	 * Constructor
+	 * @param results Results in item order
+	 * @param elapsedMillis Elapsed time in milliseconds
+	 */
+	BulkReport(List<BulkResult<T>> results, long elapsedMillis) {
+		this.results = Collections.unmodifiableList(results);
+		this.elapsedMillis = elapsedMillis;
+
+		Map<BulkStatus, Integer> map = new EnumMap<>(BulkStatus.class);
+		for (BulkStatus status : BulkStatus.values()) {
+			map.put(status, 0);
+		}
+
+		int sent = 0;
+		for (BulkResult<T> result : results) {
+			map.put(result.getStatus(), map.get(result.getStatus()) + 1);
+			sent += result.getAttempts();
+		}
+
+		this.counts = Collections.unmodifiableMap(map);
+		this.requests = sent;
+	}
+
+	/**
+	 * @return the results in item order
+	 */
+	public List<BulkResult<T>> getResults() {
+		return results;
+	}
+
+	/**
+	 * Returns the number of results with the given status
+	 * @param status The status to count
+	 * @return The number of results
+	 */
+	public int getCount(BulkStatus status) {
+		return counts.get(status);
+	}
+
+	/**
+	 * @return the number of successful items
+	 */
+	public int getSuccessCount() {
+		return getCount(BulkStatus.SUCCESS) + getCount(BulkStatus.RETRIED);
+	}
+
+	/**
+	 * @return the number of requests sent, including retries
+	 */
+	public int getRequestCount() {
+		return requests;
+	}
+
+	/**
+	 * @return the elapsed time in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * @return the number of requests sent per second
+	 */
+	public double getThroughput() {
+		return elapsedMillis > 0 ? requests * 1000.0 / elapsedMillis : 0.0;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "BulkReport [items=" + results.size()
+				+ ", counts=" + counts + ", requests=" + requests
+				+ ", elapsedMillis=" + elapsedMillis + ", throughput="
+				+ String.format("%.1f/s", getThroughput()) + "]";
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+	BulkResult.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+/**
+ * BulkResult class holds the outcome of a single item of a bulk 
+ * invitation, update or removal
+ * @param <T> The item type, e.g. an invitation, an update or an app user ID
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class BulkResult<T> {
+
+	/**
+	 * The item or <code>null</code> if it was missing
+	 */
+	private final T item;
+	/**
+	 * The outcome
+	 */
+	private final BulkStatus status;
+	/**
+	 * Number of requests sent
+	 */
+	private final int attempts;
+	/**
+	 * The last error or <code>null</code>
+	 */
+	private final Throwable error;
+
+	/**
+	 * Constructor
+	 * @param item The item or <code>null</code>
+	 * @param status The outcome
+	 * @param attempts Number of requests sent
+	 * @param error The last error or <code>null</code>
+	 */
+	BulkResult(T item, BulkStatus status, int attempts, Throwable error) {
+		this.item = item;
+		this.status = status;
+		this.attempts = attempts;
+		this.error = error;
+	}
+
+	/**
+	 * @return the item or <code>null</code> if it was missing
+	 */
+	public T getItem() {
+		return item;
+	}
+
+	/**
+	 * @return the status
+	 */
+	public BulkStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return the number of requests sent
+	 */
+	public int getAttempts() {
+		return attempts;
+	}
+
+	/**
+	 * @return the last error or <code>null</code>
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "BulkResult [item=" + item + ", status=" + status + ", attempts="
+				+ attempts + ", error=" + error + "]";
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+	BulkRunner.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * BulkRunner sends the requests of a bulk operation on an executor with a
+ * bounded number of requests in flight. Each request is sent once; retries
+ * are left to the manager's retry policy.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+final class BulkRunner {
+
+	/**
+	 * Request sends the request of a single item
+	 * @param <R> The result type
+	 */
+	interface Request<R> {
+
+		/**
+		 * Sends the request. Errors are reported in the result.
+		 * @return The result
+		 */
+		R send();
+	}
+
+	/**
+	 * Executor running the requests
+	 */
+	private final ExecutorService executor;
+	/**
+	 * Maximum number of requests in flight
+	 */
+	private final int concurrency;
+
+	/**
+	 * Constructor
+	 * @param executor Executor running the requests
+	 * @param concurrency Maximum number of requests in flight
+	 * @throws ContextedRuntimeException if the concurrency is not positive
+	 */
+	BulkRunner(ExecutorService executor, int concurrency) {
+		if (concurrency <= 0) {
+			throw new ContextedRuntimeException("Concurrency must be positive")
+			                       .addContextValue("concurrency", concurrency);
+		}
+		this.executor = executor;
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * @return the executor running the requests
+	 */
+	ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @return the maximum number of requests in flight
+	 */
+	int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Creates an array holding the results of a bulk operation
+	 * @param size The number of items
+	 * @return A new array of the given size
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> BulkResult<T>[] newResults(int size) {
+		return (BulkResult<T>[]) new BulkResult<?>[size];
+	}
+
+	/**
+	 * Sends the requests and stores each result in the slot of its request.
+	 * Slots without a request, e.g. skipped items, are left unchanged.
+	 * @param requests The requests in item order, <code>null</code> for 
+	 *        items that are not sent
+	 * @param results The results in item order
+	 * @throws ContextedRuntimeException if interrupted while waiting or a 
+	 *         request throws
+	 */
+	<R> void run(List<Request<R>> requests, final R[] results) {
+
+		final Semaphore permits = new Semaphore(concurrency);
+		final List<Future<?>> futures = new ArrayList<>();
+
+		try {
+
+			for (int i = 0; i < requests.size(); i++) {
+
+				final int slot = i;
+				final Request<R> request = requests.get(i);
+				if (null == request) {
+					continue;
+				}
+
+				permits.acquire();
+				try {
+					futures.add(executor.submit(new Runnable() {
+
+						@Override
+						public void run() {
+							try {
+								results[slot] = request.send();
+							} finally {
+								permits.release();
+							}
+						}
+					}));
+				} catch (RuntimeException e) {
+					permits.release();
+					throw e;
+				}
+			}
+
+			for (Future<?> future : futures) {
+				future.get();
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ContextedRuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new ContextedRuntimeException(e.getCause());
+		}
+	}
+
+}
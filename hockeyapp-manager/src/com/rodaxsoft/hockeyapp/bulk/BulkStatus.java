@@ -0,0 +1,61 @@
+/*
+	BulkStatus.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+/**
+ * BulkStatus enumerates the outcome of a single item of a bulk invitation,
+ * update or removal
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public enum BulkStatus {
+
+	/**
+	 * Done on the first attempt
+	 */
+	SUCCESS,
+	/**
+	 * Done after one or more retries of the retry policy
+	 */
+	RETRIED,
+	/**
+	 * Rejected by the server with a client error (4xx), e.g. because the 
+	 * user is not a member of the app
+	 */
+	CLIENT_ERROR,
+	/**
+	 * Failed after all attempts were exhausted
+	 */
+	FAILED,
+	/**
+	 * Not sent because the item is missing or repeats an earlier item of 
+	 * the same batch, or its email is already a member of the app
+	 */
+	SKIPPED;
+
+	/**
+	 * @return <code>true</code> if the request succeeded
+	 */
+	public boolean isSuccessful() {
+		return this == SUCCESS || this == RETRIED;
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+	BulkUserUpdater.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.exception.ContextedException;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.rodaxsoft.hockeyapp.HockeyAppManager;
+import com.rodaxsoft.hockeyapp.user.UserUpdate;
+
+/**
+ * BulkUserUpdater pipelines role and tag updates or removals of app users 
+ * through a manager with a bounded number of requests in flight. Requests 
+ * share the manager's connections, rate limiter, circuit breaker and retry
+ * policy.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class BulkUserUpdater {
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(BulkUserUpdater.class);
+
+	/**
+	 * The manager
+	 */
+	private final HockeyAppManager manager;
+	/**
+	 * Runs the requests
+	 */
+	private final BulkRunner runner;
+
+	/**
+	 * Constructor
+	 * @param manager The manager that sends the requests
+	 * @param executor Executor running the requests
+	 * @param concurrency Maximum number of requests in flight
+	 * @throws ContextedRuntimeException if the concurrency is not positive
+	 */
+	public BulkUserUpdater(HockeyAppManager manager, ExecutorService executor,
+			               int concurrency) {
+		this.manager = manager;
+		this.runner = new BulkRunner(executor, concurrency);
+	}
+
+	/**
+	 * Updates the role and tags of app users. Updates that are 
+	 * <code>null</code> or repeat an app user ID of the collection are 
+	 * skipped.
+	 * @param updates The app user IDs, new roles and tags
+	 * @return A report holding a result for each update
+	 * @throws ContextedRuntimeException if interrupted while waiting
+	 * @see HockeyAppManager#updateUser(UserUpdate)
+	 */
+	public BulkReport<UserUpdate> update(Collection<UserUpdate> updates) {
+
+		List<UserRequest<UserUpdate>> requests = new ArrayList<>(updates.size());
+		for (final UserUpdate update : updates) {
+			final Integer id = null == update ? null : update.getId();
+			requests.add(new UserRequest<UserUpdate>(id, update) {
+
+				@Override
+				boolean send(AtomicInteger attempts) throws ContextedException {
+					return manager.updateUser(update, attempts);
+				}
+			});
+		}
+
+		return run(requests);
+	}
+
+	/**
+	 * Removes the users. IDs that are <code>null</code> or repeated in the
+	 * collection are skipped.
+	 * @param ids The app user IDs
+	 * @return A report holding a result for each ID
+	 * @throws ContextedRuntimeException if interrupted while waiting
+	 * @see HockeyAppManager#removeUser(int)
+	 */
+	public BulkReport<Integer> remove(Collection<Integer> ids) {
+
+		List<UserRequest<Integer>> requests = new ArrayList<>(ids.size());
+		for (final Integer id : ids) {
+			requests.add(new UserRequest<Integer>(id, id) {
+
+				@Override
+				boolean send(AtomicInteger attempts) throws ContextedException {
+					return manager.removeUser(id, attempts);
+				}
+			});
+		}
+
+		return run(requests);
+	}
+
+	/**
+	 * Skips the requests with a missing or repeated ID and runs the others
+	 * @param requests The requests in item order
+	 * @return The report
+	 * @throws ContextedRuntimeException if interrupted while waiting
+	 */
+	private <T> BulkReport<T> run(List<UserRequest<T>> requests) {
+
+		final long start = System.currentTimeMillis();
+		final Set<Integer> seen = new HashSet<>();
+
+		final BulkResult<T>[] results = BulkRunner.newResults(requests.size());
+		final List<BulkRunner.Request<BulkResult<T>>> sent;
+		sent = new ArrayList<>(requests.size());
+
+		for (int i = 0; i < requests.size(); i++) {
+			final UserRequest<T> request = requests.get(i);
+			if (null == request.id || !seen.add(request.id)) {
+				results[i] = new BulkResult<>(request.item, BulkStatus.SKIPPED, 0, null);
+				sent.add(null);
+			} else {
+				sent.add(request);
+			}
+		}
+
+		runner.run(sent, results);
+
+		final long elapsed = System.currentTimeMillis() - start;
+		BulkReport<T> report;
+		report = new BulkReport<>(Arrays.asList(results), elapsed);
+		LOG.debug(report);
+		return report;
+	}
+
+	/**
+	 * UserRequest sends a single update or removal and reports its outcome
+	 * @param <T> The item type
+	 */
+	private abstract static class UserRequest<T> implements BulkRunner.Request<BulkResult<T>> {
+
+		/**
+		 * The app user ID or <code>null</code>
+		 */
+		final Integer id;
+		/**
+		 * The update or the app user ID of a removal
+		 */
+		final T item;
+
+		/**
+		 * Constructor
+		 * @param id The app user ID or <code>null</code>
+		 * @param item The update or the app user ID of a removal
+		 */
+		UserRequest(Integer id, T item) {
+			this.id = id;
+			this.item = item;
+		}
+
+		/**
+		 * Sends the request through the manager
+		 * @param attempts Receives the number of requests sent
+		 * @return <code>true</code> if the request succeeded
+		 * @throws ContextedException if a processing error occurs
+		 */
+		abstract boolean send(AtomicInteger attempts) throws ContextedException;
+
+		/* (non-Javadoc)
+		 * @see com.rodaxsoft.hockeyapp.bulk.BulkRunner.Request#send()
+		 */
+		@Override
+		public BulkResult<T> send() {
+
+			final AtomicInteger attempts = new AtomicInteger();
+			try {
+				BulkStatus status;
+				if (send(attempts)) {
+					status = attempts.get() > 1 ? BulkStatus.RETRIED : BulkStatus.SUCCESS;
+				} else {
+					status = BulkStatus.CLIENT_ERROR;
+				}
+				return new BulkResult<>(item, status, attempts.get(), null);
+
+			} catch (Exception e) {
+				LOG.debug("Request for user " + id + " failed after " + attempts
+						  + " attempts: " + e);
+				return new BulkResult<>(item, BulkStatus.FAILED, attempts.get(), e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+	ImportReport.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ImportReport class holds the outcome counts and throughput statistics of
+ * an address list import. Per-address outcomes are delivered to an
+ * {@link AddressImporter.ImportListener} rather than kept in the report.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class ImportReport {
+
+	/**
+	 * Number of addresses read
+	 */
+	private final int addressCount;
+	/**
+	 * Invitation counts by status
+	 */
+	private final Map<BulkStatus, Integer> counts;
+	/**
+	 * Reject counts by reason
+	 */
+	private final Map<RejectReason, Integer> rejectCounts;
+	/**
+	 * Number of list entries skipped for being too long
+	 */
+	private final int skippedCount;
+	/**
+	 * Number of requests sent
+	 */
+	private final int requests;
+	/**
+	 * Elapsed time in milliseconds
+	 */
+	private final long elapsedMillis;
+
+	/**
+	 * Constructor
+	 * @param addressCount Number of addresses read
+	 * @param counts Invitation counts indexed by status ordinal
+	 * @param rejectCounts Reject counts indexed by reason ordinal
+	 * @param skippedCount Number of list entries skipped for being too long
+	 * @param requests Number of requests sent
+	 * @param elapsedMillis Elapsed time in milliseconds
+	 */
+	ImportReport(int addressCount, int[] counts, int[] rejectCounts,
+			     int skippedCount, int requests, long elapsedMillis) {
+
+		this.addressCount = addressCount;
+		this.skippedCount = skippedCount;
+		this.requests = requests;
+		this.elapsedMillis = elapsedMillis;
+
+		Map<BulkStatus, Integer> statusMap = new EnumMap<>(BulkStatus.class);
+		for (BulkStatus status : BulkStatus.values()) {
+			statusMap.put(status, counts[status.ordinal()]);
+		}
+		this.counts = Collections.unmodifiableMap(statusMap);
+
+		Map<RejectReason, Integer> reasonMap = new EnumMap<>(RejectReason.class);
+		for (RejectReason reason : RejectReason.values()) {
+			reasonMap.put(reason, rejectCounts[reason.ordinal()]);
+		}
+		this.rejectCounts = Collections.unmodifiableMap(reasonMap);
+	}
+
+	/**
+	 * @return the number of addresses read
+	 */
+	public int getAddressCount() {
+		return addressCount;
+	}
+
+	/**
+	 * Returns the number of invitations with the given status
+	 * @param status The status
+	 * @return The invitation count
+	 */
+	public int getCount(BulkStatus status) {
+		return counts.get(status);
+	}
+
+	/**
+	 * @return the number of users invited
+	 */
+	public int getSuccessCount() {
+		return getCount(BulkStatus.SUCCESS) + getCount(BulkStatus.RETRIED);
+	}
+
+	/**
+	 * Returns the number of addresses rejected for the given reason
+	 * @param reason The reason
+	 * @return The reject count
+	 */
+	public int getRejectCount(RejectReason reason) {
+		return rejectCounts.get(reason);
+	}
+
+	/**
+	 * @return the number of list entries skipped for exceeding
+	 *         {@link AddressReader#MAX_ENTRY_LENGTH}
+	 */
+	public int getSkippedCount() {
+		return skippedCount;
+	}
+
+	/**
+	 * @return the number of requests sent, including retries
+	 */
+	public int getRequestCount() {
+		return requests;
+	}
+
+	/**
+	 * @return the elapsed time in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * @return the number of addresses read per second
+	 */
+	public double getThroughput() {
+		return elapsedMillis > 0 ? addressCount * 1000.0 / elapsedMillis : 0.0;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ImportReport [addressCount=" + addressCount + ", counts="
+				+ counts + ", rejectCounts=" + rejectCounts + ", skippedCount="
+				+ skippedCount + ", requests=" + requests + ", elapsedMillis="
+				+ elapsedMillis + "]";
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+	InvitationBatch.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.rodaxsoft.hockeyapp.Invitation;
+
+/**
+ * InvitationBatch class holds the invitations built from a list of addresses
+ * together with the addresses that were rejected
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class InvitationBatch {
+
+	/**
+	 * Invitations in input order
+	 */
+	private final List<Invitation> invitations;
+	/**
+	 * Rejects in input order
+	 */
+	private final List<InvitationReject> rejects;
+	/**
+	 * Elapsed time in milliseconds
+	 */
+	private final long elapsedMillis;
+
+	/**
+	 * Constructor
+	 * @param invitations Invitations in input order
+	 * @param rejects Rejects in input order
+	 * @param elapsedMillis Elapsed time in milliseconds
+	 */
+	InvitationBatch(List<Invitation> invitations, List<InvitationReject> rejects,
+			        long elapsedMillis) {
+		this.invitations = Collections.unmodifiableList(invitations);
+		this.rejects = Collections.unmodifiableList(rejects);
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * @return the invitations in input order, ready for 
+	 *         {@link BulkInviter#invite(java.util.Collection)}
+	 */
+	public List<Invitation> getInvitations() {
+		return invitations;
+	}
+
+	/**
+	 * @return the rejected addresses in input order
+	 */
+	public List<InvitationReject> getRejects() {
+		return rejects;
+	}
+
+	/**
+	 * Returns the number of addresses rejected for the given reason
+	 * @param reason The reason
+	 * @return The reject count
+	 */
+	public int getRejectCount(RejectReason reason) {
+		int count = 0;
+		for (InvitationReject reject : rejects) {
+			if (reject.getReason() == reason) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return the elapsed time in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "InvitationBatch [invitations=" + invitations.size()
+				+ ", rejects=" + rejects.size() + ", elapsedMillis="
+				+ elapsedMillis + "]";
+	}
+
+}
@@ -0,0 +1,306 @@
+/*
+	InvitationBuilder.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.mail.Address;
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+import com.rodaxsoft.hockeyapp.Invitation;
+import com.rodaxsoft.hockeyapp.user.Role;
+
+/**
+ * InvitationBuilder turns a list of addresses, such as a mailing list
+ * export, into invitations. Each address is parsed at most once, emails are
+ * validated in parallel with cached domain verdicts, normalized to trimmed
+ * lower case and deduplicated. Addresses that cannot be used are reported
+ * as {@link InvitationReject}s rather than failing the whole batch.
+ * <p>
+ * The role, tags and message set on the builder are applied to every
+ * invitation. A builder may be reused but is not thread-safe while being
+ * configured.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class InvitationBuilder {
+
+	/**
+	 * Minimum number of addresses handed to a worker
+	 */
+	private static final int MIN_CHUNK_SIZE = 256;
+
+	/**
+	 * Executor running the workers or <code>null</code>
+	 */
+	private final ExecutorService executor;
+	/**
+	 * Maximum number of workers
+	 */
+	private final int parallelism;
+	/**
+	 * Role of every invitation or <code>null</code>
+	 */
+	private Role role;
+	/**
+	 * Tags of every invitation or <code>null</code>
+	 */
+	private String tags;
+	/**
+	 * Message of every invitation or <code>null</code>
+	 */
+	private String message;
+
+	/**
+	 * Constructor building invitations on the calling thread
+	 */
+	public InvitationBuilder() {
+		this.executor = null;
+		this.parallelism = 1;
+	}
+
+	/**
+	 * Constructor
+	 * @param executor Executor running the workers
+	 * @param parallelism Maximum number of workers
+	 * @throws ContextedRuntimeException if the parallelism is not positive
+	 */
+	public InvitationBuilder(ExecutorService executor, int parallelism) {
+		if (parallelism <= 0) {
+			throw new ContextedRuntimeException("Parallelism must be positive")
+			                       .addContextValue("parallelism", parallelism);
+		}
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Set the role of every invitation
+	 * @param role The role to set
+	 * @return This instance
+	 * @throws ContextedRuntimeException if the role is <code>OWNER</code>
+	 * @see Invitation#setRole(Role)
+	 */
+	public InvitationBuilder setRole(Role role) {
+		if (Role.OWNER == role) {
+			throw new ContextedRuntimeException("Role value cannot be set to OWNER")
+			                       .addContextValue("name", role.toString())
+			                       .addContextValue("value", role.getIndex());
+		}
+		this.role = role;
+		return this;
+	}
+
+	/**
+	 * Set the tags of every invitation
+	 * @param tags The tags to set
+	 * @return This instance
+	 */
+	public InvitationBuilder setTags(String tags) {
+		this.tags = tags;
+		return this;
+	}
+
+	/**
+	 * Set the message of every invitation
+	 * @param message The message to set
+	 * @return This instance
+	 */
+	public InvitationBuilder setMessage(String message) {
+		this.message = message;
+		return this;
+	}
+
+	/**
+	 * Builds invitations from parsed addresses. An
+	 * <code>InternetAddress</code> is used as is; any other address is
+	 * parsed from its string form.
+	 * @param addresses The addresses
+	 * @return The invitations and rejects
+	 * @throws ContextedRuntimeException if interrupted while waiting
+	 */
+	public InvitationBatch build(Collection<? extends Address> addresses) {
+		return process(new ArrayList<Object>(addresses));
+	}
+
+	/**
+	 * Builds invitations from address strings such as
+	 * <code>Jane Doe &lt;jane@example.com&gt;</code>. Each string holds one
+	 * address.
+	 * @param addresses The address strings
+	 * @return The invitations and rejects
+	 * @throws ContextedRuntimeException if interrupted while waiting
+	 */
+	public InvitationBatch parse(Collection<String> addresses) {
+		return process(new ArrayList<Object>(addresses));
+	}
+
+	/**
+	 * Converts the items in parallel chunks, then deduplicates in input order
+	 * @param items The addresses or address strings
+	 * @return The invitations and rejects
+	 */
+	private InvitationBatch process(final List<Object> items) {
+
+		final long start = System.currentTimeMillis();
+		final Object[] converted = new Object[items.size()];
+
+		final int workers = Math.min(parallelism,
+				Math.max(1, items.size() / MIN_CHUNK_SIZE));
+
+		if (null == executor || workers == 1) {
+			convert(items, converted, 0, items.size());
+		} else {
+			final int chunk = (items.size() + workers - 1) / workers;
+			List<Future<?>> futures = new ArrayList<>();
+			for (int from = 0; from < items.size(); from += chunk) {
+				final int begin = from;
+				final int end = Math.min(items.size(), from + chunk);
+				futures.add(executor.submit(new Runnable() {
+
+					@Override
+					public void run() {
+						convert(items, converted, begin, end);
+					}
+				}));
+			}
+			await(futures);
+		}
+
+		//Deduplicate sequentially so the first occurrence always wins
+		List<Invitation> invitations = new ArrayList<>(converted.length);
+		List<InvitationReject> rejects = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		for (int i = 0; i < converted.length; i++) {
+			if (converted[i] instanceof Invitation) {
+				final Invitation invitation = (Invitation) converted[i];
+				if (seen.add(invitation.getEmail())) {
+					invitations.add(invitation);
+				} else {
+					rejects.add(new InvitationReject(i, String.valueOf(items.get(i)),
+							                         RejectReason.DUPLICATE, null));
+				}
+			} else {
+				rejects.add((InvitationReject) converted[i]);
+			}
+		}
+
+		return new InvitationBatch(invitations, rejects,
+				                   System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Waits for the workers, rethrowing the first failure
+	 * @param futures The worker futures
+	 * @throws ContextedRuntimeException if a worker failed or the wait was
+	 *         interrupted
+	 */
+	private static void await(List<Future<?>> futures) {
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new ContextedRuntimeException(e.getCause());
+		} catch (InterruptedException e) {
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+			Thread.currentThread().interrupt();
+			throw new ContextedRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Converts a range of items into invitations or rejects
+	 * @param items The addresses or address strings
+	 * @param converted Receives an <code>Invitation</code> or an
+	 *        <code>InvitationReject</code> per item
+	 * @param begin First index, inclusive
+	 * @param end Last index, exclusive
+	 */
+	private void convert(List<Object> items, Object[] converted, int begin, int end) {
+		for (int i = begin; i < end; i++) {
+			converted[i] = convert(i, items.get(i));
+		}
+	}
+
+	/**
+	 * Converts one item into an invitation or a reject
+	 * @param index Position of the item in the input
+	 * @param item The address or address string
+	 * @return An <code>Invitation</code> or an <code>InvitationReject</code>
+	 */
+	Object convert(int index, Object item) {
+
+		InternetAddress address;
+		if (item instanceof InternetAddress) {
+			address = (InternetAddress) item;
+		} else {
+			try {
+				address = new InternetAddress(String.valueOf(item));
+			} catch (AddressException e) {
+				return new InvitationReject(index, String.valueOf(item),
+						                    RejectReason.INVALID_ADDRESS, e);
+			}
+		}
+
+		final String email = StringUtils.trimToNull(address.getAddress());
+		Invitation invitation = new Invitation();
+		try {
+			invitation.setEmail(null == email ? null : email.toLowerCase(Locale.ENGLISH));
+		} catch (ContextedRuntimeException e) {
+			return new InvitationReject(index, String.valueOf(item),
+					                    RejectReason.INVALID_EMAIL, e);
+		}
+
+		final String name = StringUtils.trimToNull(address.getPersonal());
+		if (name != null) {
+			invitation.setFirstName(StringUtils.substringBefore(name, " "));
+			invitation.setLastName(StringUtils.substringAfter(name, " "));
+		}
+		if (role != null) {
+			invitation.setRole(role);
+		}
+		if (tags != null) {
+			invitation.setTags(tags);
+		}
+		if (message != null) {
+			invitation.setMessage(message);
+		}
+
+		return invitation;
+	}
+
+}
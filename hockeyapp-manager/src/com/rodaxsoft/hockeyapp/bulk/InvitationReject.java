@@ -0,0 +1,100 @@
+/*
+	InvitationReject.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+/**
+ * InvitationReject class describes an address left out of an invitation
+ * batch
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class InvitationReject {
+
+	/**
+	 * Position of the address in the input
+	 */
+	private final int index;
+	/**
+	 * The address as given
+	 */
+	private final String address;
+	/**
+	 * Why the address was rejected
+	 */
+	private final RejectReason reason;
+	/**
+	 * The parse or validation error or <code>null</code>
+	 */
+	private final Throwable error;
+
+	/**
+	 * Constructor
+	 * @param index Position of the address in the input
+	 * @param address The address as given
+	 * @param reason Why the address was rejected
+	 * @param error The parse or validation error or <code>null</code>
+	 */
+	InvitationReject(int index, String address, RejectReason reason,
+			         Throwable error) {
+		this.index = index;
+		this.address = address;
+		this.reason = reason;
+		this.error = error;
+	}
+
+	/**
+	 * @return the position of the address in the input
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return the address as given
+	 */
+	public String getAddress() {
+		return address;
+	}
+
+	/**
+	 * @return the reason
+	 */
+	public RejectReason getReason() {
+		return reason;
+	}
+
+	/**
+	 * @return the parse or validation error or <code>null</code>
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "InvitationReject [index=" + index + ", address=" + address
+				+ ", reason=" + reason + "]";
+	}
+
+}
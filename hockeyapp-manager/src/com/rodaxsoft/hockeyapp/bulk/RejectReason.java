@@ -0,0 +1,49 @@
+/*
+	RejectReason.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.bulk;
+
+/**
+ * RejectReason enumerates why an address was left out of an invitation batch
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public enum RejectReason {
+
+	/**
+	 * The address could not be parsed
+	 */
+	INVALID_ADDRESS,
+	/**
+	 * The address was parsed but its email is invalid
+	 */
+	INVALID_EMAIL,
+	/**
+	 * The normalized email appears earlier in the same batch
+	 */
+	DUPLICATE,
+	/**
+	 * The normalized email may appear earlier in a streamed import, too 
+	 * far back to be certain
+	 * @see AddressImporter
+	 */
+	POSSIBLE_DUPLICATE
+
+}
@@ -0,0 +1,238 @@
+/*
+	MembershipFilter.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+import com.rodaxsoft.hockeyapp.user.User;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * MembershipFilter class is a thread-safe Bloom filter of the lower-cased
+ * emails of an app's roster. A negative answer of
+ * {@link #mightContain(String)} is definite; a positive answer is wrong
+ * with at most the configured false-positive rate and must be confirmed
+ * remotely. Lookups do not allocate.
+ * <p>
+ * Emails can be added, e.g. after a successful invitation, but never
+ * removed, so a filter is rebuilt from a fresh roster to drop members.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class MembershipFilter {
+
+	/**
+	 * FNV-1a 64-bit offset basis
+	 */
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	/**
+	 * FNV-1a 64-bit prime
+	 */
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	/**
+	 * Filter bits
+	 */
+	private final AtomicLongArray bits;
+	/**
+	 * Number of bits
+	 */
+	private final long numBits;
+	/**
+	 * Number of hash functions
+	 */
+	private final int numHashes;
+	/**
+	 * Configured false-positive rate
+	 */
+	private final double falsePositiveRate;
+	/**
+	 * Number of emails added
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Constructor
+	 * @param expectedSize The expected number of emails
+	 * @param falsePositiveRate The false-positive rate at the expected 
+	 *        number of emails, between 0 and 1 exclusive
+	 * @throws ContextedRuntimeException if a value is out of range
+	 */
+	public MembershipFilter(int expectedSize, double falsePositiveRate) {
+
+		if (expectedSize < 0 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new ContextedRuntimeException("Invalid membership filter parameters")
+			                       .addContextValue("expectedSize", expectedSize)
+			                       .addContextValue("falsePositiveRate", falsePositiveRate);
+		}
+
+		final int n = Math.max(1, expectedSize);
+		final double ln2 = Math.log(2);
+		final long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+
+		this.numBits = Math.max(64, (m + 63) / 64 * 64);
+		this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * ln2));
+		this.bits = new AtomicLongArray((int) (numBits / 64));
+		this.falsePositiveRate = falsePositiveRate;
+	}
+
+	/**
+	 * Builds a filter of every email on the roster
+	 * @param roster The roster
+	 * @param falsePositiveRate The false-positive rate
+	 * @return The filter
+	 * @throws ContextedRuntimeException if the rate is out of range
+	 */
+	public static MembershipFilter build(UserRoster roster, double falsePositiveRate) {
+		MembershipFilter filter = new MembershipFilter(roster.size(), falsePositiveRate);
+		for (User user : roster.getUsers()) {
+			if (user.getEmail() != null) {
+				filter.add(user.getEmail());
+			}
+		}
+		return filter;
+	}
+
+	/**
+	 * Hashes the lower-cased email with FNV-1a and a final avalanche step
+	 * @param email The email
+	 * @return The 64-bit hash
+	 */
+	private static long hash(String email) {
+		long h = FNV_OFFSET;
+		for (int i = 0; i < email.length(); i++) {
+			h ^= Character.toLowerCase(email.charAt(i));
+			h *= FNV_PRIME;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * Returns the bit index of the i-th hash function
+	 * @param hash The email hash
+	 * @param i The hash function index
+	 * @return The bit index
+	 */
+	private long bitIndex(long hash, int i) {
+		final long combined = (hash >>> 32) + i * (hash & 0xffffffffL);
+		return (combined & Long.MAX_VALUE) % numBits;
+	}
+
+	/**
+	 * Adds an email
+	 * @param email The email
+	 */
+	public void add(String email) {
+		final long hash = hash(email);
+		for (int i = 0; i < numHashes; i++) {
+			final long index = bitIndex(hash, i);
+			final int word = (int) (index >>> 6);
+			final long mask = 1L << index;
+			long value;
+			do {
+				value = bits.get(word);
+			} while ((value & mask) == 0 && !bits.compareAndSet(word, value, value | mask));
+		}
+		size.incrementAndGet();
+	}
+
+	/**
+	 * Returns <code>false</code> if the email is definitely not a member,
+	 * ignoring case
+	 * @param email The email or <code>null</code>
+	 * @return <code>true</code> if the email might be a member
+	 */
+	public boolean mightContain(String email) {
+		if (null == email) {
+			return true;
+		}
+		final long hash = hash(email);
+		for (int i = 0; i < numHashes; i++) {
+			final long index = bitIndex(hash, i);
+			if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the configured false-positive rate
+	 */
+	public double getFalsePositiveRate() {
+		return falsePositiveRate;
+	}
+
+	/**
+	 * Returns the false-positive rate expected from the fraction of bits 
+	 * set, which exceeds the configured rate once more emails were added 
+	 * than expected
+	 * @return The expected false-positive rate
+	 */
+	public double getExpectedFalsePositiveRate() {
+		long set = 0;
+		for (int i = 0; i < bits.length(); i++) {
+			set += Long.bitCount(bits.get(i));
+		}
+		return Math.pow((double) set / numBits, numHashes);
+	}
+
+	/**
+	 * @return the number of emails added
+	 */
+	public int getSize() {
+		return size.get();
+	}
+
+	/**
+	 * @return the number of bits
+	 */
+	public long getNumBits() {
+		return numBits;
+	}
+
+	/**
+	 * @return the number of hash functions
+	 */
+	public int getNumHashes() {
+		return numHashes;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MembershipFilter [size=" + size + ", numBits=" + numBits
+				+ ", numHashes=" + numHashes + ", falsePositiveRate="
+				+ falsePositiveRate + "]";
+	}
+
+}
@@ -0,0 +1,283 @@
+/*
+	RosterCache.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+import com.rodaxsoft.hockeyapp.user.CompactRoster;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * RosterCache class is an in-process, thread-safe cache of app user rosters
+ * keyed by app ID. Entries expire after a fixed time-to-live and the least
+ * recently used roster is evicted once the cache is full.
+ * <p>
+ * A compact cache stores each roster as a {@link CompactRoster}, which
+ * takes a fraction of the heap of a {@link UserRoster} for large rosters.
+ * Membership checks are answered without materializing users, but
+ * {@link #getRoster(String)} rebuilds a <code>UserRoster</code> on every
+ * call.
+ * </p>
+ * <p>
+ * A loader takes the app's generation with {@link #getGeneration(String)}
+ * before it sends its request and passes it to 
+ * {@link #put(String, UserRoster, long)}. A roster whose app was 
+ * invalidated in the meantime is dropped, so a load that was in flight 
+ * during a change cannot bring the old roster back.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class RosterCache {
+
+	/**
+	 * Time-to-live in nanoseconds
+	 */
+	private final long ttlNanos;
+	/**
+	 * <code>true</code> if rosters are stored compactly
+	 */
+	private final boolean compact;
+	/**
+	 * Rosters by app ID in access order
+	 */
+	private final Map<String, CachedRoster> entries;
+	/**
+	 * Generation of the last invalidation by app ID
+	 */
+	private final Map<String, Long> invalidatedAt = new HashMap<>();
+	/**
+	 * Generation of the last {@link #invalidateAll()}
+	 */
+	private long allInvalidatedAt;
+	/**
+	 * Current generation, advanced by every invalidation
+	 */
+	private long generation;
+
+	/**
+	 * Constructor
+	 * @param ttl The time-to-live of a roster
+	 * @param unit The time-to-live unit
+	 * @param maxApps The maximum number of cached rosters
+	 * @throws ContextedRuntimeException if the TTL or size is not positive
+	 */
+	public RosterCache(long ttl, TimeUnit unit, int maxApps) {
+		this(ttl, unit, maxApps, false);
+	}
+
+	/**
+	 * Constructor
+	 * @param ttl The time-to-live of a roster
+	 * @param unit The time-to-live unit
+	 * @param maxApps The maximum number of cached rosters
+	 * @param compact <code>true</code> to store rosters as 
+	 *        {@link CompactRoster}s
+	 * @throws ContextedRuntimeException if the TTL or size is not positive
+	 */
+	public RosterCache(long ttl, TimeUnit unit, final int maxApps, boolean compact) {
+
+		if (ttl <= 0 || maxApps <= 0) {
+			throw new ContextedRuntimeException("TTL and size must be positive")
+			                       .addContextValue("ttl", ttl)
+			                       .addContextValue("maxApps", maxApps);
+		}
+
+		this.ttlNanos = unit.toNanos(ttl);
+		this.compact = compact;
+		this.entries = new LinkedHashMap<String, CachedRoster>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedRoster> eldest) {
+				return size() > maxApps;
+			}
+		};
+	}
+
+	/**
+	 * Returns the fresh entry for the app, removing it if expired
+	 * @param appId The app ID
+	 * @return The entry or <code>null</code>
+	 */
+	private CachedRoster getFresh(String appId) {
+		CachedRoster entry = entries.get(appId);
+		if (entry != null && System.nanoTime() - entry.loadedAt > ttlNanos) {
+			entries.remove(appId);
+			entry = null;
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the cached roster of the app
+	 * @param appId The app ID
+	 * @return The roster or <code>null</code> if the roster is not cached 
+	 *         or has expired
+	 */
+	public UserRoster getRoster(String appId) {
+		CachedRoster entry;
+		synchronized (this) {
+			entry = getFresh(appId);
+		}
+		//Materialize a compact roster outside the lock
+		UserRoster roster = null;
+		if (entry != null) {
+			roster = entry.roster != null ? entry.roster 
+					                      : entry.compactRoster.toUserRoster();
+		}
+		return roster;
+	}
+
+	/**
+	 * Answers a membership question from the cached roster
+	 * @param appId The app ID
+	 * @param email The email address to check
+	 * @return {@link Boolean#TRUE} if the email is on the roster,
+	 *         {@link Boolean#FALSE} if it is not, or <code>null</code> if
+	 *         the roster is not cached or has expired
+	 */
+	public synchronized Boolean isMember(String appId, String email) {
+		CachedRoster entry = getFresh(appId);
+		Boolean member = null;
+		if (entry != null) {
+			member = entry.roster != null ? entry.roster.containsEmail(email)
+					                      : entry.compactRoster.containsEmail(email);
+		}
+		return member;
+	}
+
+	/**
+	 * Returns the current generation, to be taken before a roster is 
+	 * requested from the server
+	 * @param appId The app ID
+	 * @return The generation
+	 * @see #put(String, UserRoster, long)
+	 */
+	public synchronized long getGeneration(String appId) {
+		return generation;
+	}
+
+	/**
+	 * Caches the roster of the app unconditionally
+	 * @param appId The app ID
+	 * @param roster The app user roster
+	 */
+	public void put(String appId, UserRoster roster) {
+		put(appId, roster, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Caches the roster of the app unless the app was invalidated after the
+	 * generation was taken
+	 * @param appId The app ID
+	 * @param roster The app user roster
+	 * @param generation The generation taken before the roster was requested
+	 * @return <code>true</code> if the roster was cached, 
+	 *         <code>false</code> if it is out of date
+	 * @see #getGeneration(String)
+	 */
+	public boolean put(String appId, UserRoster roster, long generation) {
+		CachedRoster entry = compact ? new CachedRoster(null, CompactRoster.from(roster))
+				                     : new CachedRoster(roster, null);
+		synchronized (this) {
+			final Long invalidated = invalidatedAt.get(appId);
+			if (allInvalidatedAt > generation 
+					|| (invalidated != null && invalidated > generation)) {
+				return false;
+			}
+			entries.put(appId, entry);
+			return true;
+		}
+	}
+
+	/**
+	 * Removes the roster of the app and drops the rosters of loads that 
+	 * are in flight
+	 * @param appId The app ID
+	 */
+	public synchronized void invalidate(String appId) {
+		entries.remove(appId);
+		invalidatedAt.put(appId, ++generation);
+	}
+
+	/**
+	 * Removes all rosters and drops the rosters of loads that are in flight
+	 */
+	public synchronized void invalidateAll() {
+		entries.clear();
+		invalidatedAt.clear();
+		allInvalidatedAt = ++generation;
+	}
+
+	/**
+	 * @return <code>true</code> if rosters are stored as
+	 *         {@link CompactRoster}s
+	 */
+	public boolean isCompact() {
+		return compact;
+	}
+
+	/**
+	 * @return the number of cached rosters, including expired ones not yet
+	 *         removed
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * CachedRoster class holds a roster, in one of its two forms, and its 
+	 * load time
+	 */
+	private static final class CachedRoster {
+
+		/**
+		 * The roster or <code>null</code> if compact
+		 */
+		private final UserRoster roster;
+		/**
+		 * The compact roster or <code>null</code>
+		 */
+		private final CompactRoster compactRoster;
+		/**
+		 * Load time in nanoseconds
+		 */
+		private final long loadedAt = System.nanoTime();
+
+		/**
+		 * Constructor
+		 * @param roster The roster or <code>null</code>
+		 * @param compactRoster The compact roster or <code>null</code>
+		 */
+		CachedRoster(UserRoster roster, CompactRoster compactRoster) {
+			this.roster = roster;
+			this.compactRoster = compactRoster;
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+	RosterSnapshot.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.cache;
+
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * RosterSnapshot class holds a persisted app roster together with the 
+ * entity tag and content hash it was fetched with, so a refresh can be 
+ * made conditional
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class RosterSnapshot {
+
+	/**
+	 * The roster
+	 */
+	private final UserRoster roster;
+	/**
+	 * The entity tag or <code>null</code>
+	 */
+	private final String etag;
+	/**
+	 * The content hash or <code>null</code>
+	 */
+	private final byte[] contentHash;
+	/**
+	 * Time the snapshot was taken in milliseconds since the epoch
+	 */
+	private final long savedAt;
+
+	/**
+	 * Constructor
+	 * @param roster The roster
+	 * @param etag The entity tag or <code>null</code>
+	 * @param contentHash The content hash or <code>null</code>
+	 * @param savedAt Time the snapshot was taken in milliseconds since 
+	 *        the epoch
+	 */
+	public RosterSnapshot(UserRoster roster, String etag, byte[] contentHash,
+			              long savedAt) {
+		this.roster = roster;
+		this.etag = etag;
+		this.contentHash = null == contentHash ? null : contentHash.clone();
+		this.savedAt = savedAt;
+	}
+
+	/**
+	 * @return the roster
+	 */
+	public UserRoster getRoster() {
+		return roster;
+	}
+
+	/**
+	 * @return the entity tag or <code>null</code>
+	 */
+	public String getETag() {
+		return etag;
+	}
+
+	/**
+	 * @return the content hash or <code>null</code>
+	 */
+	public byte[] getContentHash() {
+		return null == contentHash ? null : contentHash.clone();
+	}
+
+	/**
+	 * @return the time the snapshot was taken in milliseconds since the epoch
+	 */
+	public long getSavedAt() {
+		return savedAt;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "RosterSnapshot [users=" + roster.size() + ", etag=" + etag
+				+ ", savedAt=" + savedAt + "]";
+	}
+
+}
@@ -0,0 +1,355 @@
+/*
+	RosterSnapshotStore.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import com.rodaxsoft.hockeyapp.converters.BinaryCodec;
+import com.rodaxsoft.hockeyapp.user.Role;
+import com.rodaxsoft.hockeyapp.user.User;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * RosterSnapshotStore persists app rosters to compact binary snapshot 
+ * files, one per app, so a process can answer from the last known roster 
+ * at startup instead of downloading every roster first.
+ * <p>
+ * A snapshot file starts with a 32 byte header holding a magic number, the 
+ * format version, the save time, the user count, the payload length and 
+ * the CRC-32 of the payload. The payload holds the entity tag, the content 
+ * hash and the users, with integers as variable-length quantities and 
+ * strings as UTF-8. Files are replaced atomically on save and memory-mapped 
+ * on load. A file that fails validation is ignored.
+ * </p>
+ * <p>
+ * Timestamps are stored as milliseconds with their time zone ID and are 
+ * restored in their original zone. Snapshots of an older format version 
+ * are ignored.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class RosterSnapshotStore {
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(RosterSnapshotStore.class);
+
+	/**
+	 * Magic number, "HARS"
+	 */
+	private static final int MAGIC = 0x48415253;
+	/**
+	 * Format version
+	 */
+	private static final short VERSION = 2;
+	/**
+	 * Header length in bytes
+	 */
+	private static final int HEADER_LENGTH = 32;
+	/**
+	 * Snapshot file extension
+	 */
+	private static final String EXTENSION = ".roster";
+	/**
+	 * Null timestamp marker
+	 */
+	private static final long NO_TIME = Long.MIN_VALUE;
+	/**
+	 * Chunk size used to checksum a mapped payload
+	 */
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * The snapshot directory
+	 */
+	private final Path directory;
+
+	/**
+	 * Constructor
+	 * @param directory The snapshot directory, created if missing
+	 * @throws ContextedRuntimeException if the directory cannot be created
+	 */
+	public RosterSnapshotStore(Path directory) {
+		try {
+			this.directory = Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new ContextedRuntimeException(e)
+			                       .addContextValue("directory", directory);
+		}
+	}
+
+	/**
+	 * Returns the snapshot file of an app
+	 * @param appId The app ID
+	 * @return The file path
+	 */
+	private Path getPath(String appId) {
+		return directory.resolve(appId.replaceAll("[^A-Za-z0-9_-]", "_") + EXTENSION);
+	}
+
+	/**
+	 * Saves a snapshot of an app roster, replacing any previous snapshot
+	 * @param appId The app ID
+	 * @param snapshot The snapshot to save
+	 * @throws ContextedRuntimeException if the snapshot cannot be written
+	 */
+	public void save(String appId, RosterSnapshot snapshot) {
+
+		final Path path = getPath(appId);
+		Path temp = null;
+		try {
+			final byte[] payload = encode(snapshot);
+			CRC32 crc = new CRC32();
+			crc.update(payload);
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+			header.putInt(MAGIC)
+			      .putShort(VERSION)
+			      .putShort((short) 0)
+			      .putLong(snapshot.getSavedAt())
+			      .putInt(snapshot.getRoster().size())
+			      .putInt(payload.length)
+			      .putInt((int) crc.getValue())
+			      .putInt(0)
+			      .flip();
+
+			temp = Files.createTempFile(directory, path.getFileName() + "-", ".tmp");
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				ByteBuffer body = ByteBuffer.wrap(payload);
+				while (header.hasRemaining() || body.hasRemaining()) {
+					channel.write(new ByteBuffer[] { header, body });
+				}
+				channel.force(true);
+			}
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, 
+					   StandardCopyOption.ATOMIC_MOVE);
+			temp = null;
+
+			LOG.debug("Saved " + snapshot + " to " + path);
+
+		} catch (IOException e) {
+			throw new ContextedRuntimeException(e)
+			                       .addContextValue("path", path);
+		} finally {
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException e) {
+					LOG.debug("Could not delete " + temp, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Loads the snapshot of an app roster
+	 * @param appId The app ID
+	 * @return The snapshot or <code>null</code> if there is no valid snapshot
+	 */
+	public RosterSnapshot load(String appId) {
+
+		final Path path = getPath(appId);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+			final long size = channel.size();
+			if (size < HEADER_LENGTH || size > Integer.MAX_VALUE) {
+				LOG.warn("Invalid snapshot size: " + path);
+				return null;
+			}
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+			final int magic = buffer.getInt();
+			final short version = buffer.getShort();
+			buffer.getShort();
+			final long savedAt = buffer.getLong();
+			final int count = buffer.getInt();
+			final int length = buffer.getInt();
+			final int checksum = buffer.getInt();
+			buffer.getInt();
+
+			if (magic != MAGIC || version != VERSION || count < 0
+					|| length != size - HEADER_LENGTH) {
+				LOG.warn("Invalid snapshot header: " + path);
+				return null;
+			}
+
+			if (checksum != checksum(buffer)) {
+				LOG.warn("Snapshot checksum mismatch: " + path);
+				return null;
+			}
+
+			return decode(buffer, count, savedAt);
+
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+			LOG.warn("Could not load snapshot: " + path, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes the snapshot of an app
+	 * @param appId The app ID
+	 * @throws ContextedRuntimeException if the snapshot cannot be deleted
+	 */
+	public void delete(String appId) {
+		final Path path = getPath(appId);
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			throw new ContextedRuntimeException(e)
+			                       .addContextValue("path", path);
+		}
+	}
+
+	/**
+	 * Computes the CRC-32 of the remaining bytes without moving the buffer
+	 * @param buffer The buffer
+	 * @return The CRC-32 as an int
+	 */
+	private static int checksum(ByteBuffer buffer) {
+		ByteBuffer view = buffer.duplicate();
+		CRC32 crc = new CRC32();
+		byte[] chunk = new byte[CHUNK_SIZE];
+		while (view.hasRemaining()) {
+			final int n = Math.min(chunk.length, view.remaining());
+			view.get(chunk, 0, n);
+			crc.update(chunk, 0, n);
+		}
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Encodes the snapshot payload
+	 * @param snapshot The snapshot
+	 * @return The payload bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static byte[] encode(RosterSnapshot snapshot) throws IOException {
+
+		final List<User> users = snapshot.getRoster().getUsers();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + users.size() * 96);
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		BinaryCodec.writeString(out, snapshot.getETag());
+		BinaryCodec.writeBytes(out, snapshot.getContentHash());
+
+		for (User user : users) {
+			BinaryCodec.writeInteger(out, user.getId());
+			BinaryCodec.writeInteger(out, user.getUserId());
+			out.writeByte(null == user.getRole() ? -1 : user.getRole().getIndex());
+			out.writeByte(null == user.isPending() ? -1 : user.isPending() ? 1 : 0);
+			writeDateTime(out, user.getCreated());
+			writeDateTime(out, user.getInvited());
+			BinaryCodec.writeString(out, user.getEmail());
+			BinaryCodec.writeString(out, user.getFullName());
+			BinaryCodec.writeString(out, user.getTags());
+		}
+
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes the snapshot payload
+	 * @param in The payload buffer
+	 * @param count The number of users
+	 * @param savedAt The save time
+	 * @return The snapshot
+	 */
+	private static RosterSnapshot decode(ByteBuffer in, int count, long savedAt) {
+
+		final String etag = BinaryCodec.readString(in);
+		final byte[] contentHash = BinaryCodec.readBytes(in);
+
+		List<User> users = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			User user = new User();
+			user.setId(BinaryCodec.readInteger(in));
+			user.setUserId(BinaryCodec.readInteger(in));
+			final byte role = in.get();
+			user.setRole(role < 0 ? null : Role.fromIndex(role));
+			final byte pending = in.get();
+			user.setPending(pending < 0 ? null : Boolean.valueOf(pending == 1));
+			user.setCreated(readDateTime(in));
+			user.setInvited(readDateTime(in));
+			user.setEmail(BinaryCodec.readString(in));
+			user.setFullName(BinaryCodec.readString(in));
+			user.setTags(BinaryCodec.readString(in));
+			users.add(user);
+		}
+
+		return new RosterSnapshot(new UserRoster(users), etag, contentHash, savedAt);
+	}
+
+	/**
+	 * Writes a nullable timestamp as milliseconds followed by the zone ID
+	 * @param out The output
+	 * @param value The date-time or <code>null</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeDateTime(DataOutputStream out, DateTime value) throws IOException {
+		if (null == value) {
+			out.writeLong(NO_TIME);
+		} else {
+			out.writeLong(value.getMillis());
+			BinaryCodec.writeString(out, value.getZone().getID());
+		}
+	}
+
+	/**
+	 * Reads a nullable timestamp
+	 * @param in The input
+	 * @return The date-time in its original zone or <code>null</code>
+	 */
+	private static DateTime readDateTime(ByteBuffer in) {
+		final long millis = in.getLong();
+		if (millis == NO_TIME) {
+			return null;
+		}
+		return new DateTime(millis, DateTimeZone.forID(BinaryCodec.readString(in)));
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+	BinaryCodec.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.converters;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * BinaryCodec holds the variable-length encoding shared by the binary 
+ * formats of this library: the {@link ExportFormat#BINARY} export, the 
+ * roster snapshots and the invitation journal. Integers are written as 
+ * unsigned variable-length quantities, seven bits per byte, and nullable 
+ * values are prefixed by <code>length + 1</code>, or 0 for null.
+ * <p>
+ * The class is internal to the library and not part of its API.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class BinaryCodec {
+
+	/**
+	 * Private constructor
+	 */
+	private BinaryCodec() {
+	}
+
+	/**
+	 * Writes an unsigned variable-length quantity
+	 * @param out The output
+	 * @param value The non-negative value
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void writeVarint(DataOutput out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	/**
+	 * Reads an unsigned variable-length quantity
+	 * @param in The input
+	 * @return The value
+	 * @throws IllegalArgumentException if the quantity is malformed
+	 */
+	public static long readVarint(ByteBuffer in) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+
+	/**
+	 * Writes a nullable integer as <code>value + 1</code>, or 0 for null
+	 * @param out The output
+	 * @param value The value or <code>null</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void writeInteger(DataOutput out, Integer value) throws IOException {
+		writeVarint(out, null == value ? 0L : (value & 0xFFFFFFFFL) + 1);
+	}
+
+	/**
+	 * Reads a nullable integer
+	 * @param in The input
+	 * @return The value or <code>null</code>
+	 */
+	public static Integer readInteger(ByteBuffer in) {
+		final long value = readVarint(in);
+		return value == 0 ? null : Integer.valueOf((int) (value - 1));
+	}
+
+	/**
+	 * Writes nullable bytes prefixed by <code>length + 1</code>, or 0 for null
+	 * @param out The output
+	 * @param bytes The bytes or <code>null</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+		if (null == bytes) {
+			writeVarint(out, 0L);
+		} else {
+			writeVarint(out, bytes.length + 1L);
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Reads nullable bytes
+	 * @param in The input
+	 * @return The bytes or <code>null</code>
+	 * @throws IllegalArgumentException if the length is malformed
+	 */
+	public static byte[] readBytes(ByteBuffer in) {
+		final long length = readVarint(in) - 1;
+		if (length < 0) {
+			return null;
+		}
+		if (length > in.remaining()) {
+			throw new IllegalArgumentException("Malformed length");
+		}
+		byte[] bytes = new byte[(int) length];
+		in.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Writes a nullable UTF-8 string
+	 * @param out The output
+	 * @param value The string or <code>null</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void writeString(DataOutput out, String value) throws IOException {
+		writeBytes(out, null == value ? null : value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads a nullable UTF-8 string
+	 * @param in The input
+	 * @return The string or <code>null</code>
+	 * @throws IllegalArgumentException if the length is malformed
+	 */
+	public static String readString(ByteBuffer in) {
+		final byte[] bytes = readBytes(in);
+		return null == bytes ? null : new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+	ExportFormat.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.converters;
+
+/**
+ * ExportFormat enumerates the formats written by {@link UserStreamWriter}
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public enum ExportFormat {
+
+	/**
+	 * RFC 4180 comma-separated values with a header row
+	 */
+	CSV,
+	/**
+	 * One JSON user object per line, using the field names of the 
+	 * app users API
+	 */
+	JSON_LINES,
+	/**
+	 * Compact binary records with variable-length integers
+	 */
+	BINARY
+
+}
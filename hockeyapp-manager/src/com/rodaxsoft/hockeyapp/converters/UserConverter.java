@@ -19,8 +19,6 @@
 
 package com.rodaxsoft.hockeyapp.converters;
 
-import java.util.Arrays;
-
 import javax.mail.Address;
 import javax.mail.internet.AddressException;
 import javax.mail.internet.InternetAddress;
@@ -28,8 +26,6 @@ import javax.mail.internet.InternetAddress;
 import net.sf.json.JSONObject;
 
 import org.apache.commons.beanutils.Converter;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.Predicate;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ContextedRuntimeException;
 import org.joda.time.DateTime;
@@ -41,7 +37,7 @@ import com.rodaxsoft.hockeyapp.user.User;
  * UserConverter converts {@link JSONObject}Object and {@link Address} instances 
  * into a {@link User} object
  * @author John Boyer
- * @version 2015-08-16
+ * @version 2026-10-18
  * @since 0.1
  * 
  */
@@ -78,7 +74,13 @@ public final class UserConverter implements Converter {
 
 		try {
 			
-			InternetAddress ia = new InternetAddress(addr.toString());
+			InternetAddress ia;
+			if (addr instanceof InternetAddress) {
+				//Already parsed
+				ia = (InternetAddress) addr;
+			} else {
+				ia = new InternetAddress(addr.toString());
+			}
 			user = new User();
 			user.setEmail(ia.getAddress());
 			user.setFullName(ia.getPersonal());
@@ -110,16 +112,8 @@ public final class UserConverter implements Converter {
 		user.setPending(obj.optBoolean("pending"));
 		
 		//Set the Role
-		final Integer roleIndex = obj.getInt("role");
-		Predicate<Role> predicate = new Predicate<Role>() {
-
-			@Override
-			public boolean evaluate(Role object) {
-				return object.getIndex().equals(roleIndex);
-			}
-		};
-		
-		Role role = CollectionUtils.find(Arrays.asList(Role.values()), predicate);
+		final int roleIndex = obj.getInt("role");
+		Role role = Role.fromIndex(roleIndex);
 		if(null == role) {
 			throw new ContextedRuntimeException("Invalid role value")
 			                       .addContextValue("role", roleIndex);
@@ -0,0 +1,203 @@
+/*
+	UserDecoder.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.converters;
+
+import java.io.IOException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.rodaxsoft.hockeyapp.user.Role;
+import com.rodaxsoft.hockeyapp.user.User;
+
+/**
+ * UserDecoder decodes a user object straight from JSON tokens into a
+ * {@link User}, without an intermediate <code>JSONObject</code> or the
+ * BeanUtils converter registry. Repeated timestamps are parsed once.
+ * <p>
+ * Values are read as leniently as by {@link UserConverter}: numeric strings
+ * are accepted for integers and <code>"true"</code> in any case for 
+ * <code>pending</code>. Unlike the converter, a null or missing 
+ * <code>id</code> or <code>user_id</code> leaves the value unset rather 
+ * than failing.
+ * </p>
+ * <p>
+ * A decoder is not thread-safe; use one decoder per parser.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class UserDecoder {
+
+	/**
+	 * Shared, thread-safe ISO-8601 parser
+	 */
+	private static final DateTimeFormatter ISO_PARSER = ISODateTimeFormat.dateTimeParser();
+
+	/**
+	 * Last parsed timestamp text
+	 */
+	private String lastTimestamp;
+	/**
+	 * Last parsed timestamp
+	 */
+	private DateTime lastDateTime;
+
+	/**
+	 * Parses an ISO-8601 timestamp, reusing the last result if the text
+	 * is unchanged
+	 * @param text The timestamp text
+	 * @return The date-time or <code>null</code> if the text is empty
+	 */
+	private DateTime parseDateTime(String text) {
+		if (StringUtils.isEmpty(text)) {
+			return null;
+		}
+		if (!text.equals(lastTimestamp)) {
+			lastDateTime = ISO_PARSER.parseDateTime(text);
+			lastTimestamp = text;
+		}
+		return lastDateTime;
+	}
+
+	/**
+	 * Returns the current string value or <code>null</code> for a JSON null
+	 * @param parser The parser
+	 * @return The string value or <code>null</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static String getString(JsonParser parser) throws IOException {
+		return parser.getCurrentToken() == JsonToken.VALUE_NULL
+				? null : parser.getText();
+	}
+
+	/**
+	 * Returns the current integer value, accepting numeric strings like the
+	 * <code>JSONObject</code> path does
+	 * @param parser The parser
+	 * @param name The field name
+	 * @return The integer value or <code>null</code> for a JSON null
+	 * @throws IOException if an I/O error occurs
+	 * @throws ContextedRuntimeException if the value is not a number
+	 */
+	private static Integer getInteger(JsonParser parser, String name) throws IOException {
+		switch (parser.getCurrentToken()) {
+		case VALUE_NULL:
+			return null;
+		case VALUE_NUMBER_INT:
+		case VALUE_NUMBER_FLOAT:
+			return parser.getIntValue();
+		case VALUE_STRING:
+			try {
+				return (int) Double.parseDouble(parser.getText().trim());
+			} catch (NumberFormatException e) {
+				//Reported below
+			}
+			break;
+		default:
+			break;
+		}
+		throw new ContextedRuntimeException("Invalid integer value")
+		                       .addContextValue("name", name)
+		                       .addContextValue("value", parser.getText());
+	}
+
+	/**
+	 * Decodes the user object at the parser's current
+	 * <code>START_OBJECT</code> token. The parser is left on the matching
+	 * <code>END_OBJECT</code> token.
+	 * @param parser The parser
+	 * @return The decoded user
+	 * @throws IOException if an I/O error occurs
+	 * @throws ContextedRuntimeException if the role value is invalid or an
+	 *         integer value is not a number
+	 */
+	public User decode(JsonParser parser) throws IOException {
+
+		User user = new User();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+			final String name = parser.getCurrentName();
+			final JsonToken token = parser.nextToken();
+
+			if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+				//Nested values are not part of the user model
+				parser.skipChildren();
+				continue;
+			}
+
+			switch (name) {
+			case "created_at":
+				user.setCreated(parseDateTime(getString(parser)));
+				break;
+			case "email":
+				user.setEmail(getString(parser));
+				break;
+			case "full_name":
+				user.setFullName(getString(parser));
+				break;
+			case "id":
+				user.setId(getInteger(parser, name));
+				break;
+			case "invited_at":
+				user.setInvited(parseDateTime(getString(parser)));
+				break;
+			case "pending":
+				//Match optBoolean("pending"), which accepts "true" in any case
+				user.setPending(token == JsonToken.VALUE_TRUE 
+						|| (token == JsonToken.VALUE_STRING 
+								&& "true".equalsIgnoreCase(parser.getText())));
+				break;
+			case "role":
+				final Integer roleIndex = getInteger(parser, name);
+				final Role role = null == roleIndex ? null : Role.fromIndex(roleIndex);
+				if (null == role) {
+					throw new ContextedRuntimeException("Invalid role value")
+					                       .addContextValue("role", roleIndex);
+				}
+				user.setRole(role);
+				break;
+			case "tags":
+				user.setTags(getString(parser));
+				break;
+			case "user_id":
+				user.setUserId(getInteger(parser, name));
+				break;
+			default:
+				break;
+			}
+		}
+
+		//Match optBoolean("pending") of the JSONObject path
+		if (null == user.isPending()) {
+			user.setPending(Boolean.FALSE);
+		}
+
+		return user;
+	}
+
+}
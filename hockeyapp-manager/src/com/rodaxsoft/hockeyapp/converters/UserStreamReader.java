@@ -0,0 +1,334 @@
+/*
+	UserStreamReader.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.converters;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.rodaxsoft.hockeyapp.user.User;
+
+/**
+ * UserStreamReader pulls the <code>app_users</code> array of an app users
+ * response directly off an <code>InputStream</code> and emits one
+ * {@link User} at a time, so memory use does not grow with the roster size.
+ * <p>
+ * The reader must be closed when it is no longer needed. It is closed
+ * automatically once the last user has been read.
+ * </p>
+ * <p>
+ * The <code>total_pages</code> field of a paged response is captured 
+ * wherever it appears; it is known once the reader has been closed.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class UserStreamReader implements Iterator<User>, Closeable {
+
+	/**
+	 * The users array field name
+	 */
+	private static final String APP_USERS_FIELD = "app_users";
+
+	/**
+	 * The total pages field name of a paged response
+	 */
+	private static final String TOTAL_PAGES_FIELD = "total_pages";
+
+	/**
+	 * Shared, thread-safe JSON factory
+	 */
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	/**
+	 * The counting input stream
+	 */
+	private final CountingInputStream in;
+	/**
+	 * Resource released on close or <code>null</code>
+	 */
+	private final Closeable resource;
+	/**
+	 * The JSON token parser
+	 */
+	private final JsonParser parser;
+	/**
+	 * User decoder
+	 */
+	private final UserDecoder decoder = new UserDecoder();
+	/**
+	 * The next user or <code>null</code>
+	 */
+	private User next;
+	/**
+	 * Closed flag
+	 */
+	private boolean closed;
+	/**
+	 * <code>true</code> once the end of the array has been read
+	 */
+	private boolean exhausted;
+	/**
+	 * Total pages of a paged response or <code>0</code>
+	 */
+	private int totalPages;
+
+	/**
+	 * Constructor positions the reader at the start of the
+	 * <code>app_users</code> array.
+	 * @param in The response input stream
+	 * @throws ContextedRuntimeException if the stream cannot be read
+	 */
+	public UserStreamReader(InputStream in) {
+		this(in, null);
+	}
+
+	/**
+	 * Constructor positions the reader at the start of the
+	 * <code>app_users</code> array.
+	 * @param in The response input stream
+	 * @param resource A resource to release when the reader is closed, such
+	 *        as the response owning the stream, or <code>null</code>
+	 * @throws ContextedRuntimeException if the stream cannot be read
+	 */
+	public UserStreamReader(InputStream in, Closeable resource) {
+		this.in = new CountingInputStream(in);
+		this.resource = resource;
+		try {
+			parser = JSON_FACTORY.createParser(this.in);
+			if (!seekAppUsers()) {
+				close();
+			}
+		} catch (IOException e) {
+			closeQuietly();
+			throw new ContextedRuntimeException(e);
+		}
+	}
+
+	/**
+	 * Advances the parser to the first element of the <code>app_users</code>
+	 * array
+	 * @return <code>true</code> if the array was found; otherwise,
+	 *         <code>false</code>.
+	 * @throws IOException if an I/O error occurs
+	 */
+	private boolean seekAppUsers() throws IOException {
+
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			return false;
+		}
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String name = parser.getCurrentName();
+			final JsonToken value = parser.nextToken();
+			if (APP_USERS_FIELD.equals(name) && value == JsonToken.START_ARRAY) {
+				return true;
+			}
+			readMetadata(name, value);
+			parser.skipChildren();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Captures a top-level field describing the response
+	 * @param name The field name
+	 * @param value The value token
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void readMetadata(String name, JsonToken value) throws IOException {
+		if (TOTAL_PAGES_FIELD.equals(name) && value == JsonToken.VALUE_NUMBER_INT) {
+			totalPages = parser.getIntValue();
+		}
+	}
+
+	/**
+	 * Reads the next user object from the array
+	 * @return The next user or <code>null</code> at the end of the array
+	 * @throws IOException if an I/O error occurs
+	 */
+	private User readUser() throws IOException {
+
+		JsonToken token = parser.nextToken();
+		while (token != null && token != JsonToken.END_ARRAY
+				&& token != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			token = parser.nextToken();
+		}
+
+		if (token != JsonToken.START_OBJECT) {
+			exhausted = token == JsonToken.END_ARRAY;
+			return null;
+		}
+
+		return decoder.decode(parser);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		if (next == null && !closed) {
+			try {
+				next = readUser();
+				if (null == next) {
+					close();
+				}
+			} catch (IOException e) {
+				closeQuietly();
+				throw new ContextedRuntimeException(e);
+			}
+		}
+		return next != null;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public User next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		User user = next;
+		next = null;
+		return user;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			next = null;
+			try {
+				if (parser != null) {
+					//Read the few trailing tokens so a pooled connection is reused
+					if (exhausted) {
+						JsonToken token;
+						while ((token = parser.nextToken()) != null) {
+							if (token == JsonToken.FIELD_NAME) {
+								readMetadata(parser.getCurrentName(), parser.nextToken());
+							}
+							parser.skipChildren();
+						}
+					}
+					parser.close();
+				}
+			} finally {
+				if (resource != null) {
+					resource.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of bytes read from the input stream
+	 */
+	public long getByteCount() {
+		return in.count;
+	}
+
+	/**
+	 * @return the total pages of a paged response or <code>0</code> if the
+	 *         response is not paged or the reader is still open
+	 */
+	public int getTotalPages() {
+		return totalPages;
+	}
+
+	/**
+	 * Closes the reader ignoring any I/O error
+	 */
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (IOException e) {
+			//Ignore
+		}
+	}
+
+	/**
+	 * CountingInputStream counts the bytes read through it
+	 */
+	private static final class CountingInputStream extends FilterInputStream {
+
+		/**
+		 * Number of bytes read
+		 */
+		private long count;
+
+		/**
+		 * Constructor
+		 * @param in The input stream
+		 */
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int b = super.read();
+			if (b != -1) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			final int n = super.read(b, off, len);
+			if (n > 0) {
+				count += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			final long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+	}
+
+}
@@ -0,0 +1,545 @@
+/*
+	UserStreamWriter.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.converters;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+import com.rodaxsoft.hockeyapp.user.User;
+
+/**
+ * UserStreamWriter encodes users one at a time straight onto an
+ * <code>OutputStream</code>, optionally gzip-compressed, so memory use does
+ * not grow with the roster size. Fields are escaped and encoded as they are
+ * written; no intermediate strings are built per user. Buffers are bounded
+ * by {@link #BUFFER_SIZE}.
+ * <p>
+ * CSV and JSON Lines hold the app users API fields <code>id</code>,
+ * <code>user_id</code>, <code>email</code>, <code>full_name</code>,
+ * <code>role</code> (the role index), <code>pending</code>,
+ * <code>created_at</code>, <code>invited_at</code> (ISO-8601 in UTC) and
+ * <code>tags</code>. Null values are empty in CSV and omitted in JSON Lines.
+ * </p>
+ * <p>
+ * The binary format starts with the magic number <code>"HAUX"</code> and a
+ * version byte. Each user is a <code>1</code> byte followed by the id and
+ * user id as <code>value + 1</code> variable-length quantities (0 for null),
+ * role and pending bytes (-1 for null), the created and invited times as 
+ * 8 byte epoch milliseconds (<code>Long.MIN_VALUE</code> for null) and the
+ * email, full name and tags as UTF-8 prefixed by <code>length + 1</code>
+ * (0 for null). A <code>0</code> byte ends the stream.
+ * </p>
+ * <p>
+ * A compressing writer holds a native compressor until it is finished, 
+ * closed or released. A writer abandoned after an error, with its target 
+ * stream left open, must be released with {@link #release()}.
+ * </p>
+ * <p>
+ * A writer is not thread-safe.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class UserStreamWriter implements Closeable, Flushable {
+
+	/**
+	 * Buffer size in bytes or characters
+	 */
+	public static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Binary magic number, "HAUX"
+	 */
+	private static final int MAGIC = 0x48415558;
+	/**
+	 * Binary format version
+	 */
+	private static final int VERSION = 1;
+	/**
+	 * Null timestamp marker
+	 */
+	private static final long NO_TIME = Long.MIN_VALUE;
+
+	/**
+	 * CSV header row
+	 */
+	private static final String CSV_HEADER = "id,user_id,email,full_name,role,"
+	                                       + "pending,created_at,invited_at,tags\r\n";
+
+	/**
+	 * Shared, thread-safe ISO-8601 printer
+	 */
+	private static final DateTimeFormatter ISO_PRINTER = ISODateTimeFormat.dateTime()
+	                                                                     .withZoneUTC();
+
+	/**
+	 * Hexadecimal digits
+	 */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * The output format
+	 */
+	private final ExportFormat format;
+	/**
+	 * Counts the bytes reaching the target stream
+	 */
+	private final CountingOutputStream target;
+	/**
+	 * The gzip stream or <code>null</code>
+	 */
+	private final GzipStream gzip;
+	/**
+	 * Binary output or <code>null</code>
+	 */
+	private final DataOutputStream data;
+	/**
+	 * Text output or <code>null</code>
+	 */
+	private final Writer text;
+	/**
+	 * Number of users written
+	 */
+	private long userCount;
+	/**
+	 * Finished flag
+	 */
+	private boolean finished;
+
+	/**
+	 * Constructor writes the format header
+	 * @param out The target stream
+	 * @param format The output format
+	 * @param compress <code>true</code> to gzip the output
+	 * @throws IOException if an I/O error occurs
+	 */
+	public UserStreamWriter(OutputStream out, ExportFormat format, boolean compress)
+			throws IOException {
+
+		this.format = format;
+		this.target = new CountingOutputStream(out);
+		this.gzip = compress ? new GzipStream(target) : null;
+
+		final OutputStream sink = null == gzip ? target : gzip;
+		if (ExportFormat.BINARY == format) {
+			text = null;
+			data = new DataOutputStream(new BufferedOutputStream(sink, BUFFER_SIZE));
+			data.writeInt(MAGIC);
+			data.writeByte(VERSION);
+		} else {
+			data = null;
+			text = new BufferedWriter(new OutputStreamWriter(sink, StandardCharsets.UTF_8),
+					                  BUFFER_SIZE);
+			if (ExportFormat.CSV == format) {
+				text.write(CSV_HEADER);
+			}
+		}
+	}
+
+	/**
+	 * Writes a user
+	 * @param user The user
+	 * @throws IOException if an I/O error occurs
+	 * @throws IllegalStateException if the writer is finished
+	 */
+	public void write(User user) throws IOException {
+
+		if (finished) {
+			throw new IllegalStateException("Writer is finished");
+		}
+
+		switch (format) {
+		case CSV:
+			writeCsv(user);
+			break;
+		case JSON_LINES:
+			writeJson(user);
+			break;
+		default:
+			writeBinary(user);
+			break;
+		}
+		userCount++;
+	}
+
+	/**
+	 * Writes a user as a CSV row
+	 * @param user The user
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeCsv(User user) throws IOException {
+		writeNumber(user.getId());
+		text.write(',');
+		writeNumber(user.getUserId());
+		text.write(',');
+		writeCsvString(user.getEmail());
+		text.write(',');
+		writeCsvString(user.getFullName());
+		text.write(',');
+		if (user.getRole() != null) {
+			writeNumber(user.getRole().getIndex());
+		}
+		text.write(',');
+		if (user.isPending() != null) {
+			text.write(user.isPending() ? "true" : "false");
+		}
+		text.write(',');
+		writeTime(user.getCreated());
+		text.write(',');
+		writeTime(user.getInvited());
+		text.write(',');
+		writeCsvString(user.getTags());
+		text.write("\r\n");
+	}
+
+	/**
+	 * Writes a CSV field, quoting it only when needed
+	 * @param value The value or <code>null</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeCsvString(String value) throws IOException {
+
+		if (null == value) {
+			return;
+		}
+
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			final char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+		}
+
+		if (!quote) {
+			text.write(value);
+			return;
+		}
+
+		text.write('"');
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) == '"') {
+				text.write(value, start, i + 1 - start);
+				text.write('"');
+				start = i + 1;
+			}
+		}
+		text.write(value, start, value.length() - start);
+		text.write('"');
+	}
+
+	/**
+	 * Writes a user as a JSON object followed by a newline
+	 * @param user The user
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeJson(User user) throws IOException {
+
+		text.write('{');
+		boolean first = true;
+		if (user.getId() != null) {
+			first = writeJsonName("id", first);
+			writeNumber(user.getId());
+		}
+		if (user.getUserId() != null) {
+			first = writeJsonName("user_id", first);
+			writeNumber(user.getUserId());
+		}
+		if (user.getEmail() != null) {
+			first = writeJsonName("email", first);
+			writeJsonString(user.getEmail());
+		}
+		if (user.getFullName() != null) {
+			first = writeJsonName("full_name", first);
+			writeJsonString(user.getFullName());
+		}
+		if (user.getRole() != null) {
+			first = writeJsonName("role", first);
+			writeNumber(user.getRole().getIndex());
+		}
+		if (user.isPending() != null) {
+			first = writeJsonName("pending", first);
+			text.write(user.isPending() ? "true" : "false");
+		}
+		if (user.getCreated() != null) {
+			first = writeJsonName("created_at", first);
+			text.write('"');
+			writeTime(user.getCreated());
+			text.write('"');
+		}
+		if (user.getInvited() != null) {
+			first = writeJsonName("invited_at", first);
+			text.write('"');
+			writeTime(user.getInvited());
+			text.write('"');
+		}
+		if (user.getTags() != null) {
+			writeJsonName("tags", first);
+			writeJsonString(user.getTags());
+		}
+		text.write("}\n");
+	}
+
+	/**
+	 * Writes a JSON field name and its separator
+	 * @param name The field name
+	 * @param first <code>true</code> for the first field of the object
+	 * @return <code>false</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	private boolean writeJsonName(String name, boolean first) throws IOException {
+		if (!first) {
+			text.write(',');
+		}
+		text.write('"');
+		text.write(name);
+		text.write("\":");
+		return false;
+	}
+
+	/**
+	 * Writes an escaped JSON string
+	 * @param value The value
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeJsonString(String value) throws IOException {
+
+		text.write('"');
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			final char c = value.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+			text.write(value, start, i - start);
+			start = i + 1;
+			switch (c) {
+			case '"':
+				text.write("\\\"");
+				break;
+			case '\\':
+				text.write("\\\\");
+				break;
+			case '\n':
+				text.write("\\n");
+				break;
+			case '\r':
+				text.write("\\r");
+				break;
+			case '\t':
+				text.write("\\t");
+				break;
+			default:
+				text.write("\\u00");
+				text.write(HEX[c >> 4]);
+				text.write(HEX[c & 0xF]);
+				break;
+			}
+		}
+		text.write(value, start, value.length() - start);
+		text.write('"');
+	}
+
+	/**
+	 * Writes a nullable number as text
+	 * @param value The value or <code>null</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeNumber(Integer value) throws IOException {
+		if (value != null) {
+			text.write(Integer.toString(value));
+		}
+	}
+
+	/**
+	 * Writes a nullable timestamp as ISO-8601 in UTC
+	 * @param time The timestamp or <code>null</code>
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeTime(DateTime time) throws IOException {
+		if (time != null) {
+			ISO_PRINTER.printTo(text, time.getMillis());
+		}
+	}
+
+	/**
+	 * Writes a user as a binary record
+	 * @param user The user
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void writeBinary(User user) throws IOException {
+		data.writeByte(1);
+		BinaryCodec.writeInteger(data, user.getId());
+		BinaryCodec.writeInteger(data, user.getUserId());
+		data.writeByte(null == user.getRole() ? -1 : user.getRole().getIndex());
+		data.writeByte(null == user.isPending() ? -1 : user.isPending() ? 1 : 0);
+		data.writeLong(null == user.getCreated() ? NO_TIME : user.getCreated().getMillis());
+		data.writeLong(null == user.getInvited() ? NO_TIME : user.getInvited().getMillis());
+		BinaryCodec.writeString(data, user.getEmail());
+		BinaryCodec.writeString(data, user.getFullName());
+		BinaryCodec.writeString(data, user.getTags());
+	}
+
+	/**
+	 * Flushes the buffered output to the target stream. Compressed output
+	 * is only complete once the writer is finished.
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (data != null) {
+			data.flush();
+		} else {
+			text.flush();
+		}
+	}
+
+	/**
+	 * Writes the format trailer, flushes the buffers and completes the gzip
+	 * stream without closing the target stream. The native compressor is 
+	 * released even if an I/O error occurs. Further writes fail.
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void finish() throws IOException {
+		if (!finished) {
+			finished = true;
+			try {
+				if (data != null) {
+					data.writeByte(0);
+				}
+				flush();
+				if (gzip != null) {
+					gzip.finish();
+				}
+				target.flush();
+			} finally {
+				release();
+			}
+		}
+	}
+
+	/**
+	 * Releases the native compressor without writing the format trailer, 
+	 * leaving the target stream open. The output is incomplete unless the
+	 * writer was finished. Further writes fail.
+	 */
+	public void release() {
+		finished = true;
+		if (gzip != null) {
+			gzip.end();
+		}
+	}
+
+	/**
+	 * Finishes the writer and closes the target stream
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			finish();
+		} finally {
+			target.close();
+		}
+	}
+
+	/**
+	 * @return the number of users written
+	 */
+	public long getUserCount() {
+		return userCount;
+	}
+
+	/**
+	 * @return the number of bytes written to the target stream
+	 */
+	public long getByteCount() {
+		return target.count;
+	}
+
+	/**
+	 * GzipStream is a gzip stream whose compressor can be released without
+	 * closing the target stream
+	 */
+	private static final class GzipStream extends GZIPOutputStream {
+
+		/**
+		 * Constructor writes the gzip header
+		 * @param out The target stream
+		 * @throws IOException if an I/O error occurs
+		 */
+		GzipStream(OutputStream out) throws IOException {
+			super(out, BUFFER_SIZE);
+		}
+
+		/**
+		 * Releases the native compressor
+		 */
+		void end() {
+			def.end();
+		}
+	}
+
+	/**
+	 * CountingOutputStream counts the bytes written through it
+	 */
+	private static final class CountingOutputStream extends FilterOutputStream {
+
+		/**
+		 * Number of bytes written
+		 */
+		private long count;
+
+		/**
+		 * Constructor
+		 * @param out The output stream
+		 */
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+	ClientMetrics.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.metrics;
+
+/**
+ * ClientMetrics receives measurements of every API call made by a manager.
+ * Implementations must be thread-safe and cheap, since they are called on
+ * the request path.
+ * <p>
+ * Network time is measured per attempt, from sending the request to 
+ * receiving the response headers. Parse time is measured from the response
+ * headers until the body has been read and decoded; for a streamed roster 
+ * it includes reading the body off the connection.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public interface ClientMetrics {
+
+	/**
+	 * Metrics that discard every measurement
+	 */
+	ClientMetrics NOOP = new ClientMetrics() {
+
+		@Override
+		public void recordRequest(Operation operation, int statusCode, long nanos) {
+		}
+
+		@Override
+		public void recordRetry(Operation operation, int statusCode) {
+		}
+
+		@Override
+		public void recordBytesReceived(Operation operation, long bytes) {
+		}
+
+		@Override
+		public void recordParse(Operation operation, long nanos) {
+		}
+
+		@Override
+		public void bindConnectionPool(PoolStatistics pool) {
+		}
+
+		@Override
+		public void recordFilterCheck(boolean rejected) {
+		}
+
+		@Override
+		public void recordFilterFalsePositive() {
+		}
+
+		@Override
+		public void bindMembershipFilter(String appId, FilterStatistics filter) {
+		}
+
+		@Override
+		public void bindInvitationQueue(String appId, QueueStatistics queue) {
+		}
+
+		@Override
+		public void unbindMembershipFilter(String appId, FilterStatistics filter) {
+		}
+
+		@Override
+		public void unbindInvitationQueue(String appId, QueueStatistics queue) {
+		}
+	};
+
+	/**
+	 * Records one attempt of a request
+	 * @param operation The operation
+	 * @param statusCode The response status code or <code>0</code> if no
+	 *        response was received
+	 * @param nanos The network time in nanoseconds
+	 */
+	void recordRequest(Operation operation, int statusCode, long nanos);
+
+	/**
+	 * Records that a failed attempt will be retried
+	 * @param operation The operation
+	 * @param statusCode The status code of the failed attempt or 
+	 *        <code>0</code> if no response was received
+	 */
+	void recordRetry(Operation operation, int statusCode);
+
+	/**
+	 * Records the size of a response body
+	 * @param operation The operation
+	 * @param bytes The number of bytes received
+	 */
+	void recordBytesReceived(Operation operation, long bytes);
+
+	/**
+	 * Records the time spent reading and decoding a response body
+	 * @param operation The operation
+	 * @param nanos The parse time in nanoseconds
+	 */
+	void recordParse(Operation operation, long nanos);
+
+	/**
+	 * Binds the connection pool whose utilization is reported
+	 * @param pool The connection pool statistics
+	 */
+	void bindConnectionPool(PoolStatistics pool);
+
+	/**
+	 * Records a membership check answered by a membership filter
+	 * @param rejected <code>true</code> if the filter answered that the 
+	 *        email is definitely not a member
+	 */
+	void recordFilterCheck(boolean rejected);
+
+	/**
+	 * Records that an email passed by a membership filter was not a member
+	 */
+	void recordFilterFalsePositive();
+
+	/**
+	 * Binds the membership filter of an app whose false-positive rate is 
+	 * reported
+	 * @param appId The app ID
+	 * @param filter The membership filter statistics
+	 */
+	void bindMembershipFilter(String appId, FilterStatistics filter);
+
+	/**
+	 * Binds the write-behind invitation queue of an app whose depth and 
+	 * drain rate are reported
+	 * @param appId The app ID
+	 * @param queue The invitation queue statistics
+	 */
+	void bindInvitationQueue(String appId, QueueStatistics queue);
+
+	/**
+	 * Stops reporting the membership filter of a closed manager. Nothing is
+	 * done if another filter has been bound for the app since.
+	 * @param appId The app ID
+	 * @param filter The membership filter statistics passed to 
+	 *        {@link #bindMembershipFilter(String, FilterStatistics)}
+	 */
+	void unbindMembershipFilter(String appId, FilterStatistics filter);
+
+	/**
+	 * Stops reporting a closed invitation queue. Nothing is done if another
+	 * queue has been bound for the app since.
+	 * @param appId The app ID
+	 * @param queue The invitation queue statistics passed to 
+	 *        {@link #bindInvitationQueue(String, QueueStatistics)}
+	 */
+	void unbindInvitationQueue(String appId, QueueStatistics queue);
+
+}
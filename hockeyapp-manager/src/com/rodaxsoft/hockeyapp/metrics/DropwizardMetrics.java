@@ -0,0 +1,414 @@
+/*
+	DropwizardMetrics.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.metrics;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.codahale.metrics.Timer;
+
+/**
+ * DropwizardMetrics reports client measurements to a Dropwizard Metrics
+ * registry. For each operation <code>op</code> it registers:
+ * <ul>
+ * <li><code>prefix.op.requests</code>: timer of the network time per attempt</li>
+ * <li><code>prefix.op.parse</code>: timer of the parse time</li>
+ * <li><code>prefix.op.status.2xx</code> (1xx to 5xx, and <code>error</code> 
+ * when no response was received): meters of the status families</li>
+ * <li><code>prefix.op.retries</code>: meter of the retries</li>
+ * <li><code>prefix.op.bytes</code>: meter of the bytes received</li>
+ * </ul>
+ * and the gauges <code>prefix.pool.leased</code>, <code>pending</code>, 
+ * <code>available</code> and <code>max</code> of the bound connection pool.
+ * Membership filters report the meters <code>prefix.filter.checks</code>,
+ * <code>rejected</code> and <code>falsePositives</code>, the gauge 
+ * <code>prefix.filter.falsePositiveRate</code> of the observed rate, and 
+ * per app the gauges <code>prefix.filter.appId.falsePositiveRate</code>, 
+ * <code>expectedFalsePositiveRate</code> and <code>size</code>.
+ * Invitation queues report per app the gauges 
+ * <code>prefix.queue.appId.depth</code> and <code>drainRate</code>.
+ * Timers use a {@link HistogramReservoir}.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class DropwizardMetrics implements ClientMetrics {
+
+	/**
+	 * Default metric name prefix
+	 */
+	public static final String DEFAULT_PREFIX = "hockeyapp";
+
+	/**
+	 * Status family names, indexed by the first digit of the status code
+	 */
+	private static final String[] FAMILIES = { "error", "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+	/**
+	 * The registry
+	 */
+	private final MetricRegistry registry;
+	/**
+	 * Metric name prefix
+	 */
+	private final String prefix;
+	/**
+	 * Metrics by operation
+	 */
+	private final Map<Operation, OperationMetrics> operations;
+	/**
+	 * Membership filter checks
+	 */
+	private final Meter filterChecks;
+	/**
+	 * Membership filter rejections
+	 */
+	private final Meter filterRejected;
+	/**
+	 * Membership filter false positives
+	 */
+	private final Meter filterFalsePositives;
+	/**
+	 * Statistics bound per app, keyed by their metric name prefix and 
+	 * guarded by the registry
+	 */
+	private final Map<String, Object> bound = new HashMap<>();
+
+	/**
+	 * Constructor using the {@link #DEFAULT_PREFIX}
+	 * @param registry The registry
+	 */
+	public DropwizardMetrics(MetricRegistry registry) {
+		this(registry, DEFAULT_PREFIX);
+	}
+
+	/**
+	 * Constructor
+	 * @param registry The registry
+	 * @param prefix The metric name prefix
+	 */
+	public DropwizardMetrics(MetricRegistry registry, String prefix) {
+		this.registry = registry;
+		this.prefix = prefix;
+
+		Map<Operation, OperationMetrics> map = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			map.put(operation, new OperationMetrics(operation));
+		}
+		this.operations = map;
+
+		filterChecks = registry.meter(MetricRegistry.name(prefix, "filter", "checks"));
+		filterRejected = registry.meter(MetricRegistry.name(prefix, "filter", "rejected"));
+		filterFalsePositives = registry.meter(MetricRegistry.name(prefix, "filter", 
+				                                                  "falsePositives"));
+
+		//Observed rate: false positives over all non-members checked
+		final String observed = MetricRegistry.name(prefix, "filter", "falsePositiveRate");
+		synchronized (registry) {
+			registry.remove(observed);
+			registry.register(observed, new RatioGauge() {
+
+				@Override
+				protected Ratio getRatio() {
+					final long falsePositives = filterFalsePositives.getCount();
+					return Ratio.of(falsePositives, falsePositives + filterRejected.getCount());
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns or registers a timer backed by a {@link HistogramReservoir}
+	 * @param name The metric name
+	 * @return The timer
+	 */
+	private Timer timer(String name) {
+		try {
+			return registry.register(name, new Timer(new HistogramReservoir()));
+		} catch (IllegalArgumentException e) {
+			//Already registered
+			return registry.timer(name);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#recordRequest(com.rodaxsoft.hockeyapp.metrics.Operation, int, long)
+	 */
+	@Override
+	public void recordRequest(Operation operation, int statusCode, long nanos) {
+		OperationMetrics metrics = operations.get(operation);
+		metrics.requests.update(nanos, TimeUnit.NANOSECONDS);
+		
+		final int family = statusCode / 100;
+		metrics.statuses[family > 0 && family < FAMILIES.length ? family : 0].mark();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#recordRetry(com.rodaxsoft.hockeyapp.metrics.Operation, int)
+	 */
+	@Override
+	public void recordRetry(Operation operation, int statusCode) {
+		operations.get(operation).retries.mark();
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#recordBytesReceived(com.rodaxsoft.hockeyapp.metrics.Operation, long)
+	 */
+	@Override
+	public void recordBytesReceived(Operation operation, long bytes) {
+		operations.get(operation).bytes.mark(bytes);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#recordParse(com.rodaxsoft.hockeyapp.metrics.Operation, long)
+	 */
+	@Override
+	public void recordParse(Operation operation, long nanos) {
+		operations.get(operation).parse.update(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Registers the pool gauges, replacing any previously bound pool
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#bindConnectionPool(com.rodaxsoft.hockeyapp.metrics.PoolStatistics)
+	 */
+	@Override
+	public void bindConnectionPool(final PoolStatistics pool) {
+
+		final String leased = MetricRegistry.name(prefix, "pool", "leased");
+		final String pending = MetricRegistry.name(prefix, "pool", "pending");
+		final String available = MetricRegistry.name(prefix, "pool", "available");
+		final String max = MetricRegistry.name(prefix, "pool", "max");
+
+		synchronized (registry) {
+			registry.remove(leased);
+			registry.remove(pending);
+			registry.remove(available);
+			registry.remove(max);
+
+			registry.register(leased, new Gauge<Integer>() {
+
+				@Override
+				public Integer getValue() {
+					return pool.getLeased();
+				}
+			});
+			registry.register(pending, new Gauge<Integer>() {
+
+				@Override
+				public Integer getValue() {
+					return pool.getPending();
+				}
+			});
+			registry.register(available, new Gauge<Integer>() {
+
+				@Override
+				public Integer getValue() {
+					return pool.getAvailable();
+				}
+			});
+			registry.register(max, new Gauge<Integer>() {
+
+				@Override
+				public Integer getValue() {
+					return pool.getMax();
+				}
+			});
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#recordFilterCheck(boolean)
+	 */
+	@Override
+	public void recordFilterCheck(boolean rejected) {
+		filterChecks.mark();
+		if (rejected) {
+			filterRejected.mark();
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#recordFilterFalsePositive()
+	 */
+	@Override
+	public void recordFilterFalsePositive() {
+		filterFalsePositives.mark();
+	}
+
+	/**
+	 * Registers the app's filter gauges, replacing any previously bound 
+	 * filter of the app
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#bindMembershipFilter(java.lang.String, com.rodaxsoft.hockeyapp.metrics.FilterStatistics)
+	 */
+	@Override
+	public void bindMembershipFilter(String appId, final FilterStatistics filter) {
+
+		final String configured = MetricRegistry.name(prefix, "filter", appId, 
+				                                      "falsePositiveRate");
+		final String expected = MetricRegistry.name(prefix, "filter", appId, 
+				                                    "expectedFalsePositiveRate");
+		final String size = MetricRegistry.name(prefix, "filter", appId, "size");
+
+		synchronized (registry) {
+			bound.put(MetricRegistry.name(prefix, "filter", appId), filter);
+			registry.remove(configured);
+			registry.remove(expected);
+			registry.remove(size);
+
+			registry.register(configured, new Gauge<Double>() {
+
+				@Override
+				public Double getValue() {
+					return filter.getFalsePositiveRate();
+				}
+			});
+			registry.register(expected, new Gauge<Double>() {
+
+				@Override
+				public Double getValue() {
+					return filter.getExpectedFalsePositiveRate();
+				}
+			});
+			registry.register(size, new Gauge<Integer>() {
+
+				@Override
+				public Integer getValue() {
+					return filter.getSize();
+				}
+			});
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#bindInvitationQueue(java.lang.String, com.rodaxsoft.hockeyapp.metrics.QueueStatistics)
+	 */
+	@Override
+	public void bindInvitationQueue(String appId, final QueueStatistics queue) {
+
+		final String depth = MetricRegistry.name(prefix, "queue", appId, "depth");
+		final String drainRate = MetricRegistry.name(prefix, "queue", appId, "drainRate");
+
+		synchronized (registry) {
+			bound.put(MetricRegistry.name(prefix, "queue", appId), queue);
+			registry.remove(depth);
+			registry.remove(drainRate);
+
+			registry.register(depth, new Gauge<Integer>() {
+
+				@Override
+				public Integer getValue() {
+					return queue.getDepth();
+				}
+			});
+			registry.register(drainRate, new Gauge<Double>() {
+
+				@Override
+				public Double getValue() {
+					return queue.getDrainRate();
+				}
+			});
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#unbindMembershipFilter(java.lang.String, com.rodaxsoft.hockeyapp.metrics.FilterStatistics)
+	 */
+	@Override
+	public void unbindMembershipFilter(String appId, FilterStatistics filter) {
+		unbind(MetricRegistry.name(prefix, "filter", appId), filter, 
+			   "falsePositiveRate", "expectedFalsePositiveRate", "size");
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.metrics.ClientMetrics#unbindInvitationQueue(java.lang.String, com.rodaxsoft.hockeyapp.metrics.QueueStatistics)
+	 */
+	@Override
+	public void unbindInvitationQueue(String appId, QueueStatistics queue) {
+		unbind(MetricRegistry.name(prefix, "queue", appId), queue, "depth", "drainRate");
+	}
+
+	/**
+	 * Removes the gauges of bound statistics, unless other statistics have
+	 * been bound under the same name since
+	 * @param group The metric name prefix of the gauges
+	 * @param statistics The statistics
+	 * @param names The gauge names
+	 */
+	private void unbind(String group, Object statistics, String... names) {
+		synchronized (registry) {
+			if (bound.get(group) != statistics) {
+				return;
+			}
+			bound.remove(group);
+			for (String name : names) {
+				registry.remove(MetricRegistry.name(group, name));
+			}
+		}
+	}
+
+	/**
+	 * OperationMetrics holds the metrics of one operation
+	 */
+	private final class OperationMetrics {
+
+		/**
+		 * Network time per attempt
+		 */
+		final Timer requests;
+		/**
+		 * Parse time
+		 */
+		final Timer parse;
+		/**
+		 * Status family meters
+		 */
+		final Meter[] statuses = new Meter[FAMILIES.length];
+		/**
+		 * Retries
+		 */
+		final Meter retries;
+		/**
+		 * Bytes received
+		 */
+		final Meter bytes;
+
+		/**
+		 * Constructor registers the metrics
+		 * @param operation The operation
+		 */
+		OperationMetrics(Operation operation) {
+			final String name = MetricRegistry.name(prefix, operation.getMetricName());
+			requests = timer(MetricRegistry.name(name, "requests"));
+			parse = timer(MetricRegistry.name(name, "parse"));
+			for (int i = 0; i < FAMILIES.length; i++) {
+				statuses[i] = registry.meter(MetricRegistry.name(name, "status", FAMILIES[i]));
+			}
+			retries = registry.meter(MetricRegistry.name(name, "retries"));
+			bytes = registry.meter(MetricRegistry.name(name, "bytes"));
+		}
+	}
+
+}
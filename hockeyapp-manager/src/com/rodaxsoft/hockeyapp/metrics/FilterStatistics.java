@@ -0,0 +1,46 @@
+/*
+	FilterStatistics.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.metrics;
+
+/**
+ * FilterStatistics is a live view of an app's membership filter
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public interface FilterStatistics {
+
+	/**
+	 * @return the configured false-positive rate
+	 */
+	double getFalsePositiveRate();
+
+	/**
+	 * @return the false-positive rate expected from the current fill of 
+	 *         the filter or <code>0</code> if no filter is built yet
+	 */
+	double getExpectedFalsePositiveRate();
+
+	/**
+	 * @return the number of emails added to the filter
+	 */
+	int getSize();
+
+}
@@ -0,0 +1,134 @@
+/*
+	HistogramReservoir.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.metrics;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * HistogramReservoir is a Dropwizard Metrics reservoir backed by a 
+ * {@link LatencyHistogram}. Unlike the default sampling reservoirs, it 
+ * keeps every value at bucket precision, so tail percentiles such as 
+ * p999 are not lost to sampling.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class HistogramReservoir implements Reservoir {
+
+	/**
+	 * The histogram
+	 */
+	private final LatencyHistogram histogram = new LatencyHistogram();
+
+	/* (non-Javadoc)
+	 * @see com.codahale.metrics.Reservoir#size()
+	 */
+	@Override
+	public int size() {
+		return (int) Math.min(Integer.MAX_VALUE, histogram.getCount());
+	}
+
+	/* (non-Javadoc)
+	 * @see com.codahale.metrics.Reservoir#update(long)
+	 */
+	@Override
+	public void update(long value) {
+		histogram.record(value);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.codahale.metrics.Reservoir#getSnapshot()
+	 */
+	@Override
+	public Snapshot getSnapshot() {
+		return new HistogramSnapshot(histogram.copy());
+	}
+
+	/**
+	 * HistogramSnapshot is a snapshot of a copied histogram
+	 */
+	private static final class HistogramSnapshot extends Snapshot {
+
+		/**
+		 * The copied histogram
+		 */
+		private final LatencyHistogram histogram;
+
+		/**
+		 * Constructor
+		 * @param histogram The copied histogram
+		 */
+		HistogramSnapshot(LatencyHistogram histogram) {
+			this.histogram = histogram;
+		}
+
+		@Override
+		public double getValue(double quantile) {
+			return histogram.getValueAtPercentile(quantile * 100.0);
+		}
+
+		@Override
+		public long[] getValues() {
+			return histogram.getValues();
+		}
+
+		@Override
+		public int size() {
+			return (int) Math.min(Integer.MAX_VALUE, histogram.getCount());
+		}
+
+		@Override
+		public long getMax() {
+			return histogram.getMax();
+		}
+
+		@Override
+		public double getMean() {
+			return histogram.getMean();
+		}
+
+		@Override
+		public long getMin() {
+			return histogram.getMin();
+		}
+
+		@Override
+		public double getStdDev() {
+			return histogram.getStdDev();
+		}
+
+		@Override
+		public void dump(OutputStream output) {
+			try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, 
+					                                StandardCharsets.UTF_8))) {
+				for (long value : histogram.getValues()) {
+					out.println(value);
+				}
+			}
+		}
+	}
+
+}
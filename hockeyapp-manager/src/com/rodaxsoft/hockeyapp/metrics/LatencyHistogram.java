@@ -0,0 +1,254 @@
+/*
+	LatencyHistogram.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram is a fixed-size, lock-free histogram of non-negative 
+ * values with log-linear buckets in the style of HdrHistogram. Each power 
+ * of two is split into 64 linear sub-buckets, so any value is reported 
+ * within about 1.6% of its recorded value, while memory use is constant 
+ * regardless of the number of values recorded.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class LatencyHistogram {
+
+	/**
+	 * Number of bits resolved linearly
+	 */
+	private static final int SUB_BUCKET_BITS = 7;
+	/**
+	 * Number of values counted individually below the first shifted bucket
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	/**
+	 * Number of sub-buckets per power of two above the linear range
+	 */
+	private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+	/**
+	 * Total number of buckets to cover every non-negative long
+	 */
+	private static final int BUCKET_COUNT = 
+			(Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_HALF + SUB_BUCKET_COUNT;
+
+	/**
+	 * Bucket counts
+	 */
+	private final AtomicLongArray counts;
+	/**
+	 * Total count
+	 */
+	private final AtomicLong totalCount = new AtomicLong();
+	/**
+	 * Sum of the recorded values
+	 */
+	private final AtomicLong sum = new AtomicLong();
+	/**
+	 * Minimum recorded value
+	 */
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	/**
+	 * Maximum recorded value
+	 */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Constructor
+	 */
+	public LatencyHistogram() {
+		counts = new AtomicLongArray(BUCKET_COUNT);
+	}
+
+	/**
+	 * Returns the bucket index of a value
+	 * @param value The non-negative value
+	 * @return The bucket index
+	 */
+	private static int indexOf(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		final int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+	}
+
+	/**
+	 * Returns the highest value counted in a bucket
+	 * @param index The bucket index
+	 * @return The highest value of the bucket
+	 */
+	private static long highestValueAt(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		final int shift = index / SUB_BUCKET_HALF - 1;
+		final long subBucket = index - shift * SUB_BUCKET_HALF;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	/**
+	 * Records a value. Negative values are recorded as zero.
+	 * @param value The value to record
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+
+		counts.incrementAndGet(indexOf(value));
+		totalCount.incrementAndGet();
+		sum.addAndGet(value);
+
+		long current;
+		while (value < (current = min.get()) && !min.compareAndSet(current, value)) {
+			//Retry
+		}
+		while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+			//Retry
+		}
+	}
+
+	/**
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return totalCount.get();
+	}
+
+	/**
+	 * @return the minimum recorded value or 0 if none was recorded
+	 */
+	public long getMin() {
+		return getCount() > 0 ? min.get() : 0L;
+	}
+
+	/**
+	 * @return the maximum recorded value or 0 if none was recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return the mean of the recorded values or 0 if none was recorded
+	 */
+	public double getMean() {
+		final long count = getCount();
+		return count > 0 ? (double) sum.get() / count : 0.0;
+	}
+
+	/**
+	 * @return the standard deviation of the recorded values at bucket 
+	 *         precision
+	 */
+	public double getStdDev() {
+		final long count = getCount();
+		if (count == 0) {
+			return 0.0;
+		}
+		final double mean = getMean();
+		double squares = 0.0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			final long n = counts.get(i);
+			if (n > 0) {
+				final double delta = Math.min(highestValueAt(i), getMax()) - mean;
+				squares += delta * delta * n;
+			}
+		}
+		return Math.sqrt(squares / count);
+	}
+
+	/**
+	 * Returns the value at a percentile, at bucket precision
+	 * @param percentile The percentile, e.g. 99.9
+	 * @return The value or 0 if none was recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		final long count = getCount();
+		if (count == 0) {
+			return 0L;
+		}
+
+		final double fraction = Math.min(Math.max(percentile, 0.0), 100.0) / 100.0;
+		final long rank = Math.max(1L, (long) Math.ceil(fraction * count));
+
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestValueAt(i), getMax());
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * Returns one value per non-empty bucket, in ascending order
+	 * @return The distinct recorded values at bucket precision
+	 */
+	public long[] getValues() {
+		final long[] values = new long[BUCKET_COUNT];
+		int size = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			if (counts.get(i) > 0) {
+				values[size++] = Math.min(highestValueAt(i), getMax());
+			}
+		}
+		final long[] result = new long[size];
+		System.arraycopy(values, 0, result, 0, size);
+		return result;
+	}
+
+	/**
+	 * Returns a copy of this histogram. Values recorded concurrently with 
+	 * the copy may be partially included.
+	 * @return A new histogram
+	 */
+	public LatencyHistogram copy() {
+		LatencyHistogram copy = new LatencyHistogram();
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			final long n = counts.get(i);
+			if (n > 0) {
+				copy.counts.set(i, n);
+				copy.totalCount.addAndGet(n);
+			}
+		}
+		copy.sum.set(sum.get());
+		copy.min.set(min.get());
+		copy.max.set(max.get());
+		return copy;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "LatencyHistogram [count=" + getCount() + ", min=" + getMin()
+				+ ", p50=" + getValueAtPercentile(50.0) + ", p99="
+				+ getValueAtPercentile(99.0) + ", p999="
+				+ getValueAtPercentile(99.9) + ", max=" + getMax() + "]";
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+	Operation.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.metrics;
+
+/**
+ * Operation enumerates the API calls recorded by {@link ClientMetrics}
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public enum Operation {
+
+	/**
+	 * Get the app users
+	 */
+	GET_APP_USERS("getAppUsers", true),
+	/**
+	 * Invite a user
+	 */
+	INVITE_USER("inviteUser", false),
+	/**
+	 * Check a user's membership
+	 */
+	IS_APP_MEMBER("isAppMember", true),
+	/**
+	 * Update a user's role and tags
+	 */
+	UPDATE_USER("updateUser", true),
+	/**
+	 * Remove a user
+	 */
+	REMOVE_USER("removeUser", true);
+
+	/**
+	 * Metric name
+	 */
+	private final String metricName;
+
+	/**
+	 * <code>true</code> if repeating the request has no further effect
+	 */
+	private final boolean idempotent;
+
+	/**
+	 * Constructor
+	 * @param metricName The metric name
+	 * @param idempotent <code>true</code> if repeating the request has no 
+	 *        further effect
+	 */
+	private Operation(String metricName, boolean idempotent) {
+		this.metricName = metricName;
+		this.idempotent = idempotent;
+	}
+
+	/**
+	 * @return the name used in metric names
+	 */
+	public String getMetricName() {
+		return metricName;
+	}
+
+	/**
+	 * Returns <code>true</code> if repeating the request has no further 
+	 * effect, so it may be retried after any failure. A request that is 
+	 * not idempotent, like an invitation <code>POST</code>, is only retried
+	 * when the server cannot have processed it.
+	 * @return <code>true</code> if the operation is idempotent
+	 */
+	public boolean isIdempotent() {
+		return idempotent;
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+	PoolStatistics.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.metrics;
+
+/**
+ * PoolStatistics is a live view of a connection pool's utilization
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public interface PoolStatistics {
+
+	/**
+	 * @return the number of connections in use
+	 */
+	int getLeased();
+
+	/**
+	 * @return the number of requests waiting for a connection
+	 */
+	int getPending();
+
+	/**
+	 * @return the number of idle connections
+	 */
+	int getAvailable();
+
+	/**
+	 * @return the maximum number of connections
+	 */
+	int getMax();
+
+}
@@ -0,0 +1,157 @@
+/*
+	CircuitBreaker.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.policy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * CircuitBreaker stops sending requests after consecutive failures.
+ * Once open, requests fail fast until the open period ends; a single trial
+ * request is then allowed and its outcome closes or reopens the circuit.
+ * A trial whose outcome is never recorded lapses after another open period,
+ * and the next caller is granted a new trial.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class CircuitBreaker {
+
+	/**
+	 * Circuit state
+	 */
+	public enum State {
+		/**
+		 * Requests flow normally
+		 */
+		CLOSED,
+		/**
+		 * Requests fail fast
+		 */
+		OPEN,
+		/**
+		 * A trial request is in flight
+		 */
+		HALF_OPEN
+	}
+
+	/**
+	 * Consecutive failures that open the circuit
+	 */
+	private final int failureThreshold;
+	/**
+	 * Open period in nanoseconds
+	 */
+	private final long openNanos;
+	/**
+	 * Current state
+	 */
+	private State state = State.CLOSED;
+	/**
+	 * Consecutive failures
+	 */
+	private int failures;
+	/**
+	 * Time the circuit opened in nanoseconds
+	 */
+	private long openedAt;
+	/**
+	 * Time the trial request was granted in nanoseconds
+	 */
+	private long trialStartedAt;
+
+	/**
+	 * Constructor
+	 * @param failureThreshold Consecutive failures that open the circuit
+	 * @param openPeriod How long the circuit stays open
+	 * @param unit The open period unit
+	 * @throws ContextedRuntimeException if a value is not positive
+	 */
+	public CircuitBreaker(int failureThreshold, long openPeriod, TimeUnit unit) {
+		if (failureThreshold <= 0 || openPeriod <= 0) {
+			throw new ContextedRuntimeException("Threshold and period must be positive")
+			                       .addContextValue("failureThreshold", failureThreshold)
+			                       .addContextValue("openPeriod", openPeriod);
+		}
+		this.failureThreshold = failureThreshold;
+		this.openNanos = unit.toNanos(openPeriod);
+	}
+
+	/**
+	 * Returns <code>true</code> if a request may be sent
+	 * @return <code>true</code> if the circuit is closed, or if the open
+	 *         period or a lapsed trial has ended and this caller is granted 
+	 *         the trial request
+	 */
+	public synchronized boolean allowRequest() {
+		final long now = System.nanoTime();
+		boolean allowed;
+		switch (state) {
+		case OPEN:
+			allowed = now - openedAt >= openNanos;
+			if (allowed) {
+				state = State.HALF_OPEN;
+				trialStartedAt = now;
+			}
+			break;
+		case HALF_OPEN:
+			//A trial that never recorded its outcome must not block forever
+			allowed = now - trialStartedAt >= openNanos;
+			if (allowed) {
+				trialStartedAt = now;
+			}
+			break;
+		case CLOSED:
+		default:
+			allowed = true;
+			break;
+		}
+		return allowed;
+	}
+
+	/**
+	 * Records a successful request and closes the circuit
+	 */
+	public synchronized void recordSuccess() {
+		failures = 0;
+		state = State.CLOSED;
+	}
+
+	/**
+	 * Records a failed request, opening the circuit if the trial request
+	 * failed or the failure threshold is reached
+	 */
+	public synchronized void recordFailure() {
+		failures++;
+		if (state == State.HALF_OPEN || failures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = System.nanoTime();
+		}
+	}
+
+	/**
+	 * @return the current state
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+	ExponentialBackoffRetryPolicy.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.policy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * ExponentialBackoffRetryPolicy retries with exponentially growing delays
+ * and full jitter. A server <code>Retry-After</code> delay is honored when
+ * present.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+	/**
+	 * Maximum number of attempts, including the first
+	 */
+	private final int maxAttempts;
+	/**
+	 * Base delay in milliseconds
+	 */
+	private final long baseDelay;
+	/**
+	 * Maximum delay in milliseconds
+	 */
+	private final long maxDelay;
+
+	/**
+	 * Constructor using 3 attempts, a 200 millisecond base delay and a
+	 * 10 second maximum delay
+	 */
+	public ExponentialBackoffRetryPolicy() {
+		this(3, 200L, 10000L);
+	}
+
+	/**
+	 * Constructor
+	 * @param maxAttempts Maximum number of attempts, including the first
+	 * @param baseDelay Base delay in milliseconds
+	 * @param maxDelay Maximum delay in milliseconds
+	 * @throws ContextedRuntimeException if a value is out of range
+	 */
+	public ExponentialBackoffRetryPolicy(int maxAttempts, long baseDelay,
+			                             long maxDelay) {
+		if (maxAttempts < 1 || baseDelay < 0 || maxDelay < baseDelay) {
+			throw new ContextedRuntimeException("Invalid retry policy")
+			                       .addContextValue("maxAttempts", maxAttempts)
+			                       .addContextValue("baseDelay", baseDelay)
+			                       .addContextValue("maxDelay", maxDelay);
+		}
+		this.maxAttempts = maxAttempts;
+		this.baseDelay = baseDelay;
+		this.maxDelay = maxDelay;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.rodaxsoft.hockeyapp.policy.RetryPolicy#getRetryDelay(int, int, long)
+	 */
+	@Override
+	public long getRetryDelay(int attempt, int statusCode, long retryAfter) {
+
+		if (attempt >= maxAttempts) {
+			return -1L;
+		}
+
+		//Retry-After is only honored if it fits the maximum delay
+		if (retryAfter >= 0) {
+			return retryAfter <= maxDelay ? retryAfter : -1L;
+		}
+
+		final int shift = Math.min(attempt - 1, 30);
+		final long ceiling = Math.min(maxDelay, baseDelay << shift);
+		return ThreadLocalRandom.current().nextLong(ceiling + 1);
+	}
+
+	/**
+	 * @return the maxAttempts
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ExponentialBackoffRetryPolicy [maxAttempts=" + maxAttempts
+				+ ", baseDelay=" + baseDelay + ", maxDelay=" + maxDelay + "]";
+	}
+
+}
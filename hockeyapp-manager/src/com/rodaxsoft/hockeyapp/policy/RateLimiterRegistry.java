@@ -0,0 +1,83 @@
+/*
+	RateLimiterRegistry.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.policy;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * RateLimiterRegistry holds one {@link TokenBucket} per API token, so every
+ * manager sharing the registry and the token shares the token's budget
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class RateLimiterRegistry {
+
+	/**
+	 * Sustained rate per API token
+	 */
+	private final double permitsPerSecond;
+	/**
+	 * Burst size per API token
+	 */
+	private final int burst;
+	/**
+	 * Buckets by API token
+	 */
+	private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor
+	 * @param permitsPerSecond Sustained request rate per API token
+	 * @param burst Maximum number of requests per API token sent without waiting
+	 * @throws ContextedRuntimeException if a value is not positive
+	 */
+	public RateLimiterRegistry(double permitsPerSecond, int burst) {
+		if (permitsPerSecond <= 0 || burst <= 0) {
+			throw new ContextedRuntimeException("Rate and burst must be positive")
+			                       .addContextValue("permitsPerSecond", permitsPerSecond)
+			                       .addContextValue("burst", burst);
+		}
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = burst;
+	}
+
+	/**
+	 * Returns the bucket of the API token, creating it if needed
+	 * @param apiToken The API token
+	 * @return The token bucket
+	 */
+	public TokenBucket get(String apiToken) {
+		final String key = apiToken != null ? apiToken : "";
+		TokenBucket bucket = buckets.get(key);
+		if (null == bucket) {
+			TokenBucket created = new TokenBucket(permitsPerSecond, burst);
+			bucket = buckets.putIfAbsent(key, created);
+			if (null == bucket) {
+				bucket = created;
+			}
+		}
+		return bucket;
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+	RetryPolicy.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.policy;
+
+/**
+ * RetryPolicy decides whether and when a failed request is retried.
+ * A request has failed when the server answers <code>429</code> or
+ * <code>5xx</code>, or when no response was received. The policy is only
+ * consulted for requests that are safe to repeat: any failure of an
+ * idempotent operation, and a <code>429</code> or a failure to connect
+ * otherwise.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public interface RetryPolicy {
+
+	/**
+	 * Policy that never retries
+	 */
+	RetryPolicy NEVER = new RetryPolicy() {
+
+		@Override
+		public long getRetryDelay(int attempt, int statusCode, long retryAfter) {
+			return -1L;
+		}
+	};
+
+	/**
+	 * Returns the delay before the next attempt
+	 * @param attempt The number of the attempt that failed, starting at 1
+	 * @param statusCode The response status code or <code>0</code> if no
+	 *        response was received
+	 * @param retryAfter The server's <code>Retry-After</code> delay in
+	 *        milliseconds or <code>-1</code> if absent
+	 * @return The delay in milliseconds or a negative value to stop retrying
+	 */
+	long getRetryDelay(int attempt, int statusCode, long retryAfter);
+
+}
@@ -0,0 +1,111 @@
+/*
+	TokenBucket.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.policy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * TokenBucket is a thread-safe token bucket rate limiter. Callers that find
+ * the bucket empty reserve a future token and sleep until it is due, so
+ * waiting callers are served in arrival order.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class TokenBucket {
+
+	/**
+	 * Tokens added per nanosecond
+	 */
+	private final double tokensPerNano;
+	/**
+	 * Bucket capacity
+	 */
+	private final double capacity;
+	/**
+	 * Available tokens; negative when tokens are reserved
+	 */
+	private double tokens;
+	/**
+	 * Last refill time in nanoseconds
+	 */
+	private long refilledAt;
+
+	/**
+	 * Constructor
+	 * @param permitsPerSecond Sustained rate
+	 * @param burst Maximum number of requests sent without waiting
+	 * @throws ContextedRuntimeException if a value is not positive
+	 */
+	public TokenBucket(double permitsPerSecond, int burst) {
+		if (permitsPerSecond <= 0 || burst <= 0) {
+			throw new ContextedRuntimeException("Rate and burst must be positive")
+			                       .addContextValue("permitsPerSecond", permitsPerSecond)
+			                       .addContextValue("burst", burst);
+		}
+		this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.capacity = burst;
+		this.tokens = burst;
+		this.refilledAt = System.nanoTime();
+	}
+
+	/**
+	 * Takes a token, reserving a future one if the bucket is empty
+	 * @return The wait in nanoseconds before the token is due
+	 */
+	private synchronized long reserve() {
+		final long now = System.nanoTime();
+		tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+		refilledAt = now;
+
+		tokens -= 1;
+		return tokens >= 0 ? 0L : (long) (-tokens / tokensPerNano);
+	}
+
+	/**
+	 * Takes a token without waiting, if one is available
+	 * @return <code>true</code> if a token was taken
+	 */
+	public synchronized boolean tryAcquire() {
+		final long now = System.nanoTime();
+		tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+		refilledAt = now;
+
+		if (tokens >= 1) {
+			tokens -= 1;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Takes a token, waiting until one is available
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void acquire() throws InterruptedException {
+		final long wait = reserve();
+		if (wait > 0) {
+			TimeUnit.NANOSECONDS.sleep(wait);
+		}
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+	LoadGenerator.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.stub;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.rodaxsoft.hockeyapp.HockeyAppManager;
+import com.rodaxsoft.hockeyapp.MultiAppManager.AppTask;
+
+/**
+ * LoadGenerator drives a manager with a task at a fixed target request rate
+ * and reports throughput and latency percentiles. Requests are scheduled 
+ * open-loop: a slow response does not delay the following requests, and 
+ * its queueing time counts toward their latency.
+ * <p>
+ * Example:
+ * </p>
+ * <pre>
+ * LoadReport report = new LoadGenerator(manager, task)
+ *                             .setRate(200)
+ *                             .setDuration(30, TimeUnit.SECONDS)
+ *                             .run();
+ * </pre>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class LoadGenerator {
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(LoadGenerator.class);
+
+	/**
+	 * The manager
+	 */
+	private final HockeyAppManager manager;
+	/**
+	 * The task run for each request
+	 */
+	private final AppTask<?> task;
+	/**
+	 * Target request rate per second [default: 100]
+	 */
+	private double rate = 100.0;
+	/**
+	 * Run duration in nanoseconds [default: 10 seconds]
+	 */
+	private long durationNanos = TimeUnit.SECONDS.toNanos(10);
+	/**
+	 * Number of threads sending requests [default: 16]
+	 */
+	private int threads = 16;
+
+	/**
+	 * Constructor
+	 * @param manager The manager to drive
+	 * @param task The task run for each request
+	 */
+	public LoadGenerator(HockeyAppManager manager, AppTask<?> task) {
+		this.manager = manager;
+		this.task = task;
+	}
+
+	/**
+	 * Set the target request rate
+	 * @param rate The requests per second
+	 * @return This instance
+	 * @throws ContextedRuntimeException if the rate is not positive
+	 */
+	public LoadGenerator setRate(double rate) {
+		if (rate <= 0) {
+			throw new ContextedRuntimeException("Rate must be positive")
+			                       .addContextValue("rate", rate);
+		}
+		this.rate = rate;
+		return this;
+	}
+
+	/**
+	 * Set the run duration
+	 * @param duration The duration
+	 * @param unit The duration unit
+	 * @return This instance
+	 * @throws ContextedRuntimeException if the duration is not positive
+	 */
+	public LoadGenerator setDuration(long duration, TimeUnit unit) {
+		if (duration <= 0) {
+			throw new ContextedRuntimeException("Duration must be positive")
+			                       .addContextValue("duration", duration);
+		}
+		this.durationNanos = unit.toNanos(duration);
+		return this;
+	}
+
+	/**
+	 * Set the number of threads sending requests. It bounds the number of
+	 * requests in flight.
+	 * @param threads The number of threads
+	 * @return This instance
+	 * @throws ContextedRuntimeException if the number is not positive
+	 */
+	public LoadGenerator setThreads(int threads) {
+		if (threads <= 0) {
+			throw new ContextedRuntimeException("Threads must be positive")
+			                       .addContextValue("threads", threads);
+		}
+		this.threads = threads;
+		return this;
+	}
+
+	/**
+	 * Runs the load and waits for every request to complete
+	 * @return The load report
+	 * @throws ContextedRuntimeException if interrupted while running
+	 */
+	public LoadReport run() {
+
+		final int count = (int) Math.max(1L, Math.round(rate * durationNanos / 1e9));
+		final double interval = 1e9 / rate;
+		final long[] latencies = new long[count];
+		final AtomicInteger errors = new AtomicInteger();
+
+		ThreadFactory factory = new BasicThreadFactory.Builder()
+		                                 .namingPattern("hockeyapp-load-%d")
+		                                 .daemon(true)
+		                                 .build();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, factory);
+
+		final long start = System.nanoTime();
+		try {
+
+			for (int i = 0; i < count; i++) {
+
+				final int slot = i;
+				final long scheduled = start + (long) (i * interval);
+
+				long wait;
+				while ((wait = scheduled - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				if (Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+
+				executor.execute(new Runnable() {
+
+					@Override
+					public void run() {
+						try {
+							task.call(manager);
+						} catch (Exception e) {
+							errors.incrementAndGet();
+							LOG.debug("Request failed: " + e);
+						} finally {
+							latencies[slot] = System.nanoTime() - scheduled;
+						}
+					}
+				});
+			}
+
+			executor.shutdown();
+			while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+				LOG.debug("Waiting for requests in flight");
+			}
+
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+			throw new ContextedRuntimeException(e);
+		}
+
+		final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		LoadReport report = new LoadReport(latencies, errors.get(), rate, elapsed);
+		LOG.debug(report);
+		return report;
+	}
+
+}
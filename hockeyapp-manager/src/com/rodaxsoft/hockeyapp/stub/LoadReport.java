@@ -0,0 +1,157 @@
+/*
+	LoadReport.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.stub;
+
+import java.util.Arrays;
+
+/**
+ * LoadReport class holds the throughput and latency percentiles of a 
+ * {@link LoadGenerator} run. Latency is measured from each request's 
+ * scheduled start, so queueing behind slow requests is included.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class LoadReport {
+
+	/**
+	 * Sorted latencies in nanoseconds
+	 */
+	private final long[] latencies;
+	/**
+	 * Number of failed requests
+	 */
+	private final int errors;
+	/**
+	 * Target request rate per second
+	 */
+	private final double targetRate;
+	/**
+	 * Elapsed time in milliseconds
+	 */
+	private final long elapsedMillis;
+
+	/**
+	 * Constructor
+	 * @param latencies Latencies in nanoseconds; the array is sorted in place
+	 * @param errors Number of failed requests
+	 * @param targetRate Target request rate per second
+	 * @param elapsedMillis Elapsed time in milliseconds
+	 */
+	LoadReport(long[] latencies, int errors, double targetRate, long elapsedMillis) {
+		Arrays.sort(latencies);
+		this.latencies = latencies;
+		this.errors = errors;
+		this.targetRate = targetRate;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * @return the number of requests sent
+	 */
+	public int getRequestCount() {
+		return latencies.length;
+	}
+
+	/**
+	 * @return the number of failed requests
+	 */
+	public int getErrorCount() {
+		return errors;
+	}
+
+	/**
+	 * @return the target request rate per second
+	 */
+	public double getTargetRate() {
+		return targetRate;
+	}
+
+	/**
+	 * @return the elapsed time in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * @return the number of requests completed per second
+	 */
+	public double getThroughput() {
+		return elapsedMillis > 0 ? latencies.length * 1000.0 / elapsedMillis : 0.0;
+	}
+
+	/**
+	 * Returns a latency percentile using the nearest-rank method
+	 * @param percentile The percentile, e.g. 99.9
+	 * @return The latency in milliseconds or 0 if no request was sent
+	 */
+	public double getLatencyMillis(double percentile) {
+		if (latencies.length == 0) {
+			return 0.0;
+		}
+		int rank = (int) Math.ceil(percentile / 100.0 * latencies.length);
+		rank = Math.min(Math.max(rank, 1), latencies.length);
+		return latencies[rank - 1] / 1e6;
+	}
+
+	/**
+	 * @return the median latency in milliseconds
+	 */
+	public double getP50() {
+		return getLatencyMillis(50.0);
+	}
+
+	/**
+	 * @return the 99th percentile latency in milliseconds
+	 */
+	public double getP99() {
+		return getLatencyMillis(99.0);
+	}
+
+	/**
+	 * @return the 99.9th percentile latency in milliseconds
+	 */
+	public double getP999() {
+		return getLatencyMillis(99.9);
+	}
+
+	/**
+	 * @return the maximum latency in milliseconds
+	 */
+	public double getMax() {
+		return getLatencyMillis(100.0);
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "LoadReport [requests=" + latencies.length + ", errors=" + errors
+				+ ", elapsedMillis=" + elapsedMillis
+				+ String.format(", targetRate=%.1f/s, throughput=%.1f/s", 
+						        targetRate, getThroughput())
+				+ String.format(", p50=%.2fms, p99=%.2fms, p999=%.2fms, max=%.2fms",
+						        getP50(), getP99(), getP999(), getMax())
+				+ "]";
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+	StubRosters.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.stub;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * StubRosters builds synthetic app users responses of a given size, shaped
+ * like the HockeyApp <code>app_users</code> API response. User <i>n</i> has
+ * the email <code>user<i>n</i>@example.com</code> and the app user ID
+ * <code>{@link #FIRST_ID} + <i>n</i></code>.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class StubRosters {
+
+	/**
+	 * App user ID of user 0
+	 */
+	public static final int FIRST_ID = 1000;
+
+	/**
+	 * Constructor
+	 */
+	private StubRosters() {
+	}
+
+	/**
+	 * Appends one user object
+	 * @param sb The builder
+	 * @param i The user number
+	 */
+	public static void appendUser(StringBuilder sb, int i) {
+		sb.append("{\"role\":").append(i % 4)
+		  .append(",\"id\":").append(FIRST_ID + i)
+		  .append(",\"user_id\":").append(50000 + i)
+		  .append(",\"full_name\":\"First").append(i).append(" Last").append(i)
+		  .append("\",\"email\":\"user").append(i).append("@example.com\"")
+		  .append(",\"created_at\":\"2015-08-").append(10 + i % 20)
+		  .append("T19:51:46Z\"");
+		if (i % 3 == 0) {
+			sb.append(",\"invited_at\":\"2015-08-").append(10 + i % 20)
+			  .append("T20:00:00Z\"");
+		}
+		sb.append(",\"pending\":").append(i % 5 == 0)
+		  .append(",\"tags\":\"beta,group").append(i % 10).append("\"}");
+	}
+
+	/**
+	 * Returns the user number of a synthetic app user ID
+	 * @param id The app user ID text
+	 * @return The user number or <code>-1</code> if the ID is invalid
+	 */
+	public static int indexOfId(String id) {
+		try {
+			return Math.max(-1, Integer.parseInt(id) - FIRST_ID);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Returns the email of a synthetic user
+	 * @param i The user number
+	 * @return The email address
+	 */
+	public static String email(int i) {
+		return "user" + i + "@example.com";
+	}
+
+	/**
+	 * Builds an app users response JSON string
+	 * @param size The number of users
+	 * @return The response JSON
+	 */
+	public static String json(int size) {
+		StringBuilder sb = new StringBuilder(size * 260 + 64);
+		sb.append("{\"status\":\"success\",\"app_users\":[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			appendUser(sb, i);
+		}
+		sb.append("]}");
+		return sb.toString();
+	}
+
+	/**
+	 * Builds one page of a paged app users response JSON string. The paging
+	 * fields follow the users array.
+	 * @param size The total number of users
+	 * @param page The page number, starting at 1
+	 * @param perPage The number of users per page
+	 * @return The response JSON
+	 */
+	public static String json(int size, int page, int perPage) {
+		final int from = Math.min(size, (page - 1) * perPage);
+		final int to = Math.min(size, from + perPage);
+		final int totalPages = (size + perPage - 1) / perPage;
+		
+		StringBuilder sb = new StringBuilder((to - from) * 260 + 128);
+		sb.append("{\"status\":\"success\",\"app_users\":[");
+		for (int i = from; i < to; i++) {
+			if (i > from) {
+				sb.append(',');
+			}
+			appendUser(sb, i);
+		}
+		sb.append("],\"current_page\":").append(page)
+		  .append(",\"per_page\":").append(perPage)
+		  .append(",\"total_entries\":").append(size)
+		  .append(",\"total_pages\":").append(totalPages).append('}');
+		return sb.toString();
+	}
+
+	/**
+	 * Builds an app users response body
+	 * @param size The number of users
+	 * @return The UTF-8 response body
+	 */
+	public static byte[] bytes(int size) {
+		return json(size).getBytes(StandardCharsets.UTF_8);
+	}
+
+}
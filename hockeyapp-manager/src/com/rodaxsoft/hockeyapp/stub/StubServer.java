@@ -0,0 +1,419 @@
+/*
+	StubServer.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * StubServer is an in-process emulation of the HockeyApp apps API for 
+ * offline and load testing. It serves a synthetic roster built by 
+ * {@link StubRosters} for any app ID and emulates:
+ * <ul>
+ * <li><code>GET app_users</code>: the roster, with an entity tag and
+ * <code>304</code> for a matching <code>If-None-Match</code>, or one page 
+ * of it when paging is enabled</li>
+ * <li><code>GET app_users/check</code>: 200 for a roster member, 
+ * otherwise 404</li>
+ * <li><code>POST app_users</code>: 201 for every invitation</li>
+ * <li><code>PUT app_users/ID</code> and <code>DELETE app_users/ID</code>: 
+ * 200 for the ID of a roster member, otherwise 404. The roster itself is
+ * not changed.</li>
+ * </ul>
+ * Latency, 500 errors and 429 errors are injected as configured by 
+ * {@link StubSettings}. Point a manager at the stub with 
+ * <code>ClientSettings.setBaseUri(server.getBaseUri())</code>.
+ * <p>
+ * Without {@link #NODELAY_PROPERTY} set to <code>true</code>, responses can
+ * stall on the Nagle / delayed ACK interaction between headers and body.
+ * The JDK reads the property once, when the first HTTP server starts, and 
+ * it applies to every server of the JVM, so the stub leaves it to the test 
+ * or load harness: set it on the command line or before the first server
+ * starts.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class StubServer implements AutoCloseable {
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(StubServer.class);
+
+	/**
+	 * JDK HTTP server property disabling Nagle's algorithm, see the class
+	 * documentation
+	 */
+	public static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+	/**
+	 * Base path of the apps API
+	 */
+	private static final String BASE_PATH = "/api/2/apps";
+
+	/**
+	 * Empty JSON object body
+	 */
+	private static final byte[] EMPTY_BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+	/**
+	 * The settings
+	 */
+	private final StubSettings settings;
+	/**
+	 * The current roster
+	 */
+	private volatile Roster roster;
+	/**
+	 * The HTTP server
+	 */
+	private final HttpServer server;
+	/**
+	 * Server worker threads
+	 */
+	private final ExecutorService workers;
+	/**
+	 * Number of requests received
+	 */
+	private final AtomicLong requestCount = new AtomicLong();
+	/**
+	 * Number of 500 errors sent
+	 */
+	private final AtomicLong errorCount = new AtomicLong();
+	/**
+	 * Number of 429 errors sent
+	 */
+	private final AtomicLong throttleCount = new AtomicLong();
+
+	/**
+	 * Constructor starts a stub with the default {@link StubSettings}
+	 * @throws IOException if the server cannot be started
+	 */
+	public StubServer() throws IOException {
+		this(new StubSettings());
+	}
+
+	/**
+	 * Constructor starts the stub server on the local loopback address
+	 * @param settings The stub settings
+	 * @throws IOException if the server cannot be started
+	 */
+	public StubServer(StubSettings settings) throws IOException {
+
+		this.settings = settings;
+
+		roster = new Roster(settings.getRosterSize());
+
+		ThreadFactory factory = new BasicThreadFactory.Builder()
+		                                 .namingPattern("hockeyapp-stub-%d")
+		                                 .daemon(true)
+		                                 .build();
+
+		workers = Executors.newFixedThreadPool(settings.getWorkerThreads(), factory);
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1",
+				                   settings.getPort()), 128);
+		server.setExecutor(workers);
+		server.createContext(BASE_PATH, new HttpHandler() {
+
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				try {
+					StubServer.this.handle(exchange);
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+		server.start();
+
+		LOG.debug("Started stub " + getBaseUri() + " " + settings);
+	}
+
+	/**
+	 * Handles one request
+	 * @param exchange The HTTP exchange
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void handle(HttpExchange exchange) throws IOException {
+
+		requestCount.incrementAndGet();
+
+		try (InputStream in = exchange.getRequestBody()) {
+			while (in.read() != -1) {
+				//Drain the request body
+			}
+		}
+
+		delay();
+
+		final double roll = ThreadLocalRandom.current().nextDouble();
+		if (roll < settings.getThrottleRate()) {
+			throttleCount.incrementAndGet();
+			exchange.getResponseHeaders().set("Retry-After",
+					                   String.valueOf(settings.getRetryAfter()));
+			send(exchange, 429, EMPTY_BODY);
+			return;
+		}
+		if (roll < settings.getThrottleRate() + settings.getErrorRate()) {
+			errorCount.incrementAndGet();
+			send(exchange, 500, EMPTY_BODY);
+			return;
+		}
+
+		final String method = exchange.getRequestMethod();
+		final String path = exchange.getRequestURI().getPath();
+
+		final Roster current = roster;
+		
+		if (path.endsWith("/app_users/check") && "GET".equals(method)) {
+			String email = getQueryParameter(exchange, "email");
+			boolean member = email != null
+					&& current.members.contains(email.toLowerCase(Locale.ENGLISH));
+			send(exchange, member ? 200 : 404, EMPTY_BODY);
+		} else if (path.endsWith("/app_users") && "GET".equals(method)
+				&& settings.isPaging() && getQueryParameter(exchange, "page") != null) {
+			sendPage(exchange, current);
+		} else if (path.endsWith("/app_users") && "GET".equals(method)) {
+			if (settings.isETags()) {
+				exchange.getResponseHeaders().set("ETag", current.etag);
+				String match = exchange.getRequestHeaders().getFirst("If-None-Match");
+				if (current.etag.equals(match)) {
+					exchange.sendResponseHeaders(304, -1);
+					return;
+				}
+			}
+			send(exchange, 200, current.body);
+		} else if (path.endsWith("/app_users") && "POST".equals(method)) {
+			send(exchange, 201, EMPTY_BODY);
+		} else if (path.contains("/app_users/") 
+				&& ("PUT".equals(method) || "DELETE".equals(method))) {
+			final int index = StubRosters.indexOfId(
+					path.substring(path.lastIndexOf('/') + 1));
+			send(exchange, index >= 0 && index < current.size ? 200 : 404, EMPTY_BODY);
+		} else {
+			send(exchange, 404, EMPTY_BODY);
+		}
+	}
+
+	/**
+	 * Sends one page of the roster
+	 * @param exchange The HTTP exchange
+	 * @param current The current roster
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void sendPage(HttpExchange exchange, Roster current) throws IOException {
+		int page;
+		int perPage;
+		try {
+			page = Integer.parseInt(getQueryParameter(exchange, "page"));
+			final String value = getQueryParameter(exchange, "per_page");
+			perPage = null == value ? 25 : Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			page = 0;
+			perPage = 0;
+		}
+		
+		if (page < 1 || perPage < 1) {
+			send(exchange, 400, EMPTY_BODY);
+		} else {
+			String json = StubRosters.json(current.size, page, perPage);
+			send(exchange, 200, json.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Sleeps for the configured latency
+	 */
+	private void delay() {
+		long millis = settings.getLatency();
+		if (settings.getLatencyJitter() > 0) {
+			millis += ThreadLocalRandom.current()
+					                   .nextLong(settings.getLatencyJitter() + 1);
+		}
+		if (millis > 0) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Sends a JSON response
+	 * @param exchange The HTTP exchange
+	 * @param status The status code
+	 * @param body The response body
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void send(HttpExchange exchange, int status, byte[] body)
+			throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	/**
+	 * Returns a decoded query parameter
+	 * @param exchange The HTTP exchange
+	 * @param name The parameter name
+	 * @return The parameter value or <code>null</code>
+	 */
+	private static String getQueryParameter(HttpExchange exchange, String name) {
+
+		final String query = exchange.getRequestURI().getRawQuery();
+		if (null == query) {
+			return null;
+		}
+
+		for (String pair : query.split("&")) {
+			int index = pair.indexOf('=');
+			if (index > 0 && name.equals(pair.substring(0, index))) {
+				try {
+					return URLDecoder.decode(pair.substring(index + 1), "UTF-8");
+				} catch (UnsupportedEncodingException e) {
+					throw new ContextedRuntimeException(e);
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return The base URI of the stub apps API
+	 */
+	public String getBaseUri() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + BASE_PATH;
+	}
+
+	/**
+	 * Replaces the roster with a synthetic roster of the given size, e.g. to
+	 * emulate users joining or leaving
+	 * @param size The number of users
+	 */
+	public void setRosterSize(int size) {
+		roster = new Roster(size);
+	}
+
+	/**
+	 * @return the settings
+	 */
+	public StubSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * @return the number of requests received
+	 */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * @return the number of 500 errors sent
+	 */
+	public long getErrorCount() {
+		return errorCount.get();
+	}
+
+	/**
+	 * @return the number of 429 errors sent
+	 */
+	public long getThrottleCount() {
+		return throttleCount.get();
+	}
+
+	/**
+	 * Stops the server and its worker threads
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Roster holds an immutable roster response and its members
+	 */
+	private static final class Roster {
+
+		/**
+		 * The number of users
+		 */
+		final int size;
+		/**
+		 * The response body
+		 */
+		final byte[] body;
+		/**
+		 * Lower-cased member emails
+		 */
+		final Set<String> members;
+		/**
+		 * The entity tag
+		 */
+		final String etag;
+
+		/**
+		 * Constructor
+		 * @param size The number of users
+		 */
+		Roster(int size) {
+			this.size = size;
+			body = StubRosters.bytes(size);
+			members = new HashSet<>(size * 2);
+			for (int i = 0; i < size; i++) {
+				members.add(StubRosters.email(i));
+			}
+			CRC32 crc = new CRC32();
+			crc.update(body);
+			etag = "\"" + Long.toHexString(crc.getValue()) + "\"";
+		}
+	}
+
+}
@@ -0,0 +1,310 @@
+/*
+	StubSettings.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.stub;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * StubSettings class holds the behavior of a {@link StubServer}. 
+ * Setters return this instance so settings can be chained.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class StubSettings {
+
+	/**
+	 * Local port, 0 for an ephemeral port [default: 0]
+	 */
+	private int port;
+	/**
+	 * Number of server worker threads [default: 16]
+	 */
+	private int workerThreads = 16;
+	/**
+	 * Number of users in the roster [default: 100]
+	 */
+	private int rosterSize = 100;
+	/**
+	 * Fixed latency in milliseconds added to every response [default: 0]
+	 */
+	private long latency;
+	/**
+	 * Maximum random latency in milliseconds added on top of the fixed
+	 * latency [default: 0]
+	 */
+	private long latencyJitter;
+	/**
+	 * Fraction of requests answered with a 500 error [default: 0]
+	 */
+	private double errorRate;
+	/**
+	 * Fraction of requests answered with a 429 error [default: 0]
+	 */
+	private double throttleRate;
+	/**
+	 * Retry-After seconds sent with a 429 error [default: 1]
+	 */
+	private int retryAfter = 1;
+	/**
+	 * <code>true</code> to send entity tags and answer conditional requests
+	 * [default: <code>true</code>]
+	 */
+	private boolean etags = true;
+	/**
+	 * <code>true</code> to page the roster when a <code>page</code> 
+	 * parameter is sent [default: <code>false</code>]
+	 */
+	private boolean paging;
+
+	/**
+	 * Default constructor
+	 */
+	public StubSettings() {
+	}
+
+	/**
+	 * Checks that the given value is not negative
+	 * @param name The setting name
+	 * @param value The value to check
+	 * @throws ContextedRuntimeException if the value is negative
+	 */
+	private static void checkNotNegative(String name, long value) {
+		if (value < 0) {
+			throw new ContextedRuntimeException("Value cannot be negative")
+			                       .addContextValue("name", name)
+			                       .addContextValue("value", value);
+		}
+	}
+
+	/**
+	 * Checks that the given value is a fraction between 0 and 1
+	 * @param name The setting name
+	 * @param value The value to check
+	 * @throws ContextedRuntimeException if the value is out of range
+	 */
+	private static void checkRate(String name, double value) {
+		if (value < 0 || value > 1) {
+			throw new ContextedRuntimeException("Rate must be between 0 and 1")
+			                       .addContextValue("name", name)
+			                       .addContextValue("value", value);
+		}
+	}
+
+	/**
+	 * @return the port
+	 */
+	public int getPort() {
+		return port;
+	}
+
+	/**
+	 * Set the local port
+	 * @param port The port to set, 0 for an ephemeral port
+	 * @return This instance
+	 */
+	public StubSettings setPort(int port) {
+		checkNotNegative("port", port);
+		this.port = port;
+		return this;
+	}
+
+	/**
+	 * @return the workerThreads
+	 */
+	public int getWorkerThreads() {
+		return workerThreads;
+	}
+
+	/**
+	 * Set the number of server worker threads. A worker is held for the 
+	 * whole latency of a request.
+	 * @param workerThreads The workerThreads to set
+	 * @return This instance
+	 */
+	public StubSettings setWorkerThreads(int workerThreads) {
+		if (workerThreads <= 0) {
+			throw new ContextedRuntimeException("Value must be positive")
+			                       .addContextValue("name", "workerThreads")
+			                       .addContextValue("value", workerThreads);
+		}
+		this.workerThreads = workerThreads;
+		return this;
+	}
+
+	/**
+	 * @return the rosterSize
+	 */
+	public int getRosterSize() {
+		return rosterSize;
+	}
+
+	/**
+	 * Set the number of users in the roster
+	 * @param rosterSize The rosterSize to set
+	 * @return This instance
+	 */
+	public StubSettings setRosterSize(int rosterSize) {
+		checkNotNegative("rosterSize", rosterSize);
+		this.rosterSize = rosterSize;
+		return this;
+	}
+
+	/**
+	 * @return the fixed latency in milliseconds
+	 */
+	public long getLatency() {
+		return latency;
+	}
+
+	/**
+	 * Set the fixed latency added to every response
+	 * @param latency The latency to set in milliseconds
+	 * @return This instance
+	 */
+	public StubSettings setLatency(long latency) {
+		checkNotNegative("latency", latency);
+		this.latency = latency;
+		return this;
+	}
+
+	/**
+	 * @return the latency jitter in milliseconds
+	 */
+	public long getLatencyJitter() {
+		return latencyJitter;
+	}
+
+	/**
+	 * Set the maximum random latency added on top of the fixed latency
+	 * @param latencyJitter The latency jitter to set in milliseconds
+	 * @return This instance
+	 */
+	public StubSettings setLatencyJitter(long latencyJitter) {
+		checkNotNegative("latencyJitter", latencyJitter);
+		this.latencyJitter = latencyJitter;
+		return this;
+	}
+
+	/**
+	 * @return the error rate
+	 */
+	public double getErrorRate() {
+		return errorRate;
+	}
+
+	/**
+	 * Set the fraction of requests answered with a 500 error
+	 * @param errorRate The error rate to set, between 0 and 1
+	 * @return This instance
+	 */
+	public StubSettings setErrorRate(double errorRate) {
+		checkRate("errorRate", errorRate);
+		this.errorRate = errorRate;
+		return this;
+	}
+
+	/**
+	 * @return the throttle rate
+	 */
+	public double getThrottleRate() {
+		return throttleRate;
+	}
+
+	/**
+	 * Set the fraction of requests answered with a 429 error
+	 * @param throttleRate The throttle rate to set, between 0 and 1
+	 * @return This instance
+	 */
+	public StubSettings setThrottleRate(double throttleRate) {
+		checkRate("throttleRate", throttleRate);
+		this.throttleRate = throttleRate;
+		return this;
+	}
+
+	/**
+	 * @return the Retry-After seconds
+	 */
+	public int getRetryAfter() {
+		return retryAfter;
+	}
+
+	/**
+	 * Set the Retry-After seconds sent with a 429 error
+	 * @param retryAfter The Retry-After seconds to set
+	 * @return This instance
+	 */
+	public StubSettings setRetryAfter(int retryAfter) {
+		checkNotNegative("retryAfter", retryAfter);
+		this.retryAfter = retryAfter;
+		return this;
+	}
+
+	/**
+	 * @return <code>true</code> if entity tags are sent
+	 */
+	public boolean isETags() {
+		return etags;
+	}
+
+	/**
+	 * Set whether the roster is sent with an entity tag and a matching 
+	 * <code>If-None-Match</code> request is answered with <code>304</code>
+	 * @param etags The flag to set
+	 * @return This instance
+	 */
+	public StubSettings setETags(boolean etags) {
+		this.etags = etags;
+		return this;
+	}
+
+	/**
+	 * @return <code>true</code> if the roster is paged on request
+	 */
+	public boolean isPaging() {
+		return paging;
+	}
+
+	/**
+	 * Set whether a roster request with a <code>page</code> parameter is 
+	 * answered with that page only, of <code>per_page</code> users, and the 
+	 * paging fields. Without paging, the parameters are ignored and the 
+	 * whole roster is sent.
+	 * @param paging The flag to set
+	 * @return This instance
+	 */
+	public StubSettings setPaging(boolean paging) {
+		this.paging = paging;
+		return this;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "StubSettings [port=" + port + ", workerThreads=" + workerThreads
+				+ ", rosterSize=" + rosterSize + ", latency=" + latency
+				+ ", latencyJitter=" + latencyJitter + ", errorRate=" + errorRate
+				+ ", throttleRate=" + throttleRate + ", retryAfter=" + retryAfter
+				+ ", etags=" + etags + ", paging=" + paging + "]";
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+	RosterDelta.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.sync;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.rodaxsoft.hockeyapp.user.User;
+
+/**
+ * RosterDelta class holds the changes of an app roster between two 
+ * syncs. A user whose role and pending status both changed is listed 
+ * in both lists.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class RosterDelta {
+
+	/**
+	 * The app ID
+	 */
+	private final String appId;
+	/**
+	 * Users added since the last sync
+	 */
+	private final List<User> added;
+	/**
+	 * Users removed since the last sync, as last seen
+	 */
+	private final List<User> removed;
+	/**
+	 * Users whose role changed
+	 */
+	private final List<User> roleChanged;
+	/**
+	 * Users whose pending status flipped
+	 */
+	private final List<User> pendingChanged;
+
+	/**
+	 * Constructor
+	 * @param appId The app ID
+	 * @param added Users added since the last sync
+	 * @param removed Users removed since the last sync
+	 * @param roleChanged Users whose role changed
+	 * @param pendingChanged Users whose pending status flipped
+	 */
+	RosterDelta(String appId, List<User> added, List<User> removed, 
+			    List<User> roleChanged, List<User> pendingChanged) {
+		this.appId = appId;
+		this.added = Collections.unmodifiableList(added);
+		this.removed = Collections.unmodifiableList(removed);
+		this.roleChanged = Collections.unmodifiableList(roleChanged);
+		this.pendingChanged = Collections.unmodifiableList(pendingChanged);
+	}
+
+	/**
+	 * Returns an empty delta
+	 * @param appId The app ID
+	 * @return A delta without changes
+	 */
+	static RosterDelta empty(String appId) {
+		List<User> none = Collections.emptyList();
+		return new RosterDelta(appId, none, none, none, none);
+	}
+
+	/**
+	 * @return the app ID
+	 */
+	public String getAppId() {
+		return appId;
+	}
+
+	/**
+	 * @return the users added since the last sync
+	 */
+	public List<User> getAdded() {
+		return added;
+	}
+
+	/**
+	 * @return the users removed since the last sync, as last seen
+	 */
+	public List<User> getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * @return the users whose role changed, with their new role
+	 */
+	public List<User> getRoleChanged() {
+		return roleChanged;
+	}
+
+	/**
+	 * @return the users whose pending status flipped, with their new status
+	 */
+	public List<User> getPendingChanged() {
+		return pendingChanged;
+	}
+
+	/**
+	 * @return <code>true</code> if nothing changed
+	 */
+	public boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && roleChanged.isEmpty()
+				&& pendingChanged.isEmpty();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "RosterDelta [appId=" + appId + ", added=" + added.size()
+				+ ", removed=" + removed.size() + ", roleChanged="
+				+ roleChanged.size() + ", pendingChanged="
+				+ pendingChanged.size() + "]";
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+	RosterSync.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.rodaxsoft.hockeyapp.HockeyAppManager;
+import com.rodaxsoft.hockeyapp.RosterFetch;
+import com.rodaxsoft.hockeyapp.user.User;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+
+/**
+ * RosterSync keeps the last known roster of each app and turns every new 
+ * fetch into a {@link RosterDelta}, so downstream processing scales with 
+ * the churn instead of the roster size. Unchanged rosters are detected by
+ * entity tag or content hash and are not parsed, see 
+ * {@link HockeyAppManager#fetchAppUserRoster(String, byte[])}.
+ * <p>
+ * Users are matched by app user ID, or by email when the ID is absent. 
+ * The first sync of an app reports every user as added.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class RosterSync {
+
+	/**
+	 * Logging object
+	 */
+	private static final Log LOG = LogFactory.getLog(RosterSync.class);
+
+	/**
+	 * Sync states by app ID
+	 */
+	private final ConcurrentMap<String, SyncState> states = new ConcurrentHashMap<>();
+
+	/**
+	 * Syncs the roster of the manager's app. Syncs of the same app are 
+	 * serialized.
+	 * @param manager The manager of the app
+	 * @return The changes since the last sync
+	 * @throws ContextedRuntimeException if the roster request was unsuccessful
+	 */
+	public RosterDelta sync(HockeyAppManager manager) {
+
+		final String appId = manager.getApp().getAppId();
+
+		SyncState state = states.get(appId);
+		if (null == state) {
+			SyncState created = new SyncState();
+			state = ObjectUtils.defaultIfNull(states.putIfAbsent(appId, created), 
+					                          created);
+		}
+
+		//A lock rather than a monitor, so a virtual thread waiting on the 
+		//fetch does not pin its carrier thread
+		state.lock.lock();
+		try {
+
+			RosterFetch fetch = manager.fetchAppUserRoster(state.etag, state.contentHash);
+			if (null == fetch) {
+				throw new ContextedRuntimeException("Roster request was unsuccessful")
+				                       .addContextValue("appId", appId);
+			}
+
+			state.etag = fetch.getETag();
+			state.contentHash = fetch.getContentHash();
+
+			if (!fetch.isModified()) {
+				LOG.debug("Roster unchanged: " + appId);
+				return RosterDelta.empty(appId);
+			}
+
+			UserRoster previous = state.roster != null ? state.roster : UserRoster.empty();
+			UserRoster current = fetch.getRoster();
+			
+			RosterDelta delta = diff(appId, previous, current);
+			state.roster = current;
+			
+			LOG.debug(delta);
+			return delta;
+		} finally {
+			state.lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the user of the roster matching the given user
+	 * @param roster The roster to search
+	 * @param user The user to match
+	 * @return The matching user or <code>null</code>
+	 */
+	private static User find(UserRoster roster, User user) {
+		if (user.getId() != null) {
+			return roster.getUserById(user.getId());
+		}
+		return user.getEmail() != null ? roster.getUserByEmail(user.getEmail()) : null;
+	}
+
+	/**
+	 * Computes the changes between two rosters using their hash indexes
+	 * @param appId The app ID
+	 * @param previous The previous roster
+	 * @param current The current roster
+	 * @return The changes
+	 */
+	public static RosterDelta diff(String appId, UserRoster previous, UserRoster current) {
+
+		List<User> added = new ArrayList<>();
+		List<User> roleChanged = new ArrayList<>();
+		List<User> pendingChanged = new ArrayList<>();
+
+		for (User user : current.getUsers()) {
+			User before = find(previous, user);
+			if (null == before) {
+				added.add(user);
+				continue;
+			}
+			if (before.getRole() != user.getRole()) {
+				roleChanged.add(user);
+			}
+			if (!Objects.equals(before.isPending(), user.isPending())) {
+				pendingChanged.add(user);
+			}
+		}
+
+		List<User> removed = new ArrayList<>();
+		for (User user : previous.getUsers()) {
+			if (null == find(current, user)) {
+				removed.add(user);
+			}
+		}
+
+		return new RosterDelta(appId, added, removed, roleChanged, pendingChanged);
+	}
+
+	/**
+	 * Returns the last known roster of an app
+	 * @param appId The app ID
+	 * @return The roster or <code>null</code> if the app was never synced
+	 */
+	public UserRoster getRoster(String appId) {
+		SyncState state = states.get(appId);
+		if (null == state) {
+			return null;
+		}
+		return state.roster;
+	}
+
+	/**
+	 * Forgets the last known roster of an app, so the next sync reports 
+	 * every user as added
+	 * @param appId The app ID
+	 */
+	public void reset(String appId) {
+		states.remove(appId);
+	}
+
+	/**
+	 * SyncState holds the last known roster and version of an app
+	 */
+	private static final class SyncState {
+
+		/**
+		 * Lock serializing the syncs of the app
+		 */
+		final ReentrantLock lock = new ReentrantLock();
+		/**
+		 * The last known roster or <code>null</code>
+		 */
+		volatile UserRoster roster;
+		/**
+		 * The entity tag of the last fetch or <code>null</code>
+		 */
+		String etag;
+		/**
+		 * The content hash of the last fetch or <code>null</code>
+		 */
+		byte[] contentHash;
+	}
+
+}
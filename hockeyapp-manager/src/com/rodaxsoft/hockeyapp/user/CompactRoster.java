@@ -0,0 +1,672 @@
+/*
+	CompactRoster.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.user;
+
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.joda.time.DateTime;
+
+/**
+ * CompactRoster class is an immutable, memory-compact alternative to
+ * {@link UserRoster} for very large rosters held for a long time. Users are
+ * stored column-wise in primitive arrays: <code>id</code>,
+ * <code>userId</code> and role as ints and bytes, the pending status as
+ * bits, the created and invited dates as epoch milliseconds, and emails,
+ * names and tags as references into a deduplicated UTF-8 string table.
+ * <p>
+ * There is no per-user object on the heap. {@link User} objects are
+ * materialized on access and are not retained, so callers that scan the
+ * roster should prefer the column accessors, such as {@link #getEmail(int)},
+ * which do not allocate a user. Email and ID lookups use open-addressing
+ * index arrays and are constant time. Emails are also stored lower-cased,
+ * so an email probe compares UTF-8 bytes without decoding a string.
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class CompactRoster {
+
+	/**
+	 * Null integer marker
+	 */
+	private static final int NO_INT = Integer.MIN_VALUE;
+	/**
+	 * Null time marker
+	 */
+	private static final long NO_TIME = Long.MIN_VALUE;
+	/**
+	 * Null role or string reference marker
+	 */
+	private static final int NO_REF = -1;
+	/**
+	 * Email index key
+	 */
+	private static final int EMAIL_KEY = 0;
+	/**
+	 * ID index key
+	 */
+	private static final int ID_KEY = 1;
+	/**
+	 * User ID index key
+	 */
+	private static final int USER_ID_KEY = 2;
+	/**
+	 * String table encoding
+	 */
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/**
+	 * Number of users
+	 */
+	private final int size;
+	/**
+	 * ID column
+	 */
+	private final int[] ids;
+	/**
+	 * User ID column
+	 */
+	private final int[] userIds;
+	/**
+	 * Role index column
+	 */
+	private final byte[] roles;
+	/**
+	 * Pending bits
+	 */
+	private final BitSet pending;
+	/**
+	 * Bits set where the pending status is known
+	 */
+	private final BitSet pendingKnown;
+	/**
+	 * Created epoch milliseconds column
+	 */
+	private final long[] created;
+	/**
+	 * Invited epoch milliseconds column
+	 */
+	private final long[] invited;
+	/**
+	 * Email string reference column
+	 */
+	private final int[] emails;
+	/**
+	 * Lower-cased email string reference column, the email index keys
+	 */
+	private final int[] emailKeys;
+	/**
+	 * Full name string reference column
+	 */
+	private final int[] names;
+	/**
+	 * Tags string reference column
+	 */
+	private final int[] tags;
+	/**
+	 * UTF-8 bytes of the deduplicated strings
+	 */
+	private final byte[] stringData;
+	/**
+	 * Start offset of each string, plus the end offset of the last one
+	 */
+	private final int[] stringOffsets;
+	/**
+	 * Open-addressing index of row + 1 by lower-cased email hash
+	 */
+	private final int[] emailIndex;
+	/**
+	 * Open-addressing index of row + 1 by ID
+	 */
+	private final int[] idIndex;
+	/**
+	 * Open-addressing index of row + 1 by user ID
+	 */
+	private final int[] userIdIndex;
+
+	/**
+	 * Constructor
+	 * @param users The app users
+	 */
+	public CompactRoster(Collection<User> users) {
+
+		size = users.size();
+		ids = new int[size];
+		userIds = new int[size];
+		roles = new byte[size];
+		pending = new BitSet(size);
+		pendingKnown = new BitSet(size);
+		created = new long[size];
+		invited = new long[size];
+		emails = new int[size];
+		emailKeys = new int[size];
+		names = new int[size];
+		tags = new int[size];
+
+		StringTableBuilder strings = new StringTableBuilder();
+
+		int row = 0;
+		for (User user : users) {
+			ids[row] = toInt(user.getId());
+			userIds[row] = toInt(user.getUserId());
+			roles[row] = (byte) (null == user.getRole() ? NO_REF : user.getRole().getIndex());
+			if (user.isPending() != null) {
+				pendingKnown.set(row);
+				pending.set(row, user.isPending());
+			}
+			created[row] = toMillis(user.getCreated());
+			invited[row] = toMillis(user.getInvited());
+			emails[row] = strings.add(user.getEmail());
+			emailKeys[row] = null == user.getEmail() ? NO_REF 
+					                                 : strings.add(normalize(user.getEmail()));
+			names[row] = strings.add(user.getFullName());
+			tags[row] = strings.add(user.getTags());
+			row++;
+		}
+
+		stringData = strings.toBytes();
+		stringOffsets = strings.toOffsets();
+
+		final int capacity = indexCapacity(size);
+		emailIndex = new int[capacity];
+		idIndex = new int[capacity];
+		userIdIndex = new int[capacity];
+
+		//Later rows replace earlier ones, as in UserRoster
+		for (int i = 0; i < size; i++) {
+			final int key = emailKeys[i];
+			if (key != NO_REF) {
+				put(emailIndex, mix(hash(stringData, stringOffsets[key], 
+						        stringOffsets[key + 1])), i, emailKeys);
+			}
+			if (ids[i] != NO_INT) {
+				put(idIndex, mix(ids[i]), i, ids);
+			}
+			if (userIds[i] != NO_INT) {
+				put(userIdIndex, mix(userIds[i]), i, userIds);
+			}
+		}
+	}
+
+	/**
+	 * Creates a compact copy of the roster
+	 * @param roster The roster
+	 * @return The compact roster
+	 */
+	public static CompactRoster from(UserRoster roster) {
+		return new CompactRoster(roster.getUsers());
+	}
+
+	/**
+	 * Materializes every user into a new {@link UserRoster}
+	 * @return The user roster
+	 */
+	public UserRoster toUserRoster() {
+		return new UserRoster(new ArrayList<>(getUsers()));
+	}
+
+	/**
+	 * Returns the index capacity, a power of two at least twice the size
+	 * @param size The number of users
+	 * @return The capacity
+	 */
+	private static int indexCapacity(int size) {
+		return Math.max(16, Integer.highestOneBit(Math.max(1, size) - 1) << 2);
+	}
+
+	/**
+	 * Spreads the hash bits
+	 * @param h The hash
+	 * @return The mixed hash
+	 */
+	private static int mix(int h) {
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Hashes a range of UTF-8 bytes
+	 * @param data The bytes
+	 * @param from The start offset
+	 * @param to The end offset
+	 * @return The hash
+	 */
+	private static int hash(byte[] data, int from, int to) {
+		int h = 1;
+		for (int i = from; i < to; i++) {
+			h = 31 * h + data[i];
+		}
+		return h;
+	}
+
+	/**
+	 * Tests the index key of a row
+	 * @param kind The key kind
+	 * @param row The row
+	 * @param email The lower-cased UTF-8 email of an email key
+	 * @param id The ID or user ID of an ID key
+	 * @return <code>true</code> if the row has the key
+	 */
+	private boolean matches(int kind, int row, byte[] email, int id) {
+		switch (kind) {
+		case EMAIL_KEY:
+			return emailKeys[row] != NO_REF && equalsString(emailKeys[row], email);
+		case ID_KEY:
+			return ids[row] == id;
+		default:
+			return userIds[row] == id;
+		}
+	}
+
+	/**
+	 * Compares a string of the string table with UTF-8 bytes
+	 * @param ref The string reference
+	 * @param bytes The bytes
+	 * @return <code>true</code> if the string has the same bytes
+	 */
+	private boolean equalsString(int ref, byte[] bytes) {
+		final int offset = stringOffsets[ref];
+		if (stringOffsets[ref + 1] - offset != bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; i++) {
+			if (stringData[offset + i] != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Puts a row in an index, replacing a row with the same key. Keys are 
+	 * compared by value; the string table is deduplicated, so equal emails
+	 * have equal references.
+	 * @param index The index
+	 * @param hash The mixed key hash
+	 * @param row The row
+	 * @param keys The key column
+	 */
+	private static void put(int[] index, int hash, int row, int[] keys) {
+		final int mask = index.length - 1;
+		int slot = hash & mask;
+		while (index[slot] != 0 && keys[index[slot] - 1] != keys[row]) {
+			slot = (slot + 1) & mask;
+		}
+		index[slot] = row + 1;
+	}
+
+	/**
+	 * Finds a row in an index
+	 * @param index The index
+	 * @param hash The mixed key hash
+	 * @param kind The key kind
+	 * @param email The lower-cased UTF-8 email of an email key
+	 * @param id The ID or user ID of an ID key
+	 * @return The row or <code>-1</code>
+	 */
+	private int find(int[] index, int hash, int kind, byte[] email, int id) {
+		final int mask = index.length - 1;
+		int slot = hash & mask;
+		while (index[slot] != 0) {
+			if (matches(kind, index[slot] - 1, email, id)) {
+				return index[slot] - 1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Normalizes an email for lookup
+	 * @param email The email address
+	 * @return The lower-cased email
+	 */
+	private static String normalize(String email) {
+		return email.toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * @param value The integer or <code>null</code>
+	 * @return The int value or the null marker
+	 */
+	private static int toInt(Integer value) {
+		return null == value ? NO_INT : value;
+	}
+
+	/**
+	 * @param value The int value or the null marker
+	 * @return The integer or <code>null</code>
+	 */
+	private static Integer toInteger(int value) {
+		return value == NO_INT ? null : Integer.valueOf(value);
+	}
+
+	/**
+	 * @param dateTime The date-time or <code>null</code>
+	 * @return The epoch milliseconds or the null marker
+	 */
+	private static long toMillis(DateTime dateTime) {
+		return null == dateTime ? NO_TIME : dateTime.getMillis();
+	}
+
+	/**
+	 * Decodes a string from the string table
+	 * @param ref The string reference
+	 * @return The string or <code>null</code>
+	 */
+	private String getString(int ref) {
+		if (ref == NO_REF) {
+			return null;
+		}
+		final int offset = stringOffsets[ref];
+		return new String(stringData, offset, stringOffsets[ref + 1] - offset, UTF_8);
+	}
+
+	/**
+	 * Checks the row index
+	 * @param row The row
+	 * @throws IndexOutOfBoundsException if the row is out of range
+	 */
+	private void checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row: " + row + ", size: " + size);
+		}
+	}
+
+	/**
+	 * @return The number of users
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return <code>true</code> if the roster has no users
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return The number of distinct strings in the string table
+	 */
+	public int getStringCount() {
+		return stringOffsets.length - 1;
+	}
+
+	/**
+	 * Materializes the user at a row
+	 * @param row The row in roster order
+	 * @return A new user
+	 * @throws IndexOutOfBoundsException if the row is out of range
+	 */
+	public User getUser(int row) {
+		checkRow(row);
+		User user = new User();
+		user.setId(toInteger(ids[row]));
+		user.setUserId(toInteger(userIds[row]));
+		user.setRole(getRole(row));
+		user.setPending(isPending(row));
+		user.setCreated(getCreated(row));
+		user.setInvited(getInvited(row));
+		user.setEmail(getString(emails[row]));
+		user.setFullName(getString(names[row]));
+		user.setTags(getString(tags[row]));
+		return user;
+	}
+
+	/**
+	 * Returns a list view of all users in roster order. Each
+	 * <code>get</code> materializes a new user.
+	 * @return The unmodifiable, random-access users view
+	 */
+	public List<User> getUsers() {
+		return new UserView();
+	}
+
+	/**
+	 * @param row The row
+	 * @return The email at the row or <code>null</code>
+	 */
+	public String getEmail(int row) {
+		checkRow(row);
+		return getString(emails[row]);
+	}
+
+	/**
+	 * @param row The row
+	 * @return The ID at the row or <code>null</code>
+	 */
+	public Integer getId(int row) {
+		checkRow(row);
+		return toInteger(ids[row]);
+	}
+
+	/**
+	 * @param row The row
+	 * @return The role at the row or <code>null</code>
+	 */
+	public Role getRole(int row) {
+		checkRow(row);
+		return roles[row] == NO_REF ? null : Role.fromIndex(roles[row]);
+	}
+
+	/**
+	 * @param row The row
+	 * @return The pending status at the row or <code>null</code>
+	 */
+	public Boolean isPending(int row) {
+		checkRow(row);
+		return pendingKnown.get(row) ? Boolean.valueOf(pending.get(row)) : null;
+	}
+
+	/**
+	 * @param row The row
+	 * @return The created date at the row or <code>null</code>
+	 */
+	public DateTime getCreated(int row) {
+		checkRow(row);
+		return created[row] == NO_TIME ? null : new DateTime(created[row]);
+	}
+
+	/**
+	 * @param row The row
+	 * @return The invited date at the row or <code>null</code>
+	 */
+	public DateTime getInvited(int row) {
+		checkRow(row);
+		return invited[row] == NO_TIME ? null : new DateTime(invited[row]);
+	}
+
+	/**
+	 * Returns the row of the user with the given email, ignoring case
+	 * @param email The email address
+	 * @return The row or <code>-1</code>
+	 */
+	public int indexOfEmail(String email) {
+		if (null == email) {
+			return -1;
+		}
+		final byte[] key = normalize(email).getBytes(UTF_8);
+		return find(emailIndex, mix(hash(key, 0, key.length)), EMAIL_KEY, key, 0);
+	}
+
+	/**
+	 * Returns the user with the given email, ignoring case
+	 * @param email The email address
+	 * @return A new user or <code>null</code>
+	 */
+	public User getUserByEmail(String email) {
+		final int row = indexOfEmail(email);
+		return row < 0 ? null : getUser(row);
+	}
+
+	/**
+	 * Returns <code>true</code> if a user has the given email, ignoring case.
+	 * No user is materialized.
+	 * @param email The email address
+	 * @return <code>true</code> if the email is on the roster
+	 */
+	public boolean containsEmail(String email) {
+		return indexOfEmail(email) >= 0;
+	}
+
+	/**
+	 * Returns the user with the given ID
+	 * @param id The ID
+	 * @return A new user or <code>null</code>
+	 */
+	public User getUserById(int id) {
+		final int row = find(idIndex, mix(id), ID_KEY, null, id);
+		return row < 0 ? null : getUser(row);
+	}
+
+	/**
+	 * Returns the user with the given user ID
+	 * @param userId The user ID
+	 * @return A new user or <code>null</code>
+	 */
+	public User getUserByUserId(int userId) {
+		final int row = find(userIdIndex, mix(userId), USER_ID_KEY, null, userId);
+		return row < 0 ? null : getUser(row);
+	}
+
+	/**
+	 * Counts the users with the given role without materializing them
+	 * @param role The role
+	 * @return The number of users with the role
+	 */
+	public int countUsers(Role role) {
+		final int index = role.getIndex();
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (roles[i] == index) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return The number of users whose membership is pending
+	 */
+	public int countPendingUsers() {
+		return pending.cardinality();
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CompactRoster [size=" + size + ", pending=" + countPendingUsers()
+				+ ", strings=" + getStringCount() + "]";
+	}
+
+	/**
+	 * UserView class is a list view materializing users on access
+	 */
+	private final class UserView extends AbstractList<User> implements RandomAccess {
+
+		@Override
+		public User get(int index) {
+			return getUser(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	/**
+	 * StringTableBuilder class deduplicates strings into one UTF-8 buffer
+	 */
+	private static final class StringTableBuilder {
+
+		/**
+		 * References by string
+		 */
+		private final Map<String, Integer> refs = new HashMap<>();
+		/**
+		 * Encoded strings in reference order
+		 */
+		private final List<byte[]> encoded = new ArrayList<>();
+		/**
+		 * Total encoded length
+		 */
+		private int length;
+
+		/**
+		 * Adds a string to the table
+		 * @param value The string or <code>null</code>
+		 * @return The string reference
+		 */
+		int add(String value) {
+			if (null == value) {
+				return NO_REF;
+			}
+			Integer ref = refs.get(value);
+			if (null == ref) {
+				final byte[] bytes = value.getBytes(UTF_8);
+				ref = encoded.size();
+				refs.put(value, ref);
+				encoded.add(bytes);
+				length += bytes.length;
+			}
+			return ref;
+		}
+
+		/**
+		 * @return The concatenated UTF-8 bytes
+		 */
+		byte[] toBytes() {
+			byte[] data = new byte[length];
+			int offset = 0;
+			for (byte[] bytes : encoded) {
+				System.arraycopy(bytes, 0, data, offset, bytes.length);
+				offset += bytes.length;
+			}
+			return data;
+		}
+
+		/**
+		 * @return The start offset of each string and the total length
+		 */
+		int[] toOffsets() {
+			int[] offsets = new int[encoded.size() + 1];
+			for (int i = 0; i < encoded.size(); i++) {
+				offsets[i + 1] = offsets[i] + encoded.get(i).length;
+			}
+			return offsets;
+		}
+	}
+
+}
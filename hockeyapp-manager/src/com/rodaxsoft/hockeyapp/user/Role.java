@@ -21,7 +21,7 @@ package com.rodaxsoft.hockeyapp.user;
 /**
  * Role class
  * @author John Boyer
- * @version 2015-08-12
+ * @version 2026-10-18
  * @since 0.1
  * 
  */
@@ -44,6 +44,18 @@ public enum Role {
 	 */
 	TESTER(3);
 	
+	/**
+	 * Roles by index value
+	 */
+	private static final Role[] BY_INDEX;
+	
+	static {
+		BY_INDEX = new Role[values().length];
+		for (Role role : values()) {
+			BY_INDEX[role.index] = role;
+		}
+	}
+	
 	/**
 	 * Integer index value
 	 */
@@ -65,4 +77,17 @@ public enum Role {
 		return index;
 	}
 	
+	/**
+	 * Returns the role with the given index value
+	 * @param index Integer index value
+	 * @return The role or <code>null</code> if the index is invalid
+	 */
+	public static Role fromIndex(int index) {
+		Role role = null;
+		if (index >= 0 && index < BY_INDEX.length) {
+			role = BY_INDEX[index];
+		}
+		return role;
+	}
+	
 }
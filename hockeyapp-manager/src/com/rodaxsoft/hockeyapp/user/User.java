@@ -68,6 +68,28 @@ public final class User {
 	 */
 	private Integer userId;
 	
+	/**
+	 * Default constructor
+	 */
+	public User() {
+	}
+	
+	/**
+	 * Copy constructor
+	 * @param user The user to copy
+	 */
+	public User(User user) {
+		this.created = user.created;
+		this.email = user.email;
+		this.fullName = user.fullName;
+		this.id = user.id;
+		this.invited = user.invited;
+		this.pending = user.pending;
+		this.role = user.role;
+		this.tags = user.tags;
+		this.userId = user.userId;
+	}
+	
 	/**
 	 * @return The address representation of the user
 	 */
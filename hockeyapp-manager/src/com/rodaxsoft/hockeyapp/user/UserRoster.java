@@ -0,0 +1,243 @@
+/*
+	UserRoster.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.user;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * UserRoster class is an app user roster indexed by lower-cased email, 
+ * <code>id</code> and <code>userId</code>, and partitioned by {@link Role} 
+ * and pending status. Lookups are constant time and all returned lists are
+ * unmodifiable views, not copies.
+ * <p>
+ * <i>Note: The lists and indexes are immutable, but the users are not 
+ * copied. A roster is shared by the roster cache, coalesced callers and 
+ * roster syncs, so its users must be treated as read-only; modifying one 
+ * corrupts the indexes. Copy a user with {@link User#User(User)} to change 
+ * it, and use {@link UserUpdate} to change it on the server.</i>
+ * </p>
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class UserRoster {
+
+	/**
+	 * Empty roster
+	 */
+	private static final UserRoster EMPTY = new UserRoster(Collections.<User>emptyList());
+
+	/**
+	 * All users in roster order
+	 */
+	private final List<User> users;
+	/**
+	 * Users by lower-cased email
+	 */
+	private final Map<String, User> byEmail;
+	/**
+	 * Users by ID
+	 */
+	private final Map<Integer, User> byId;
+	/**
+	 * Users by user ID
+	 */
+	private final Map<Integer, User> byUserId;
+	/**
+	 * Users by role
+	 */
+	private final Map<Role, List<User>> byRole;
+	/**
+	 * Pending users
+	 */
+	private final List<User> pending;
+	/**
+	 * Non-pending users
+	 */
+	private final List<User> nonPending;
+
+	/**
+	 * Constructor
+	 * @param users The app users
+	 */
+	public UserRoster(Collection<User> users) {
+
+		final int capacity = Math.max(16, (int) (users.size() / 0.75f) + 1);
+
+		List<User> all = new ArrayList<>(users.size());
+		byEmail = new HashMap<>(capacity);
+		byId = new HashMap<>(capacity);
+		byUserId = new HashMap<>(capacity);
+
+		Map<Role, List<User>> roles = new EnumMap<>(Role.class);
+		for (Role role : Role.values()) {
+			roles.put(role, new ArrayList<User>());
+		}
+
+		List<User> pendingUsers = new ArrayList<>();
+		List<User> nonPendingUsers = new ArrayList<>(users.size());
+
+		for (User user : users) {
+
+			all.add(user);
+
+			if (user.getEmail() != null) {
+				byEmail.put(normalize(user.getEmail()), user);
+			}
+			if (user.getId() != null) {
+				byId.put(user.getId(), user);
+			}
+			if (user.getUserId() != null) {
+				byUserId.put(user.getUserId(), user);
+			}
+			if (user.getRole() != null) {
+				roles.get(user.getRole()).add(user);
+			}
+
+			if (Boolean.TRUE.equals(user.isPending())) {
+				pendingUsers.add(user);
+			} else {
+				nonPendingUsers.add(user);
+			}
+		}
+
+		for (Map.Entry<Role, List<User>> entry : roles.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+
+		this.users = Collections.unmodifiableList(all);
+		this.byRole = roles;
+		this.pending = Collections.unmodifiableList(pendingUsers);
+		this.nonPending = Collections.unmodifiableList(nonPendingUsers);
+	}
+
+	/**
+	 * @return An empty roster
+	 */
+	public static UserRoster empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Normalizes an email for lookup
+	 * @param email The email address
+	 * @return The lower-cased email
+	 */
+	private static String normalize(String email) {
+		return email.toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * @return All users in roster order
+	 */
+	public List<User> getUsers() {
+		return users;
+	}
+
+	/**
+	 * @return The number of users
+	 */
+	public int size() {
+		return users.size();
+	}
+
+	/**
+	 * @return <code>true</code> if the roster has no users
+	 */
+	public boolean isEmpty() {
+		return users.isEmpty();
+	}
+
+	/**
+	 * Returns the user with the given email, ignoring case
+	 * @param email The email address
+	 * @return The user or <code>null</code>
+	 */
+	public User getUserByEmail(String email) {
+		return email != null ? byEmail.get(normalize(email)) : null;
+	}
+
+	/**
+	 * Returns <code>true</code> if a user has the given email, ignoring case
+	 * @param email The email address
+	 * @return <code>true</code> if the email is on the roster
+	 */
+	public boolean containsEmail(String email) {
+		return getUserByEmail(email) != null;
+	}
+
+	/**
+	 * Returns the user with the given ID
+	 * @param id The ID
+	 * @return The user or <code>null</code>
+	 */
+	public User getUserById(int id) {
+		return byId.get(id);
+	}
+
+	/**
+	 * Returns the user with the given user ID
+	 * @param userId The user ID
+	 * @return The user or <code>null</code>
+	 */
+	public User getUserByUserId(int userId) {
+		return byUserId.get(userId);
+	}
+
+	/**
+	 * Returns the users with the given role
+	 * @param role The role
+	 * @return The users with the role
+	 */
+	public List<User> getUsers(Role role) {
+		return byRole.get(role);
+	}
+
+	/**
+	 * @return The users whose membership is pending
+	 */
+	public List<User> getPendingUsers() {
+		return pending;
+	}
+
+	/**
+	 * @return The users whose membership is not pending
+	 */
+	public List<User> getNonPendingUsers() {
+		return nonPending;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "UserRoster [size=" + users.size() + ", pending="
+				+ pending.size() + "]";
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+	UserUpdate.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.hockeyapp.user;
+
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+
+/**
+ * UserUpdate class is an immutable change of an app user's role and tags.
+ * A <code>null</code> role or tags value leaves that field unchanged, but
+ * at least one of them must be set.
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ *
+ */
+public final class UserUpdate {
+
+	/**
+	 * The app user ID
+	 */
+	private final int id;
+	/**
+	 * The new role or <code>null</code>
+	 */
+	private final Role role;
+	/**
+	 * The new tags or <code>null</code>
+	 */
+	private final String tags;
+
+	/**
+	 * Constructor
+	 * @param id The app user ID
+	 * @param role The new role or <code>null</code> to keep the role
+	 * @param tags The new comma-separated tags or <code>null</code> to keep 
+	 *        the tags
+	 * @throws ContextedRuntimeException if the role is <code>OWNER</code> 
+	 *         or both the role and tags are <code>null</code>
+	 * @see User#getId()
+	 */
+	public UserUpdate(int id, Role role, String tags) {
+		if (Role.OWNER == role) {
+			throw new ContextedRuntimeException("Role value cannot be set to OWNER")
+			                       .addContextValue("name", role.toString())
+			                       .addContextValue("value", role.getIndex());
+		}
+		if (null == role && null == tags) {
+			throw new ContextedRuntimeException("Update must set the role or tags")
+			                       .addContextValue("id", id);
+		}
+		this.id = id;
+		this.role = role;
+		this.tags = tags;
+	}
+
+	/**
+	 * @return the app user ID
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * @return the new role or <code>null</code> to keep the role
+	 */
+	public Role getRole() {
+		return role;
+	}
+
+	/**
+	 * @return the new tags or <code>null</code> to keep the tags
+	 */
+	public String getTags() {
+		return tags;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "UserUpdate [id=" + id + ", role=" + role + ", tags=" + tags + "]";
+	}
+
+}
@@ -106,9 +106,8 @@ public class HockeyAppManagerTestCase {
 		final String member = config.getString("hockeyapp.member.email");
 		final String nonmember = config.getString("hockeyapp.nonmember.email");
 		
-		try {
+		try (HockeyAppManager mgr = new HockeyAppManager(app)) {
 			
-			HockeyAppManager mgr = new HockeyAppManager(app);
 			final String secret = app.getSecret();
 			boolean success = mgr.isAppMember(member, secret);
 			assertTrue(success);
@@ -133,7 +132,7 @@ public class HockeyAppManagerTestCase {
 		String last = config.getString("hockeyapp.invitee.last.name");
 		String msg = config.getString("hockeyapp.invitee.message");
 		
-		try {
+		try (HockeyAppManager mgr = new HockeyAppManager(app)) {
 			
 			Invitation invitation = new Invitation()
 			                              .setEmail(email)
@@ -141,7 +140,6 @@ public class HockeyAppManagerTestCase {
 			                              .setLastName(last)
 			                              .setMessage(msg);
 			
-			HockeyAppManager mgr = new HockeyAppManager(app);
 			boolean success = mgr.inviteUser(invitation);
 			assertTrue(success);
 			
@@ -156,9 +154,10 @@ public class HockeyAppManagerTestCase {
 	 */
 	@Test
 	public void testGetAllAppUsers() {
-		HockeyAppManager mgr = new HockeyAppManager(app);
-		List<User> users = mgr.getAllAppUsers();
-		assertNotNull(users);
+		try (HockeyAppManager mgr = new HockeyAppManager(app)) {
+			List<User> users = mgr.getAllAppUsers();
+			assertNotNull(users);
+		}
 	}
 
 }
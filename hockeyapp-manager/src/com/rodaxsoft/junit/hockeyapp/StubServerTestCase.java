@@ -0,0 +1,2062 @@
+/*
+	StubServerTestCase.java
+
+	Created by John Boyer on Oct 18, 2026
+	(c) Copyright 2026 Rodax Software, Inc. All Rights Reserved.
+
+	Licensed under the Apache License, Version 2.0 (the "License");
+	you may not use this file except in compliance with the License.
+	You may obtain a copy of the License at
+
+	    http://www.apache.org/licenses/LICENSE-2.0
+
+	Unless required by applicable law or agreed to in writing, software
+	distributed under the License is distributed on an "AS IS" BASIS,
+	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+	See the License for the specific language governing permissions and
+	limitations under the License.
+ */
+package com.rodaxsoft.junit.hockeyapp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import javax.mail.Address;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.InvocationCallback;
+import javax.mail.internet.InternetAddress;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.apache.commons.lang3.exception.ContextedException;
+import org.apache.commons.lang3.exception.ContextedRuntimeException;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.codahale.metrics.Timer;
+
+import com.rodaxsoft.hockeyapp.App;
+import com.rodaxsoft.hockeyapp.AppResult;
+import com.rodaxsoft.hockeyapp.AppUserIterable;
+import com.rodaxsoft.hockeyapp.ClientSettings;
+import com.rodaxsoft.hockeyapp.HockeyAppManager;
+import com.rodaxsoft.hockeyapp.Invitation;
+import com.rodaxsoft.hockeyapp.InvitationQueue;
+import com.rodaxsoft.hockeyapp.MultiAppManager;
+import com.rodaxsoft.hockeyapp.MultiAppManager.AppTask;
+import com.rodaxsoft.hockeyapp.RosterFetch;
+import com.rodaxsoft.hockeyapp.bulk.AddressFormat;
+import com.rodaxsoft.hockeyapp.bulk.AddressImporter;
+import com.rodaxsoft.hockeyapp.bulk.AddressReader;
+import com.rodaxsoft.hockeyapp.bulk.BulkInviter;
+import com.rodaxsoft.hockeyapp.bulk.BulkReport;
+import com.rodaxsoft.hockeyapp.bulk.BulkResult;
+import com.rodaxsoft.hockeyapp.bulk.BulkStatus;
+import com.rodaxsoft.hockeyapp.bulk.ImportReport;
+import com.rodaxsoft.hockeyapp.bulk.InvitationBatch;
+import com.rodaxsoft.hockeyapp.bulk.InvitationBuilder;
+import com.rodaxsoft.hockeyapp.bulk.InvitationReject;
+import com.rodaxsoft.hockeyapp.bulk.RejectReason;
+import com.rodaxsoft.hockeyapp.cache.MembershipFilter;
+import com.rodaxsoft.hockeyapp.converters.ExportFormat;
+import com.rodaxsoft.hockeyapp.converters.UserConverter;
+import com.rodaxsoft.hockeyapp.converters.UserDecoder;
+import com.rodaxsoft.hockeyapp.converters.UserStreamWriter;
+import com.rodaxsoft.hockeyapp.cache.RosterCache;
+import com.rodaxsoft.hockeyapp.cache.RosterSnapshot;
+import com.rodaxsoft.hockeyapp.cache.RosterSnapshotStore;
+import com.rodaxsoft.hockeyapp.metrics.DropwizardMetrics;
+import com.rodaxsoft.hockeyapp.policy.CircuitBreaker;
+import com.rodaxsoft.hockeyapp.policy.ExponentialBackoffRetryPolicy;
+import com.rodaxsoft.hockeyapp.policy.RateLimiterRegistry;
+import com.rodaxsoft.hockeyapp.policy.RetryPolicy;
+import com.rodaxsoft.hockeyapp.policy.TokenBucket;
+import com.rodaxsoft.hockeyapp.stub.LoadGenerator;
+import com.rodaxsoft.hockeyapp.stub.LoadReport;
+import com.rodaxsoft.hockeyapp.stub.StubRosters;
+import com.rodaxsoft.hockeyapp.stub.StubServer;
+import com.rodaxsoft.hockeyapp.stub.StubSettings;
+import com.rodaxsoft.hockeyapp.sync.RosterDelta;
+import com.rodaxsoft.hockeyapp.sync.RosterSync;
+import com.rodaxsoft.hockeyapp.user.CompactRoster;
+import com.rodaxsoft.hockeyapp.user.Role;
+import com.rodaxsoft.hockeyapp.user.User;
+import com.rodaxsoft.hockeyapp.user.UserRoster;
+import com.rodaxsoft.hockeyapp.user.UserUpdate;
+
+/**
+ * StubServerTestCase class runs the manager offline against a 
+ * {@link StubServer}
+ * @author John Boyer
+ * @version 2026-10-18
+ * @since 0.2
+ * 
+ */
+public class StubServerTestCase {
+
+	/**
+	 * Disables Nagle's algorithm on the stub servers, before the first one
+	 * starts
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		System.setProperty(StubServer.NODELAY_PROPERTY, "true");
+	}
+
+	/**
+	 * Creates a stub app
+	 * @return The app
+	 */
+	private static App createApp() {
+		App app = new App.Builder().setAppId("0873e2b98ad046a92c170a243a8515f6")
+		                           .setApiToken("4567abcd8901ef234567abcd8901ef23")
+		                           .setSecret("b3c397c516d00046a8970b7512ca62e9")
+		                           .build();
+		return app;
+	}
+
+	/**
+	 * Test method for {@link HockeyAppManager#getAppUserRoster()}, 
+	 * {@link HockeyAppManager#isAppMember(String, String)} and
+	 * {@link HockeyAppManager#inviteUser(Invitation)}.
+	 * @throws Exception
+	 */
+	@Test
+	public void testManagerAgainstStub() throws Exception {
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(250));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			assertEquals(250, manager.getAppUserRoster().size());
+			assertTrue(manager.isAppMember(StubRosters.email(7), "secret"));
+			assertFalse(manager.isAppMember("nobody@example.com", "secret"));
+			assertTrue(manager.inviteUser(new Invitation().setEmail("new@example.com")));
+			assertEquals(4, server.getRequestCount());
+		}
+	}
+
+	/**
+	 * Test method for injected 429 errors
+	 * @throws Exception
+	 */
+	@Test
+	public void testThrottling() throws Exception {
+		
+		StubSettings stubSettings = new StubSettings().setThrottleRate(1.0)
+				                                      .setRetryAfter(0);
+		try (StubServer server = new StubServer(stubSettings)) {
+			
+			ClientSettings settings = new ClientSettings()
+					.setBaseUri(server.getBaseUri())
+					.setRetryPolicy(new ExponentialBackoffRetryPolicy(3, 1, 10));
+			
+			try (HockeyAppManager manager = new HockeyAppManager(createApp(), settings)) {
+				manager.isAppMember(StubRosters.email(1), "secret");
+				fail("Expected a ContextedException");
+			} catch (ContextedException e) {
+				//Expected
+			}
+			assertEquals(3, server.getThrottleCount());
+			
+			settings.setRetryPolicy(RetryPolicy.NEVER);
+			try (HockeyAppManager manager = new HockeyAppManager(createApp(), settings)) {
+				manager.isAppMember(StubRosters.email(1), "secret");
+				fail("Expected a ContextedException");
+			} catch (ContextedException e) {
+				//Expected
+			}
+			assertEquals(4, server.getThrottleCount());
+		}
+	}
+
+	/**
+	 * Test method for {@link HockeyAppManager#inviteUsers(java.util.Collection, int)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testBulkInviter() throws Exception {
+		
+		List<Invitation> invitations = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			invitations.add(new Invitation().setEmail("bulk" + i + "@example.org"));
+		}
+		for (int i = 0; i < 10; i++) {
+			invitations.add(new Invitation().setEmail(StubRosters.email(i).toUpperCase()));
+			invitations.add(new Invitation().setEmail("bulk" + i + "@example.org"));
+		}
+		
+		//Throttled invitations are retried by the manager's policy
+		StubSettings stubSettings = new StubSettings().setRosterSize(50)
+				                                      .setThrottleRate(0.2)
+				                                      .setRetryAfter(0)
+				                                      .setLatency(10);
+		MetricRegistry registry = new MetricRegistry();
+		try (StubServer server = new StubServer(stubSettings);
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), new ClientSettings()
+					 .setBaseUri(server.getBaseUri())
+					 .setRetryPolicy(new ExponentialBackoffRetryPolicy(10, 1, 10))
+					 .setMetrics(new DropwizardMetrics(registry)))) {
+			
+			BulkReport<Invitation> report = manager.inviteUsers(invitations, 4);
+			assertEquals(220, report.getResults().size());
+			assertEquals(200, report.getSuccessCount());
+			assertEquals(20, report.getCount(BulkStatus.SKIPPED));
+			assertTrue(report.getCount(BulkStatus.RETRIED) > 0);
+			
+			int attempts = 0;
+			for (BulkResult<Invitation> result : report.getResults()) {
+				attempts += result.getAttempts();
+				if (result.getStatus() == BulkStatus.RETRIED) {
+					assertTrue(result.getAttempts() > 1);
+				}
+			}
+			assertEquals(registry.timer("hockeyapp.inviteUser.requests").getCount(), attempts);
+			
+			//At most 4 requests of 10 ms were in flight
+			assertTrue(report.getElapsedMillis() >= attempts / 4 * 10);
+		}
+		
+		//A server error may follow a created invitation, so it is not retried
+		try (StubServer server = new StubServer(new StubSettings().setErrorRate(1.0));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), new ClientSettings()
+					 .setBaseUri(server.getBaseUri())
+					 .setRetryPolicy(new ExponentialBackoffRetryPolicy(3, 1, 10)))) {
+			
+			BulkReport<Invitation> report = manager.inviteUsers(invitations.subList(0, 50), 8);
+			assertEquals(50, report.getCount(BulkStatus.FAILED));
+			for (BulkResult<Invitation> result : report.getResults()) {
+				assertEquals(1, result.getAttempts());
+				assertTrue(result.getError() instanceof ContextedException);
+			}
+			//The roster request is retried, the invitations are not
+			assertEquals(3 + 50, server.getRequestCount());
+		}
+	}
+
+	/**
+	 * Test method for {@link ExponentialBackoffRetryPolicy} and the retry 
+	 * of idempotent and non-idempotent requests
+	 * @throws Exception
+	 */
+	@Test
+	public void testRetryPolicy() throws Exception {
+		
+		ExponentialBackoffRetryPolicy policy = new ExponentialBackoffRetryPolicy(4, 100, 250);
+		for (int i = 0; i < 50; i++) {
+			assertTrue(policy.getRetryDelay(1, 500, -1) <= 100);
+			assertTrue(policy.getRetryDelay(3, 500, -1) <= 250);
+		}
+		assertEquals(-1, policy.getRetryDelay(4, 500, -1));
+		assertEquals(200, policy.getRetryDelay(1, 429, 200));
+		assertEquals(-1, policy.getRetryDelay(1, 429, 1000));
+		
+		MetricRegistry registry = new MetricRegistry();
+		ClientSettings settings = new ClientSettings()
+				.setRetryPolicy(new ExponentialBackoffRetryPolicy(3, 1, 10))
+				.setMetrics(new DropwizardMetrics(registry));
+		
+		//A 500 answer to an invitation is not retried, a membership check is
+		try (StubServer server = new StubServer(new StubSettings().setErrorRate(1.0));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 settings.setBaseUri(server.getBaseUri()))) {
+			
+			assertMemberCheckFails(manager, ContextedException.class);
+			assertEquals(3, server.getRequestCount());
+			try {
+				manager.inviteUser(new Invitation().setEmail("new@example.com"));
+				fail("Expected a ContextedException");
+			} catch (ContextedException e) {
+				//Expected
+			}
+			assertEquals(4, server.getRequestCount());
+			assertEquals(0, registry.meter("hockeyapp.inviteUser.retries").getCount());
+		}
+		
+		//A throttled invitation was not processed, so it is retried
+		try (StubServer server = new StubServer(new StubSettings().setThrottleRate(1.0)
+				                                                  .setRetryAfter(0));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 settings.setBaseUri(server.getBaseUri()))) {
+			
+			try {
+				manager.inviteUser(new Invitation().setEmail("new@example.com"));
+				fail("Expected a ContextedException");
+			} catch (ContextedException e) {
+				//Expected
+			}
+			assertEquals(3, server.getThrottleCount());
+			assertEquals(2, registry.meter("hockeyapp.inviteUser.retries").getCount());
+		}
+		
+		//An invitation that never reached the server is retried
+		StubServer stopped = new StubServer();
+		stopped.close();
+		try (HockeyAppManager manager = new HockeyAppManager(createApp(), 
+				 settings.setBaseUri(stopped.getBaseUri()))) {
+			manager.inviteUser(new Invitation().setEmail("new@example.com"));
+			fail("Expected a ProcessingException");
+		} catch (ProcessingException e) {
+			//Expected
+		}
+		assertEquals(4, registry.meter("hockeyapp.inviteUser.retries").getCount());
+	}
+
+	/**
+	 * Test method for {@link TokenBucket} and {@link RateLimiterRegistry}
+	 * @throws Exception
+	 */
+	@Test
+	public void testRateLimiter() throws Exception {
+		
+		TokenBucket bucket = new TokenBucket(1, 2);
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+		
+		RateLimiterRegistry limiters = new RateLimiterRegistry(20, 5);
+		assertTrue(limiters.get("token") == limiters.get("token"));
+		assertFalse(limiters.get("token") == limiters.get("other"));
+		
+		//Managers of one API token share its budget
+		try (StubServer server = new StubServer();
+			 HockeyAppManager first = new HockeyAppManager(createApp(), new ClientSettings()
+					 .setBaseUri(server.getBaseUri())
+					 .setRateLimiters(limiters));
+			 HockeyAppManager second = new HockeyAppManager(createApp(), new ClientSettings()
+					 .setBaseUri(server.getBaseUri())
+					 .setRateLimiters(limiters))) {
+			
+			final long start = System.nanoTime();
+			for (int i = 0; i < 25; i++) {
+				HockeyAppManager manager = i % 2 == 0 ? first : second;
+				assertTrue(manager.isAppMember(StubRosters.email(i), "secret"));
+			}
+			//5 requests are sent at once, the other 20 at 20 per second
+			final long elapsed = System.nanoTime() - start;
+			assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(900));
+			assertEquals(25, server.getRequestCount());
+		}
+	}
+
+	/**
+	 * Test method for the {@link CircuitBreaker} state transitions
+	 * @throws Exception
+	 */
+	@Test
+	public void testCircuitBreaker() throws Exception {
+		
+		CircuitBreaker breaker = new CircuitBreaker(3, 300, TimeUnit.MILLISECONDS);
+		
+		//Managers of a failing and a healthy stub share the breaker
+		try (StubServer failing = new StubServer(new StubSettings().setErrorRate(1.0));
+			 StubServer healthy = new StubServer();
+			 HockeyAppManager down = new HockeyAppManager(createApp(), new ClientSettings()
+					 .setBaseUri(failing.getBaseUri())
+					 .setRetryPolicy(RetryPolicy.NEVER)
+					 .setCircuitBreaker(breaker));
+			 HockeyAppManager up = new HockeyAppManager(createApp(), new ClientSettings()
+					 .setBaseUri(healthy.getBaseUri())
+					 .setRetryPolicy(RetryPolicy.NEVER)
+					 .setCircuitBreaker(breaker))) {
+			
+			for (int i = 0; i < 3; i++) {
+				assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+				assertMemberCheckFails(down, ContextedException.class);
+			}
+			assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+			
+			//Open: requests fail fast
+			assertMemberCheckFails(up, ContextedRuntimeException.class);
+			assertEquals(0, healthy.getRequestCount());
+			
+			//A failed trial reopens the circuit at once
+			Thread.sleep(350);
+			assertMemberCheckFails(down, ContextedException.class);
+			assertEquals(4, failing.getRequestCount());
+			assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+			
+			//A successful trial closes it
+			Thread.sleep(350);
+			assertTrue(up.isAppMember(StubRosters.email(1), "secret"));
+			assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+			
+			//A trial that never records its outcome lapses
+			for (int i = 0; i < 3; i++) {
+				assertMemberCheckFails(down, ContextedException.class);
+			}
+			Thread.sleep(350);
+			assertTrue(breaker.allowRequest());
+			assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+			assertFalse(breaker.allowRequest());
+			assertMemberCheckFails(up, ContextedRuntimeException.class);
+			Thread.sleep(350);
+			assertTrue(up.isAppMember(StubRosters.email(2), "secret"));
+			assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		}
+	}
+
+	/**
+	 * Asserts that a membership check fails
+	 * @param manager The manager
+	 * @param type The expected exception type
+	 */
+	private static void assertMemberCheckFails(HockeyAppManager manager, 
+			                                   Class<? extends Exception> type) {
+		try {
+			manager.isAppMember("nobody@example.com", "secret");
+			fail("Expected a " + type.getSimpleName());
+		} catch (Exception e) {
+			assertEquals(type, e.getClass());
+		}
+	}
+
+	/**
+	 * Test method for {@link MultiAppManager}
+	 * @throws Exception
+	 */
+	@Test
+	public void testMultiAppManager() throws Exception {
+		
+		List<App> apps = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			apps.add(createApp().toBuilder().setAppId("app" + i).build());
+		}
+		
+		StubSettings stubSettings = new StubSettings().setRosterSize(100)
+				                                      .setLatency(50);
+		List<Thread> filterThreads = getThreads("hockeyapp-filter-");
+		try (StubServer server = new StubServer(stubSettings)) {
+			
+			MultiAppManager multi = new MultiAppManager(apps, new ClientSettings()
+					 .setBaseUri(server.getBaseUri())
+					 .setMaxTotalConnections(3)
+					 .setMaxConnectionsPerRoute(3));
+			
+			//6 requests of 50 ms run 3 at a time
+			final long start = System.nanoTime();
+			Map<String, AppResult<UserRoster>> rosters = multi.getAllRosters();
+			assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+			
+			List<String> appIds = new ArrayList<>(rosters.keySet());
+			assertEquals(Arrays.asList("app0", "app1", "app2", "app3", "app4", "app5"), appIds);
+			for (AppResult<UserRoster> result : rosters.values()) {
+				assertTrue(result.isSuccessful());
+				assertEquals(100, result.getValue().size());
+			}
+			
+			assertEquals(apps, multi.findAppsWithMember(StubRosters.email(9)));
+			assertTrue(multi.findAppsWithMember("nobody@example.com").isEmpty());
+			
+			//A failing app does not affect the others
+			Map<String, AppResult<Integer>> sizes = multi.execute(new AppTask<Integer>() {
+				
+				@Override
+				public Integer call(HockeyAppManager manager) throws Exception {
+					if ("app2".equals(manager.getApp().getAppId())) {
+						throw new ContextedException("Failed");
+					}
+					return manager.getAppUserRoster().size();
+				}
+			});
+			assertFalse(sizes.get("app2").isSuccessful());
+			assertTrue(sizes.get("app2").getError() instanceof ContextedException);
+			assertEquals(100, sizes.get("app5").getValue().intValue());
+			assertEquals(6 + 12 + 5, server.getRequestCount());
+			multi.close();
+			
+			//Closing stops every manager's membership filter refresh
+			multi = new MultiAppManager(apps, new ClientSettings()
+					.setBaseUri(server.getBaseUri())
+					.setMembershipFilterRate(0.01));
+			
+			//The refresh starts on first use, not in the constructor
+			List<Thread> started = getThreads("hockeyapp-filter-");
+			started.removeAll(filterThreads);
+			assertTrue(started.isEmpty());
+			multi.findAppsWithMember(StubRosters.email(9));
+			started = getThreads("hockeyapp-filter-");
+			started.removeAll(filterThreads);
+			assertEquals(6, started.size());
+			multi.close();
+			for (Thread thread : started) {
+				thread.join(5000);
+				assertFalse(thread.isAlive());
+			}
+			
+			//A supplied executor runs the operations and is left open
+			ExecutorService executor = Executors.newFixedThreadPool(2);
+			try {
+				multi = new MultiAppManager(apps, new ClientSettings()
+						.setBaseUri(server.getBaseUri())
+						.setExecutorService(executor));
+				Map<String, AppResult<String>> names = multi.execute(new AppTask<String>() {
+					
+					@Override
+					public String call(HockeyAppManager manager) {
+						return Thread.currentThread().getName();
+					}
+				});
+				for (AppResult<String> result : names.values()) {
+					assertTrue(result.getValue().startsWith("pool-"));
+				}
+				multi.close();
+				assertFalse(executor.isShutdown());
+			} finally {
+				executor.shutdown();
+			}
+			
+			//Two apps sharing an ID are rejected
+			List<App> duplicates = new ArrayList<>(apps);
+			duplicates.add(apps.get(3));
+			try {
+				new MultiAppManager(duplicates, new ClientSettings().setBaseUri(server.getBaseUri()));
+				fail("Expected ContextedRuntimeException");
+			} catch (ContextedRuntimeException e) {
+				assertEquals("app3", e.getFirstContextValue("appId"));
+			}
+		}
+	}
+
+	/**
+	 * Returns the live threads whose name starts with a prefix
+	 * @param prefix The thread name prefix
+	 * @return the live threads
+	 */
+	private static List<Thread> getThreads(String prefix) {
+		List<Thread> threads = new ArrayList<>();
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().startsWith(prefix) && thread.isAlive()) {
+				threads.add(thread);
+			}
+		}
+		return threads;
+	}
+
+	/**
+	 * Test method for the pooled client of {@link HockeyAppManager}: 
+	 * connection reuse, release and shutdown on {@link HockeyAppManager#close()}
+	 * @throws Exception
+	 */
+	@Test
+	public void testPooledClient() throws Exception {
+		
+		final String evictorName = "hockeyapp-idle-connection-evictor";
+		List<Thread> evictors = getThreads(evictorName);
+		MetricRegistry registry = new MetricRegistry();
+		
+		HockeyAppManager closed;
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(100));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri())
+					                     .setMaxTotalConnections(4)
+					                     .setMaxConnectionsPerRoute(4)
+					                     .setMetrics(new DropwizardMetrics(registry)))) {
+			
+			for (int i = 0; i < 20; i++) {
+				assertTrue(manager.isAppMember(StubRosters.email(i), "secret"));
+			}
+			assertEquals(100, manager.getAllAppUsers().size());
+			
+			//Sequential calls reuse one kept-alive connection and release it
+			assertEquals(0, registry.getGauges().get("hockeyapp.pool.leased").getValue());
+			assertEquals(1, registry.getGauges().get("hockeyapp.pool.available").getValue());
+			assertEquals(4, registry.getGauges().get("hockeyapp.pool.max").getValue());
+			assertEquals(21, server.getRequestCount());
+			
+			List<Thread> started = getThreads(evictorName);
+			started.removeAll(evictors);
+			evictors = started;
+			assertEquals(1, evictors.size());
+			closed = manager;
+		}
+		
+		//Closing the manager stops the evictor and closes the client
+		for (Thread thread : evictors) {
+			thread.join(5000);
+			assertFalse(thread.isAlive());
+		}
+		try {
+			closed.getAllAppUsers();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			//Expected
+		}
+	}
+
+	/**
+	 * Test method for {@link LoadGenerator#run()}
+	 * @throws Exception
+	 */
+	@Test
+	public void testLoadGenerator() throws Exception {
+		
+		StubSettings stubSettings = new StubSettings().setLatency(2)
+				                                      .setLatencyJitter(3);
+		try (StubServer server = new StubServer(stubSettings);
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			//Distinct emails, so concurrent calls are not coalesced
+			final AtomicInteger calls = new AtomicInteger();
+			LoadReport report = new LoadGenerator(manager, new AppTask<Boolean>() {
+
+				@Override
+				public Boolean call(HockeyAppManager manager) throws Exception {
+					return manager.isAppMember(StubRosters.email(calls.getAndIncrement()), 
+							                   "secret");
+				}
+			}).setRate(200).setDuration(1, TimeUnit.SECONDS).run();
+			
+			assertEquals(200, report.getRequestCount());
+			assertEquals(0, report.getErrorCount());
+			assertEquals(200, server.getRequestCount());
+			assertTrue(report.getP50() >= 2.0);
+			assertTrue(report.getP999() >= report.getP99());
+			assertTrue(report.getP99() >= report.getP50());
+		}
+	}
+
+	/**
+	 * Test method for {@link DropwizardMetrics}
+	 * @throws Exception
+	 */
+	@Test
+	public void testMetrics() throws Exception {
+		
+		MetricRegistry registry = new MetricRegistry();
+		StubSettings stubSettings = new StubSettings().setRosterSize(500)
+				                                      .setLatency(1);
+		try (StubServer server = new StubServer(stubSettings);
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri())
+					                     .setMetrics(new DropwizardMetrics(registry)))) {
+			
+			for (int i = 0; i < 5; i++) {
+				manager.getAppUserRoster();
+				manager.isAppMember("nobody@example.com", "secret");
+			}
+			
+			Timer requests = registry.timer("hockeyapp.getAppUsers.requests");
+			assertEquals(5, requests.getCount());
+			assertTrue(requests.getSnapshot().getMedian() >= 1e6);
+			assertEquals(5, registry.timer("hockeyapp.getAppUsers.parse").getCount());
+			assertEquals(5 * StubRosters.bytes(500).length, 
+					     registry.meter("hockeyapp.getAppUsers.bytes").getCount());
+			assertEquals(5, registry.meter("hockeyapp.isAppMember.status.4xx").getCount());
+			assertEquals(0, registry.meter("hockeyapp.isAppMember.retries").getCount());
+			assertEquals(0, registry.getGauges().get("hockeyapp.pool.leased").getValue());
+		}
+	}
+
+	/**
+	 * Test method for {@link RosterSync#sync(HockeyAppManager)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testRosterSync() throws Exception {
+		
+		for (boolean etags : new boolean[] { true, false }) {
+			
+			StubSettings stubSettings = new StubSettings().setRosterSize(100)
+					                                      .setETags(etags);
+			try (StubServer server = new StubServer(stubSettings);
+				 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+						 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+				
+				RosterSync sync = new RosterSync();
+				assertEquals(100, sync.sync(manager).getAdded().size());
+				assertTrue(sync.sync(manager).isEmpty());
+				
+				server.setRosterSize(120);
+				RosterDelta delta = sync.sync(manager);
+				assertEquals(20, delta.getAdded().size());
+				assertTrue(delta.getRemoved().isEmpty());
+				
+				server.setRosterSize(90);
+				delta = sync.sync(manager);
+				assertEquals(30, delta.getRemoved().size());
+				assertTrue(delta.getAdded().isEmpty());
+				assertEquals(90, sync.getRoster(manager.getApp().getAppId()).size());
+				
+				//The streamed body hashes the same as the previous fetch
+				RosterFetch fetch = manager.fetchAppUserRoster(null, null);
+				assertEquals(90, fetch.getRoster().size());
+				assertFalse(manager.fetchAppUserRoster(null, fetch.getContentHash()).isModified());
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link RosterSync#diff(String, UserRoster, UserRoster)}
+	 */
+	@Test
+	public void testRosterDiff() {
+		
+		User promoted = createUser(1, Role.TESTER, false);
+		User accepted = createUser(2, Role.DEVELOPER, true);
+		User removed = createUser(3, Role.TESTER, false);
+		UserRoster previous = new UserRoster(Arrays.asList(promoted, accepted, removed));
+		
+		UserRoster current = new UserRoster(Arrays.asList(
+				createUser(1, Role.MEMBER, false), 
+				createUser(2, Role.DEVELOPER, false),
+				createUser(4, Role.TESTER, true)));
+		
+		RosterDelta delta = RosterSync.diff("app", previous, current);
+		assertEquals(4, delta.getAdded().get(0).getId().intValue());
+		assertEquals(3, delta.getRemoved().get(0).getId().intValue());
+		assertEquals(1, delta.getRoleChanged().size());
+		assertEquals(Role.MEMBER, delta.getRoleChanged().get(0).getRole());
+		assertEquals(1, delta.getPendingChanged().size());
+		assertEquals(2, delta.getPendingChanged().get(0).getId().intValue());
+	}
+
+	/**
+	 * Creates a user
+	 * @param id The app user ID
+	 * @param role The role
+	 * @param pending The pending status
+	 * @return The user
+	 */
+	private static User createUser(int id, Role role, boolean pending) {
+		User user = new User();
+		user.setId(id);
+		user.setEmail(StubRosters.email(id));
+		user.setRole(role);
+		user.setPending(pending);
+		return user;
+	}
+
+	/**
+	 * Test method for {@link RosterSnapshotStore} and the warm start of 
+	 * {@link HockeyAppManager}
+	 * @throws Exception
+	 */
+	@Test
+	public void testRosterSnapshot() throws Exception {
+		
+		Path directory = Files.createTempDirectory("hockeyapp-snapshots");
+		RosterSnapshotStore store = new RosterSnapshotStore(directory);
+		App app = createApp();
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(300)
+				                                                  .setLatency(500))) {
+			
+			ClientSettings settings = new ClientSettings().setBaseUri(server.getBaseUri());
+			
+			UserRoster roster;
+			try (HockeyAppManager manager = new HockeyAppManager(app, settings)) {
+				roster = manager.getAppUserRoster();
+			}
+			
+			store.save(app.getAppId(), new RosterSnapshot(roster, "\"tag\"", null, 1L));
+			RosterSnapshot snapshot = store.load(app.getAppId());
+			assertEquals("\"tag\"", snapshot.getETag());
+			assertEquals(roster.size(), snapshot.getRoster().size());
+			for (User user : roster.getUsers()) {
+				User loaded = snapshot.getRoster().getUserById(user.getId());
+				assertEquals(user.getEmail(), loaded.getEmail());
+				assertEquals(user.getFullName(), loaded.getFullName());
+				assertEquals(user.getUserId(), loaded.getUserId());
+				assertEquals(user.getRole(), loaded.getRole());
+				assertEquals(user.isPending(), loaded.isPending());
+				assertEquals(user.getTags(), loaded.getTags());
+				assertEquals(user.getCreated(), loaded.getCreated());
+				assertEquals(user.getInvited(), loaded.getInvited());
+			}
+			
+			//Timestamps keep their zone
+			User zoned = createUser(1, Role.TESTER, false);
+			zoned.setCreated(new DateTime(2026, 10, 18, 9, 30, 
+					                      DateTimeZone.forID("America/Los_Angeles")));
+			store.save("zoned", new RosterSnapshot(new UserRoster(Arrays.asList(zoned)), 
+					                               null, null, 1L));
+			assertEquals(zoned.getCreated(), store.load("zoned").getRoster()
+					                               .getUserById(1).getCreated());
+			
+			//The snapshot is served while the slow refresh runs
+			settings.setSnapshotStore(store);
+			server.setRosterSize(310);
+			try (HockeyAppManager manager = new HockeyAppManager(app, settings)) {
+				long start = System.nanoTime();
+				assertEquals(300, manager.getAppUserRoster().size());
+				assertTrue(manager.isAppMember(StubRosters.email(299), "secret"));
+				assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(250));
+				
+				Thread.sleep(1500);
+				assertEquals(310, manager.getAppUserRoster().size());
+			}
+			
+			//The refreshed roster was saved with its entity tag
+			snapshot = store.load(app.getAppId());
+			assertEquals(310, snapshot.getRoster().size());
+			assertNotNull(snapshot.getETag());
+			assertNotNull(snapshot.getContentHash());
+			
+			//A corrupt snapshot is ignored
+			store.save("corrupt", new RosterSnapshot(roster, null, null, 1L));
+			Path file = directory.resolve("corrupt.roster");
+			byte[] bytes = Files.readAllBytes(file);
+			bytes[bytes.length - 1] ^= 1;
+			Files.write(file, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+			assertNull(store.load("corrupt"));
+			
+		} finally {
+			store.delete("corrupt");
+			store.delete("zoned");
+			store.delete(app.getAppId());
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	/**
+	 * Test method for {@link UserDecoder#decode(JsonParser)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testUserDecoder() throws Exception {
+		
+		//The streamed roster matches the JSONObject converter
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(60));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			UserRoster roster = manager.getAppUserRoster();
+			JSONArray array = JSONObject.fromObject(StubRosters.json(60))
+			                            .getJSONArray("app_users");
+			UserConverter converter = new UserConverter();
+			assertEquals(array.size(), roster.size());
+			for (int i = 0; i < array.size(); i++) {
+				User expected = converter.convert(User.class, array.getJSONObject(i));
+				User user = roster.getUsers().get(i);
+				assertEquals(expected.getId(), user.getId());
+				assertEquals(expected.getUserId(), user.getUserId());
+				assertEquals(expected.getEmail(), user.getEmail());
+				assertEquals(expected.getFullName(), user.getFullName());
+				assertEquals(expected.getRole(), user.getRole());
+				assertEquals(expected.isPending(), user.isPending());
+				assertEquals(expected.getTags(), user.getTags());
+				assertEquals(expected.getCreated().getMillis(), user.getCreated().getMillis());
+				assertEquals(expected.getInvited() == null, user.getInvited() == null);
+				if (user.getInvited() != null) {
+					assertEquals(expected.getInvited().getMillis(), user.getInvited().getMillis());
+				}
+			}
+		}
+		
+		//Nested values are skipped, nulls kept and a missing pending is false
+		JsonFactory factory = new JsonFactory();
+		UserDecoder decoder = new UserDecoder();
+		String json = "{\"id\":7,\"devices\":[{\"os\":\"iOS\"}],\"email\":null,"
+				+ "\"meta\":{\"role\":9},\"role\":3,\"created_at\":\"\","
+				+ "\"invited_at\":\"2015-08-10T20:00:00Z\",\"unknown\":1}";
+		try (JsonParser parser = factory.createParser(json)) {
+			parser.nextToken();
+			User user = decoder.decode(parser);
+			assertEquals(JsonToken.END_OBJECT, parser.getCurrentToken());
+			assertNull(parser.nextToken());
+			assertEquals(Integer.valueOf(7), user.getId());
+			assertNull(user.getEmail());
+			assertEquals(Role.fromIndex(3), user.getRole());
+			assertNull(user.getCreated());
+			assertEquals(Boolean.FALSE, user.isPending());
+			
+			//A repeated timestamp is parsed once
+			try (JsonParser again = factory.createParser(
+					"{\"invited_at\":\"2015-08-10T20:00:00Z\"}")) {
+				again.nextToken();
+				assertSame(user.getInvited(), decoder.decode(again).getInvited());
+			}
+		}
+		
+		//Strings are read as leniently as by the JSONObject converter
+		UserConverter converter = new UserConverter();
+		String lenient = "{\"id\":\" 12 \",\"user_id\":\"34.5\",\"role\":\"3\","
+				+ "\"pending\":\"TRUE\",\"created_at\":\"2015-08-10T20:00:00Z\","
+				+ "\"email\":\"a@example.com\",\"full_name\":\"A\",\"tags\":\"t\"}";
+		User expected = converter.convert(User.class, JSONObject.fromObject(lenient));
+		try (JsonParser parser = factory.createParser(lenient)) {
+			parser.nextToken();
+			User user = decoder.decode(parser);
+			assertEquals(Integer.valueOf(12), user.getId());
+			assertEquals(expected.getId(), user.getId());
+			assertEquals(expected.getUserId(), user.getUserId());
+			assertEquals(expected.getRole(), user.getRole());
+			assertEquals(Boolean.TRUE, user.isPending());
+			assertEquals(expected.isPending(), user.isPending());
+		}
+		try (JsonParser parser = factory.createParser("{\"pending\":\"yes\"}")) {
+			parser.nextToken();
+			assertEquals(Boolean.FALSE, decoder.decode(parser).isPending());
+		}
+		
+		//Unlike the converter, null IDs are left unset
+		try (JsonParser parser = factory.createParser("{\"id\":null,\"user_id\":null}")) {
+			parser.nextToken();
+			User user = decoder.decode(parser);
+			assertNull(user.getId());
+			assertNull(user.getUserId());
+		}
+		try {
+			converter.convert(User.class, JSONObject.fromObject(
+					lenient.replace("\" 12 \"", "null")));
+			fail("Expected the converter to reject a null id");
+		} catch (RuntimeException e) {
+			//Expected
+		}
+		
+		for (String invalid : new String[] { "{\"role\":9}", "{\"role\":null}", 
+				                             "{\"id\":\"x\"}", "{\"user_id\":true}" }) {
+			try (JsonParser parser = factory.createParser(invalid)) {
+				parser.nextToken();
+				decoder.decode(parser);
+				fail("Expected ContextedRuntimeException for " + invalid);
+			} catch (ContextedRuntimeException e) {
+				//Expected
+			}
+		}
+	}
+
+	/**
+	 * Test method for the {@link UserRoster} indexes
+	 * @throws Exception
+	 */
+	@Test
+	public void testUserRoster() throws Exception {
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(1000));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			UserRoster roster = manager.getAppUserRoster();
+			assertEquals(1000, roster.size());
+			
+			for (int i = 0; i < 1000; i++) {
+				User user = roster.getUsers().get(i);
+				assertEquals(StubRosters.email(i), user.getEmail());
+				assertSame(user, roster.getUserByEmail(StubRosters.email(i).toUpperCase()));
+				assertSame(user, roster.getUserById(StubRosters.FIRST_ID + i));
+				assertSame(user, roster.getUserByUserId(user.getUserId()));
+			}
+			assertNull(roster.getUserByEmail("nobody@example.com"));
+			assertNull(roster.getUserByEmail(null));
+			assertNull(roster.getUserById(StubRosters.FIRST_ID + 1000));
+			
+			//Role and pending partitions cover every user in roster order
+			int roles = 0;
+			for (Role role : Role.values()) {
+				int last = -1;
+				for (User user : roster.getUsers(role)) {
+					assertEquals(role, user.getRole());
+					final int index = user.getId() - StubRosters.FIRST_ID;
+					assertTrue(index > last);
+					last = index;
+				}
+				roles += roster.getUsers(role).size();
+			}
+			assertEquals(1000, roles);
+			assertEquals(250, roster.getUsers(Role.fromIndex(0)).size());
+			assertEquals(200, roster.getPendingUsers().size());
+			assertEquals(800, roster.getNonPendingUsers().size());
+			
+			try {
+				roster.getUsers(Role.TESTER).clear();
+				fail("Expected UnsupportedOperationException");
+			} catch (UnsupportedOperationException e) {
+				//Expected
+			}
+		}
+		
+		//A later user replaces an earlier one with the same key
+		User first = createUser(1, Role.TESTER, true);
+		first.setEmail("Same@Example.com");
+		User second = createUser(1, Role.MEMBER, false);
+		second.setEmail("same@example.com");
+		User anonymous = new User();
+		UserRoster roster = new UserRoster(Arrays.asList(first, second, anonymous));
+		assertEquals(3, roster.size());
+		assertSame(second, roster.getUserByEmail("SAME@example.com"));
+		assertSame(second, roster.getUserById(1));
+		assertEquals(1, roster.getPendingUsers().size());
+		assertEquals(2, roster.getNonPendingUsers().size());
+		assertTrue(UserRoster.empty().isEmpty());
+		assertTrue(UserRoster.empty().getUsers(Role.TESTER).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link CompactRoster} and a compact {@link RosterCache}
+	 * @throws Exception
+	 */
+	@Test
+	public void testCompactRoster() throws Exception {
+		
+		RosterCache cache = new RosterCache(1, TimeUnit.MINUTES, 4, true);
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(400));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri())
+					                     .setRosterCache(cache))) {
+			
+			UserRoster roster = manager.getAppUserRoster();
+			CompactRoster compact = CompactRoster.from(roster);
+			assertEquals(roster.size(), compact.size());
+			assertTrue(compact.getStringCount() < roster.size() * 3);
+			
+			for (int i = 0; i < roster.size(); i++) {
+				User user = roster.getUsers().get(i);
+				User view = compact.getUser(i);
+				assertEquals(user.getEmail(), view.getEmail());
+				assertEquals(user.getFullName(), view.getFullName());
+				assertEquals(user.getId(), view.getId());
+				assertEquals(user.getUserId(), view.getUserId());
+				assertEquals(user.getRole(), view.getRole());
+				assertEquals(user.isPending(), view.isPending());
+				assertEquals(user.getTags(), view.getTags());
+				assertEquals(user.getCreated(), view.getCreated());
+				assertEquals(user.getInvited(), view.getInvited());
+				assertEquals(i, compact.indexOfEmail(user.getEmail().toUpperCase()));
+				assertEquals(user.getEmail(), compact.getUserById(user.getId()).getEmail());
+			}
+			
+			assertFalse(compact.containsEmail("nobody@example.com"));
+			
+			//Mixed-case emails are found by any case and keep their own
+			User mixed = createUser(1, Role.TESTER, false);
+			mixed.setEmail("Mixed.Case@Example.com");
+			CompactRoster mixedRoster = new CompactRoster(Arrays.asList(mixed));
+			assertEquals(0, mixedRoster.indexOfEmail("mixed.case@example.com"));
+			assertEquals(0, mixedRoster.indexOfEmail("MIXED.CASE@EXAMPLE.COM"));
+			assertEquals("Mixed.Case@Example.com", mixedRoster.getEmail(0));
+			assertFalse(mixedRoster.containsEmail("mixed.case@example.co"));
+			assertNull(compact.getUserByUserId(-1));
+			assertEquals(roster.getPendingUsers().size(), compact.countPendingUsers());
+			assertEquals(roster.getUsers(Role.TESTER).size(), compact.countUsers(Role.TESTER));
+			
+			//The compact cache answers without another request
+			final long requests = server.getRequestCount();
+			assertTrue(manager.isAppMember(StubRosters.email(42), "secret"));
+			assertEquals(roster.size(), manager.getAppUserRoster().size());
+			assertEquals(requests, server.getRequestCount());
+		}
+	}
+
+	/**
+	 * Test method for {@link RosterCache} expiry, eviction and invalidation
+	 * @throws Exception
+	 */
+	@Test
+	public void testRosterCache() throws Exception {
+		
+		final UserRoster small = new UserRoster(Arrays.asList(createUser(1, Role.TESTER, false)));
+		
+		//Least recently used roster is evicted
+		RosterCache lru = new RosterCache(1, TimeUnit.MINUTES, 2);
+		lru.put("a", small);
+		lru.put("b", small);
+		assertEquals(1, lru.getRoster("a").size());
+		lru.put("c", small);
+		assertEquals(2, lru.size());
+		assertNull(lru.getRoster("b"));
+		assertEquals(1, lru.getRoster("a").size());
+		
+		//A put that started before an invalidation is dropped
+		long generation = lru.getGeneration("a");
+		lru.invalidate("a");
+		assertFalse(lru.put("a", small, generation));
+		assertNull(lru.getRoster("a"));
+		assertTrue(lru.put("a", small, lru.getGeneration("a")));
+		generation = lru.getGeneration("c");
+		lru.invalidateAll();
+		assertFalse(lru.put("c", small, generation));
+		assertEquals(0, lru.size());
+		
+		//Expired roster is fetched again
+		final RosterCache cache = new RosterCache(300, TimeUnit.MILLISECONDS, 4);
+		final App app = createApp();
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(100));
+			 final HockeyAppManager manager = new HockeyAppManager(app, 
+					 new ClientSettings().setBaseUri(server.getBaseUri())
+					                     .setRosterCache(cache))) {
+			
+			manager.getAppUserRoster();
+			manager.getAppUserRoster();
+			assertEquals(1, server.getRequestCount());
+			Thread.sleep(400);
+			manager.getAppUserRoster();
+			assertEquals(2, server.getRequestCount());
+			
+			//A change invalidates the roster
+			assertTrue(manager.inviteUser(new Invitation().setEmail("new@example.com")));
+			assertNull(cache.getRoster(app.getAppId()));
+			manager.getAppUserRoster();
+			assertEquals(4, server.getRequestCount());
+			
+			//A load in flight during a change does not bring the old roster back
+			cache.invalidateAll();
+			server.getSettings().setLatency(400);
+			Thread loader = new Thread(new Runnable() {
+				
+				@Override
+				public void run() {
+					manager.getAppUserRoster();
+				}
+			});
+			loader.start();
+			Thread.sleep(100);
+			cache.invalidate(app.getAppId());
+			loader.join();
+			assertNull(cache.getRoster(app.getAppId()));
+			
+			server.getSettings().setLatency(0);
+			manager.getAppUserRoster();
+			assertEquals(6, server.getRequestCount());
+			manager.getAppUserRoster();
+			assertEquals(6, server.getRequestCount());
+		}
+	}
+
+	/**
+	 * Test method for {@link MembershipFilter} and the filtered
+	 * {@link HockeyAppManager#isAppMember(String, String)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testMembershipFilter() throws Exception {
+		
+		MetricRegistry registry = new MetricRegistry();
+		ClientSettings settings = new ClientSettings().setMembershipFilterRate(0.01)
+				                                      .setMembershipFilterRefresh(60000)
+				                                      .setMetrics(new DropwizardMetrics(registry));
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(500));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 settings.setBaseUri(server.getBaseUri()))) {
+			
+			UserRoster roster = manager.getAppUserRoster();
+			MembershipFilter filter = MembershipFilter.build(roster, 0.01);
+			for (User user : roster.getUsers()) {
+				assertTrue(filter.mightContain(user.getEmail().toUpperCase()));
+			}
+			
+			final long requests = server.getRequestCount();
+			int falsePositives = 0;
+			for (int i = 0; i < 2000; i++) {
+				String email = "outsider" + i + "@example.org";
+				assertFalse(manager.isAppMember(email, "secret"));
+				if (filter.mightContain(email)) {
+					falsePositives++;
+				}
+			}
+			assertTrue(falsePositives < 60);
+			assertTrue(server.getRequestCount() - requests < 60);
+			assertTrue(manager.isAppMember(StubRosters.email(3), "secret"));
+			
+			assertEquals(2001, registry.meter("hockeyapp.filter.checks").getCount());
+			assertEquals(2000, registry.meter("hockeyapp.filter.rejected").getCount()
+					+ registry.meter("hockeyapp.filter.falsePositives").getCount());
+			String gauge = "hockeyapp.filter." + manager.getApp().getAppId() + ".size";
+			assertEquals(500, registry.getGauges().get(gauge).getValue());
+		}
+		
+		//Closing a manager removes its gauges, but not those of a newer 
+		//manager of the same app
+		String gauge = "hockeyapp.filter." + createApp().getAppId() + ".size";
+		assertFalse(registry.getGauges().containsKey(gauge));
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(500))) {
+			settings.setBaseUri(server.getBaseUri());
+			HockeyAppManager first = new HockeyAppManager(createApp(), settings);
+			try (HockeyAppManager second = new HockeyAppManager(createApp(), settings)) {
+				first.close();
+				assertTrue(registry.getGauges().containsKey(gauge));
+			}
+			assertFalse(registry.getGauges().containsKey(gauge));
+		}
+	}
+
+	/**
+	 * Test method for a membership filter rebuild that is in flight while
+	 * a user is invited
+	 * @throws Exception
+	 */
+	@Test
+	public void testMembershipFilterRefreshRace() throws Exception {
+		
+		ClientSettings settings = new ClientSettings().setMembershipFilterRate(0.01)
+				                                      .setMembershipFilterRefresh(60000);
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(100));
+			 final HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 settings.setBaseUri(server.getBaseUri()))) {
+			
+			manager.getAppUserRoster();
+			Thread.sleep(200);
+			
+			//A slow rebuild started before the invite must keep the new member
+			server.getSettings().setLatency(400);
+			Thread loader = new Thread(new Runnable() {
+				
+				@Override
+				public void run() {
+					manager.getAppUserRoster();
+				}
+			});
+			loader.start();
+			Thread.sleep(100);
+			server.getSettings().setLatency(0);
+			assertTrue(manager.inviteUser(new Invitation().setEmail("new@example.com")));
+			loader.join();
+			
+			//The filter passes the new member on to the remote check
+			long requests = server.getRequestCount();
+			assertFalse(manager.isAppMember("new@example.com", "secret"));
+			assertEquals(requests + 1, server.getRequestCount());
+			
+			//A rebuild started after the invite replaces the filter
+			manager.getAppUserRoster();
+			requests = server.getRequestCount();
+			assertFalse(manager.isAppMember("new@example.com", "secret"));
+			assertEquals(requests, server.getRequestCount());
+		}
+	}
+
+	/**
+	 * Test method for the coalescing of concurrent identical requests
+	 * @throws Exception
+	 */
+	@Test
+	public void testRequestCoalescing() throws Exception {
+		
+		ExecutorService callers = Executors.newFixedThreadPool(8);
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(200)
+				                                                  .setLatency(300));
+			 final HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			List<Future<UserRoster>> rosters = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				rosters.add(callers.submit(new Callable<UserRoster>() {
+
+					@Override
+					public UserRoster call() {
+						return manager.getAppUserRoster();
+					}
+				}));
+			}
+			
+			UserRoster roster = rosters.get(0).get();
+			for (Future<UserRoster> future : rosters) {
+				assertTrue(roster == future.get());
+			}
+			assertEquals(1, server.getRequestCount());
+			
+			List<Future<Boolean>> checks = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				checks.add(callers.submit(new Callable<Boolean>() {
+
+					@Override
+					public Boolean call() throws Exception {
+						return manager.isAppMember(StubRosters.email(5), "secret");
+					}
+				}));
+			}
+			
+			for (Future<Boolean> future : checks) {
+				assertTrue(future.get());
+			}
+			assertEquals(2, server.getRequestCount());
+			
+		} finally {
+			callers.shutdown();
+		}
+	}
+
+	/**
+	 * Stress test of one {@link HockeyAppManager} shared by many threads, 
+	 * while other managers are built concurrently
+	 * @throws Exception
+	 */
+	@Test
+	public void testSharedManagerStress() throws Exception {
+		
+		final int threads = 16;
+		final int iterations = 150;
+		final int rosterSize = 100;
+		ExecutorService workers = Executors.newFixedThreadPool(threads);
+		
+		StubSettings stubSettings = new StubSettings().setRosterSize(rosterSize)
+				                                      .setLatency(1)
+				                                      .setWorkerThreads(threads);
+		
+		try (final StubServer server = new StubServer(stubSettings);
+			 final HockeyAppManager shared = new HockeyAppManager.Builder(createApp())
+			         .setSettings(new ClientSettings().setBaseUri(server.getBaseUri())
+			        		                          .setMaxTotalConnections(threads)
+			        		                          .setMaxConnectionsPerRoute(threads))
+			         .build()) {
+			
+			final CountDownLatch start = new CountDownLatch(1);
+			List<Future<Integer>> results = new ArrayList<>();
+			
+			for (int t = 0; t < threads; t++) {
+				final int thread = t;
+				results.add(workers.submit(new Callable<Integer>() {
+
+					@Override
+					public Integer call() throws Exception {
+						start.await();
+						int operations = 0;
+						for (int i = 0; i < iterations; i++) {
+							final int n = thread * iterations + i;
+							switch (n % 4) {
+							case 0:
+								assertEquals(rosterSize, shared.getAppUserRoster().size());
+								break;
+							case 1:
+								assertTrue(shared.isAppMember(StubRosters.email(n % rosterSize), 
+										                      "secret"));
+								break;
+							case 2:
+								assertFalse(shared.isAppMember("outsider" + n + "@example.org", 
+										                       "secret"));
+								break;
+							default:
+								assertTrue(shared.inviteUser(new Invitation()
+								                 .setEmail("invitee" + n + "@example.org")));
+								//Managers built concurrently do not disturb the shared one
+								if (i % 25 == 3) {
+									new HockeyAppManager.Builder(shared.getApp())
+									        .setSettings(new ClientSettings()
+									        		.setBaseUri(server.getBaseUri()))
+									        .build()
+									        .close();
+								}
+								break;
+							}
+							operations++;
+						}
+						return operations;
+					}
+				}));
+			}
+			
+			start.countDown();
+			int operations = 0;
+			for (Future<Integer> result : results) {
+				operations += result.get();
+			}
+			
+			assertEquals(threads * iterations, operations);
+			assertEquals(0, server.getErrorCount());
+			assertTrue(server.getRequestCount() <= operations);
+			
+		} finally {
+			workers.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link HockeyAppManager#isAppMemberAsync(String, String)},
+	 * {@link HockeyAppManager#getAllAppUsersAsync(InvocationCallback)} and
+	 * {@link HockeyAppManager#inviteUserAsync(Invitation, InvocationCallback)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testAsyncOperations() throws Exception {
+		
+		HockeyAppManager closed;
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(100)
+				                                                  .setLatency(200));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			//Checks run side by side on the executor
+			final long start = System.nanoTime();
+			List<Future<Boolean>> checks = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				checks.add(manager.isAppMemberAsync(StubRosters.email(i * 20), "secret"));
+			}
+			for (int i = 0; i < checks.size(); i++) {
+				assertEquals(i * 20 < 100, checks.get(i).get());
+			}
+			assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+			assertEquals(8, server.getRequestCount());
+			
+			final CountDownLatch done = new CountDownLatch(1);
+			final AtomicInteger users = new AtomicInteger(-1);
+			Future<List<User>> all = manager.getAllAppUsersAsync(
+					new InvocationCallback<List<User>>() {
+				
+				@Override
+				public void completed(List<User> response) {
+					users.set(response.size());
+					done.countDown();
+				}
+				
+				@Override
+				public void failed(Throwable throwable) {
+					done.countDown();
+				}
+			});
+			assertEquals(100, all.get().size());
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			assertEquals(100, users.get());
+			closed = manager;
+		}
+		
+		//The owned executor is shut down with the manager
+		try {
+			closed.isAppMemberAsync(StubRosters.email(0), "secret");
+			fail("Expected RejectedExecutionException");
+		} catch (RejectedExecutionException e) {
+			//Expected
+		}
+		
+		//A failure reaches both the future and the callback
+		StubServer stopped = new StubServer();
+		final String baseUri = stopped.getBaseUri();
+		stopped.close();
+		try (HockeyAppManager manager = new HockeyAppManager(createApp(), 
+				new ClientSettings().setBaseUri(baseUri)
+				                    .setRetryPolicy(RetryPolicy.NEVER))) {
+			
+			final AtomicInteger failures = new AtomicInteger();
+			final CountDownLatch done = new CountDownLatch(1);
+			Future<Boolean> invite = manager.inviteUserAsync(
+					new Invitation().setEmail("async@example.com"), 
+					new InvocationCallback<Boolean>() {
+				
+				@Override
+				public void completed(Boolean response) {
+					done.countDown();
+				}
+				
+				@Override
+				public void failed(Throwable throwable) {
+					failures.incrementAndGet();
+					done.countDown();
+				}
+			});
+			try {
+				invite.get();
+				fail("Expected ExecutionException");
+			} catch (ExecutionException e) {
+				//Expected
+			}
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			assertEquals(1, failures.get());
+		}
+	}
+
+	/**
+	 * Test method for {@link HockeyAppManager#iterateAppUsers(int, boolean)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testIterateAppUsers() throws Exception {
+		
+		//A single pooled connection exposes any leaked response
+		ClientSettings settings = new ClientSettings().setMaxTotalConnections(1)
+				                                      .setMaxConnectionsPerRoute(1);
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(1050)
+				                                                  .setPaging(true));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 settings.setBaseUri(server.getBaseUri()))) {
+			
+			int count = 0;
+			for (User user : manager.iterateAppUsers(100, true)) {
+				assertEquals(StubRosters.email(count), user.getEmail());
+				count++;
+			}
+			assertEquals(1050, count);
+			assertEquals(11, server.getRequestCount());
+			
+			//Stopping early
+			try (AppUserIterable.UserIterator users = manager.iterateAppUsers(100, true).iterator()) {
+				for (int i = 0; i < 150; i++) {
+					users.next();
+				}
+				assertEquals(2, users.getPageNumber());
+			}
+			assertEquals(1050, manager.getAppUserRoster().size());
+			
+			//Closing with a slow prefetch in flight leaves the pool usable
+			server.getSettings().setLatency(300);
+			try (AppUserIterable.UserIterator users = manager.iterateAppUsers(100, true).iterator()) {
+				users.next();
+			}
+			server.getSettings().setLatency(0);
+			assertEquals(1050, manager.getAllAppUsers().size());
+		}
+		
+		//The stub ignores the paging parameters and sends the whole roster
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(500));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 settings.setBaseUri(server.getBaseUri()))) {
+			
+			int count = 0;
+			for (User user : manager.iterateAppUsers(100, true)) {
+				assertEquals(StubRosters.email(count), user.getEmail());
+				count++;
+			}
+			assertEquals(500, count);
+			assertEquals(1, server.getRequestCount());
+			
+			try (AppUserIterable.UserIterator users = manager.iterateAppUsers(100, false).iterator()) {
+				for (int i = 0; i < 250; i++) {
+					users.next();
+				}
+			}
+			assertEquals(500, manager.getAllAppUsers().size());
+			
+			server.setRosterSize(0);
+			assertFalse(manager.iterateAppUsers().iterator().hasNext());
+			assertTrue(manager.getAllAppUsers().isEmpty());
+		}
+	}
+
+	/**
+	 * Test method for {@link InvitationBuilder#parse(java.util.Collection)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testInvitationBuilder() throws Exception {
+		
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			lines.add("User " + i + " <" + StubRosters.email(i % 4000).toUpperCase() + ">");
+		}
+		lines.add("not an address <");
+		lines.add("nobody@invalid-tld.zz9");
+		
+		ExecutorService workers = Executors.newFixedThreadPool(4);
+		try {
+			InvitationBatch batch = new InvitationBuilder(workers, 4).setRole(Role.TESTER)
+					                                                  .setTags("import")
+					                                                  .parse(lines);
+			assertEquals(4000, batch.getInvitations().size());
+			assertEquals(1000, batch.getRejectCount(RejectReason.DUPLICATE));
+			assertEquals(1, batch.getRejectCount(RejectReason.INVALID_ADDRESS));
+			assertEquals(1, batch.getRejectCount(RejectReason.INVALID_EMAIL));
+			assertEquals(4000, batch.getRejects().get(0).getIndex());
+			assertEquals(RejectReason.INVALID_ADDRESS, batch.getRejects().get(1000).getReason());
+			
+			Invitation first = batch.getInvitations().get(0);
+			assertEquals(StubRosters.email(0), first.getEmail());
+			assertTrue(first.toString().contains("first_name=User"));
+			
+			//Parsed addresses are used as is
+			List<Address> addresses = new ArrayList<>();
+			addresses.add(new InternetAddress("jane@example.com", "Jane Doe"));
+			addresses.add(new InternetAddress(" JANE@Example.com "));
+			batch = new InvitationBuilder().build(addresses);
+			assertEquals(1, batch.getInvitations().size());
+			assertEquals(1, batch.getRejectCount(RejectReason.DUPLICATE));
+			assertEquals("jane@example.com", batch.getInvitations().get(0).getEmail());
+		} finally {
+			workers.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link AddressImporter#importAddresses(AddressReader)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testAddressImporter() throws Exception {
+		
+		String mbox = "From sender@example.com Sat Oct 17 10:00:00 2026\n"
+				+ "From: \"Doe, Jane\" <jane@example.com>\n"
+				+ "To: team: user1@example.com, (ops) Ops <ops@example.com>,\n"
+				+ "\tnew1@example.com;\n"
+				+ "Subject: Hello, world\n"
+				+ "\n"
+				+ "To: body@example.com\n"
+				+ "From: body@example.com\n"
+				+ "From sender@example.com Sat Oct 17 11:00:00 2026\n"
+				+ "From: JANE@example.com\n"
+				+ "Cc: broken@@example.com\n"
+				+ "\n";
+		
+		List<String> names = new ArrayList<>();
+		try (AddressReader reader = new AddressReader(new StringReader(mbox), 
+				                                      AddressFormat.MBOX)) {
+			while (reader.hasNext()) {
+				names.add(reader.next());
+			}
+		}
+		assertEquals(Arrays.asList("\"Doe, Jane\" <jane@example.com>", 
+				"user1@example.com", "(ops) Ops <ops@example.com>", 
+				"new1@example.com", "JANE@example.com", "broken@@example.com"), names);
+		
+		StringBuilder csv = new StringBuilder("first,last,email\n");
+		for (int i = 0; i < 2000; i++) {
+			csv.append("First").append(i).append(",\"Last, ").append(i).append("\",")
+			   .append(StubRosters.email(i % 1500)).append('\n');
+		}
+		
+		ExecutorService workers = Executors.newFixedThreadPool(8);
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(100));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			final AtomicInteger invited = new AtomicInteger();
+			AddressImporter importer = new AddressImporter(new BulkInviter(manager, workers, 4), 
+					                                       new InvitationBuilder().setTags("csv"));
+			ImportReport report = importer.importAddresses(
+					new AddressReader(new StringReader(csv.toString()), AddressFormat.CSV),
+					new AddressImporter.ImportListener() {
+						
+						@Override
+						public void invited(BulkResult<Invitation> result) {
+							if (result.getStatus().isSuccessful()) {
+								invited.incrementAndGet();
+							}
+						}
+						
+						@Override
+						public void rejected(InvitationReject reject) {
+							assertEquals(RejectReason.DUPLICATE, reject.getReason());
+						}
+					});
+			
+			assertEquals(2000, report.getAddressCount());
+			assertEquals(1400, report.getSuccessCount());
+			assertEquals(1400, invited.get());
+			assertEquals(100, report.getCount(BulkStatus.SKIPPED));
+			assertEquals(500, report.getRejectCount(RejectReason.DUPLICATE));
+			
+			report = importer.importAddresses(new AddressReader(new StringReader(mbox), 
+					                                            AddressFormat.MBOX));
+			assertEquals(6, report.getAddressCount());
+			assertEquals(3, report.getSuccessCount());
+			assertEquals(1, report.getCount(BulkStatus.SKIPPED));
+			assertEquals(1, report.getRejectCount(RejectReason.DUPLICATE));
+			assertEquals(1, report.getRejectCount(RejectReason.INVALID_ADDRESS));
+		} finally {
+			workers.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link AddressImporter#importAddresses(AddressReader, AddressImporter.ImportListener)}
+	 * with duplicates beyond the recent emails and a failing listener
+	 * @throws Exception
+	 */
+	@Test
+	public void testAddressImporterBounds() throws Exception {
+		
+		//Members are checked for duplicates too, without sending requests
+		final int distinct = AddressImporter.RECENT_EMAILS + 10;
+		StringBuilder list = new StringBuilder();
+		for (int i = 0; i < distinct; i++) {
+			list.append(StubRosters.email(i)).append('\n');
+		}
+		list.append(StubRosters.email(0)).append('\n')
+		    .append(StubRosters.email(distinct - 1)).append('\n');
+		
+		ExecutorService workers = Executors.newFixedThreadPool(4);
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(distinct)
+				                                                  .setLatency(200));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			BulkInviter inviter = new BulkInviter(manager, workers, 4);
+			AddressImporter importer = new AddressImporter(inviter, new InvitationBuilder(), 
+					                                       distinct);
+			ImportReport report = importer.importAddresses(
+					new AddressReader(new StringReader(list.toString()), AddressFormat.CSV));
+			assertEquals(distinct + 2, report.getAddressCount());
+			//The repeated first email, plus any filter false positive
+			final int possible = report.getRejectCount(RejectReason.POSSIBLE_DUPLICATE);
+			assertTrue(possible >= 1);
+			assertEquals(distinct + 1, report.getCount(BulkStatus.SKIPPED) + possible);
+			assertEquals(1, report.getRejectCount(RejectReason.DUPLICATE));
+			
+			//A failing listener must not abandon the requests in flight
+			list.setLength(0);
+			for (int i = 0; i < 10; i++) {
+				list.append(StubRosters.email(distinct + i)).append('\n');
+			}
+			list.append(StubRosters.email(distinct)).append('\n');
+			
+			final AtomicInteger completed = new AtomicInteger();
+			try {
+				importer.importAddresses(new AddressReader(new StringReader(list.toString()), 
+						                                   AddressFormat.CSV),
+						new AddressImporter.ImportListener() {
+							
+							@Override
+							public void invited(BulkResult<Invitation> result) {
+								completed.incrementAndGet();
+							}
+							
+							@Override
+							public void rejected(InvitationReject reject) {
+								throw new IllegalStateException("listener failure");
+							}
+						});
+				fail("Expected the listener failure");
+			} catch (IllegalStateException e) {
+				assertEquals("listener failure", e.getMessage());
+			}
+			assertEquals(10, completed.get());
+		} finally {
+			workers.shutdown();
+		}
+	}
+
+	/**
+	 * Test method for {@link HockeyAppManager#exportAppUsers(java.io.OutputStream, ExportFormat, boolean)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testExportAppUsers() throws Exception {
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(1000));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri()))) {
+			
+			UserRoster roster = manager.getAppUserRoster();
+			
+			//CSV
+			ByteArrayOutputStream csv = new ByteArrayOutputStream();
+			assertEquals(1000, manager.exportAppUsers(csv, ExportFormat.CSV, false));
+			String[] rows = csv.toString("UTF-8").split("\r\n");
+			assertEquals(1001, rows.length);
+			assertTrue(rows[0].startsWith("id,user_id,email,"));
+			assertTrue(rows[1].contains("," + StubRosters.email(0) + ","));
+			
+			//Gzipped JSON Lines through a channel read back with the API decoder
+			ByteArrayOutputStream json = new ByteArrayOutputStream();
+			assertEquals(1000, manager.exportAppUsers(Channels.newChannel(json), 
+					                                  ExportFormat.JSON_LINES, true));
+			JsonFactory factory = new JsonFactory();
+			UserDecoder decoder = new UserDecoder();
+			int count = 0;
+			try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+					new GZIPInputStream(new ByteArrayInputStream(json.toByteArray())), 
+					StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = lines.readLine()) != null) {
+					try (JsonParser parser = factory.createParser(line)) {
+						parser.nextToken();
+						User user = decoder.decode(parser);
+						User expected = roster.getUsers().get(count);
+						assertEquals(expected.getEmail(), user.getEmail());
+						assertEquals(expected.getRole(), user.getRole());
+						assertEquals(expected.getCreated().getMillis(), user.getCreated().getMillis());
+					}
+					count++;
+				}
+			}
+			assertEquals(1000, count);
+			
+			//Binary is the most compact
+			ByteArrayOutputStream binary = new ByteArrayOutputStream();
+			assertEquals(1000, manager.exportAppUsers(binary, ExportFormat.BINARY, false));
+			byte[] bytes = binary.toByteArray();
+			assertEquals("HAUX", new String(bytes, 0, 4, StandardCharsets.US_ASCII));
+			assertEquals(0, bytes[bytes.length - 1]);
+			assertTrue(bytes.length < csv.size());
+			
+			//Exports bypass the cache
+			assertEquals(4, server.getRequestCount());
+			
+			//A failed compressed export releases its compressor and connection
+			OutputStream broken = new OutputStream() {
+				
+				private int count;
+				
+				@Override
+				public void write(int b) throws IOException {
+					//Fails after the gzip header
+					if (++count > 10) {
+						throw new IOException("Disk full");
+					}
+				}
+			};
+			for (int i = 0; i < 3; i++) {
+				try {
+					manager.exportAppUsers(broken, ExportFormat.CSV, true);
+					fail("Expected ContextedRuntimeException");
+				} catch (ContextedRuntimeException e) {
+					assertTrue(e.getCause() instanceof IOException);
+				}
+			}
+			assertEquals(1000, manager.exportAppUsers(new ByteArrayOutputStream(), 
+					                                  ExportFormat.CSV, true));
+			
+			//A released writer cannot be written to
+			UserStreamWriter writer = new UserStreamWriter(new ByteArrayOutputStream(), 
+					                                       ExportFormat.CSV, true);
+			writer.release();
+			try {
+				writer.write(roster.getUsers().get(0));
+				fail("Expected IllegalStateException");
+			} catch (IllegalStateException e) {
+				//Expected
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link HockeyAppManager#updateUsers(java.util.Collection)}
+	 * and {@link HockeyAppManager#removeUsers(java.util.Collection)}
+	 * @throws Exception
+	 */
+	@Test
+	public void testBulkUpdateUsers() throws Exception {
+		
+		//An update must change something other than the owner
+		try {
+			new UserUpdate(StubRosters.FIRST_ID, null, null);
+			fail("Expected ContextedRuntimeException");
+		} catch (ContextedRuntimeException e) {
+			//Expected
+		}
+		try {
+			new UserUpdate(StubRosters.FIRST_ID, Role.OWNER, "tag");
+			fail("Expected ContextedRuntimeException");
+		} catch (ContextedRuntimeException e) {
+			//Expected
+		}
+		
+		try (StubServer server = new StubServer(new StubSettings().setRosterSize(1000)
+				                                                  .setLatency(2));
+			 HockeyAppManager manager = new HockeyAppManager(createApp(), 
+					 new ClientSettings().setBaseUri(server.getBaseUri())
+					                     .setMaxTotalConnections(16)
+					                     .setMaxConnectionsPerRoute(16))) {
+			
+			//Demote every tester to member
+			UserRoster roster = manager.getAppUserRoster();
+			List<UserUpdate> updates = new ArrayList<>();
+			for (User user : roster.getUsers(Role.TESTER)) {
+				updates.add(new UserUpdate(user.getId(), Role.MEMBER, null));
+			}
+			updates.add(updates.get(0));
+			updates.add(null);
+			
+			//Listed users are copies, so changing one leaves the roster intact
+			User copy = manager.getAllAppUsers().get(0);
+			copy.setRole(Role.TESTER);
+			assertEquals(Role.OWNER, roster.getUsers().get(0).getRole());
+			assertEquals(250, roster.getUsers(Role.TESTER).size());
+			
+			BulkReport<UserUpdate> report = manager.updateUsers(updates);
+			assertEquals(252, report.getResults().size());
+			assertEquals(250, report.getSuccessCount());
+			assertEquals(2, report.getCount(BulkStatus.SKIPPED));
+			assertEquals(250, report.getRequestCount());
+			assertEquals(252, server.getRequestCount());
+			
+			//The roster is fetched again after a change
+			manager.getAppUserRoster();
+			assertEquals(253, server.getRequestCount());
+			
+			BulkReport<Integer> removals = manager.removeUsers(Arrays.asList(StubRosters.FIRST_ID, 
+					StubRosters.FIRST_ID + 999, StubRosters.FIRST_ID + 1000, null));
+			List<BulkResult<Integer>> results = removals.getResults();
+			assertEquals(BulkStatus.SUCCESS, results.get(0).getStatus());
+			assertEquals(BulkStatus.SUCCESS, results.get(1).getStatus());
+			assertEquals(BulkStatus.CLIENT_ERROR, results.get(2).getStatus());
+			assertEquals(BulkStatus.SKIPPED, results.get(3).getStatus());
+			assertEquals(Integer.valueOf(StubRosters.FIRST_ID), results.get(0).getItem());
+			assertNull(results.get(3).getItem());
+		}
+	}
+
+	/**
+	 * Test method for {@link InvitationQueue}
+	 * @throws Exception
+	 */
+	@Test
+	public void testInvitationQueue() throws Exception {
+		
+		Path directory = Files.createTempDirectory("hockeyapp-queue");
+		App app = createApp();
+		Path journal = directory.resolve(app.getAppId() + ".journal");
+		
+		try {
+			//Every request is throttled, so the invitations stay in the journal
+			try (StubServer server = new StubServer(new StubSettings().setThrottleRate(1.0));
+				 HockeyAppManager manager = new HockeyAppManager(app, new ClientSettings()
+						 .setBaseUri(server.getBaseUri())
+						 .setRetryPolicy(RetryPolicy.NEVER));
+				 InvitationQueue queue = new InvitationQueue.Builder(manager, directory)
+				                                            .setCapacity(150)
+				                                            .setRetryDelay(60000)
+				                                            .build()) {
+				
+				int enqueued = 0;
+				for (int i = 0; i < 200; i++) {
+					if (queue.enqueue(new Invitation().setEmail("queued" + i + "@example.com"))) {
+						enqueued++;
+					}
+				}
+				assertEquals(150, enqueued);
+				assertEquals(150, queue.getDepth());
+				queue.sync();
+			}
+			
+			//A torn record from a crash mid-append is dropped on recovery
+			Files.write(journal, new byte[] { 0, 0, 0, 40, 1, 2, 3 }, 
+					    StandardOpenOption.APPEND);
+			
+			try (StubServer server = new StubServer();
+				 HockeyAppManager manager = new HockeyAppManager(app, new ClientSettings()
+						 .setBaseUri(server.getBaseUri()));
+				 InvitationQueue queue = new InvitationQueue.Builder(manager, directory)
+				                                            .setCompactThreshold(1)
+				                                            .build()) {
+				
+				assertEquals(150, queue.getRecoveredCount());
+				assertTrue(queue.enqueue(new Invitation().setEmail("late@example.com")));
+				assertTrue(queue.awaitEmpty(30, TimeUnit.SECONDS));
+				assertEquals(151, queue.getSentCount());
+				assertEquals(0, queue.getRejectedCount());
+				assertEquals(151, server.getRequestCount());
+				
+				//The fully acknowledged journal is compacted to its header
+				for (int i = 0; i < 100 && queue.getJournalSize() > 5; i++) {
+					Thread.sleep(20);
+				}
+				assertEquals(5, queue.getJournalSize());
+			}
+			
+			MetricRegistry registry = new MetricRegistry();
+			String depth = "hockeyapp.queue." + app.getAppId() + ".depth";
+			try (StubServer server = new StubServer();
+				 HockeyAppManager manager = new HockeyAppManager(app, new ClientSettings()
+						 .setBaseUri(server.getBaseUri())
+						 .setMetrics(new DropwizardMetrics(registry)))) {
+				try (InvitationQueue queue = new InvitationQueue.Builder(manager, directory).build()) {
+					assertEquals(0, queue.getRecoveredCount());
+					assertEquals(0, queue.getDepth());
+					assertEquals(0, registry.getGauges().get(depth).getValue());
+				}
+				//The queue gauges go with the queue
+				assertFalse(registry.getGauges().containsKey(depth));
+			}
+			
+			//Throttled invitations are given up after their last attempt
+			final List<Invitation> failed = new ArrayList<>();
+			try (StubServer server = new StubServer(new StubSettings().setThrottleRate(1.0));
+				 HockeyAppManager manager = new HockeyAppManager(app, new ClientSettings()
+						 .setBaseUri(server.getBaseUri())
+						 .setRetryPolicy(RetryPolicy.NEVER));
+				 InvitationQueue queue = new InvitationQueue.Builder(manager, directory)
+				                                            .setRetryDelay(50)
+				                                            .setMaxRetryDelay(100)
+				                                            .setMaxAttempts(4)
+				                                            .setFailureListener(
+						 new InvitationQueue.FailureListener() {
+							 
+							 @Override
+							 public void failed(Invitation invitation, Exception error) {
+								 synchronized (failed) {
+									 failed.add(invitation);
+								 }
+							 }
+						 }).build()) {
+				
+				final long start = System.nanoTime();
+				assertTrue(queue.enqueue(new Invitation().setEmail("doomed1@example.com")));
+				assertTrue(queue.enqueue(new Invitation().setEmail("doomed2@example.com")));
+				assertTrue(queue.awaitEmpty(30, TimeUnit.SECONDS));
+				
+				//Delays of 50, 100 and 100 ms between the four attempts
+				assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(250));
+				assertEquals(8, server.getRequestCount());
+				assertEquals(6, queue.getRetryCount());
+				assertEquals(2, queue.getFailedCount());
+				assertEquals(0, queue.getSentCount());
+				synchronized (failed) {
+					assertEquals(2, failed.size());
+				}
+			}
+			
+			//A server error may have created the invitation, so it is not retried
+			failed.clear();
+			try (StubServer server = new StubServer(new StubSettings().setErrorRate(1.0));
+				 HockeyAppManager manager = new HockeyAppManager(app, new ClientSettings()
+						 .setBaseUri(server.getBaseUri()));
+				 InvitationQueue queue = new InvitationQueue.Builder(manager, directory)
+				                                            .setRetryDelay(50)
+				                                            .setFailureListener(
+						 new InvitationQueue.FailureListener() {
+							 
+							 @Override
+							 public void failed(Invitation invitation, Exception error) {
+								 synchronized (failed) {
+									 failed.add(invitation);
+								 }
+							 }
+						 }).build()) {
+				
+				assertTrue(queue.enqueue(new Invitation().setEmail("unknown@example.com")));
+				assertTrue(queue.awaitEmpty(30, TimeUnit.SECONDS));
+				assertEquals(1, server.getRequestCount());
+				assertEquals(0, queue.getRetryCount());
+				assertEquals(1, queue.getFailedCount());
+				synchronized (failed) {
+					assertEquals(1, failed.size());
+				}
+			}
+			
+			try (StubServer server = new StubServer();
+				 HockeyAppManager manager = new HockeyAppManager(app, new ClientSettings()
+						 .setBaseUri(server.getBaseUri()));
+				 InvitationQueue queue = new InvitationQueue.Builder(manager, directory).build()) {
+				assertEquals(0, queue.getRecoveredCount());
+			}
+			
+		} finally {
+			Files.deleteIfExists(journal);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+}